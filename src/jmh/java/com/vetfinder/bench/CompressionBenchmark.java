@@ -0,0 +1,98 @@
+package com.vetfinder.bench;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.vetfinder.config.JacksonConfig;
+import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.Compresion;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de CPU de la compresión contra los bytes ahorrados
+ * El método comprimir mide lo que paga cada respuesta comprimida por Javalin; servirPrecomprimido lo que
+ * paga un acierto de ResponseCache (agregar el timestamp a un prefijo ya comprimido).
+ * Los contadores entrada/salida de cada corrida dan la proporción de bytes enviados.
+ * Brotli necesita la librería nativa de brotli4j de la plataforma.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompressionBenchmark {
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    @Param({"gzip-1", "gzip-6", "gzip-9", "br-1", "br-4", "br-6", "br-9", "br-11"})
+    private String algoritmo;
+
+    private boolean brotli;
+    private int nivel;
+    private byte[] json;
+    private byte[] prefijo;
+    private byte[] prefijoComprimido;
+
+    /**
+     * Bytes sin comprimir y comprimidos de cada iteración
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+        public long entrada;
+        public long salida;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            entrada = 0;
+            salida = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        brotli = algoritmo.startsWith("br-");
+        nivel = Integer.parseInt(algoritmo.substring(algoritmo.indexOf('-') + 1));
+        if (brotli && !Brotli4jLoader.isAvailable()) {
+            throw new IllegalStateException("Brotli no disponible en esta plataforma", Brotli4jLoader.getUnavailabilityCause());
+        }
+
+        json = JacksonConfig.getMapper().writeValueAsBytes(ApiResponse.success("Citas obtenidas", JsonBenchmark.citas(size)));
+        String texto = new String(json, StandardCharsets.UTF_8);
+        int fin = texto.lastIndexOf("\"timestamp\":") + "\"timestamp\":".length();
+        prefijo = Arrays.copyOf(json, texto.substring(0, fin).getBytes(StandardCharsets.UTF_8).length);
+        prefijoComprimido = brotli ? Compresion.prefijoBrotli(prefijo, nivel) : Compresion.prefijoGzip(prefijo, nivel);
+
+        System.out.printf("%n%s, %d citas: %d -> %d bytes (%.1f%%)%n", algoritmo, size, json.length,
+                prefijoComprimido.length, 100.0 * prefijoComprimido.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] comprimir(Bytes bytes) throws IOException {
+        byte[] comprimido = brotli ? Compresion.brotli(json, nivel) : Compresion.gzip(json, nivel);
+        bytes.entrada += json.length;
+        bytes.salida += comprimido.length;
+        return comprimido;
+    }
+
+    @Benchmark
+    public void servirPrecomprimido() throws IOException {
+        byte[] fin = (System.currentTimeMillis() + "}").getBytes(StandardCharsets.US_ASCII);
+        if (brotli) {
+            Compresion.escribirBrotli(OutputStream.nullOutputStream(), prefijoComprimido, fin);
+        } else {
+            Compresion.escribirGzip(OutputStream.nullOutputStream(), prefijoComprimido, prefijo, fin);
+        }
+    }
+}
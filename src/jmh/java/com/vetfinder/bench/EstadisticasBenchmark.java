@@ -0,0 +1,56 @@
+package com.vetfinder.bench;
+
+import com.vetfinder.model.EstadisticaServicio;
+import com.vetfinder.model.ResumenEstadisticas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculos del dashboard: construcción de ResumenEstadisticas (calcula tasas y promedios)
+ * y EstadisticaServicio.calcularPorcentaje sobre listas grandes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EstadisticasBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<EstadisticaServicio> servicios;
+    private int total;
+
+    @Setup
+    public void setup() {
+        servicios = new ArrayList<>(size);
+        total = 0;
+        for (int i = 0; i < size; i++) {
+            int cantidad = 1 + (i * 37) % 1000;
+            servicios.add(new EstadisticaServicio(i + 1, "Servicio " + i, cantidad, 100.0f + i % 50));
+            total += cantidad;
+        }
+    }
+
+    @Benchmark
+    public ResumenEstadisticas resumen() {
+        return new ResumenEstadisticas(size, size / 2, 20, size / 3,
+                size / 4, size / 2, size / 4);
+    }
+
+    @Benchmark
+    public List<EstadisticaServicio> calcularPorcentaje() {
+        for (EstadisticaServicio servicio : servicios) {
+            servicio.calcularPorcentaje(total);
+        }
+        return servicios;
+    }
+}
@@ -0,0 +1,92 @@
+package com.vetfinder.bench;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vetfinder.config.JacksonConfig;
+import com.vetfinder.model.Cita;
+import com.vetfinder.model.Factura;
+import com.vetfinder.util.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson de ApiResponse envolviendo listas de citas y facturas
+ * Usa el mismo ObjectMapper que Javalin (JacksonConfig). Mide la generación del
+ * arreglo de bytes completo y la escritura directa a un stream, que es lo que hace
+ * el modo streaming.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    @Param({"cita", "factura"})
+    private String tipo;
+
+    private ObjectWriter writer;
+    private ApiResponse respuesta;
+
+    @Setup
+    public void setup() {
+        writer = JacksonConfig.getMapper().writer();
+        respuesta = ApiResponse.success("Datos obtenidos", "cita".equals(tipo) ? citas(size) : facturas(size));
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return writer.writeValueAsBytes(respuesta);
+    }
+
+    @Benchmark
+    public void toStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), respuesta);
+    }
+
+    static List<Cita> citas(int cantidad) {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        List<Cita> citas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Cita cita = new Cita();
+            cita.setIdCita(i + 1);
+            cita.setFecha(inicio.plusDays(i % 365));
+            cita.setHora(LocalTime.of(8 + i % 10, (i % 4) * 15));
+            cita.setIdServicio(1 + i % 12);
+            cita.setIdMascota(1 + i % 500);
+            cita.setIdDatoVeterinario(1 + i % 20);
+            cita.setEstado(i % 3 == 0 ? "Pendiente" : "Aceptada");
+            citas.add(cita);
+        }
+        return citas;
+    }
+
+    private static List<Factura> facturas(int cantidad) {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        List<Factura> facturas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Factura factura = new Factura();
+            factura.setIdFactura(i + 1);
+            factura.setIdUsuario(1 + i % 300);
+            factura.setIdServicio(1 + i % 12);
+            factura.setIdCita(i + 1);
+            factura.setTotal(150.0f + (i % 40) * 12.5f);
+            factura.setFechaFactura(inicio.plusDays(i % 365));
+            facturas.add(factura);
+        }
+        return facturas;
+    }
+}
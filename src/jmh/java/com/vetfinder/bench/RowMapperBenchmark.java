@@ -0,0 +1,86 @@
+package com.vetfinder.bench;
+
+import com.vetfinder.model.Cita;
+import com.vetfinder.util.RowMapper;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por fila del mapeo de CITA: bloque escrito a mano (columnas por nombre)
+ * contra RowMapper (plan cacheado, columnas por índice)
+ * Usa un ResultSet en memoria para medir solo el mapeo, sin red ni driver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RowMapperBenchmark {
+    private static final int FILAS = 1000;
+    private static final RowMapper<Cita> MAPPER = RowMapper.of(Cita.class);
+
+    private SimpleResultSet rs;
+
+    @Setup
+    public void setup() {
+        rs = new SimpleResultSet();
+        rs.setAutoClose(false);
+        rs.addColumn("id_cita", Types.INTEGER, 10, 0);
+        rs.addColumn("fecha", Types.DATE, 10, 0);
+        rs.addColumn("hora", Types.TIME, 8, 0);
+        rs.addColumn("id_servicio", Types.INTEGER, 10, 0);
+        rs.addColumn("id_mascota", Types.INTEGER, 10, 0);
+        rs.addColumn("id_datoveterinario", Types.INTEGER, 10, 0);
+        rs.addColumn("estado", Types.VARCHAR, 20, 0);
+
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < FILAS; i++) {
+            rs.addRow(i + 1,
+                    Date.valueOf(inicio.plusDays(i % 365)),
+                    Time.valueOf(LocalTime.of(8 + i % 10, (i % 4) * 15)),
+                    1 + i % 12, 1 + i % 500, 1 + i % 20,
+                    i % 3 == 0 ? "Pendiente" : "Aceptada");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public List<Cita> manual() throws SQLException {
+        rs.beforeFirst();
+        List<Cita> citas = new ArrayList<>();
+        while (rs.next()) {
+            Cita cita = new Cita();
+            cita.setIdCita(rs.getInt("id_cita"));
+            cita.setFecha(rs.getDate("fecha").toLocalDate());
+            cita.setHora(rs.getTime("hora").toLocalTime());
+            cita.setIdServicio(rs.getInt("id_servicio"));
+            cita.setIdMascota(rs.getInt("id_mascota"));
+            cita.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
+            cita.setEstado(rs.getString("estado"));
+            citas.add(cita);
+        }
+        return citas;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public List<Cita> rowMapper() throws SQLException {
+        rs.beforeFirst();
+        return MAPPER.list(rs);
+    }
+}
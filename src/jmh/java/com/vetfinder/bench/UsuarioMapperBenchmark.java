@@ -0,0 +1,92 @@
+package com.vetfinder.bench;
+
+import com.vetfinder.model.Usuario;
+import com.vetfinder.util.RowMapper;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por fila del mapeo de USUARIO (11 columnas, incluye BIGINT y fecha)
+ * Compara el bloque escrito a mano con RowMapper sobre un ResultSet en memoria
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UsuarioMapperBenchmark {
+    private static final int FILAS = 1000;
+    private static final RowMapper<Usuario> MAPPER = RowMapper.of(Usuario.class);
+
+    private SimpleResultSet rs;
+
+    @Setup
+    public void setup() {
+        rs = new SimpleResultSet();
+        rs.setAutoClose(false);
+        rs.addColumn("id_usuario", Types.INTEGER, 10, 0);
+        rs.addColumn("nombre", Types.VARCHAR, 50, 0);
+        rs.addColumn("apellidos", Types.VARCHAR, 100, 0);
+        rs.addColumn("fecha_nacimiento", Types.DATE, 10, 0);
+        rs.addColumn("correo", Types.VARCHAR, 100, 0);
+        rs.addColumn("contrasena", Types.VARCHAR, 100, 0);
+        rs.addColumn("telefono", Types.BIGINT, 19, 0);
+        rs.addColumn("descripcion", Types.VARCHAR, 255, 0);
+        rs.addColumn("cedula", Types.INTEGER, 10, 0);
+        rs.addColumn("id_direccion", Types.INTEGER, 10, 0);
+        rs.addColumn("id_rol", Types.INTEGER, 10, 0);
+
+        LocalDate inicio = LocalDate.of(1970, 1, 1);
+        for (int i = 0; i < FILAS; i++) {
+            rs.addRow(i + 1, "Nombre" + i, "Apellido" + i,
+                    Date.valueOf(inicio.plusDays(i * 17L)),
+                    "usuario" + i + "@correo.com", "clave" + i,
+                    9_610_000_000L + i, i % 2 == 0 ? "Veterinario con experiencia" : null,
+                    i % 2 == 0 ? 1_000_000 + i : 0, 1 + i % 50, 1 + i % 2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public List<Usuario> manual() throws SQLException {
+        rs.beforeFirst();
+        List<Usuario> usuarios = new ArrayList<>();
+        while (rs.next()) {
+            Usuario usuario = new Usuario();
+            usuario.setIdUsuario(rs.getInt("id_usuario"));
+            usuario.setNombre(rs.getString("nombre"));
+            usuario.setApellidos(rs.getString("apellidos"));
+            Date fecha = rs.getDate("fecha_nacimiento");
+            usuario.setFechaNacimiento(fecha != null ? fecha.toLocalDate() : null);
+            usuario.setCorreo(rs.getString("correo"));
+            usuario.setContrasena(rs.getString("contrasena"));
+            usuario.setTelefono(rs.getLong("telefono"));
+            usuario.setDescripcion(rs.getString("descripcion"));
+            usuario.setCedula(rs.getInt("cedula"));
+            usuario.setIdDireccion(rs.getInt("id_direccion"));
+            usuario.setIdRol(rs.getInt("id_rol"));
+            usuarios.add(usuario);
+        }
+        return usuarios;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public List<Usuario> rowMapper() throws SQLException {
+        rs.beforeFirst();
+        return MAPPER.list(rs);
+    }
+}
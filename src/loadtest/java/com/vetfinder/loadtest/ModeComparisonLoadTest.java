@@ -0,0 +1,261 @@
+package com.vetfinder.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetfinder.config.JacksonConfig;
+import com.vetfinder.metrics.LatencyHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prueba de carga de lazo cerrado para comparar los modos de ejecución (platform / virtual)
+ * Cada cliente repite peticiones sin pausa mezclando un endpoint lento (estadísticas) con
+ * uno rápido (catálogo), que es el caso en que el pool de hilos de Jetty se satura.
+ * Reporta throughput y p50/p99/p999 por endpoint y guarda el resultado en JSON.
+ *
+ * El modo lo fija el servidor al arrancar (EXECUTION_MODE), así que la comparación necesita dos
+ * servidores: con --virtual-url se mide primero --url (platform) y después --virtual-url (virtual)
+ * con la misma carga, y se imprime la diferencia. Con solo --url se mide un servidor y la
+ * comparación queda para --compare contra el JSON de otra corrida.
+ * Con --correo y --contrasena se inicia sesión una vez en cada servidor y las peticiones envían
+ * el token (necesario con AUTH_REQUIRED=true). Las respuestas 4xx y 5xx cuentan como errores.
+ *
+ * Opciones (--clave=valor):
+ * --url          URL base del servidor (http://localhost:7000)
+ * --virtual-url  URL de un segundo servidor con EXECUTION_MODE=virtual para comparar en la misma corrida
+ * --correo       Usuario para iniciar sesión (sin token si no se indica)
+ * --contrasena   Contraseña del usuario
+ * --concurrency  Clientes simultáneos (200)
+ * --duration     Duración en segundos, sin contar el calentamiento (30)
+ * --warmup       Calentamiento en segundos (5)
+ * --slow         Endpoint lento (/api/estadisticas/resumen)
+ * --fast         Endpoint rápido (/api/servicios)
+ * --slow-ratio   Fracción de peticiones al endpoint lento (0.2)
+ * --label        Nombre de la corrida (platform; con --virtual-url se usan platform y virtual)
+ * --out          Archivo JSON de salida (build/reports/loadtest/&lt;label&gt;.json)
+ * --compare      JSON de una corrida anterior para mostrar la diferencia
+ */
+public class ModeComparisonLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = parsear(args);
+        String url = opciones.getOrDefault("url", "http://localhost:7000");
+        String virtualUrl = opciones.get("virtual-url");
+        ObjectMapper mapper = JacksonConfig.getMapper();
+
+        if (virtualUrl == null) {
+            String label = opciones.getOrDefault("label", "platform");
+            Map<String, Object> reporte = medir(opciones, label, url);
+            guardar(mapper, opciones.getOrDefault("out", "build/reports/loadtest/" + label + ".json"), reporte);
+
+            String compare = opciones.get("compare");
+            if (compare != null) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> anterior = mapper.readValue(new File(compare), Map.class);
+                comparar(anterior, reporte);
+            }
+            return;
+        }
+
+        Map<String, Object> platform = medir(opciones, "platform", url);
+        guardar(mapper, "build/reports/loadtest/platform.json", platform);
+        Map<String, Object> virtual = medir(opciones, "virtual", virtualUrl);
+        guardar(mapper, "build/reports/loadtest/virtual.json", virtual);
+        comparar(platform, virtual);
+    }
+
+    /**
+     * Una corrida completa (calentamiento y medición) contra un servidor
+     * @return Reporte con throughput y percentiles de cada endpoint
+     */
+    private static Map<String, Object> medir(Map<String, String> opciones, String label, String url)
+            throws IOException, InterruptedException {
+        int concurrency = Integer.parseInt(opciones.getOrDefault("concurrency", "200"));
+        int duration = Integer.parseInt(opciones.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(opciones.getOrDefault("warmup", "5"));
+        String slow = opciones.getOrDefault("slow", "/api/estadisticas/resumen");
+        String fast = opciones.getOrDefault("fast", "/api/servicios");
+        double slowRatio = Double.parseDouble(opciones.getOrDefault("slow-ratio", "0.2"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = iniciarSesion(client, url, opciones.get("correo"), opciones.get("contrasena"));
+        HttpRequest slowRequest = get(url + slow, token);
+        HttpRequest fastRequest = get(url + fast, token);
+
+        Resultado slowResult = new Resultado();
+        Resultado fastResult = new Resultado();
+
+        System.out.printf("Corrida '%s': %d clientes, %ds (+%ds calentamiento) contra %s%n",
+                label, concurrency, duration, warmup, url);
+
+        long inicio = System.nanoTime();
+        long medirDesde = inicio + warmup * 1_000_000_000L;
+        long fin = medirDesde + duration * 1_000_000_000L;
+
+        Thread[] clientes = new Thread[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            clientes[i] = new Thread(() -> {
+                while (true) {
+                    long t0 = System.nanoTime();
+                    if (t0 >= fin) {
+                        return;
+                    }
+                    boolean lenta = ThreadLocalRandom.current().nextDouble() < slowRatio;
+                    Resultado resultado = lenta ? slowResult : fastResult;
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> response = client.send(lenta ? slowRequest : fastRequest,
+                                HttpResponse.BodyHandlers.discarding());
+                        ok = response.statusCode() < 400;
+                    } catch (IOException e) {
+                        ok = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (t0 >= medirDesde) {
+                        resultado.registrar(System.nanoTime() - t0, ok);
+                    }
+                }
+            }, "loadtest-" + i);
+            clientes[i].start();
+        }
+        for (Thread cliente : clientes) {
+            cliente.join();
+        }
+
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("label", label);
+        reporte.put("concurrency", concurrency);
+        reporte.put("durationSeconds", duration);
+        reporte.put("slow", slowResult.resumen(slow, duration));
+        reporte.put("fast", fastResult.resumen(fast, duration));
+        imprimir(reporte);
+        return reporte;
+    }
+
+    private static void guardar(ObjectMapper mapper, String archivo, Map<String, Object> reporte) throws IOException {
+        File out = new File(archivo);
+        out.getAbsoluteFile().getParentFile().mkdirs();
+        mapper.writerWithDefaultPrettyPrinter().writeValue(out, reporte);
+        System.out.println("Resultado guardado en " + out.getPath());
+    }
+
+    /**
+     * @return Token de sesión, o null si no se indicó usuario
+     */
+    private static String iniciarSesion(HttpClient client, String url, String correo, String contrasena)
+            throws IOException, InterruptedException {
+        if (correo == null) {
+            return null;
+        }
+        Map<String, String> credenciales = new LinkedHashMap<>();
+        credenciales.put("correo", correo);
+        credenciales.put("contrasena", contrasena == null ? "" : contrasena);
+        ObjectMapper mapper = JacksonConfig.getMapper();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(url + "/api/usuarios/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(credenciales)))
+                .build();
+        HttpResponse<String> response = client.send(login, HttpResponse.BodyHandlers.ofString());
+        String token = response.statusCode() == 200
+                ? mapper.readTree(response.body()).path("data").path("token").asText(null)
+                : null;
+        if (token == null) {
+            throw new IllegalStateException("No se pudo iniciar sesión con " + correo + " en " + url +
+                    " (HTTP " + response.statusCode() + ")");
+        }
+        return token;
+    }
+
+    private static HttpRequest get(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Latencias y conteos de un endpoint
+     */
+    private static class Resultado {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errores = new LongAdder();
+
+        void registrar(long nanos, boolean ok) {
+            latency.recordNanos(nanos);
+            if (!ok) {
+                errores.increment();
+            }
+        }
+
+        Map<String, Object> resumen(String endpoint, int duration) {
+            Map<String, Object> resumen = new LinkedHashMap<>();
+            resumen.put("endpoint", endpoint);
+            resumen.put("requests", latency.getCount());
+            resumen.put("errors", errores.sum());
+            resumen.put("throughputPerSecond", (double) latency.getCount() / duration);
+            resumen.put("p50Ms", latency.percentileMicros(0.50) / 1000.0);
+            resumen.put("p99Ms", latency.percentileMicros(0.99) / 1000.0);
+            resumen.put("p999Ms", latency.percentileMicros(0.999) / 1000.0);
+            resumen.put("maxMs", latency.getMaxMicros() / 1000.0);
+            return resumen;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void imprimir(Map<String, Object> reporte) {
+        System.out.printf("%-8s %-40s %10s %8s %10s %10s %10s%n",
+                "tipo", "endpoint", "req/s", "errores", "p50 ms", "p99 ms", "p999 ms");
+        for (String tipo : new String[]{"slow", "fast"}) {
+            Map<String, Object> r = (Map<String, Object>) reporte.get(tipo);
+            System.out.printf("%-8s %-40s %10.1f %8d %10.2f %10.2f %10.2f%n", tipo, r.get("endpoint"),
+                    (double) r.get("throughputPerSecond"), (long) r.get("errors"),
+                    (double) r.get("p50Ms"), (double) r.get("p99Ms"), (double) r.get("p999Ms"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void comparar(Map<String, Object> anterior, Map<String, Object> actual) {
+        System.out.printf("%nComparación %s -> %s%n", anterior.get("label"), actual.get("label"));
+        for (String tipo : new String[]{"slow", "fast"}) {
+            Map<String, Object> a = (Map<String, Object>) anterior.get(tipo);
+            Map<String, Object> b = (Map<String, Object>) actual.get(tipo);
+            System.out.printf("%-5s req/s %+.1f%%  p99 %+.1f%%  p999 %+.1f%%%n", tipo,
+                    cambio(a, b, "throughputPerSecond"), cambio(a, b, "p99Ms"), cambio(a, b, "p999Ms"));
+        }
+    }
+
+    static double cambio(Map<String, Object> antes, Map<String, Object> despues, String campo) {
+        double a = ((Number) antes.get(campo)).doubleValue();
+        double b = ((Number) despues.get(campo)).doubleValue();
+        return a == 0 ? 0 : (b - a) / a * 100;
+    }
+
+    static Map<String, String> parsear(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int igual = arg.indexOf('=');
+                opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+            } else if (!arg.isBlank()) {
+                throw new IllegalArgumentException("Opción no válida: " + arg + " (se espera --clave=valor)");
+            }
+        }
+        return opciones;
+    }
+}
@@ -0,0 +1,385 @@
+package com.vetfinder.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vetfinder.Main;
+import com.vetfinder.config.DatabaseConfig;
+import com.vetfinder.config.JacksonConfig;
+import com.vetfinder.db.DatosSinteticos;
+import com.vetfinder.metrics.LatencyHistogram;
+import io.javalin.Javalin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Prueba de carga de lazo abierto contra la aplicación levantada en el mismo proceso
+ * Inicializa la base con DB_PROFILE=h2 (datos sintéticos de DatosSinteticos), crea la app con
+ * Main.crearApp en un puerto libre y envía peticiones a una tasa fija, sin esperar a que
+ * terminen las anteriores. La latencia se mide desde el momento en que la petición debía salir,
+ * así una pausa del servidor cuenta para todas las peticiones que se atrasaron (sin coordinated
+ * omission). Si hay más de --max-en-vuelo peticiones sin respuesta, las nuevas se descartan y se
+ * cuentan aparte: una corrida con descartes está por encima de la capacidad del servidor.
+ *
+ * Antes de empezar, cada usuario virtual inicia sesión una vez con un usuario sintético y todas
+ * sus peticiones llevan ese token en Authorization: Bearer, como un cliente real (así la corrida
+ * sirve también con AUTH_REQUIRED=true). La ruta login mide aparte el costo de iniciar sesión.
+ *
+ * Mezcla de peticiones (pesos con --pesos=login:15,catalogo:35,...):
+ * login      POST /api/usuarios/login con un usuario sintético
+ * catalogo   GET  /api/servicios
+ * agenda     GET  /api/veterinarios/{id}/agenda?fecha= (un día entre -30 y +30)
+ * cita       POST /api/citas en un turno libre a partir de dentro de 31 días
+ * dashboard  GET  /api/estadisticas/resumen
+ *
+ * Reporta throughput y p50/p99/p999 por ruta y guarda el resultado en JSON.
+ * El log de accesos no se arranca: los registros se descartan sin escribirse.
+ *
+ * Opciones (--clave=valor):
+ * --rate          Peticiones por segundo (500)
+ * --duration      Duración en segundos, sin contar el calentamiento (30)
+ * --warmup        Calentamiento en segundos (10)
+ * --pesos         Peso de cada ruta (login:15,catalogo:35,agenda:25,cita:10,dashboard:15)
+ * --max-en-vuelo  Peticiones sin respuesta antes de descartar (2000)
+ * --virtuales     Usuarios virtuales con sesión propia (100, como máximo los usuarios sintéticos)
+ * --semilla       Semilla para elegir rutas y parámetros (7)
+ * --label         Nombre de la corrida (workload)
+ * --out           Archivo JSON de salida (build/reports/loadtest/&lt;label&gt;.json)
+ * --compare       JSON de una corrida anterior para mostrar la diferencia
+ */
+public class WorkloadLoadTest {
+    private static final String PESOS = "login:15,catalogo:35,agenda:25,cita:10,dashboard:15";
+    // Las citas nuevas van después de la agenda sintética (hasta +30 días) para no chocar
+    private static final int PRIMER_DIA_CITAS = 31;
+    private static final int TURNOS_POR_DIA = 24;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = ModeComparisonLoadTest.parsear(args);
+        int rate = Integer.parseInt(opciones.getOrDefault("rate", "500"));
+        int duration = Integer.parseInt(opciones.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(opciones.getOrDefault("warmup", "10"));
+        int maxEnVuelo = Integer.parseInt(opciones.getOrDefault("max-en-vuelo", "2000"));
+        int virtuales = Integer.parseInt(opciones.getOrDefault("virtuales", "100"));
+        Random random = new Random(Long.parseLong(opciones.getOrDefault("semilla", "7")));
+        String label = opciones.getOrDefault("label", "workload");
+        File out = new File(opciones.getOrDefault("out", "build/reports/loadtest/" + label + ".json"));
+        if (rate <= 0 || duration <= 0 || warmup < 0 || maxEnVuelo <= 0 || virtuales <= 0) {
+            throw new IllegalArgumentException("--rate, --duration, --max-en-vuelo y --virtuales deben ser mayores a 0");
+        }
+
+        DatabaseConfig.initialize();
+        if (!DatabaseConfig.isH2()) {
+            DatabaseConfig.closeDataSource();
+            throw new IllegalStateException("La prueba embebida crea citas: ejecutar con DB_PROFILE=h2");
+        }
+        Javalin app = Main.crearApp().start("127.0.0.1", 0);
+        String url = "http://127.0.0.1:" + app.port();
+
+        try {
+            DatosSinteticos datos = DatosSinteticos.desdeConfig();
+            String[] tokens = iniciarSesiones(url, Math.min(virtuales, datos.getUsuarios()));
+            List<Ruta> rutas = rutas(url, datos, tokens, opciones.getOrDefault("pesos", PESOS));
+            System.out.printf("Corrida '%s': %d req/s, %ds (+%ds calentamiento) contra %s%n",
+                    label, rate, duration, warmup, url);
+            ejecutar(rutas, rate, duration, warmup, maxEnVuelo, random);
+
+            Map<String, Object> reporte = new LinkedHashMap<>();
+            reporte.put("label", label);
+            reporte.put("ratePerSecond", rate);
+            reporte.put("durationSeconds", duration);
+            Map<String, Object> porRuta = new LinkedHashMap<>();
+            for (Ruta ruta : rutas) {
+                porRuta.put(ruta.nombre, ruta.resumen(duration));
+            }
+            reporte.put("routes", porRuta);
+            imprimir(porRuta);
+
+            ObjectMapper mapper = JacksonConfig.getMapper();
+            out.getAbsoluteFile().getParentFile().mkdirs();
+            mapper.writerWithDefaultPrettyPrinter().writeValue(out, reporte);
+            System.out.println("Resultado guardado en " + out.getPath());
+
+            String compare = opciones.get("compare");
+            if (compare != null) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> anterior = mapper.readValue(new File(compare), Map.class);
+                comparar(anterior, reporte);
+            }
+        } finally {
+            app.stop();
+            DatabaseConfig.closeDataSource();
+        }
+    }
+
+    /**
+     * Envía las peticiones en los instantes programados (una cada 1/rate segundos)
+     */
+    private static void ejecutar(List<Ruta> rutas, int rate, int duration, int warmup, int maxEnVuelo,
+                                 Random random) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        int pesoTotal = 0;
+        for (Ruta ruta : rutas) {
+            pesoTotal += ruta.peso;
+        }
+
+        AtomicInteger enVuelo = new AtomicInteger();
+        double intervalo = 1_000_000_000.0 / rate;
+        long inicio = System.nanoTime();
+        long medirDesde = inicio + TimeUnit.SECONDS.toNanos(warmup);
+        long fin = medirDesde + TimeUnit.SECONDS.toNanos(duration);
+
+        for (long i = 0; ; i++) {
+            long programado = inicio + (long) (i * intervalo);
+            if (programado >= fin) {
+                break;
+            }
+            long espera;
+            while ((espera = programado - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+
+            Ruta ruta = elegir(rutas, random.nextInt(pesoTotal));
+            boolean medir = programado >= medirDesde;
+            if (enVuelo.get() >= maxEnVuelo) {
+                if (medir) {
+                    ruta.descartadas.increment();
+                }
+                continue;
+            }
+            enVuelo.incrementAndGet();
+            client.sendAsync(ruta.peticion.apply(random.nextLong()), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latencia = System.nanoTime() - programado;
+                        enVuelo.decrementAndGet();
+                        if (medir) {
+                            ruta.registrar(latencia, error == null ? response.statusCode() : -1);
+                        }
+                    });
+        }
+
+        // Esperar las respuestas pendientes (como máximo 30 s)
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (enVuelo.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        if (enVuelo.get() > 0) {
+            System.err.println("⚠️ " + enVuelo.get() + " peticiones sin respuesta al terminar");
+        }
+    }
+
+    /**
+     * Inicia sesión una vez por usuario virtual con los usuarios sintéticos 1..cantidad
+     * @return Token de cada usuario virtual
+     */
+    private static String[] iniciarSesiones(String url, int cantidad) throws IOException, InterruptedException {
+        if (cantidad == 0) {
+            throw new IllegalStateException("Se requieren usuarios sintéticos para iniciar sesión (H2_SEED_USUARIOS)");
+        }
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper mapper = JacksonConfig.getMapper();
+        String[] tokens = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            HttpResponse<String> response = client.send(login(url, Duration.ofSeconds(30), i + 1),
+                    HttpResponse.BodyHandlers.ofString());
+            String token = response.statusCode() == 200
+                    ? mapper.readTree(response.body()).path("data").path("token").asText(null)
+                    : null;
+            if (token == null) {
+                throw new IllegalStateException("No se pudo iniciar sesión con usuario" + (i + 1) +
+                        "@vetfinder.test (HTTP " + response.statusCode() + ")");
+            }
+            tokens[i] = token;
+        }
+        System.out.printf("%d usuarios virtuales con sesión iniciada%n", cantidad);
+        return tokens;
+    }
+
+    private static Ruta elegir(List<Ruta> rutas, int valor) {
+        for (Ruta ruta : rutas) {
+            valor -= ruta.peso;
+            if (valor < 0) {
+                return ruta;
+            }
+        }
+        return rutas.get(rutas.size() - 1);
+    }
+
+    /**
+     * Rutas de la mezcla con sus parámetros sobre los IDs que generó DatosSinteticos
+     * Cada petición la envía un usuario virtual elegido al azar, con su token
+     */
+    private static List<Ruta> rutas(String url, DatosSinteticos datos, String[] tokens, String pesos) {
+        int usuarios = datos.getUsuarios();
+        int veterinarios = datos.getVeterinarios();
+        int mascotas = datos.getMascotas();
+        if (veterinarios == 0 || mascotas == 0) {
+            throw new IllegalStateException("Se requieren usuarios y mascotas sintéticos (H2_SEED_USUARIOS, H2_SEED_MASCOTAS)");
+        }
+        LocalDate hoy = LocalDate.now();
+        AtomicLong turnos = new AtomicLong();
+        Duration timeout = Duration.ofSeconds(30);
+
+        Map<String, LongFunction<HttpRequest>> disponibles = new LinkedHashMap<>();
+        disponibles.put("login", r -> login(url, timeout, 1 + (int) Math.floorMod(r, (long) usuarios)));
+        disponibles.put("catalogo", r -> get(url + "/api/servicios", timeout, token(tokens, r)));
+        disponibles.put("agenda", r -> {
+            int veterinario = 1 + (int) Math.floorMod(r, (long) veterinarios);
+            LocalDate fecha = hoy.plusDays(Math.floorMod(r >> 20, 61L) - 30);
+            return get(url + "/api/veterinarios/" + veterinario + "/agenda?fecha=" + fecha, timeout, token(tokens, r));
+        });
+        disponibles.put("cita", r -> {
+            // Cada petición ocupa un turno distinto: veterinario, después hora, después día
+            long turno = turnos.getAndIncrement();
+            int veterinario = 1 + (int) (turno % veterinarios);
+            long slot = turno / veterinarios;
+            LocalDate fecha = hoy.plusDays(PRIMER_DIA_CITAS + slot / TURNOS_POR_DIA);
+            LocalTime hora = LocalTime.of(8, 0).plusMinutes(30 * (slot % TURNOS_POR_DIA));
+            int mascota = 1 + (int) Math.floorMod(r, (long) mascotas);
+            return post(url + "/api/citas", timeout, token(tokens, r), String.format(
+                    "{\"fecha\":\"%s\",\"hora\":\"%s\",\"idServicio\":%d,\"idMascota\":%d,\"idDatoVeterinario\":%d}",
+                    fecha, hora, 1 + Math.floorMod(r >> 32, 8L), mascota, veterinario));
+        });
+        disponibles.put("dashboard", r -> get(url + "/api/estadisticas/resumen", timeout, token(tokens, r)));
+
+        List<Ruta> rutas = new ArrayList<>();
+        for (String par : pesos.split(",")) {
+            String[] partes = par.trim().split(":");
+            LongFunction<HttpRequest> peticion = disponibles.get(partes[0]);
+            if (partes.length != 2 || peticion == null) {
+                throw new IllegalArgumentException("Peso no válido: " + par + " (rutas: " + disponibles.keySet() + ")");
+            }
+            int peso = Integer.parseInt(partes[1]);
+            if (peso > 0) {
+                rutas.add(new Ruta(partes[0], peso, peticion));
+            }
+        }
+        if (rutas.isEmpty()) {
+            throw new IllegalArgumentException("Ninguna ruta tiene peso mayor a 0");
+        }
+        return rutas;
+    }
+
+    /**
+     * Usuario virtual que envía la petición (bits altos de r, que no usan los parámetros)
+     */
+    private static String token(String[] tokens, long r) {
+        return tokens[(int) Math.floorMod(r >>> 44, (long) tokens.length)];
+    }
+
+    private static HttpRequest login(String url, Duration timeout, int idUsuario) {
+        return post(url + "/api/usuarios/login", timeout, null, String.format(
+                "{\"correo\":\"usuario%d@vetfinder.test\",\"contrasena\":\"%s\"}", idUsuario, DatosSinteticos.CONTRASENA));
+    }
+
+    private static HttpRequest get(String url, Duration timeout, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    /**
+     * @param token Token de sesión, o null para una ruta pública
+     */
+    private static HttpRequest post(String url, Duration timeout, String token, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    /**
+     * Ruta de la mezcla con sus latencias y conteos
+     */
+    private static class Ruta {
+        private final String nombre;
+        private final int peso;
+        private final LongFunction<HttpRequest> peticion;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errores = new LongAdder();
+        private final LongAdder descartadas = new LongAdder();
+
+        Ruta(String nombre, int peso, LongFunction<HttpRequest> peticion) {
+            this.nombre = nombre;
+            this.peso = peso;
+            this.peticion = peticion;
+        }
+
+        /**
+         * @param status Código HTTP, o -1 si la petición falló sin respuesta
+         */
+        void registrar(long nanos, int status) {
+            latency.recordNanos(nanos);
+            if (status < 0 || status >= 400) {
+                errores.increment();
+            }
+        }
+
+        Map<String, Object> resumen(int duration) {
+            Map<String, Object> resumen = new LinkedHashMap<>();
+            resumen.put("weight", peso);
+            resumen.put("requests", latency.getCount());
+            resumen.put("errors", errores.sum());
+            resumen.put("dropped", descartadas.sum());
+            resumen.put("throughputPerSecond", (double) latency.getCount() / duration);
+            resumen.put("p50Ms", latency.percentileMicros(0.50) / 1000.0);
+            resumen.put("p99Ms", latency.percentileMicros(0.99) / 1000.0);
+            resumen.put("p999Ms", latency.percentileMicros(0.999) / 1000.0);
+            resumen.put("maxMs", latency.getMaxMicros() / 1000.0);
+            return resumen;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void imprimir(Map<String, Object> porRuta) {
+        System.out.printf("%-10s %10s %8s %10s %10s %10s %10s%n",
+                "ruta", "req/s", "errores", "descartes", "p50 ms", "p99 ms", "p999 ms");
+        for (Map.Entry<String, Object> entrada : porRuta.entrySet()) {
+            Map<String, Object> r = (Map<String, Object>) entrada.getValue();
+            System.out.printf("%-10s %10.1f %8d %10d %10.2f %10.2f %10.2f%n", entrada.getKey(),
+                    (double) r.get("throughputPerSecond"), (long) r.get("errors"), (long) r.get("dropped"),
+                    (double) r.get("p50Ms"), (double) r.get("p99Ms"), (double) r.get("p999Ms"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void comparar(Map<String, Object> anterior, Map<String, Object> actual) {
+        System.out.printf("%nComparación %s -> %s%n", anterior.get("label"), actual.get("label"));
+        Map<String, Object> antes = (Map<String, Object>) anterior.get("routes");
+        Map<String, Object> despues = (Map<String, Object>) actual.get("routes");
+        for (Map.Entry<String, Object> entrada : despues.entrySet()) {
+            Map<String, Object> a = (Map<String, Object>) antes.get(entrada.getKey());
+            if (a == null) {
+                continue;
+            }
+            Map<String, Object> b = (Map<String, Object>) entrada.getValue();
+            System.out.printf("%-10s p50 %+.1f%%  p99 %+.1f%%  p999 %+.1f%%%n", entrada.getKey(),
+                    ModeComparisonLoadTest.cambio(a, b, "p50Ms"), ModeComparisonLoadTest.cambio(a, b, "p99Ms"),
+                    ModeComparisonLoadTest.cambio(a, b, "p999Ms"));
+        }
+    }
+}
@@ -2,18 +2,25 @@ package com.vetfinder;
 
 import io.javalin.Javalin;
 import com.vetfinder.di.AppModule;
+import com.vetfinder.config.CompressionConfig;
 import com.vetfinder.config.DatabaseConfig;
+import com.vetfinder.config.ExecutionMode;
+import com.vetfinder.config.JacksonConfig;
+import com.vetfinder.logging.AccessLog;
+import com.vetfinder.metrics.MetricsRegistry;
+import com.vetfinder.util.ConditionalGet;
+import io.javalin.json.JavalinJackson;
 
 /**
- * Main.java CON DEBUG AGREGADO - Para identificar problema de JSON vacío
- * ACCIÓN: REEMPLAZAR el archivo Main.java actual por este código
+ * Punto de entrada de VetFinder API
+ * Inicializa la base de datos, registra las rutas e inicia el servidor
  */
 public class Main {
     public static void main(String[] args) {
         try {
             System.out.println("=== VetFinder API - Iniciando servidor ===");
 
-            // Inicializar base de datos
+            // Inicializar base de datos (aplica las migraciones pendientes de db/migration)
             System.out.println("Inicializando base de datos...");
             DatabaseConfig.initialize();
             System.out.println("✅ Base de datos inicializada");
@@ -21,133 +28,27 @@ public class Main {
             // Obtener puerto del entorno o usar 7000 por defecto
             int port = Integer.parseInt(System.getenv().getOrDefault("SERVER_PORT", "7000"));
 
-            // Crear aplicación Javalin CON CONFIGURACIÓN DE DEBUG
-            Javalin app = Javalin.create(config -> {
-                // Configuración de CORS
-                config.plugins.enableCors(cors -> {
-                    cors.add(it -> {
-                        it.anyHost();
-                        it.allowCredentials = true;
-                    });
-                });
-
-                // ========== CONFIGURACIÓN ADICIONAL PARA DEBUG ==========
-                config.plugins.enableDevLogging();
-
-                config.http.maxRequestSize = 10_000_000L; // 10MB
-
-                config.http.asyncTimeout = 10_000L; // 10 segundos
-
-                System.out.println("✅ Javalin configurado con debug habilitado");
-            });
-
-            // ========== FILTRO DE DEBUG TEMPORAL ==========
-            app.before("/api/*", ctx -> {
-                System.out.println("\n" + "=".repeat(60));
-                System.out.println("🔍 FILTRO DEBUG - PETICIÓN INTERCEPTADA");
-                System.out.println("=".repeat(60));
-                System.out.println("📍 Method: " + ctx.method());
-                System.out.println("📍 Path: " + ctx.path());
-                System.out.println("📍 Query string: " + ctx.queryString());
-                System.out.println("📍 Content-Type header: " + ctx.header("Content-Type"));
-                System.out.println("📍 Content-Length header: " + ctx.header("Content-Length"));
-                System.out.println("📍 User-Agent: " + ctx.header("User-Agent"));
-
-                // Mostrar TODOS los headers
-                System.out.println("📍 Todos los headers:");
-                ctx.headerMap().forEach((key, value) ->
-                        System.out.println("   " + key + ": " + value)
-                );
-
-                // Información del body (CRÍTICO para debugging)
-                String bodyContent = ctx.body();
-                byte[] bodyBytes = ctx.bodyAsBytes();
-
-                System.out.println("📍 Body info:");
-                System.out.println("   Body string length: " + (bodyContent != null ? bodyContent.length() : "null"));
-                System.out.println("   Body bytes length: " + (bodyBytes != null ? bodyBytes.length : "null"));
-                System.out.println("   Body isEmpty (string): " + (bodyContent == null || bodyContent.trim().isEmpty()));
-                System.out.println("   Body content: '" + bodyContent + "'");
-
-                if (bodyBytes != null && bodyBytes.length > 0) {
-                    System.out.println("   Body as bytes: " + java.util.Arrays.toString(bodyBytes));
-                }
-
-                System.out.println("=".repeat(60) + "\n");
-            });
+            // Crear aplicación Javalin con todas las rutas
+            Javalin app = crearApp();
 
             // Shutdown hook
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 System.out.println("Cerrando aplicación...");
                 DatabaseConfig.closeDataSource();
                 app.stop();
+                AccessLog.stop();
             }));
 
-            System.out.println("=== Registrando endpoints de la API ===");
-
-            // Rutas básicas de prueba
-            app.get("/", ctx -> {
-                System.out.println("✅ Endpoint / ejecutado correctamente");
-                ctx.json(java.util.Map.of(
-                        "message", "VetFinder API funcionando correctamente",
-                        "version", "1.0.0",
-                        "timestamp", System.currentTimeMillis()
-                ));
-            });
-
-            app.get("/test", ctx -> {
-                System.out.println("✅ Endpoint /test ejecutado correctamente");
-                ctx.json(java.util.Map.of(
-                        "message", "Conexión a base de datos OK",
-                        "database", "conectada",
-                        "timestamp", System.currentTimeMillis()
-                ));
-            });
-
-            // ========== ENDPOINT DE PRUEBA ESPECÍFICO PARA JSON ==========
-            app.post("/api/test-json", ctx -> {
-                System.out.println("🧪 ENDPOINT TEST-JSON EJECUTADO");
-                String body = ctx.body();
-                System.out.println("Body recibido en test-json: '" + body + "'");
-
-                try {
-                    var json = ctx.bodyAsClass(java.util.Map.class);
-                    ctx.json(java.util.Map.of(
-                            "success", true,
-                            "message", "JSON parseado correctamente",
-                            "received", json
-                    ));
-                } catch (Exception e) {
-                    ctx.json(java.util.Map.of(
-                            "success", false,
-                            "message", "Error al parsear JSON: " + e.getMessage(),
-                            "bodyReceived", body
-                    ));
-                }
-            });
-
-            // Registrar todas las rutas de la aplicación
-            AppModule.initRoles().register(app);
-            AppModule.initUsuarios().register(app);
-            AppModule.initSexos().register(app);
-            AppModule.initDirecciones().register(app);
-            AppModule.initEspecialidades().register(app);
-            AppModule.initServicios().register(app);
-            AppModule.initMascotas().register(app);
-            AppModule.initDatosVeterinarios().register(app);
-            AppModule.initConsultorios().register(app);
-            AppModule.initCitas().register(app);
-            AppModule.initFacturas().register(app);
-            AppModule.initEstadisticas().register(app);
-
-            System.out.println("=== DEBUG: Iniciando servidor ===");
+            // Log de accesos muestreado en segundo plano
+            AccessLog.start();
 
             // Iniciar servidor
             app.start("0.0.0.0", port);
 
             System.out.println("=================================================");
-            System.out.println("✅ VetFinder API iniciada CORRECTAMENTE CON DEBUG");
+            System.out.println("✅ VetFinder API iniciada correctamente");
             System.out.println("🌐 Servidor: http://localhost:" + port);
+            System.out.println("🧵 Modo de ejecución: " + ExecutionMode.actual());
             System.out.println("=================================================");
             System.out.println("🧪 Endpoints principales disponibles:");
             System.out.println("- GET  http://localhost:" + port + "/ (test básico)");
@@ -159,9 +60,10 @@ public class Main {
             System.out.println("- GET  http://localhost:" + port + "/api/servicios");
             System.out.println("- GET  http://localhost:" + port + "/api/usuarios/veterinarios");
             System.out.println("- GET  http://localhost:" + port + "/api/estadisticas/horarios-concurridos");
+            System.out.println("- GET  http://localhost:" + port + "/metrics (Prometheus)");
             System.out.println("=================================================");
             System.out.println("🎯 FRONTEND READY - Todos los endpoints necesarios activos");
-            System.out.println("🔍 DEBUG MODE ACTIVO - Se mostrarán detalles de todas las peticiones");
+            System.out.println("📝 Log de accesos: una línea por petición (ACCESS_LOG_SAMPLE_RATE)");
             System.out.println("=================================================");
 
         } catch (Exception e) {
@@ -170,4 +72,106 @@ public class Main {
             System.exit(1);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Crea la aplicación Javalin con su configuración y todas las rutas, sin iniciarla
+     * La usan main y la prueba de carga embebida (src/loadtest); la base de datos debe estar inicializada
+     * @return Aplicación lista para app.start
+     */
+    public static Javalin crearApp() {
+        // Crear aplicación Javalin
+        Javalin app = Javalin.create(config -> {
+            // Configuración de CORS
+            config.plugins.enableCors(cors -> {
+                cors.add(it -> {
+                    it.anyHost();
+                    it.allowCredentials = true;
+                    // Para que el frontend pueda leer y reenviar la versión de los catálogos
+                    it.exposeHeader("ETag");
+                    it.exposeHeader("Last-Modified");
+                });
+            });
+
+            // gzip / Brotli según Accept-Encoding (ver CompressionConfig)
+            CompressionConfig.aplicar(config);
+
+            // Mismo ObjectMapper que usan las respuestas en streaming
+            config.jsonMapper(new JavalinJackson(JacksonConfig.getMapper()));
+
+            // Latencia y estado de cada petición para GET /metrics y el log de accesos
+            config.requestLogger.http((ctx, executionTimeMs) -> {
+                MetricsRegistry.recordRequest(ctx, executionTimeMs);
+                AccessLog.log(ctx, executionTimeMs);
+            });
+
+            config.http.maxRequestSize = 10_000_000L; // 10MB
+
+            config.http.asyncTimeout = 10_000L; // 10 segundos
+
+            // EXECUTION_MODE=virtual: cada petición en un hilo virtual (Java 21+)
+            config.useVirtualThreads = ExecutionMode.isVirtual();
+        });
+
+        System.out.println("=== Registrando endpoints de la API ===");
+
+        // Rutas básicas de prueba
+        app.get("/", ctx -> {
+            ctx.json(java.util.Map.of(
+                    "message", "VetFinder API funcionando correctamente",
+                    "version", "1.0.0",
+                    "timestamp", System.currentTimeMillis()
+            ));
+        });
+
+        app.get("/test", ctx -> {
+            ctx.json(java.util.Map.of(
+                    "message", "Conexión a base de datos OK",
+                    "database", "conectada",
+                    "timestamp", System.currentTimeMillis()
+            ));
+        });
+
+        // ========== ENDPOINT DE PRUEBA ESPECÍFICO PARA JSON ==========
+        app.post("/api/test-json", ctx -> {
+            String body = ctx.body();
+            try {
+                var json = ctx.bodyAsClass(java.util.Map.class);
+                ctx.json(java.util.Map.of(
+                        "success", true,
+                        "message", "JSON parseado correctamente",
+                        "received", json
+                ));
+            } catch (Exception e) {
+                ctx.json(java.util.Map.of(
+                        "success", false,
+                        "message", "Error al parsear JSON: " + e.getMessage(),
+                        "bodyReceived", body
+                ));
+            }
+        });
+
+        // Token de sesión (Authorization: Bearer) antes de cualquier ruta
+        AppModule.initAuth().register(app);
+        // ETag y Last-Modified solo en las respuestas 200 de los GET condicionales
+        ConditionalGet.register(app);
+
+        // Registrar todas las rutas de la aplicación
+        AppModule.initRoles().register(app);
+        AppModule.initUsuarios().register(app);
+        AppModule.initSexos().register(app);
+        AppModule.initDirecciones().register(app);
+        AppModule.initEspecialidades().register(app);
+        AppModule.initServicios().register(app);
+        AppModule.initMascotas().register(app);
+        AppModule.initDatosVeterinarios().register(app);
+        AppModule.initConsultorios().register(app);
+        AppModule.initCitas().register(app);
+        AppModule.initDisponibilidad().register(app);
+        AppModule.initFacturas().register(app);
+        AppModule.initEstadisticas().register(app);
+        AppModule.initAdmin().register(app);
+        AppModule.initMetrics().register(app);
+
+        return app;
+    }
+}
@@ -0,0 +1,138 @@
+package com.vetfinder.auth;
+
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.metrics.MetricsRegistry;
+import com.vetfinder.model.Rol;
+import com.vetfinder.util.ApiResponse;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+import io.javalin.http.HttpStatus;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro before que autentica las peticiones con el token de sesión (Authorization: Bearer ...)
+ * Un token válido deja la sesión en el contexto (Sesion.de(ctx)) sin consultar la base de datos;
+ * un token inválido o vencido responde 401.
+ * Las rutas públicas (login, registro y catálogos) no miran el token, así un token vencido
+ * guardado por el cliente no impide volver a iniciar sesión.
+ * Con AUTH_REQUIRED=true también responde 401 a las demás peticiones /api sin token. Por defecto
+ * está activo salvo con APP_ENV=development, donde los clientes de prueba pueden no enviar el token.
+ * /api/admin siempre exige una sesión con rol administrador (401 sin token, 403 con otro rol).
+ * El token no se puede revocar y guarda el rol del login, así que en /api/admin el rol se vuelve
+ * a leer de la base de datos: un usuario al que se le quitó el rol o que se eliminó pierde el
+ * acceso en la siguiente petición. El resto de las rutas no dependen del rol.
+ */
+public class AuthFilter {
+    private static final String PREFIJO = "Bearer ";
+    private static final String RUTAS_ADMIN = "/api/admin/";
+    // Rutas que se usan antes de iniciar sesión (login y formularios de registro)
+    private static final Set<String> PUBLICAS_POST = Set.of(
+            "/api/usuarios/login", "/api/usuarios/tutor", "/api/usuarios/veterinario");
+    private static final Set<String> PUBLICAS_GET = Set.of(
+            "/api/roles", "/api/sexos", "/api/especialidades", "/api/servicios", "/api/direcciones");
+
+    private static final LongAdder RECHAZADAS = new LongAdder();
+
+    private final TokenService tokenService;
+    private final RolActual rolActual;
+    private final boolean requerido;
+
+    public AuthFilter(TokenService tokenService, RolActual rolActual) {
+        this(tokenService, rolActual, AppConfig.getBoolean("AUTH_REQUIRED",
+                !"development".equalsIgnoreCase(AppConfig.get("APP_ENV", ""))));
+    }
+
+    public AuthFilter(TokenService tokenService, RolActual rolActual, boolean requerido) {
+        this.tokenService = tokenService;
+        this.rolActual = rolActual;
+        this.requerido = requerido;
+    }
+
+    /**
+     * Rol vigente de un usuario en la base de datos (UsuarioService.getRolActual)
+     */
+    @FunctionalInterface
+    public interface RolActual {
+        /**
+         * @param idUsuario ID del usuario de la sesión
+         * @return ID del rol, o null si el usuario ya no existe
+         * @throws SQLException Error en la consulta
+         */
+        Integer de(int idUsuario) throws SQLException;
+    }
+
+    /**
+     * Registra el filtro para todas las rutas y el contador de rechazos en /metrics
+     * @param app Instancia de Javalin
+     */
+    public void register(Javalin app) {
+        app.before(this::autenticar);
+        MetricsRegistry.registerCollector(w -> w
+                .header("auth_rejected_total", "counter", "Peticiones rechazadas por token inválido, vencido o ausente, o por rol sin permiso")
+                .sample("auth_rejected_total", RECHAZADAS.sum()));
+    }
+
+    private void autenticar(Context ctx) {
+        if (esPublica(ctx)) {
+            return;
+        }
+        boolean admin = ctx.path().startsWith(RUTAS_ADMIN);
+
+        String header = ctx.header("Authorization");
+        if (header == null || !header.regionMatches(true, 0, PREFIJO, 0, PREFIJO.length())) {
+            if (requerido || admin) {
+                rechazar(ctx, HttpStatus.UNAUTHORIZED, "Se requiere iniciar sesión");
+            }
+            return;
+        }
+
+        Sesion sesion = tokenService.verificar(header.substring(PREFIJO.length()).trim());
+        if (sesion == null) {
+            rechazar(ctx, HttpStatus.UNAUTHORIZED, "Token de sesión inválido o vencido");
+            return;
+        }
+        if (admin && !esAdministrador(ctx, sesion)) {
+            return;
+        }
+        Sesion.asignar(ctx, sesion);
+    }
+
+    private boolean esAdministrador(Context ctx, Sesion sesion) {
+        if (sesion.getIdRol() != Rol.ADMINISTRADOR) {
+            rechazar(ctx, HttpStatus.FORBIDDEN, "Se requiere rol de administrador");
+            return false;
+        }
+        Integer rol;
+        try {
+            rol = rolActual.de(sesion.getIdUsuario());
+        } catch (SQLException e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al verificar el rol: " + e.getMessage()));
+            ctx.skipRemainingHandlers();
+            return false;
+        }
+        if (rol == null || rol != Rol.ADMINISTRADOR) {
+            rechazar(ctx, HttpStatus.FORBIDDEN, "Se requiere rol de administrador");
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean esPublica(Context ctx) {
+        String path = ctx.path();
+        HandlerType metodo = ctx.method();
+        return !path.startsWith("/api/")
+                || metodo == HandlerType.OPTIONS
+                || (metodo == HandlerType.POST && PUBLICAS_POST.contains(path))
+                || (metodo == HandlerType.GET && PUBLICAS_GET.contains(path));
+    }
+
+    private static void rechazar(Context ctx, HttpStatus status, String mensaje) {
+        RECHAZADAS.increment();
+        ctx.status(status).json(ApiResponse.error(mensaje));
+        ctx.skipRemainingHandlers();
+    }
+}
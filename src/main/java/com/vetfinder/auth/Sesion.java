@@ -0,0 +1,69 @@
+package com.vetfinder.auth;
+
+import com.vetfinder.model.Rol;
+import io.javalin.http.Context;
+
+/**
+ * Identidad de quien hace la petición, leída del token de sesión sin consultar la base de datos
+ */
+public class Sesion {
+    private static final String ATRIBUTO = "sesion";
+
+    private final int idUsuario;
+    private final int idRol;
+    private final long expira;
+
+    public Sesion(int idUsuario, int idRol, long expira) {
+        this.idUsuario = idUsuario;
+        this.idRol = idRol;
+        this.expira = expira;
+    }
+
+    /**
+     * Sesión autenticada por AuthFilter
+     * @param ctx Contexto de Javalin
+     * @return Sesión de la petición o null si no trae token
+     */
+    public static Sesion de(Context ctx) {
+        return ctx.attribute(ATRIBUTO);
+    }
+
+    static void asignar(Context ctx, Sesion sesion) {
+        ctx.attribute(ATRIBUTO, sesion);
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    public int getIdRol() {
+        return idRol;
+    }
+
+    /**
+     * Vencimiento en segundos desde epoch
+     */
+    public long getExpira() {
+        return expira;
+    }
+
+    public String getTipoUsuario() {
+        return tipoUsuario(idRol);
+    }
+
+    /**
+     * Tipo de usuario que devuelven el login y /tipo para un rol
+     * @param idRol ID del rol (Rol.VETERINARIO, Rol.TUTOR o Rol.ADMINISTRADOR)
+     * @return "veterinario", "administrador" o "tutor"
+     */
+    public static String tipoUsuario(int idRol) {
+        switch (idRol) {
+            case Rol.VETERINARIO:
+                return "veterinario";
+            case Rol.ADMINISTRADOR:
+                return "administrador";
+            default:
+                return "tutor";
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.vetfinder.auth;
+
+import com.vetfinder.config.AppConfig;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Tokens de sesión firmados con HMAC-SHA256
+ * El token es idUsuario.idRol.expira.firma: los datos van a la vista y la firma (Base64 URL)
+ * impide modificarlos. Verificarlo es calcular un HMAC y comparar, sin consultar la base de datos.
+ * No hay revocación: un token vale hasta que expira o cambia la clave.
+ *
+ * Configuración (.env o variables de entorno):
+ * - AUTH_TOKEN_SECRET: clave de firma (32 caracteres o más). Sin ella se genera una aleatoria
+ *   al iniciar y los tokens dejan de valer al reiniciar o entre instancias distintas.
+ * - AUTH_TOKEN_TTL_MINUTOS: duración del token (por defecto 720, 12 horas)
+ */
+public class TokenService {
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final int LONGITUD_MINIMA_CLAVE = 32;
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final SecretKeySpec clave;
+    private final long duracionSegundos;
+    // Mac no es thread-safe; cada hilo usa su propia instancia inicializada con la clave
+    private final ThreadLocal<Mac> mac;
+
+    public TokenService(byte[] clave, long duracionSegundos) {
+        if (clave.length < LONGITUD_MINIMA_CLAVE) {
+            throw new IllegalStateException("La clave de los tokens debe tener al menos " + LONGITUD_MINIMA_CLAVE + " bytes");
+        }
+        if (duracionSegundos <= 0) {
+            throw new IllegalStateException("La duración de los tokens debe ser mayor a 0");
+        }
+        this.clave = new SecretKeySpec(clave, ALGORITMO);
+        this.duracionSegundos = duracionSegundos;
+        this.mac = ThreadLocal.withInitial(this::nuevoMac);
+        // Falla al iniciar, y no en la primera petición, si la clave o el algoritmo no sirven
+        nuevoMac();
+    }
+
+    /**
+     * Crea el servicio con AUTH_TOKEN_SECRET y AUTH_TOKEN_TTL_MINUTOS
+     */
+    public static TokenService desdeConfig() {
+        String secreto = AppConfig.get("AUTH_TOKEN_SECRET", null);
+        byte[] clave;
+        if (secreto == null) {
+            clave = new byte[LONGITUD_MINIMA_CLAVE];
+            new SecureRandom().nextBytes(clave);
+            System.out.println("⚠️ AUTH_TOKEN_SECRET no está definido: los tokens de sesión no sobreviven a un reinicio");
+        } else {
+            clave = secreto.getBytes(StandardCharsets.UTF_8);
+        }
+        return new TokenService(clave, AppConfig.getLong("AUTH_TOKEN_TTL_MINUTOS", 720) * 60);
+    }
+
+    /**
+     * Emite el token de una sesión
+     * @return Token firmado
+     */
+    public String emitir(Sesion sesion) {
+        String datos = sesion.getIdUsuario() + "." + sesion.getIdRol() + "." + sesion.getExpira();
+        return datos + "." + CODIFICADOR.encodeToString(firmar(datos));
+    }
+
+    /**
+     * Sesión nueva que vence dentro de la duración configurada
+     */
+    public Sesion nuevaSesion(int idUsuario, int idRol) {
+        return new Sesion(idUsuario, idRol, System.currentTimeMillis() / 1000 + duracionSegundos);
+    }
+
+    /**
+     * Verifica la firma y el vencimiento de un token
+     * @param token Token recibido
+     * @return Sesión del token, o null si está mal formado, la firma no coincide o ya venció
+     */
+    public Sesion verificar(String token) {
+        int fin = token.lastIndexOf('.');
+        if (fin <= 0) {
+            return null;
+        }
+        String datos = token.substring(0, fin);
+        String[] partes = datos.split("\\.");
+        if (partes.length != 3) {
+            return null;
+        }
+
+        byte[] firma;
+        try {
+            firma = DECODIFICADOR.decode(token.substring(fin + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(firma, firmar(datos))) {
+            return null;
+        }
+
+        try {
+            Sesion sesion = new Sesion(Integer.parseInt(partes[0]), Integer.parseInt(partes[1]), Long.parseLong(partes[2]));
+            return sesion.getExpira() > System.currentTimeMillis() / 1000 ? sesion : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private byte[] firmar(String datos) {
+        return mac.get().doFinal(datos.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac nuevoMac() {
+        try {
+            Mac instancia = Mac.getInstance(ALGORITMO);
+            instancia.init(clave);
+            return instancia;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 no está disponible", e);
+        }
+    }
+}
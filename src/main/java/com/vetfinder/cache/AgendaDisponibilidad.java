@@ -0,0 +1,340 @@
+package com.vetfinder.cache;
+
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.model.Cita;
+import com.vetfinder.model.Disponibilidad;
+import com.vetfinder.repository.CitaRepository;
+import com.vetfinder.util.ConflictoException;
+import com.vetfinder.util.SqlSupplier;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agenda en memoria de horarios ocupados por veterinario y día
+ * Cada día de cada veterinario es un bitmap (un bit por turno de AGENDA_SLOT_MINUTOS, 30 por
+ * defecto, cubriendo las 24 horas). Se carga desde la tabla CITA a partir de hoy y después
+ * CitaService la actualiza en cada alta, cambio o baja. Reservar un turno es un CAS sobre el
+ * bitmap, así dos peticiones simultáneas por el mismo turno no pueden ganar ambas.
+ * Las citas rechazadas no ocupan turno. La disponibilidad se ofrece entre AGENDA_INICIO y
+ * AGENDA_FIN (08:00 y 20:00 por defecto).
+ * Si la tabla ya tenía dos citas en el mismo turno, al borrar una el turno queda libre.
+ * Los cambios de CitaService (reservar o liberar más la escritura en CITA) se hacen dentro de
+ * conCambios(); reconstruir() espera a que terminen los que están en curso y frena los nuevos
+ * mientras carga, así la agenda nueva no pierde reservas ni bajas hechas durante la carga.
+ */
+public class AgendaDisponibilidad {
+    public static final String ESTADO_SIN_TURNO = "Rechazada";
+    public static final int DEFAULT_SLOT_MINUTOS = 30;
+    public static final int MAX_DIAS_CONSULTA = 62;
+
+    private static final int MINUTOS_DIA = 24 * 60;
+
+    private final CitaRepository citaRepository;
+    private final int slotMinutos;
+    private final int slotsPorDia;
+    private final int primerSlot;
+    private final int finSlots;
+    private final LocalTime[] horaDeSlot;
+
+    private final ReentrantReadWriteLock cambios = new ReentrantReadWriteLock();
+    private volatile Map<Integer, Map<LocalDate, AtomicLongArray>> agendas = new ConcurrentHashMap<>();
+
+    public AgendaDisponibilidad(CitaRepository citaRepository) {
+        this.citaRepository = citaRepository;
+        this.slotMinutos = AppConfig.getInt("AGENDA_SLOT_MINUTOS", DEFAULT_SLOT_MINUTOS);
+        if (slotMinutos <= 0 || MINUTOS_DIA % slotMinutos != 0) {
+            throw new IllegalStateException("AGENDA_SLOT_MINUTOS debe dividir el día en turnos exactos: " + slotMinutos);
+        }
+        LocalTime inicio = LocalTime.parse(AppConfig.get("AGENDA_INICIO", "08:00"));
+        LocalTime fin = LocalTime.parse(AppConfig.get("AGENDA_FIN", "20:00"));
+        if (!inicio.isBefore(fin)) {
+            throw new IllegalStateException("AGENDA_INICIO debe ser anterior a AGENDA_FIN");
+        }
+
+        this.slotsPorDia = MINUTOS_DIA / slotMinutos;
+        this.primerSlot = slotDe(inicio);
+        this.finSlots = (fin.toSecondOfDay() / 60 + slotMinutos - 1) / slotMinutos;
+        this.horaDeSlot = new LocalTime[slotsPorDia];
+        for (int i = 0; i < slotsPorDia; i++) {
+            horaDeSlot[i] = LocalTime.ofSecondOfDay((long) i * slotMinutos * 60);
+        }
+    }
+
+    /**
+     * Vuelve a cargar los horarios ocupados desde hoy (una consulta)
+     * Mientras carga, los cambios de citas esperan en conCambios(); se usa al iniciar la
+     * aplicación y desde el endpoint de administración
+     * @throws SQLException Error en la consulta
+     */
+    public void reconstruir() throws SQLException {
+        cambios.writeLock().lock();
+        try {
+            Map<Integer, Map<LocalDate, AtomicLongArray>> nuevas = new ConcurrentHashMap<>();
+            citaRepository.forEachOcupadoDesde(LocalDate.now(), (idDatoVeterinario, fecha, hora) -> {
+                int slot = slotDe(hora);
+                dia(nuevas, idDatoVeterinario, fecha).getAndUpdate(slot >>> 6, bits -> bits | (1L << slot));
+            });
+            agendas = nuevas;
+        } finally {
+            cambios.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta un cambio de citas que toca la agenda y la base de datos
+     * Desde reservar() hasta que la escritura en CITA termina, reconstruir() no puede cargar una
+     * agenda que no vea ese cambio; varios cambios pueden correr a la vez entre ellos
+     * @param cambio Reserva o liberación de turnos junto con su escritura en la base de datos
+     * @return Resultado del cambio
+     * @throws SQLException Error en la escritura
+     */
+    public <T> T conCambios(SqlSupplier<T> cambio) throws SQLException {
+        cambios.readLock().lock();
+        try {
+            return cambio.get();
+        } finally {
+            cambios.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quita los días anteriores a hoy, que ya no se consultan ni se reservan
+     */
+    public void podarDiasPasados() {
+        LocalDate hoy = LocalDate.now();
+        for (Map<LocalDate, AtomicLongArray> agenda : agendas.values()) {
+            agenda.keySet().removeIf(fecha -> fecha.isBefore(hoy));
+        }
+    }
+
+    /**
+     * Programa podarDiasPasados() cada hora en un hilo de fondo (los días pasados se quitan
+     * a más tardar una hora después de la medianoche)
+     */
+    public void iniciarPoda() {
+        ScheduledExecutorService poda = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "agenda-poda");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        poda.scheduleAtFixedRate(this::podarDiasPasados, 1, 1, TimeUnit.HOURS);
+    }
+
+    /**
+     * Reserva el turno de una cita
+     * No hace nada si la cita no ocupa turno (rechazada o sin fecha/hora)
+     * @param cita Cita a reservar
+     * @throws ConflictoException Si el veterinario ya tiene ese turno ocupado
+     */
+    public void reservar(Cita cita) {
+        if (!ocupaTurno(cita)) {
+            return;
+        }
+        int slot = slotDe(cita.getHora());
+        AtomicLongArray bits = dia(agendas, cita.getIdDatoVeterinario(), cita.getFecha());
+        long mascara = 1L << slot;
+        int palabra = slot >>> 6;
+        while (true) {
+            long actual = bits.get(palabra);
+            if ((actual & mascara) != 0) {
+                throw new ConflictoException("El veterinario ya tiene una cita el " + cita.getFecha() +
+                        " en el horario de las " + horaDeSlot[slot]);
+            }
+            if (bits.compareAndSet(palabra, actual, actual | mascara)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Libera el turno de una cita (eliminada, rechazada o movida)
+     * @param cita Cita cuyo turno se libera
+     */
+    public void liberar(Cita cita) {
+        if (!ocupaTurno(cita)) {
+            return;
+        }
+        Map<LocalDate, AtomicLongArray> agenda = agendas.get(cita.getIdDatoVeterinario());
+        AtomicLongArray bits = agenda != null ? agenda.get(cita.getFecha()) : null;
+        if (bits != null) {
+            int slot = slotDe(cita.getHora());
+            bits.getAndUpdate(slot >>> 6, actual -> actual & ~(1L << slot));
+        }
+    }
+
+    /**
+     * Indica si dos versiones de una cita ocupan exactamente el mismo turno (o ninguno)
+     */
+    public boolean mismoTurno(Cita a, Cita b) {
+        boolean ocupaA = ocupaTurno(a);
+        boolean ocupaB = ocupaTurno(b);
+        if (!ocupaA || !ocupaB) {
+            return ocupaA == ocupaB;
+        }
+        return a.getIdDatoVeterinario() == b.getIdDatoVeterinario()
+                && a.getFecha().equals(b.getFecha())
+                && slotDe(a.getHora()) == slotDe(b.getHora());
+    }
+
+    /**
+     * Indica si la cita ocupa un turno en la agenda
+     */
+    public boolean ocupaTurno(Cita cita) {
+        return cita != null && cita.getFecha() != null && cita.getHora() != null
+                && !ESTADO_SIN_TURNO.equals(cita.getEstado());
+    }
+
+    /**
+     * Calcula los horarios libres de un veterinario por día
+     * Los turnos de hoy que ya empezaron no se ofrecen
+     * @param idDatoVeterinario ID del dato veterinario
+     * @param desde Primer día (inclusive)
+     * @param hasta Último día (inclusive)
+     * @return Un elemento por día con sus horarios libres
+     */
+    public List<Disponibilidad> disponibilidad(int idDatoVeterinario, LocalDate desde, LocalDate hasta) {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDate hoy = ahora.toLocalDate();
+        Map<LocalDate, AtomicLongArray> agenda = agendas.get(idDatoVeterinario);
+
+        List<Disponibilidad> resultado = new ArrayList<>();
+        for (LocalDate fecha = desde; !fecha.isAfter(hasta); fecha = fecha.plusDays(1)) {
+            AtomicLongArray bits = agenda != null ? agenda.get(fecha) : null;
+            int desdeSlot = primerSlot;
+            if (fecha.equals(hoy)) {
+                desdeSlot = Math.max(desdeSlot, slotDe(ahora.toLocalTime()) + 1);
+            }
+            List<LocalTime> libres = new ArrayList<>();
+            for (int slot = desdeSlot; slot < finSlots; slot++) {
+                if (bits == null || (bits.get(slot >>> 6) & (1L << slot)) == 0) {
+                    libres.add(horaDeSlot[slot]);
+                }
+            }
+            resultado.add(new Disponibilidad(fecha, libres));
+        }
+        return resultado;
+    }
+
+    /**
+     * Abre un recorrido en orden cronológico por los turnos libres de un veterinario
+     * Usado por la búsqueda de próximos horarios: solo avanza lo necesario y salta los
+     * turnos ocupados de 64 en 64 con operaciones de bits
+     * @param idDatoVeterinario ID del dato veterinario
+     * @param desde Primer día (inclusive)
+     * @param hasta Último día (inclusive)
+     * @param apertura Hora de apertura del consultorio (null = AGENDA_INICIO)
+     * @return Recorrido posicionado antes del primer turno libre
+     */
+    public TurnosLibres turnosLibres(int idDatoVeterinario, LocalDate desde, LocalDate hasta, LocalTime apertura) {
+        int abre = primerSlot;
+        if (apertura != null) {
+            abre = Math.max(abre, (apertura.toSecondOfDay() / 60 + slotMinutos - 1) / slotMinutos);
+        }
+        return new TurnosLibres(agendas.get(idDatoVeterinario), desde, hasta, abre, LocalDateTime.now());
+    }
+
+    /**
+     * Recorrido de los turnos libres de un veterinario (no es seguro entre hilos)
+     */
+    public final class TurnosLibres {
+        private final Map<LocalDate, AtomicLongArray> agenda;
+        private final LocalDate hasta;
+        private final int abre;
+        private final LocalDate hoy;
+        private final int slotAhora;
+        private LocalDate fecha;
+        private int slot;
+
+        private TurnosLibres(Map<LocalDate, AtomicLongArray> agenda, LocalDate desde, LocalDate hasta,
+                             int abre, LocalDateTime ahora) {
+            this.agenda = agenda;
+            this.hasta = hasta;
+            this.abre = abre;
+            this.hoy = ahora.toLocalDate();
+            this.slotAhora = slotDe(ahora.toLocalTime());
+            this.fecha = desde;
+            this.slot = -1;
+        }
+
+        /**
+         * Avanza al siguiente turno libre
+         * @return false si no quedan turnos libres en el rango
+         */
+        public boolean avanzar() {
+            while (!fecha.isAfter(hasta)) {
+                int inicio = slot < 0 ? inicioDe(fecha) : slot + 1;
+                int libre = siguienteLibre(agenda != null ? agenda.get(fecha) : null, inicio, finSlots);
+                if (libre >= 0) {
+                    slot = libre;
+                    return true;
+                }
+                fecha = fecha.plusDays(1);
+                slot = -1;
+            }
+            return false;
+        }
+
+        public LocalDate getFecha() {
+            return fecha;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        public LocalTime getHora() {
+            return horaDeSlot[slot];
+        }
+
+        private int inicioDe(LocalDate dia) {
+            return dia.equals(hoy) ? Math.max(abre, slotAhora + 1) : abre;
+        }
+    }
+
+    /**
+     * Primer turno libre en [desde, hasta) o -1
+     */
+    static int siguienteLibre(AtomicLongArray bits, int desde, int hasta) {
+        if (desde >= hasta) {
+            return -1;
+        }
+        if (bits == null) {
+            return desde;
+        }
+        for (int s = desde; s < hasta; ) {
+            int palabra = s >>> 6;
+            long libres = ~bits.get(palabra) & (-1L << (s & 63));
+            if (libres != 0) {
+                int libre = (palabra << 6) + Long.numberOfTrailingZeros(libres);
+                return libre < hasta ? libre : -1;
+            }
+            s = (palabra + 1) << 6;
+        }
+        return -1;
+    }
+
+    public int getSlotMinutos() {
+        return slotMinutos;
+    }
+
+    private int slotDe(LocalTime hora) {
+        return hora.toSecondOfDay() / 60 / slotMinutos;
+    }
+
+    private AtomicLongArray dia(Map<Integer, Map<LocalDate, AtomicLongArray>> mapa, int idDatoVeterinario, LocalDate fecha) {
+        return mapa.computeIfAbsent(idDatoVeterinario, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fecha, f -> new AtomicLongArray((slotsPorDia + 63) >>> 6));
+    }
+}
@@ -0,0 +1,93 @@
+package com.vetfinder.cache;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cargador por lotes para una sola petición (estilo DataLoader)
+ * En lugar de buscar cada ID por separado, se piden todos los IDs con pedir() y se resuelven
+ * juntos con una sola consulta (findByIds) al llamar a despachar() o al primer get() que
+ * necesite uno pendiente. Los IDs ya cargados no se vuelven a consultar.
+ * Se crea uno por petición: no guarda nada entre peticiones ni es seguro entre hilos.
+ * @param <V> Tipo de la entidad
+ */
+public class BatchLoader<V> {
+    /**
+     * Consulta que resuelve un lote de IDs (los que no existen no vienen en la lista)
+     */
+    @FunctionalInterface
+    public interface Carga<V> {
+        List<V> cargar(Collection<Integer> ids) throws SQLException;
+    }
+
+    private final Carga<V> carga;
+    private final ToIntFunction<V> idDe;
+    private final Set<Integer> pendientes = new LinkedHashSet<>();
+    private final Map<Integer, V> cargados = new LinkedHashMap<>();
+
+    public BatchLoader(Carga<V> carga, ToIntFunction<V> idDe) {
+        this.carga = carga;
+        this.idDe = idDe;
+    }
+
+    /**
+     * Agrega un ID al próximo lote (si todavía no se cargó)
+     */
+    public void pedir(int id) {
+        if (!cargados.containsKey(id)) {
+            pendientes.add(id);
+        }
+    }
+
+    /**
+     * Resuelve todos los IDs pendientes con una sola consulta
+     * @throws SQLException Error en la consulta (los IDs siguen pendientes y el próximo
+     *                      despachar() o get() vuelve a consultarlos)
+     */
+    public void despachar() throws SQLException {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        List<Integer> lote = new ArrayList<>(pendientes);
+        List<V> valores = carga.cargar(lote);
+        pendientes.clear();
+        // Con la consulta ya resuelta, los IDs que no vinieron quedan como null para no volver a pedirlos
+        for (Integer id : lote) {
+            cargados.put(id, null);
+        }
+        for (V valor : valores) {
+            cargados.put(idDe.applyAsInt(valor), valor);
+        }
+    }
+
+    /**
+     * Obtiene un elemento; si estaba pendiente se despacha el lote completo
+     * @return Elemento o null si no existe
+     * @throws SQLException Error en la consulta
+     */
+    public V get(int id) throws SQLException {
+        pedir(id);
+        despachar();
+        return cargados.get(id);
+    }
+
+    /**
+     * Elementos cargados hasta ahora que existen, en el orden en que se pidieron
+     */
+    public List<V> cargados() {
+        List<V> valores = new ArrayList<>(cargados.size());
+        for (V valor : cargados.values()) {
+            if (valor != null) {
+                valores.add(valor);
+            }
+        }
+        return valores;
+    }
+}
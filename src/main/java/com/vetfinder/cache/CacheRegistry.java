@@ -0,0 +1,56 @@
+package com.vetfinder.cache;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de las cachés de catálogos para poder refrescarlas desde el endpoint de administración
+ * Al refrescar se incrementa la versión de la entidad: los datos pudieron cambiar fuera de la API
+ */
+public class CacheRegistry {
+    private static final Map<String, CatalogoCache<?>> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * Registra una caché con su nombre
+     * @param cache Caché a registrar
+     * @return La misma caché
+     */
+    public static <T> CatalogoCache<T> register(CatalogoCache<T> cache) {
+        CACHES.put(cache.getNombre(), cache);
+        return cache;
+    }
+
+    /**
+     * Recarga todas las cachés registradas
+     * @return Nombres de las cachés recargadas
+     * @throws SQLException Error al recargar alguna caché
+     */
+    public static List<String> refreshAll() throws SQLException {
+        List<String> nombres = new ArrayList<>();
+        for (CatalogoCache<?> cache : CACHES.values()) {
+            cache.refresh();
+            EntityVersions.bump(cache.getNombre());
+            nombres.add(cache.getNombre());
+        }
+        return nombres;
+    }
+
+    /**
+     * Recarga una caché por nombre
+     * @param nombre Nombre de la caché (roles, sexos, especialidades, servicios, direcciones)
+     * @return true si existía y se recargó
+     * @throws SQLException Error al recargar la caché
+     */
+    public static boolean refresh(String nombre) throws SQLException {
+        CatalogoCache<?> cache = CACHES.get(nombre);
+        if (cache == null) {
+            return false;
+        }
+        cache.refresh();
+        EntityVersions.bump(nombre);
+        return true;
+    }
+}
@@ -0,0 +1,126 @@
+package com.vetfinder.cache;
+
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.util.SqlSupplier;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Caché en memoria (read-through) de una tabla de catálogo completa
+ * Guarda la lista tal como la devuelve findAll y un índice por ID. Mientras no venza el TTL
+ * ni se invalide, las lecturas no tocan la base de datos.
+ * Las escrituras deben llamar a invalidate(); una recarga que empezó antes de la invalidación
+ * no se guarda, para no volver a publicar datos viejos.
+ * @param <T> Tipo de la entidad del catálogo
+ */
+public class CatalogoCache<T> {
+    /** TTL por defecto en segundos, configurable con CATALOG_CACHE_TTL_SECONDS */
+    public static final long DEFAULT_TTL_SECONDS = 300;
+
+    private final String nombre;
+    private final SqlSupplier<List<T>> loader;
+    private final ToIntFunction<T> idDe;
+    private final long ttlNanos;
+
+    private volatile Snapshot<T> snapshot;
+    private volatile long generacion;
+
+    public CatalogoCache(String nombre, SqlSupplier<List<T>> loader, ToIntFunction<T> idDe) {
+        this(nombre, loader, idDe, AppConfig.getLong("CATALOG_CACHE_TTL_SECONDS", DEFAULT_TTL_SECONDS));
+    }
+
+    public CatalogoCache(String nombre, SqlSupplier<List<T>> loader, ToIntFunction<T> idDe, long ttlSeconds) {
+        this.nombre = nombre;
+        this.loader = loader;
+        this.idDe = idDe;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Obtiene todos los elementos del catálogo (lista de solo lectura)
+     * @throws SQLException Error al recargar desde la base de datos
+     */
+    public List<T> getAll() throws SQLException {
+        return vigente().items;
+    }
+
+    /**
+     * Busca un elemento por ID
+     * @return Elemento o null si no existe
+     * @throws SQLException Error al recargar desde la base de datos
+     */
+    public T getById(int id) throws SQLException {
+        return vigente().porId.get(id);
+    }
+
+    /**
+     * Descarta el contenido; la próxima lectura recarga desde la base de datos
+     */
+    public synchronized void invalidate() {
+        generacion++;
+        snapshot = null;
+    }
+
+    /**
+     * Recarga el catálogo de inmediato
+     * @throws SQLException Error en la consulta
+     */
+    public void refresh() throws SQLException {
+        invalidate();
+        vigente();
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    private Snapshot<T> vigente() throws SQLException {
+        Snapshot<T> actual = snapshot;
+        if (actual != null && System.nanoTime() - actual.cargadoEn < ttlNanos) {
+            return actual;
+        }
+        return recargar();
+    }
+
+    private Snapshot<T> recargar() throws SQLException {
+        long generacionInicial;
+        synchronized (this) {
+            Snapshot<T> actual = snapshot;
+            if (actual != null && System.nanoTime() - actual.cargadoEn < ttlNanos) {
+                return actual; // otro hilo ya recargó
+            }
+            generacionInicial = generacion;
+        }
+
+        Snapshot<T> nuevo = new Snapshot<>(loader.get(), idDe);
+
+        synchronized (this) {
+            if (generacion == generacionInicial) {
+                snapshot = nuevo;
+            }
+        }
+        return nuevo;
+    }
+
+    private static final class Snapshot<T> {
+        private final List<T> items;
+        private final Map<Integer, T> porId;
+        private final long cargadoEn;
+
+        private Snapshot(List<T> items, ToIntFunction<T> idDe) {
+            this.items = Collections.unmodifiableList(items);
+            Map<Integer, T> indice = new HashMap<>();
+            for (T item : items) {
+                indice.put(idDe.applyAsInt(item), item);
+            }
+            this.porId = indice;
+            this.cargadoEn = System.nanoTime();
+        }
+    }
+}
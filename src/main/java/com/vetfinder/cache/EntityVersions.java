@@ -0,0 +1,71 @@
+package com.vetfinder.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de versión por entidad para los GET condicionales (ETag / Last-Modified)
+ * Los servicios llaman a bump() después de cada alta, cambio o baja (y después de invalidar
+ * su caché), así un ETag leído antes de consultar los datos nunca describe datos más viejos.
+ * El ETag incluye el instante de arranque para que no se repita entre reinicios y lleva el
+ * contador, que distingue cambios del mismo segundo; Last-Modified es la hora real del último
+ * cambio. Los contadores viven en memoria: con varias instancias cada una tiene los suyos.
+ */
+public class EntityVersions {
+    public static final String SERVICIOS = "servicios";
+    public static final String ESPECIALIDADES = "especialidades";
+    public static final String SEXOS = "sexos";
+    public static final String ROLES = "roles";
+    /** Estadísticas del dashboard: cambian con citas, mascotas, usuarios y servicios (nombre en servicios-solicitados) */
+    public static final String ESTADISTICAS = "estadisticas";
+
+    private static final String ARRANQUE = Long.toString(System.currentTimeMillis(), 36);
+    private static final Map<String, Version> VERSIONES = new ConcurrentHashMap<>();
+
+    /**
+     * Marca la entidad como modificada
+     * @param entidad Nombre de la entidad (el mismo que su caché de catálogo)
+     */
+    public static void bump(String entidad) {
+        version(entidad).incrementar();
+    }
+
+    /**
+     * ETag débil de la versión actual, ej: W/"servicios-lz3k1a-4"
+     */
+    public static String etag(String entidad) {
+        return "W/\"" + entidad + '-' + ARRANQUE + '-' + version(entidad).numero.get() + '"';
+    }
+
+    /**
+     * Instante de la última modificación en milisegundos (redondeado a segundos, como Last-Modified)
+     * Varios cambios en el mismo segundo comparten el valor: ConditionalGet no lo usa hasta que ese
+     * segundo termina, mientras tanto solo vale el ETag
+     */
+    public static long lastModified(String entidad) {
+        return version(entidad).modificado.get();
+    }
+
+    private static Version version(String entidad) {
+        return VERSIONES.computeIfAbsent(entidad, e -> new Version());
+    }
+
+    private static final class Version {
+        private final AtomicLong numero = new AtomicLong();
+        private final AtomicLong modificado = new AtomicLong(segundos(System.currentTimeMillis()));
+
+        void incrementar() {
+            // Con bumps simultáneos el valor no retrocede si un hilo leyó la hora un poco antes
+            modificado.accumulateAndGet(segundos(System.currentTimeMillis()), Math::max);
+            numero.incrementAndGet();
+        }
+    }
+
+    /**
+     * Milisegundos redondeados hacia abajo al segundo, la precisión de Last-Modified
+     */
+    public static long segundos(long millis) {
+        return millis - millis % 1000;
+    }
+}
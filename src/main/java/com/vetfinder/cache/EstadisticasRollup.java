@@ -0,0 +1,162 @@
+package com.vetfinder.cache;
+
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.model.Cita;
+import com.vetfinder.repository.EstadisticasRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Acumulados (rollups) de citas por día × franja horaria y por día × servicio
+ * Se construyen una vez desde la base de datos y luego se mantienen en memoria
+ * con cada alta, cambio o baja de cita que pasa por CitaService. Las estadísticas
+ * leen solo los días de la ventana pedida, sin recorrer la tabla CITA.
+ * Se conservan los días desde hoy menos ESTADISTICAS_ROLLUP_DIAS (90 por defecto),
+ * incluidas las citas futuras.
+ */
+public class EstadisticasRollup {
+    /** Franjas horarias en el mismo formato que devolvía la consulta original */
+    public static final String[] FRANJAS = {"09:00:00", "12:00:00", "15:00:00", "18:00:00"};
+    public static final int DEFAULT_RETENCION_DIAS = 90;
+
+    private final EstadisticasRepository estadisticasRepository;
+    private final int retencionDias;
+
+    private volatile Map<LocalDate, Dia> dias = new ConcurrentHashMap<>();
+
+    public EstadisticasRollup(EstadisticasRepository estadisticasRepository) {
+        this.estadisticasRepository = estadisticasRepository;
+        this.retencionDias = AppConfig.getInt("ESTADISTICAS_ROLLUP_DIAS", DEFAULT_RETENCION_DIAS);
+    }
+
+    /**
+     * Reconstruye los acumulados desde la base de datos (una consulta agrupada)
+     * Las escrituras que ocurran mientras se reconstruye pueden quedar fuera; se usa al
+     * iniciar la aplicación y desde el endpoint de administración
+     * @throws SQLException Error en la consulta
+     */
+    public void reconstruir() throws SQLException {
+        Map<LocalDate, Dia> nuevos = new ConcurrentHashMap<>();
+        estadisticasRepository.forEachConteoDiario(limiteRetencion(), (fecha, hora, idServicio, cantidad) ->
+                nuevos.computeIfAbsent(fecha, f -> new Dia()).sumar(franjaDe(hora), idServicio, cantidad));
+        dias = nuevos;
+    }
+
+    /**
+     * Suma una cita nueva a los acumulados
+     */
+    public void registrar(Cita cita) {
+        sumar(cita, 1);
+    }
+
+    /**
+     * Resta una cita eliminada de los acumulados
+     */
+    public void quitar(Cita cita) {
+        sumar(cita, -1);
+    }
+
+    /**
+     * Mueve una cita modificada (fecha, hora o servicio) de su grupo anterior al nuevo
+     */
+    public void mover(Cita anterior, Cita nueva) {
+        quitar(anterior);
+        registrar(nueva);
+    }
+
+    /**
+     * Cuenta las citas por franja horaria desde hoy menos la ventana indicada
+     * @param ventanaDias Número de días hacia atrás
+     * @return Cantidad de citas por franja, en el orden de FRANJAS
+     */
+    public int[] contarFranjas(int ventanaDias) {
+        LocalDate desde = LocalDate.now().minusDays(ventanaDias);
+        int[] totales = new int[FRANJAS.length];
+        for (Map.Entry<LocalDate, Dia> entry : vigentes().entrySet()) {
+            if (!entry.getKey().isBefore(desde)) {
+                Dia dia = entry.getValue();
+                for (int i = 0; i < totales.length; i++) {
+                    totales[i] += dia.franjas.get(i);
+                }
+            }
+        }
+        return totales;
+    }
+
+    /**
+     * Cuenta las citas por servicio desde hoy menos la ventana indicada
+     * @param ventanaDias Número de días hacia atrás
+     * @return Cantidad de citas por ID de servicio
+     */
+    public Map<Integer, Integer> contarServicios(int ventanaDias) {
+        LocalDate desde = LocalDate.now().minusDays(ventanaDias);
+        Map<Integer, Integer> totales = new HashMap<>();
+        for (Map.Entry<LocalDate, Dia> entry : vigentes().entrySet()) {
+            if (!entry.getKey().isBefore(desde)) {
+                entry.getValue().servicios.forEach((idServicio, cantidad) ->
+                        totales.merge(idServicio, cantidad.get(), Integer::sum));
+            }
+        }
+        return totales;
+    }
+
+    public int getRetencionDias() {
+        return retencionDias;
+    }
+
+    /**
+     * Franja horaria de una hora del día (mismos rangos que la consulta original)
+     * @param hora Hora 0-23
+     * @return Índice en FRANJAS
+     */
+    public static int franjaDe(int hora) {
+        if (hora >= 8 && hora <= 11) return 0;
+        if (hora >= 12 && hora <= 15) return 1;
+        if (hora >= 16 && hora <= 19) return 2;
+        return 3;
+    }
+
+    private void sumar(Cita cita, int delta) {
+        if (cita == null || cita.getFecha() == null || cita.getHora() == null) {
+            return;
+        }
+        if (cita.getFecha().isBefore(limiteRetencion())) {
+            return;
+        }
+        dias.computeIfAbsent(cita.getFecha(), f -> new Dia())
+                .sumar(franjaDe(cita.getHora().getHour()), cita.getIdServicio(), delta);
+    }
+
+    /**
+     * Descarta los días que salieron del periodo de retención y devuelve los acumulados
+     */
+    private Map<LocalDate, Dia> vigentes() {
+        Map<LocalDate, Dia> actuales = dias;
+        LocalDate limite = limiteRetencion();
+        actuales.keySet().removeIf(fecha -> fecha.isBefore(limite));
+        return actuales;
+    }
+
+    private LocalDate limiteRetencion() {
+        return LocalDate.now().minusDays(retencionDias);
+    }
+
+    /**
+     * Contadores de un día
+     */
+    private static final class Dia {
+        private final AtomicIntegerArray franjas = new AtomicIntegerArray(FRANJAS.length);
+        private final Map<Integer, AtomicInteger> servicios = new ConcurrentHashMap<>();
+
+        private void sumar(int franja, int idServicio, int cantidad) {
+            franjas.addAndGet(franja, cantidad);
+            servicios.computeIfAbsent(idServicio, id -> new AtomicInteger()).addAndGet(cantidad);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.vetfinder.cache;
+
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.config.CompressionConfig;
+import com.vetfinder.config.JacksonConfig;
+import com.vetfinder.metrics.PrometheusWriter;
+import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.ConditionalGet;
+import com.vetfinder.util.Compresion;
+import com.vetfinder.util.Compresion.Codificacion;
+import com.vetfinder.util.SqlSupplier;
+import io.javalin.http.Context;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché de respuestas ya serializadas para endpoints de solo lectura muy consultados
+ * Guarda el cuerpo JSON de ApiResponse como bytes y lo escribe directo en el output stream,
+ * sin volver a pasar por Jackson. Cada entrada depende de la versión de una entidad
+ * (EntityVersions): cuando el servicio dueño escribe, la entrada deja de valer. Además vence
+ * a los RESPONSE_CACHE_TTL_SECONDS (60 por defecto) por los cambios que no pasan por la API
+ * y porque las ventanas de estadísticas se mueven con el día.
+ *
+ * El timestamp de ApiResponse va siempre al final, así que se guarda el cuerpo hasta
+ * "timestamp": y en cada respuesta se agrega la hora actual. Si el cuerpo supera
+ * COMPRESSION_MIN_BYTES y el cliente acepta br o gzip, ese prefijo se comprime una sola vez
+ * y por petición solo se agrega el final sin comprimir (ver Compresion).
+ */
+public class ResponseCache {
+    private static final boolean ENABLED = AppConfig.getBoolean("RESPONSE_CACHE_ENABLED", true);
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(AppConfig.getLong("RESPONSE_CACHE_TTL_SECONDS", 60));
+    /** Límite de claves; por encima se responde sin guardar */
+    private static final int MAX_ENTRADAS = 1000;
+
+    private static final byte[] CAMPO_TIMESTAMP = "\"timestamp\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Map<String, Entrada> ENTRADAS = new ConcurrentHashMap<>();
+    private static final LongAdder ACIERTOS = new LongAdder();
+    private static final LongAdder FALLOS = new LongAdder();
+
+    /**
+     * Responde con el cuerpo en caché o lo genera, lo guarda y lo envía
+     * @param ctx Contexto de Javalin
+     * @param clave Identifica la respuesta (ruta y parámetros que la cambian)
+     * @param entidad Entidad de la que dependen los datos (ver EntityVersions)
+     * @param respuesta Genera la respuesta si no hay una vigente
+     * @throws SQLException Error al generar la respuesta
+     * @throws IOException Error al escribir la respuesta
+     */
+    public static void json(Context ctx, String clave, String entidad, SqlSupplier<ApiResponse> respuesta)
+            throws SQLException, IOException {
+        if (!ENABLED) {
+            ctx.json(respuesta.get());
+            return;
+        }
+
+        // La versión se lee antes de generar: si cambia mientras tanto la entrada nace vencida
+        String version = EntityVersions.etag(entidad);
+        Entrada entrada = ENTRADAS.get(clave);
+        if (entrada != null && entrada.vigente(version)) {
+            ACIERTOS.increment();
+        } else {
+            FALLOS.increment();
+            entrada = new Entrada(version, serializar(respuesta.get()));
+            if (ENTRADAS.size() < MAX_ENTRADAS || ENTRADAS.containsKey(clave)) {
+                ENTRADAS.put(clave, entrada);
+            }
+        }
+        escribir(ctx, entrada);
+    }
+
+    /**
+     * Descarta todas las entradas (las próximas peticiones vuelven a serializar)
+     */
+    public static void clear() {
+        ENTRADAS.clear();
+    }
+
+    /**
+     * Exporta aciertos, fallos y tamaño en /metrics
+     */
+    public static void exportar(PrometheusWriter w) {
+        w.header("response_cache_requests_total", "counter", "Respuestas servidas desde la caché de respuestas serializadas")
+                .sample("response_cache_requests_total", new String[]{"resultado", "acierto"}, ACIERTOS.sum())
+                .sample("response_cache_requests_total", new String[]{"resultado", "fallo"}, FALLOS.sum());
+        long bytes = 0;
+        for (Entrada entrada : ENTRADAS.values()) {
+            bytes += entrada.bytes();
+        }
+        w.header("response_cache_entries", "gauge", "Respuestas guardadas")
+                .sample("response_cache_entries", ENTRADAS.size());
+        w.header("response_cache_bytes", "gauge", "Bytes ocupados por las respuestas guardadas")
+                .sample("response_cache_bytes", bytes);
+    }
+
+    private static byte[] serializar(ApiResponse response) throws IOException {
+        byte[] json = JacksonConfig.getMapper().writeValueAsBytes(response);
+        int inicio = ultimo(json, CAMPO_TIMESTAMP);
+        if (inicio < 0) {
+            throw new IllegalStateException("La respuesta serializada no termina con el campo timestamp");
+        }
+        byte[] prefijo = new byte[inicio + CAMPO_TIMESTAMP.length];
+        System.arraycopy(json, 0, prefijo, 0, prefijo.length);
+        return prefijo;
+    }
+
+    private static void escribir(Context ctx, Entrada entrada) throws IOException {
+        byte[] fin = (System.currentTimeMillis() + "}").getBytes(StandardCharsets.US_ASCII);
+        // El cuerpo sale antes del filtro after: los validadores del GET condicional van ahora
+        ConditionalGet.completar(ctx);
+        HttpServletResponse res = ctx.res();
+        res.setContentType("application/json");
+        res.setHeader("Vary", "Accept-Encoding");
+
+        Codificacion codificacion = entrada.prefijo.length >= CompressionConfig.getMinBytes()
+                ? Compresion.negociar(ctx.header("Accept-Encoding"))
+                : Codificacion.IDENTITY;
+        ServletOutputStream out = res.getOutputStream();
+        if (codificacion == Codificacion.BROTLI) {
+            byte[] brotli = entrada.brotli();
+            res.setHeader("Content-Encoding", codificacion.getNombre());
+            res.setContentLength(Compresion.largoBrotli(brotli, fin));
+            Compresion.escribirBrotli(out, brotli, fin);
+        } else if (codificacion == Codificacion.GZIP) {
+            byte[] gzip = entrada.gzip();
+            res.setHeader("Content-Encoding", codificacion.getNombre());
+            res.setContentLength(Compresion.largoGzip(gzip, fin));
+            Compresion.escribirGzip(out, gzip, entrada.prefijo, fin);
+        } else {
+            res.setContentLength(entrada.prefijo.length + fin.length);
+            out.write(entrada.prefijo);
+            out.write(fin);
+        }
+    }
+
+    private static int ultimo(byte[] datos, byte[] buscado) {
+        for (int i = datos.length - buscado.length; i >= 0; i--) {
+            int j = 0;
+            while (j < buscado.length && datos[i + j] == buscado[j]) {
+                j++;
+            }
+            if (j == buscado.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Entrada {
+        private final String version;
+        private final long creada = System.nanoTime();
+        private final byte[] prefijo;
+        // Cada variante se comprime en la primera petición que la pide; una carrera solo repite el trabajo
+        private volatile byte[] gzipPrefijo;
+        private volatile byte[] brotliPrefijo;
+
+        Entrada(String version, byte[] prefijo) {
+            this.version = version;
+            this.prefijo = prefijo;
+        }
+
+        boolean vigente(String versionActual) {
+            return version.equals(versionActual) && System.nanoTime() - creada < TTL_NANOS;
+        }
+
+        byte[] gzip() {
+            byte[] gzip = gzipPrefijo;
+            if (gzip == null) {
+                gzip = Compresion.prefijoGzip(prefijo, CompressionConfig.getCacheGzipLevel());
+                gzipPrefijo = gzip;
+            }
+            return gzip;
+        }
+
+        byte[] brotli() throws IOException {
+            byte[] brotli = brotliPrefijo;
+            if (brotli == null) {
+                brotli = Compresion.prefijoBrotli(prefijo, CompressionConfig.getCacheBrotliLevel());
+                brotliPrefijo = brotli;
+            }
+            return brotli;
+        }
+
+        long bytes() {
+            byte[] gzip = gzipPrefijo;
+            byte[] brotli = brotliPrefijo;
+            return prefijo.length + (gzip != null ? gzip.length : 0) + (brotli != null ? brotli.length : 0);
+        }
+    }
+}
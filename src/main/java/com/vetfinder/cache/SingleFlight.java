@@ -0,0 +1,124 @@
+package com.vetfinder.cache;
+
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.metrics.PrometheusWriter;
+import com.vetfinder.util.SqlSupplier;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa las consultas idénticas que llegan al mismo tiempo (single-flight)
+ * La primera petición con una clave ejecuta la carga en su propio hilo y publica el resultado
+ * en un CompletableFuture; las que llegan mientras está en curso esperan ese mismo resultado
+ * en lugar de repetir la consulta. Al terminar la clave se libera: no guarda nada, la
+ * siguiente petición vuelve a consultar.
+ * El resultado se comparte entre todas las peticiones agrupadas, así que no debe modificarse.
+ * Se desactiva con SINGLE_FLIGHT_ENABLED=false.
+ * @param <K> Tipo de la clave (parámetros de la consulta)
+ * @param <V> Tipo del resultado
+ */
+public class SingleFlight<K, V> {
+    private static final boolean ENABLED = AppConfig.getBoolean("SINGLE_FLIGHT_ENABLED", true);
+    private static final List<SingleFlight<?, ?>> GRUPOS = new CopyOnWriteArrayList<>();
+
+    private final String nombre;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final LongAdder ejecutadas = new LongAdder();
+    private final LongAdder agrupadas = new LongAdder();
+
+    public SingleFlight(String nombre) {
+        this.nombre = nombre;
+        GRUPOS.add(this);
+    }
+
+    /**
+     * Obtiene el resultado de la carga, compartiéndolo con las peticiones simultáneas de la misma clave
+     * @param clave Parámetros que identifican la consulta
+     * @param carga Consulta a ejecutar si no hay una en curso
+     * @return Resultado de la carga
+     * @throws SQLException Error de la carga (lo reciben todas las peticiones agrupadas, con el
+     *                      mismo SQLState y código de error; el original queda como causa)
+     */
+    public V ejecutar(K clave, SqlSupplier<V> carga) throws SQLException {
+        if (!ENABLED) {
+            ejecutadas.increment();
+            return carga.get();
+        }
+
+        CompletableFuture<V> propio = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            agrupadas.increment();
+            return esperar(existente);
+        }
+
+        ejecutadas.increment();
+        try {
+            V valor = carga.get();
+            propio.complete(valor);
+            return valor;
+        } catch (SQLException | RuntimeException | Error e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    /**
+     * Suelta la consulta en curso de una clave para que las próximas peticiones no reciban
+     * un resultado leído antes de una escritura. Las que ya esperaban siguen esperándola.
+     * @param clave Clave a liberar
+     */
+    public void olvidar(K clave) {
+        enCurso.remove(clave);
+    }
+
+    private static <V> V esperar(CompletableFuture<V> futuro) throws SQLException {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof SQLException) {
+                // Nueva excepción para tener la traza del hilo que esperaba
+                SQLException original = (SQLException) causa;
+                throw new SQLException(original.getMessage(), original.getSQLState(), original.getErrorCode(), original);
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Exporta los contadores de todos los grupos en /metrics
+     */
+    public static void exportar(PrometheusWriter w) {
+        w.header("singleflight_requests_total", "counter",
+                "Peticiones por grupo: ejecutadas consultan la base de datos, agrupadas reutilizan una consulta en curso");
+        for (SingleFlight<?, ?> grupo : GRUPOS) {
+            w.sample("singleflight_requests_total", new String[]{"grupo", grupo.nombre, "resultado", "ejecutada"},
+                    grupo.ejecutadas.sum());
+            w.sample("singleflight_requests_total", new String[]{"grupo", grupo.nombre, "resultado", "agrupada"},
+                    grupo.agrupadas.sum());
+        }
+        w.header("singleflight_in_flight", "gauge", "Consultas en curso que pueden recibir peticiones agrupadas");
+        for (SingleFlight<?, ?> grupo : GRUPOS) {
+            w.sample("singleflight_in_flight", new String[]{"grupo", grupo.nombre}, grupo.enCurso.size());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.vetfinder.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Parámetros de configuración de la aplicación
+ * Se leen primero de las variables de entorno y después del archivo .env;
+ * si no están definidos se usa el valor por defecto indicado
+ */
+public class AppConfig {
+    private static final Dotenv DOTENV = Dotenv.configure().ignoreIfMissing().load();
+
+    /**
+     * Obtiene un parámetro de texto
+     * @param key Nombre de la variable
+     * @param defaultValue Valor si no está definida
+     * @return Valor configurado
+     */
+    public static String get(String key, String defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.isBlank()) {
+            value = DOTENV.get(key);
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Obtiene un parámetro entero
+     * @throws IllegalStateException si el valor configurado no es numérico
+     */
+    public static int getInt(String key, int defaultValue) {
+        return (int) getLong(key, defaultValue);
+    }
+
+    /**
+     * Obtiene un parámetro numérico largo
+     * @throws IllegalStateException si el valor configurado no es numérico
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("La variable " + key + " debe ser numérica: " + value);
+        }
+    }
+
+    /**
+     * Obtiene un parámetro decimal
+     * @throws IllegalStateException si el valor configurado no es numérico
+     */
+    public static double getDouble(String key, double defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("La variable " + key + " debe ser numérica: " + value);
+        }
+    }
+
+    /**
+     * Obtiene un parámetro booleano (true/false)
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
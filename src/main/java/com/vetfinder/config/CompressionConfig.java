@@ -0,0 +1,87 @@
+package com.vetfinder.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import io.javalin.compression.Brotli;
+import io.javalin.compression.CompressionStrategy;
+import io.javalin.compression.Gzip;
+import io.javalin.config.JavalinConfig;
+
+/**
+ * Compresión de respuestas (gzip y Brotli) negociada con Accept-Encoding
+ * Las respuestas normales las comprime Javalin al escribirlas; las de ResponseCache se
+ * comprimen una sola vez al guardarlas, con niveles más altos porque el costo no se repite.
+ * Las respuestas de menos de COMPRESSION_MIN_BYTES se envían sin comprimir.
+ *
+ * COMPRESSION_ENABLED          true
+ * COMPRESSION_MIN_BYTES        1024
+ * COMPRESSION_GZIP_LEVEL       6   (1-9)
+ * COMPRESSION_BROTLI_ENABLED   true (requiere la librería nativa de brotli4j)
+ * COMPRESSION_BROTLI_LEVEL     4   (0-11)
+ * COMPRESSION_CACHE_GZIP_LEVEL    9
+ * COMPRESSION_CACHE_BROTLI_LEVEL  11
+ */
+public class CompressionConfig {
+    private static final boolean ENABLED = AppConfig.getBoolean("COMPRESSION_ENABLED", true);
+    private static final int MIN_BYTES = AppConfig.getInt("COMPRESSION_MIN_BYTES", 1024);
+    private static final int GZIP_LEVEL = nivel("COMPRESSION_GZIP_LEVEL", 6, 1, 9);
+    private static final int BROTLI_LEVEL = nivel("COMPRESSION_BROTLI_LEVEL", 4, 0, 11);
+    private static final int CACHE_GZIP_LEVEL = nivel("COMPRESSION_CACHE_GZIP_LEVEL", 9, 1, 9);
+    private static final int CACHE_BROTLI_LEVEL = nivel("COMPRESSION_CACHE_BROTLI_LEVEL", 11, 0, 11);
+    private static final boolean BROTLI = ENABLED && AppConfig.getBoolean("COMPRESSION_BROTLI_ENABLED", true) && cargarBrotli();
+
+    /**
+     * Configura la compresión de Javalin
+     * @param config Configuración de Javalin
+     */
+    public static void aplicar(JavalinConfig config) {
+        if (!ENABLED) {
+            config.compression.none();
+            return;
+        }
+        CompressionStrategy strategy = new CompressionStrategy(BROTLI ? new Brotli(BROTLI_LEVEL) : null, new Gzip(GZIP_LEVEL));
+        strategy.setMinSizeForCompression(MIN_BYTES);
+        config.compression.custom(strategy);
+        System.out.println("Compresión activa: " + (BROTLI ? "br " + BROTLI_LEVEL + ", " : "") +
+                "gzip " + GZIP_LEVEL + ", desde " + MIN_BYTES + " bytes");
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static boolean isBrotli() {
+        return BROTLI;
+    }
+
+    public static int getMinBytes() {
+        return MIN_BYTES;
+    }
+
+    public static int getCacheGzipLevel() {
+        return CACHE_GZIP_LEVEL;
+    }
+
+    public static int getCacheBrotliLevel() {
+        return CACHE_BROTLI_LEVEL;
+    }
+
+    private static boolean cargarBrotli() {
+        try {
+            if (Brotli4jLoader.isAvailable()) {
+                return true;
+            }
+            System.err.println("Brotli no disponible en esta plataforma, solo se usa gzip: " + Brotli4jLoader.getUnavailabilityCause());
+        } catch (LinkageError e) {
+            System.err.println("Brotli no disponible (" + e.getMessage() + "), solo se usa gzip");
+        }
+        return false;
+    }
+
+    private static int nivel(String key, int defaultValue, int min, int max) {
+        int nivel = AppConfig.getInt(key, defaultValue);
+        if (nivel < min || nivel > max) {
+            throw new IllegalStateException(key + " debe estar entre " + min + " y " + max + ": " + nivel);
+        }
+        return nivel;
+    }
+}
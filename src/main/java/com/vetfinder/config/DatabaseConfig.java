@@ -1,18 +1,37 @@
 package com.vetfinder.config;
 
+import com.vetfinder.db.DatosSinteticos;
+import com.vetfinder.db.MigrationRunner;
+import com.vetfinder.db.ScriptSql;
+import com.vetfinder.metrics.MetricsRegistry;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.github.cdimascio.dotenv.Dotenv;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
 
 /**
  * Configuración de la conexión a la base de datos MySQL
+ * Con DB_PROFILE=h2 usa una base H2 en memoria (modo MySQL) con datos sintéticos,
+ * para pruebas de integración y de carga sin servidor MySQL
  * MODIFICADO: Inicialización EAGER para evitar timeout en primera petición
  */
 public class DatabaseConfig {
     private static HikariDataSource dataSource;
     private static boolean initialized = false;
+    private static boolean h2 = false;
+
+    /** Perfil por defecto: MySQL con los datos de conexión del .env */
+    public static final String PERFIL_MYSQL = "mysql";
+    /** H2 en memoria en modo MySQL, con esquema y datos sintéticos; no requiere servidor */
+    public static final String PERFIL_H2 = "h2";
+    private static final String H2_SCHEMA = "db/h2/schema.sql";
 
     /**
      * NUEVO: Inicializa el pool de conexiones de forma EAGER
@@ -22,23 +41,41 @@ public class DatabaseConfig {
         if (!initialized) {
             System.out.println("Inicializando pool de conexiones...");
 
-            // Cargar variables de entorno desde archivo .env (MANTENER)
-            Dotenv dotenv = Dotenv.load();
+            HikariConfig config = new HikariConfig();
+            String perfil = AppConfig.get("DB_PROFILE", PERFIL_MYSQL).toLowerCase(Locale.ROOT);
+            String dbName;
 
-            // Obtener configuración de base de datos
-            String host = dotenv.get("DB_HOST");
-            String dbName = dotenv.get("DB_SCHEMA");
-            String jdbcUrl = String.format("jdbc:mysql://%s:3306/%s", host, dbName);
+            if (PERFIL_H2.equals(perfil)) {
+                // H2 en memoria con sintaxis de MySQL; vive mientras la JVM esté activa
+                dbName = AppConfig.get("H2_DB_NAME", "vetfinder");
+                config.setJdbcUrl("jdbc:h2:mem:" + dbName + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+                config.setUsername("sa");
+                config.setPassword("");
+                config.setDriverClassName("org.h2.Driver");
+            } else if (PERFIL_MYSQL.equals(perfil)) {
+                // Cargar variables de entorno desde archivo .env (MANTENER)
+                Dotenv dotenv = Dotenv.load();
 
-            // Configurar HikariCP con timeouts optimizados
-            HikariConfig config = new HikariConfig();
-            config.setJdbcUrl(jdbcUrl);
-            config.setUsername(dotenv.get("DB_USER"));
-            config.setPassword(dotenv.get("DB_PASS"));
-            config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+                // Obtener configuración de base de datos
+                String host = dotenv.get("DB_HOST");
+                dbName = dotenv.get("DB_SCHEMA");
+                // rewriteBatchedStatements: los executeBatch de INSERT viajan como un INSERT multi-fila
+                String jdbcUrl = String.format("jdbc:mysql://%s:3306/%s?rewriteBatchedStatements=true", host, dbName);
+
+                config.setJdbcUrl(jdbcUrl);
+                config.setUsername(dotenv.get("DB_USER"));
+                config.setPassword(dotenv.get("DB_PASS"));
+                config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+            } else {
+                throw new IllegalStateException("DB_PROFILE debe ser " + PERFIL_MYSQL + " o " + PERFIL_H2 + ": " + perfil);
+            }
+            h2 = PERFIL_H2.equals(perfil);
 
             // MODIFICADO: Timeouts más cortos para evitar colgamientos
-            config.setMaximumPoolSize(10);
+            // Con hilos virtuales el pool es el único límite: las peticiones que no consiguen
+            // conexión esperan en Hikari hasta connectionTimeout (hikari_connections_pending)
+            int poolSize = AppConfig.getInt("DB_POOL_SIZE", 10);
+            config.setMaximumPoolSize(poolSize);
             config.setMinimumIdle(2);
             config.setConnectionTimeout(10000);     // 10 segundos (era 30)
             config.setIdleTimeout(300000);          // 5 minutos
@@ -46,13 +83,68 @@ public class DatabaseConfig {
             config.setValidationTimeout(5000);      // 5 segundos validación
             config.setInitializationFailTimeout(15000); // 15 segundos init
 
+            // Tiempos de espera y uso de conexiones para GET /metrics
+            config.setMetricsTrackerFactory(MetricsRegistry.hikari());
+
             dataSource = new HikariDataSource(config);
+
+            // En H2 primero se crean las tablas que en MySQL ya existen
+            if (h2) {
+                try (Connection conn = dataSource.getConnection()) {
+                    ScriptSql.ejecutar(conn, H2_SCHEMA);
+                } catch (SQLException | IOException e) {
+                    dataSource.close();
+                    throw new IllegalStateException("No se pudo crear el esquema H2: " + e.getMessage(), e);
+                }
+            }
+
+            // El esquema se actualiza antes de que los repositorios puedan pedir conexiones
+            if (AppConfig.getBoolean("DB_MIGRATIONS_ENABLED", true)) {
+                try {
+                    int aplicadas = MigrationRunner.migrar(dataSource);
+                    System.out.println("Migraciones aplicadas: " + aplicadas);
+                } catch (SQLException | IOException | IllegalStateException e) {
+                    dataSource.close();
+                    throw new IllegalStateException("No se pudieron aplicar las migraciones: " + e.getMessage(), e);
+                }
+            }
+
+            // Base H2 recién creada: se llena con datos sintéticos (H2_SEED_*)
+            if (h2) {
+                try {
+                    if (estaVacia(dataSource)) {
+                        DatosSinteticos.desdeConfig().poblar(dataSource);
+                    }
+                } catch (SQLException e) {
+                    dataSource.close();
+                    throw new IllegalStateException("No se pudieron generar los datos sintéticos: " + e.getMessage(), e);
+                }
+            }
             initialized = true;
 
-            System.out.println("Conexión a base de datos configurada: " + dbName);
+            System.out.println("Conexión a base de datos configurada: " + dbName + " (" + perfil + ")");
         }
     }
 
+    /**
+     * La base en memoria se conserva entre initialize/closeDataSource de la misma JVM;
+     * solo se llena la primera vez
+     */
+    private static boolean estaVacia(DataSource ds) throws SQLException {
+        try (Connection conn = ds.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM USUARIO")) {
+            return rs.next() && rs.getInt(1) == 0;
+        }
+    }
+
+    /**
+     * Indica si se está usando el perfil H2 (DB_PROFILE=h2)
+     */
+    public static boolean isH2() {
+        return h2;
+    }
+
     /**
      * MODIFICADO: Ahora requiere inicialización previa
      */
@@ -64,6 +156,16 @@ public class DatabaseConfig {
         return dataSource;
     }
 
+    /**
+     * Fetch size para consultas en streaming
+     * Con Connector/J, Integer.MIN_VALUE hace que el driver entregue las filas una por una
+     * en lugar de cargar el ResultSet completo en memoria. H2 rechaza valores negativos y,
+     * al estar en la misma JVM, no gana nada con un fetch size; 0 deja el valor del driver.
+     */
+    public static int getStreamingFetchSize() {
+        return h2 ? 0 : Integer.MIN_VALUE;
+    }
+
     /**
      * Cierra el pool de conexiones
      */
@@ -0,0 +1,46 @@
+package com.vetfinder.config;
+
+/**
+ * Modo de ejecución de los handlers de Javalin
+ * PLATFORM usa el pool acotado de hilos de Jetty (comportamiento original).
+ * VIRTUAL atiende cada petición en un hilo virtual; requiere Java 21 o superior.
+ * El acceso a la base de datos lo sigue acotando el pool de Hikari (DB_POOL_SIZE).
+ * Se configura con EXECUTION_MODE=platform|virtual (por defecto platform).
+ */
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL;
+
+    private static final int JAVA_VIRTUAL_THREADS = 21;
+    private static volatile ExecutionMode actual;
+
+    /**
+     * Modo configurado; si se pidió VIRTUAL en una JVM sin hilos virtuales se usa PLATFORM
+     * @return Modo de ejecución efectivo
+     */
+    public static ExecutionMode actual() {
+        if (actual == null) {
+            actual = resolver(AppConfig.get("EXECUTION_MODE", "platform"));
+        }
+        return actual;
+    }
+
+    public static boolean isVirtual() {
+        return actual() == VIRTUAL;
+    }
+
+    private static ExecutionMode resolver(String valor) {
+        ExecutionMode modo;
+        try {
+            modo = valueOf(valor.toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("EXECUTION_MODE debe ser platform o virtual: " + valor);
+        }
+        if (modo == VIRTUAL && Runtime.version().feature() < JAVA_VIRTUAL_THREADS) {
+            System.err.println("EXECUTION_MODE=virtual requiere Java " + JAVA_VIRTUAL_THREADS +
+                    " (actual: " + Runtime.version().feature() + "), se usan hilos de plataforma");
+            return PLATFORM;
+        }
+        return modo;
+    }
+}
@@ -0,0 +1,19 @@
+package com.vetfinder.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * ObjectMapper compartido por Javalin y por las respuestas que se escriben en streaming
+ * Así ambas rutas serializan fechas y horas exactamente igual (ISO-8601)
+ */
+public class JacksonConfig {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+}
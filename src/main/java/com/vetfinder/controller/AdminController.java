@@ -0,0 +1,70 @@
+package com.vetfinder.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.vetfinder.cache.AgendaDisponibilidad;
+import com.vetfinder.cache.CacheRegistry;
+import com.vetfinder.cache.EstadisticasRollup;
+import com.vetfinder.util.ApiResponse;
+
+import java.util.List;
+
+/**
+ * Controlador para tareas de administración de la API
+ */
+public class AdminController {
+    private final EstadisticasRollup estadisticasRollup;
+    private final AgendaDisponibilidad agendaDisponibilidad;
+
+    public AdminController(EstadisticasRollup estadisticasRollup, AgendaDisponibilidad agendaDisponibilidad) {
+        this.estadisticasRollup = estadisticasRollup;
+        this.agendaDisponibilidad = agendaDisponibilidad;
+    }
+
+    /**
+     * POST /api/admin/cache/refresh - Recarga las cachés de catálogos desde la base de datos
+     * Con ?nombre=roles (sexos, especialidades, servicios, direcciones, veterinarios-agenda) recarga solo esa caché
+     */
+    public void refreshCache(Context ctx) {
+        try {
+            String nombre = ctx.queryParam("nombre");
+            if (nombre == null || nombre.isBlank()) {
+                List<String> recargadas = CacheRegistry.refreshAll();
+                ctx.json(ApiResponse.success("Cachés recargadas", recargadas));
+                return;
+            }
+            ctx.json(CacheRegistry.refresh(nombre) ?
+                    ApiResponse.success("Caché recargada", List.of(nombre)) : ApiResponse.notFound("Caché " + nombre));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .json(ApiResponse.error("Error al recargar cachés: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/admin/estadisticas/rebuild - Reconstruye los acumulados de estadísticas desde la tabla CITA
+     * Útil si se modificaron citas directamente en la base de datos
+     */
+    public void rebuildEstadisticas(Context ctx) {
+        try {
+            estadisticasRollup.reconstruir();
+            ctx.json(ApiResponse.success("Acumulados de estadísticas reconstruidos"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .json(ApiResponse.error("Error al reconstruir estadísticas: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/admin/disponibilidad/rebuild - Vuelve a cargar la agenda de horarios ocupados desde la tabla CITA
+     */
+    public void rebuildDisponibilidad(Context ctx) {
+        try {
+            agendaDisponibilidad.reconstruir();
+            ctx.json(ApiResponse.success("Agenda de disponibilidad reconstruida"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .json(ApiResponse.error("Error al reconstruir la agenda: " + e.getMessage()));
+        }
+    }
+}
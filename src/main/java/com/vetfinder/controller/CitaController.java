@@ -2,20 +2,51 @@ package com.vetfinder.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.vetfinder.service.CitaRelacionesService;
 import com.vetfinder.service.CitaService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.ConflictoException;
+import com.vetfinder.util.FiltroCitas;
+import com.vetfinder.util.JsonStreamer;
+import com.vetfinder.util.Paginacion;
+import com.vetfinder.util.Parametros;
+import com.vetfinder.model.AgendaCita;
 import com.vetfinder.model.Cita;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
 public class CitaController {
     private final CitaService citaService;
+    private final CitaRelacionesService citaRelacionesService;
 
-    public CitaController(CitaService citaService) {
+    public CitaController(CitaService citaService, CitaRelacionesService citaRelacionesService) {
         this.citaService = citaService;
+        this.citaRelacionesService = citaRelacionesService;
     }
 
     public void getAll(Context ctx) {
         try {
+            if (JsonStreamer.solicitado(ctx)) {
+                JsonStreamer.stream(ctx, "Citas obtenidas", citaService::streamCitas);
+                return;
+            }
+            var ids = Parametros.ids(ctx, "ids");
+            if (ids != null) {
+                responder(ctx, "Citas obtenidas", citaService.getCitasByIds(ids));
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = citaService.getCitasPaginadas(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Citas obtenidas", pagina));
+                return;
+            }
             ctx.json(ApiResponse.success("Citas obtenidas", citaService.getAllCitas()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -34,8 +65,10 @@ public class CitaController {
     public void getByMascota(Context ctx) {
         try {
             int idMascota = Integer.parseInt(ctx.pathParam("mascotaId"));
-            var citas = citaService.getCitasByMascota(idMascota);
-            ctx.json(ApiResponse.success("Citas de la mascota obtenidas", citas));
+            var citas = citaService.getCitasByMascota(idMascota, FiltroCitas.from(ctx));
+            responder(ctx, "Citas de la mascota obtenidas", citas);
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -44,8 +77,46 @@ public class CitaController {
     public void getByVeterinario(Context ctx) {
         try {
             int idDatoVeterinario = Integer.parseInt(ctx.pathParam("veterinarioId"));
-            var citas = citaService.getCitasByVeterinario(idDatoVeterinario);
-            ctx.json(ApiResponse.success("Citas del veterinario obtenidas", citas));
+            var citas = citaService.getCitasByVeterinario(idDatoVeterinario, FiltroCitas.from(ctx));
+            responder(ctx, "Citas del veterinario obtenidas", citas);
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/veterinarios/{veterinarioId}/disponibilidad?desde=&hasta= - Horarios libres por día
+     * Sin parámetros devuelve los próximos 7 días
+     */
+    public void getDisponibilidad(Context ctx) {
+        try {
+            int idDatoVeterinario = Integer.parseInt(ctx.pathParam("veterinarioId"));
+            var disponibilidad = citaService.getDisponibilidad(idDatoVeterinario,
+                    Parametros.fecha(ctx, "desde"), Parametros.fecha(ctx, "hasta"));
+            ctx.json(ApiResponse.success("Disponibilidad del veterinario obtenida", disponibilidad));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/veterinarios/{veterinarioId}/agenda?fecha= (o ?desde=&hasta=) - Citas con mascota, tutor y servicio
+     * Sin parámetros devuelve los próximos 7 días; la respuesta se escribe en streaming
+     */
+    public void getAgenda(Context ctx) {
+        try {
+            int idDatoVeterinario = Integer.parseInt(ctx.pathParam("veterinarioId"));
+            LocalDate fecha = Parametros.fecha(ctx, "fecha");
+            LocalDate desde = Parametros.fecha(ctx, "desde");
+            LocalDate hasta = Parametros.fecha(ctx, "hasta");
+            JsonStreamer.<AgendaCita>stream(ctx, "Agenda del veterinario obtenida",
+                    callback -> citaService.streamAgenda(idDatoVeterinario, fecha, desde, hasta, callback));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -57,6 +128,22 @@ public class CitaController {
             int id = citaService.createCita(cita);
             cita.setIdCita(id);
             ctx.status(HttpStatus.CREATED).json(ApiResponse.success("Cita creada", cita));
+        } catch (ConflictoException e) {
+            ctx.status(HttpStatus.CONFLICT).json(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    public void createBatch(Context ctx) {
+        try {
+            Cita[] citas = ctx.bodyAsClass(Cita[].class);
+            List<Integer> ids = citaService.createCitas(citas != null ? Arrays.asList(citas) : null);
+            ctx.status(HttpStatus.CREATED).json(ApiResponse.success("Citas creadas", ids));
+        } catch (ConflictoException e) {
+            ctx.status(HttpStatus.CONFLICT).json(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
@@ -71,6 +158,10 @@ public class CitaController {
             cita.setIdCita(id);
             ctx.json(citaService.updateCita(cita) ?
                     ApiResponse.success("Cita actualizada", cita) : ApiResponse.notFound("Cita"));
+        } catch (ConflictoException e) {
+            ctx.status(HttpStatus.CONFLICT).json(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -98,10 +189,24 @@ public class CitaController {
 
             boolean updated = citaService.updateEstadoCita(id, nuevoEstado);
             ctx.json(updated ? ApiResponse.success("Estado de cita actualizado") : ApiResponse.notFound("Cita"));
+        } catch (ConflictoException e) {
+            ctx.status(HttpStatus.CONFLICT).json(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Responde la lista de citas; con ?incluir=relaciones agrega mascotas, servicios,
+     * veterinarios y usuarios resueltos por lotes (ver CitaRelacionesService)
+     */
+    private void responder(Context ctx, String mensaje, List<Cita> citas) throws SQLException {
+        if ("relaciones".equals(ctx.queryParam("incluir"))) {
+            ctx.json(ApiResponse.success(mensaje, citaRelacionesService.relacionar(citas)));
+        } else {
+            ctx.json(ApiResponse.success(mensaje, citas));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
 import com.vetfinder.service.ConsultorioService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.Paginacion;
 import com.vetfinder.model.Consultorio;
 
 /**
@@ -21,8 +22,17 @@ public class ConsultorioController {
      */
     public void getAll(Context ctx) {
         try {
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = consultorioService.getConsultoriosPaginados(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Consultorios obtenidos correctamente", pagina));
+                return;
+            }
             var consultorios = consultorioService.getAllConsultorios();
             ctx.json(ApiResponse.success("Consultorios obtenidos correctamente", consultorios));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST)
+                    .json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener consultorios: " + e.getMessage()));
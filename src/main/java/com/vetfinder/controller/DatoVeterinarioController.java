@@ -4,6 +4,8 @@ import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
 import com.vetfinder.service.DatoVeterinarioService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.Paginacion;
+import com.vetfinder.util.Parametros;
 import com.vetfinder.model.DatoVeterinario;
 
 /**
@@ -21,8 +23,23 @@ public class DatoVeterinarioController {
      */
     public void getAll(Context ctx) {
         try {
+            var ids = Parametros.ids(ctx, "ids");
+            if (ids != null) {
+                ctx.json(ApiResponse.success("Datos veterinarios obtenidos correctamente",
+                        datoVeterinarioService.getDatosVeterinariosByIds(ids)));
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = datoVeterinarioService.getDatosVeterinariosPaginados(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Datos veterinarios obtenidos correctamente", pagina));
+                return;
+            }
             var datosVeterinarios = datoVeterinarioService.getAllDatosVeterinarios();
             ctx.json(ApiResponse.success("Datos veterinarios obtenidos correctamente", datosVeterinarios));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST)
+                    .json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener datos veterinarios: " + e.getMessage()));
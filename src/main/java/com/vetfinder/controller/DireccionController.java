@@ -4,6 +4,7 @@ import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
 import com.vetfinder.service.DireccionService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.Paginacion;
 import com.vetfinder.model.Direccion;
 
 /**
@@ -22,7 +23,15 @@ public class DireccionController {
      */
     public void getAll(Context ctx) {
         try {
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = direccionService.getDireccionesPaginadas(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Direcciones obtenidas", pagina));
+                return;
+            }
             ctx.json(ApiResponse.success("Direcciones obtenidas", direccionService.getAllDirecciones()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
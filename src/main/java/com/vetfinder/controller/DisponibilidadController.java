@@ -0,0 +1,36 @@
+package com.vetfinder.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.vetfinder.service.DisponibilidadService;
+import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.Parametros;
+
+/**
+ * Controlador para la búsqueda de horarios libres entre veterinarios
+ */
+public class DisponibilidadController {
+    private final DisponibilidadService disponibilidadService;
+
+    public DisponibilidadController(DisponibilidadService disponibilidadService) {
+        this.disponibilidadService = disponibilidadService;
+    }
+
+    /**
+     * GET /api/especialidades/{especialidadId}/disponibilidad?k=&desde=&hasta=
+     * Los K turnos libres más próximos entre todos los veterinarios de la especialidad
+     */
+    public void getProximosPorEspecialidad(Context ctx) {
+        try {
+            int idEspecialidad = Integer.parseInt(ctx.pathParam("especialidadId"));
+            var horarios = disponibilidadService.getProximosHorarios(idEspecialidad,
+                    Parametros.fecha(ctx, "desde"), Parametros.fecha(ctx, "hasta"),
+                    Parametros.entero(ctx, "k", DisponibilidadService.DEFAULT_K));
+            ctx.json(ApiResponse.success("Próximos horarios disponibles obtenidos", horarios));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+}
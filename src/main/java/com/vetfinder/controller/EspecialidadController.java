@@ -2,8 +2,12 @@ package com.vetfinder.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.ResponseCache;
 import com.vetfinder.service.EspecialidadService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.ConditionalGet;
+import com.vetfinder.util.Paginacion;
 import com.vetfinder.model.Especialidad;
 
 public class EspecialidadController {
@@ -15,7 +19,19 @@ public class EspecialidadController {
 
     public void getAll(Context ctx) {
         try {
-            ctx.json(ApiResponse.success("Especialidades obtenidas", especialidadService.getAllEspecialidades()));
+            if (ConditionalGet.noModificado(ctx, EntityVersions.ESPECIALIDADES)) {
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = especialidadService.getEspecialidadesPaginadas(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Especialidades obtenidas", pagina));
+                return;
+            }
+            ResponseCache.json(ctx, "especialidades", EntityVersions.ESPECIALIDADES,
+                    () -> ApiResponse.success("Especialidades obtenidas", especialidadService.getAllEspecialidades()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -23,6 +39,9 @@ public class EspecialidadController {
 
     public void getById(Context ctx) {
         try {
+            if (ConditionalGet.noModificado(ctx, EntityVersions.ESPECIALIDADES)) {
+                return;
+            }
             int id = Integer.parseInt(ctx.pathParam("id"));
             var especialidad = especialidadService.getEspecialidadById(id);
             ctx.json(especialidad != null ? ApiResponse.success("Especialidad encontrada", especialidad) : ApiResponse.notFound("Especialidad"));
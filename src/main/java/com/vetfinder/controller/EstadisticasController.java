@@ -2,6 +2,8 @@ package com.vetfinder.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.ResponseCache;
 import com.vetfinder.service.EstadisticasService;
 import com.vetfinder.util.ApiResponse;
 
@@ -19,11 +21,15 @@ public class EstadisticasController {
     /**
      * GET /api/estadisticas/horarios-concurridos - Obtiene estadísticas de horarios más concurridos
      * Retorna datos para gráfica de barras con franjas horarias y cantidad de citas
+     * Acepta ?dias=N para cambiar la ventana (30 por defecto)
      */
     public void getHorariosConcurridos(Context ctx) {
         try {
-            var estadisticas = estadisticasService.getHorariosConcurridos();
-            ctx.json(ApiResponse.success("Estadísticas de horarios obtenidas", estadisticas));
+            int dias = diasDe(ctx);
+            ResponseCache.json(ctx, "estadisticas-horarios:" + dias, EntityVersions.ESTADISTICAS,
+                    () -> ApiResponse.success("Estadísticas de horarios obtenidas", estadisticasService.getHorariosConcurridos(dias)));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener estadísticas de horarios: " + e.getMessage()));
@@ -33,11 +39,15 @@ public class EstadisticasController {
     /**
      * GET /api/estadisticas/servicios-solicitados - Obtiene estadísticas de servicios más solicitados
      * Retorna datos para gráfica de barras con tipos de servicio y cantidad de solicitudes
+     * Acepta ?dias=N para cambiar la ventana (30 por defecto)
      */
     public void getServiciosSolicitados(Context ctx) {
         try {
-            var estadisticas = estadisticasService.getServiciosSolicitados();
-            ctx.json(ApiResponse.success("Estadísticas de servicios obtenidas", estadisticas));
+            int dias = diasDe(ctx);
+            ResponseCache.json(ctx, "estadisticas-servicios:" + dias, EntityVersions.ESTADISTICAS,
+                    () -> ApiResponse.success("Estadísticas de servicios obtenidas", estadisticasService.getServiciosSolicitados(dias)));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener estadísticas de servicios: " + e.getMessage()));
@@ -50,11 +60,26 @@ public class EstadisticasController {
      */
     public void getResumenEstadisticas(Context ctx) {
         try {
-            var resumen = estadisticasService.getResumenEstadisticas();
-            ctx.json(ApiResponse.success("Resumen de estadísticas obtenido", resumen));
+            ResponseCache.json(ctx, "estadisticas-resumen", EntityVersions.ESTADISTICAS,
+                    () -> ApiResponse.success("Resumen de estadísticas obtenido", estadisticasService.getResumenEstadisticas()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener resumen de estadísticas: " + e.getMessage()));
         }
     }
+
+    /**
+     * Lee el parámetro opcional ?dias= de la ventana de estadísticas
+     */
+    private int diasDe(Context ctx) {
+        String dias = ctx.queryParam("dias");
+        if (dias == null) {
+            return EstadisticasService.DEFAULT_DIAS;
+        }
+        try {
+            return Integer.parseInt(dias);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro 'dias' debe ser numérico");
+        }
+    }
 }
\ No newline at end of file
@@ -4,8 +4,13 @@ import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
 import com.vetfinder.service.FacturaService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.JsonStreamer;
+import com.vetfinder.util.Paginacion;
 import com.vetfinder.model.Factura;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Controlador para manejar las peticiones HTTP relacionadas con facturas
  */
@@ -21,8 +26,21 @@ public class FacturaController {
      */
     public void getAll(Context ctx) {
         try {
+            if (JsonStreamer.solicitado(ctx)) {
+                JsonStreamer.stream(ctx, "Facturas obtenidas correctamente", facturaService::streamFacturas);
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = facturaService.getFacturasPaginadas(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Facturas obtenidas correctamente", pagina));
+                return;
+            }
             var facturas = facturaService.getAllFacturas();
             ctx.json(ApiResponse.success("Facturas obtenidas correctamente", facturas));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST)
+                    .json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener facturas: " + e.getMessage()));
@@ -89,6 +107,22 @@ public class FacturaController {
         }
     }
 
+    public void createBatch(Context ctx) {
+        try {
+            Factura[] facturas = ctx.bodyAsClass(Factura[].class);
+            List<Integer> ids = facturaService.createFacturas(facturas != null ? Arrays.asList(facturas) : null);
+
+            ctx.status(HttpStatus.CREATED)
+                    .json(ApiResponse.success("Facturas creadas correctamente", ids));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST)
+                    .json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .json(ApiResponse.error("Error al crear facturas: " + e.getMessage()));
+        }
+    }
+
     /**
      * PUT /facturas/{id} - Actualiza una factura existente
      */
@@ -4,8 +4,14 @@ import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
 import com.vetfinder.service.MascotaService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.JsonStreamer;
+import com.vetfinder.util.Paginacion;
+import com.vetfinder.util.Parametros;
 import com.vetfinder.model.Mascota;
 
+import java.util.Arrays;
+import java.util.List;
+
 public class MascotaController {
     private final MascotaService mascotaService;
 
@@ -15,7 +21,24 @@ public class MascotaController {
 
     public void getAll(Context ctx) {
         try {
+            if (JsonStreamer.solicitado(ctx)) {
+                JsonStreamer.stream(ctx, "Mascotas obtenidas", mascotaService::streamMascotas);
+                return;
+            }
+            var ids = Parametros.ids(ctx, "ids");
+            if (ids != null) {
+                ctx.json(ApiResponse.success("Mascotas obtenidas", mascotaService.getMascotasByIds(ids)));
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = mascotaService.getMascotasPaginadas(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Mascotas obtenidas", pagina));
+                return;
+            }
             ctx.json(ApiResponse.success("Mascotas obtenidas", mascotaService.getAllMascotas()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -54,6 +77,18 @@ public class MascotaController {
         }
     }
 
+    public void createBatch(Context ctx) {
+        try {
+            Mascota[] mascotas = ctx.bodyAsClass(Mascota[].class);
+            List<Integer> ids = mascotaService.createMascotas(mascotas != null ? Arrays.asList(mascotas) : null);
+            ctx.status(HttpStatus.CREATED).json(ApiResponse.success("Mascotas creadas", ids));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
     public void update(Context ctx) {
         try {
             int id = Integer.parseInt(ctx.pathParam("id"));
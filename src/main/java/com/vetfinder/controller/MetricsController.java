@@ -0,0 +1,25 @@
+package com.vetfinder.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.vetfinder.metrics.MetricsRegistry;
+
+/**
+ * Controlador para exponer las métricas de la API en formato Prometheus
+ */
+public class MetricsController {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * GET /metrics - Latencias y respuestas por ruta y estado del pool de conexiones
+     */
+    public void getMetrics(Context ctx) {
+        try {
+            ctx.contentType(CONTENT_TYPE).result(MetricsRegistry.scrape());
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(CONTENT_TYPE)
+                    .result("# Error al generar métricas: " + e.getMessage() + "\n");
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.vetfinder.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.ResponseCache;
 import com.vetfinder.service.RolService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.ConditionalGet;
+import com.vetfinder.util.Paginacion;
 import com.vetfinder.model.Rol;
 
 /**
@@ -21,8 +25,20 @@ public class RolController {
      */
     public void getAll(Context ctx) {
         try {
-            var roles = rolService.getAllRoles();
-            ctx.json(ApiResponse.success("Roles obtenidos correctamente", roles));
+            if (ConditionalGet.noModificado(ctx, EntityVersions.ROLES)) {
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = rolService.getRolesPaginados(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Roles obtenidos correctamente", pagina));
+                return;
+            }
+            ResponseCache.json(ctx, "roles", EntityVersions.ROLES,
+                    () -> ApiResponse.success("Roles obtenidos correctamente", rolService.getAllRoles()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST)
+                    .json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener roles: " + e.getMessage()));
@@ -34,6 +50,9 @@ public class RolController {
      */
     public void getById(Context ctx) {
         try {
+            if (ConditionalGet.noModificado(ctx, EntityVersions.ROLES)) {
+                return;
+            }
             int id = Integer.parseInt(ctx.pathParam("id"));
             var rol = rolService.getRolById(id);
 
@@ -2,8 +2,13 @@ package com.vetfinder.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.ResponseCache;
 import com.vetfinder.service.ServicioService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.ConditionalGet;
+import com.vetfinder.util.Paginacion;
+import com.vetfinder.util.Parametros;
 import com.vetfinder.model.Servicio;
 
 public class ServicioController {
@@ -15,7 +20,24 @@ public class ServicioController {
 
     public void getAll(Context ctx) {
         try {
-            ctx.json(ApiResponse.success("Servicios obtenidos", servicioService.getAllServicios()));
+            if (ConditionalGet.noModificado(ctx, EntityVersions.SERVICIOS)) {
+                return;
+            }
+            var ids = Parametros.ids(ctx, "ids");
+            if (ids != null) {
+                ctx.json(ApiResponse.success("Servicios obtenidos", servicioService.getServiciosByIds(ids)));
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = servicioService.getServiciosPaginados(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Servicios obtenidos", pagina));
+                return;
+            }
+            ResponseCache.json(ctx, "servicios", EntityVersions.SERVICIOS,
+                    () -> ApiResponse.success("Servicios obtenidos", servicioService.getAllServicios()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -23,6 +45,9 @@ public class ServicioController {
 
     public void getById(Context ctx) {
         try {
+            if (ConditionalGet.noModificado(ctx, EntityVersions.SERVICIOS)) {
+                return;
+            }
             int id = Integer.parseInt(ctx.pathParam("id"));
             var servicio = servicioService.getServicioById(id);
             ctx.json(servicio != null ? ApiResponse.success("Servicio encontrado", servicio) : ApiResponse.notFound("Servicio"));
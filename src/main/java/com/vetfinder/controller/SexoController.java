@@ -2,8 +2,12 @@ package com.vetfinder.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.ResponseCache;
 import com.vetfinder.service.SexoService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.ConditionalGet;
+import com.vetfinder.util.Paginacion;
 import com.vetfinder.model.Sexo;
 
 /**
@@ -21,8 +25,20 @@ public class SexoController {
      */
     public void getAll(Context ctx) {
         try {
-            var sexos = sexoService.getAllSexos();
-            ctx.json(ApiResponse.success("Sexos obtenidos correctamente", sexos));
+            if (ConditionalGet.noModificado(ctx, EntityVersions.SEXOS)) {
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = sexoService.getSexosPaginados(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Sexos obtenidos correctamente", pagina));
+                return;
+            }
+            ResponseCache.json(ctx, "sexos", EntityVersions.SEXOS,
+                    () -> ApiResponse.success("Sexos obtenidos correctamente", sexoService.getAllSexos()));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST)
+                    .json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener sexos: " + e.getMessage()));
@@ -34,6 +50,9 @@ public class SexoController {
      */
     public void getById(Context ctx) {
         try {
+            if (ConditionalGet.noModificado(ctx, EntityVersions.SEXOS)) {
+                return;
+            }
             int id = Integer.parseInt(ctx.pathParam("id"));
             var sexo = sexoService.getSexoById(id);
 
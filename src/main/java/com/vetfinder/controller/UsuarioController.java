@@ -2,8 +2,12 @@ package com.vetfinder.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.vetfinder.auth.Sesion;
+import com.vetfinder.auth.TokenService;
 import com.vetfinder.service.UsuarioService;
 import com.vetfinder.util.ApiResponse;
+import com.vetfinder.util.Paginacion;
+import com.vetfinder.util.Parametros;
 import com.vetfinder.model.Usuario;
 
 /**
@@ -12,9 +16,11 @@ import com.vetfinder.model.Usuario;
  */
 public class UsuarioController {
     private final UsuarioService usuarioService;
+    private final TokenService tokenService;
 
-    public UsuarioController(UsuarioService usuarioService) {
+    public UsuarioController(UsuarioService usuarioService, TokenService tokenService) {
         this.usuarioService = usuarioService;
+        this.tokenService = tokenService;
     }
 
     // ========== MÉTODOS BÁSICOS CRUD (YA EXISTÍAN) ==========
@@ -24,8 +30,22 @@ public class UsuarioController {
      */
     public void getAll(Context ctx) {
         try {
+            var ids = Parametros.ids(ctx, "ids");
+            if (ids != null) {
+                ctx.json(ApiResponse.success("Usuarios obtenidos correctamente", usuarioService.getUsuariosByIds(ids)));
+                return;
+            }
+            var paginacion = Paginacion.from(ctx);
+            if (paginacion != null) {
+                var pagina = usuarioService.getUsuariosPaginados(paginacion.getAfter(), paginacion.getLimit());
+                ctx.json(ApiResponse.page("Usuarios obtenidos correctamente", pagina));
+                return;
+            }
             var usuarios = usuarioService.getAllUsuarios();
             ctx.json(ApiResponse.success("Usuarios obtenidos correctamente", usuarios));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST)
+                    .json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener usuarios: " + e.getMessage()));
@@ -199,14 +219,21 @@ public class UsuarioController {
 
     /**
      * GET /usuarios/{id}/tipo - Obtiene el tipo de usuario (para frontend)
+     * Si el token de sesión es del mismo usuario se responde con su rol, sin consultar la base de datos
      */
     public void getTipoUsuario(Context ctx) {
         try {
             int id = Integer.parseInt(ctx.pathParam("id"));
+            Sesion sesion = Sesion.de(ctx);
+            if (sesion != null && sesion.getIdUsuario() == id) {
+                ctx.json(ApiResponse.success("Tipo de usuario obtenido",
+                        new TipoUsuarioResponse(sesion.getIdRol(), sesion.getTipoUsuario())));
+                return;
+            }
             var usuario = usuarioService.getUsuarioById(id);
 
             if (usuario != null) {
-                String tipoUsuario = usuario.getIdRol() == 1 ? "veterinario" : "tutor";
+                String tipoUsuario = Sesion.tipoUsuario(usuario.getIdRol());
                 ctx.json(ApiResponse.success("Tipo de usuario obtenido",
                         new TipoUsuarioResponse(usuario.getIdRol(), tipoUsuario)));
             } else {
@@ -226,17 +253,18 @@ public class UsuarioController {
 
     /**
      * POST /usuarios/login - Autenticación de usuarios
+     * Devuelve un token de sesión firmado (idUsuario e idRol) para enviar en Authorization: Bearer
      */
     public void login(Context ctx) {
         try {
             var loginRequest = ctx.bodyAsClass(LoginRequest.class);
 
-            // Buscar usuario por correo
-            var usuario = usuarioService.getUsuarioByCorreo(loginRequest.getCorreo());
+            // Buscar usuario por correo y comparar la contraseña
+            var usuario = usuarioService.autenticar(loginRequest.getCorreo(), loginRequest.getContrasena());
 
-            if (usuario != null && usuario.getContrasena().equals(loginRequest.getContrasena())) {
+            if (usuario != null) {
                 // Login exitoso
-                String tipoUsuario = usuario.getIdRol() == 1 ? "veterinario" : "tutor";
+                String tipoUsuario = Sesion.tipoUsuario(usuario.getIdRol());
                 var loginResponse = new LoginResponse(
                         usuario.getIdUsuario(),
                         usuario.getNombre(),
@@ -245,6 +273,9 @@ public class UsuarioController {
                         usuario.getIdRol(),
                         tipoUsuario
                 );
+                Sesion sesion = tokenService.nuevaSesion(usuario.getIdUsuario(), usuario.getIdRol());
+                loginResponse.setToken(tokenService.emitir(sesion));
+                loginResponse.setExpira(sesion.getExpira());
                 ctx.json(ApiResponse.success("Login exitoso", loginResponse));
             } else {
                 ctx.status(HttpStatus.UNAUTHORIZED)
@@ -256,6 +287,19 @@ public class UsuarioController {
         }
     }
 
+    /**
+     * GET /usuarios/sesion - Identidad y rol del token de sesión, sin consultar la base de datos
+     */
+    public void getSesion(Context ctx) {
+        Sesion sesion = Sesion.de(ctx);
+        if (sesion == null) {
+            ctx.status(HttpStatus.UNAUTHORIZED)
+                    .json(ApiResponse.error("Se requiere iniciar sesión"));
+            return;
+        }
+        ctx.json(ApiResponse.success("Sesión obtenida", sesion));
+    }
+
     // ========== CLASES AUXILIARES ==========
 
     /**
@@ -323,6 +367,8 @@ public class UsuarioController {
         private String correo;
         private int idRol;
         private String tipoUsuario;
+        private String token;
+        private long expira;
 
         public LoginResponse(int idUsuario, String nombre, String apellidos, String correo, int idRol, String tipoUsuario) {
             this.idUsuario = idUsuario;
@@ -351,5 +397,12 @@ public class UsuarioController {
 
         public String getTipoUsuario() { return tipoUsuario; }
         public void setTipoUsuario(String tipoUsuario) { this.tipoUsuario = tipoUsuario; }
+
+        // Token de sesión y su vencimiento (segundos desde epoch)
+        public String getToken() { return token; }
+        public void setToken(String token) { this.token = token; }
+
+        public long getExpira() { return expira; }
+        public void setExpira(long expira) { this.expira = expira; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,371 @@
+package com.vetfinder.db;
+
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.model.Rol;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Datos sintéticos para el perfil H2 (pruebas de integración y benchmarks sin MySQL)
+ * Inserta los catálogos y N usuarios, mascotas, citas y facturas con referencias consistentes.
+ * Con la misma semilla genera siempre los mismos datos, así dos corridas son comparables.
+ * Los IDs no se envían: las tablas están vacías y el AUTO_INCREMENT los asigna en orden desde 1.
+ * Los primeros usuarios son veterinarios (uno de cada diez) con su consultorio y dato de
+ * veterinario; el resto son tutores. Después de ellos se agrega un administrador (CORREO_ADMINISTRADOR)
+ * para probar /api/admin. Todos tienen la contraseña CONTRASENA.
+ */
+public class DatosSinteticos {
+    /** Contraseña de todos los usuarios generados */
+    public static final String CONTRASENA = "clave123";
+    /** Correo del usuario con rol administrador (su ID es la cantidad de usuarios + 1) */
+    public static final String CORREO_ADMINISTRADOR = "admin@vetfinder.test";
+
+    private static final String[] SEXOS = {"Macho", "Hembra"};
+    private static final String[] ESPECIALIDADES = {
+            "Medicina general", "Cirugía", "Dermatología", "Cardiología", "Odontología", "Animales exóticos"};
+    private static final String[] SERVICIOS = {
+            "Consulta general", "Vacunación", "Desparasitación", "Estética", "Cirugía menor",
+            "Radiografía", "Análisis clínicos", "Limpieza dental"};
+    private static final float[] PRECIOS = {350f, 250f, 180f, 300f, 1500f, 600f, 450f, 800f};
+    private static final String[] NOMBRES = {
+            "Ana", "Luis", "María", "José", "Sofía", "Carlos", "Valeria", "Jorge", "Fernanda", "Miguel"};
+    private static final String[] APELLIDOS = {
+            "García", "Hernández", "López", "Martínez", "González", "Pérez", "Rodríguez", "Sánchez", "Ramírez", "Flores"};
+    private static final String[] MASCOTAS = {
+            "Firulais", "Luna", "Max", "Michi", "Rocky", "Nala", "Toby", "Kira", "Simba", "Coco"};
+    private static final String[] RAZAS = {
+            "Mestizo", "Labrador", "Chihuahua", "Siamés", "Pastor alemán", "Persa", "Schnauzer", "Beagle"};
+    private static final int DIRECCIONES = 100;
+    private static final int DIAS_ATRAS = 180;
+    private static final int DIAS_ADELANTE = 30;
+    // Horarios de 08:00 a 19:30 cada media hora
+    private static final int HORARIOS = 24;
+    private static final int BLOQUE = 1000;
+
+    private final int usuarios;
+    private final int mascotas;
+    private final int citas;
+    private final int facturas;
+    private final long semilla;
+
+    public DatosSinteticos(int usuarios, int mascotas, int citas, int facturas, long semilla) {
+        if (usuarios < 0 || mascotas < 0 || citas < 0 || facturas < 0) {
+            throw new IllegalArgumentException("Las cantidades de datos sintéticos no pueden ser negativas");
+        }
+        if ((mascotas > 0 || citas > 0) && usuarios < 2) {
+            throw new IllegalArgumentException("Se requieren al menos 2 usuarios (un veterinario y un tutor) para generar mascotas y citas");
+        }
+        if (citas > 0 && mascotas == 0) {
+            throw new IllegalArgumentException("Se requiere al menos una mascota para generar citas");
+        }
+        this.usuarios = usuarios;
+        this.mascotas = mascotas;
+        this.citas = citas;
+        this.facturas = facturas;
+        this.semilla = semilla;
+    }
+
+    /**
+     * Cantidades configuradas con H2_SEED_USUARIOS, H2_SEED_MASCOTAS, H2_SEED_CITAS,
+     * H2_SEED_FACTURAS y H2_SEED (semilla)
+     */
+    public static DatosSinteticos desdeConfig() {
+        return new DatosSinteticos(
+                AppConfig.getInt("H2_SEED_USUARIOS", 1000),
+                AppConfig.getInt("H2_SEED_MASCOTAS", 1500),
+                AppConfig.getInt("H2_SEED_CITAS", 5000),
+                AppConfig.getInt("H2_SEED_FACTURAS", 2000),
+                AppConfig.getLong("H2_SEED", 42));
+    }
+
+    public int getUsuarios() {
+        return usuarios;
+    }
+
+    public int getMascotas() {
+        return mascotas;
+    }
+
+    /**
+     * Cantidad de usuarios que se generan como veterinarios
+     * (sus IDs de usuario y de dato de veterinario van de 1 a este valor)
+     */
+    public int getVeterinarios() {
+        return usuarios == 0 ? 0 : Math.max(1, usuarios / 10);
+    }
+
+    /**
+     * Inserta los datos en una sola transacción
+     * @param dataSource Base de datos con el esquema creado y sin datos
+     * @throws SQLException Error en la inserción (no se guarda nada)
+     */
+    public void poblar(DataSource dataSource) throws SQLException {
+        long inicio = System.nanoTime();
+        Random random = new Random(semilla);
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                insertarCatalogos(conn);
+                insertarUsuarios(conn, random);
+                insertarAdministrador(conn);
+                insertarVeterinarios(conn, random);
+                int[] tutores = insertarMascotas(conn, random);
+                int insertadas = insertarCitasYFacturas(conn, random, tutores);
+                conn.commit();
+
+                System.out.printf("Datos sintéticos: %d usuarios, %d mascotas, %d citas, %d facturas (%d ms)%n",
+                        usuarios, mascotas, citas, insertadas, (System.nanoTime() - inicio) / 1_000_000);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void insertarCatalogos(Connection conn) throws SQLException {
+        // IDs explícitos de Rol; la migración V4 puede haber cargado ya el administrador
+        Set<Integer> roles = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id_rol FROM ROL");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                roles.add(rs.getInt(1));
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO ROL (id_rol, nombre) VALUES (?, ?)")) {
+            int[] ids = {Rol.VETERINARIO, Rol.TUTOR, Rol.ADMINISTRADOR};
+            String[] nombres = {"Veterinario", "Tutor de Mascota", "Administrador"};
+            for (int i = 0; i < ids.length; i++) {
+                if (roles.add(ids[i])) {
+                    stmt.setInt(1, ids[i]);
+                    stmt.setString(2, nombres[i]);
+                    stmt.addBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO SEXO (nombre) VALUES (?)")) {
+            for (String sexo : SEXOS) {
+                stmt.setString(1, sexo);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO ESPECIALIDAD (nombre) VALUES (?)")) {
+            for (String especialidad : ESPECIALIDADES) {
+                stmt.setString(1, especialidad);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO SERVICIO (nombre, precio) VALUES (?, ?)")) {
+            for (int i = 0; i < SERVICIOS.length; i++) {
+                stmt.setString(1, SERVICIOS[i]);
+                stmt.setFloat(2, PRECIOS[i]);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO DIRECCION (calle) VALUES (?)")) {
+            for (int i = 1; i <= DIRECCIONES; i++) {
+                stmt.setString(1, "Calle " + i + " #" + (100 + i));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void insertarUsuarios(Connection conn, Random random) throws SQLException {
+        int veterinarios = getVeterinarios();
+        String query = "INSERT INTO USUARIO (nombre, apellidos, fecha_nacimiento, correo, contrasena, " +
+                "telefono, descripcion, cedula, id_direccion, id_rol) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (int id = 1; id <= usuarios; id++) {
+                boolean veterinario = id <= veterinarios;
+                stmt.setString(1, NOMBRES[random.nextInt(NOMBRES.length)]);
+                stmt.setString(2, APELLIDOS[random.nextInt(APELLIDOS.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)]);
+                stmt.setDate(3, Date.valueOf(LocalDate.of(1960, 1, 1).plusDays(random.nextInt(40 * 365))));
+                stmt.setString(4, "usuario" + id + "@vetfinder.test");
+                stmt.setString(5, CONTRASENA);
+                stmt.setLong(6, 5500000000L + random.nextInt(100_000_000));
+                if (veterinario) {
+                    stmt.setString(7, "Médico veterinario con " + (1 + random.nextInt(30)) + " años de experiencia");
+                    stmt.setInt(8, 1_000_000 + id);
+                } else {
+                    stmt.setString(7, null);
+                    stmt.setNull(8, Types.INTEGER);
+                }
+                stmt.setInt(9, 1 + random.nextInt(DIRECCIONES));
+                stmt.setInt(10, veterinario ? Rol.VETERINARIO : Rol.TUTOR);
+                stmt.addBatch();
+                if (id % BLOQUE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void insertarAdministrador(Connection conn) throws SQLException {
+        String query = "INSERT INTO USUARIO (nombre, apellidos, fecha_nacimiento, correo, contrasena, " +
+                "telefono, descripcion, cedula, id_direccion, id_rol) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, "Administrador");
+            stmt.setString(2, "VetFinder");
+            stmt.setDate(3, Date.valueOf(LocalDate.of(1990, 1, 1)));
+            stmt.setString(4, CORREO_ADMINISTRADOR);
+            stmt.setString(5, CONTRASENA);
+            stmt.setNull(6, Types.BIGINT);
+            stmt.setString(7, null);
+            stmt.setNull(8, Types.INTEGER);
+            stmt.setInt(9, 1);
+            stmt.setInt(10, Rol.ADMINISTRADOR);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Un consultorio y un dato de veterinario por cada usuario veterinario, con el mismo ID
+     */
+    private void insertarVeterinarios(Connection conn, Random random) throws SQLException {
+        int veterinarios = getVeterinarios();
+        try (PreparedStatement consultorio = conn.prepareStatement(
+                "INSERT INTO CONSULTORIO (horario, nombre_consultorio, id_datoveterinario) VALUES (?, ?, ?)");
+             PreparedStatement dato = conn.prepareStatement(
+                     "INSERT INTO DATOVETERINARIO (id_consultorio, id_usuario, id_especialidad) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= veterinarios; id++) {
+                consultorio.setTime(1, Time.valueOf(LocalTime.of(8, 0)));
+                consultorio.setString(2, "Consultorio " + id);
+                consultorio.setInt(3, id);
+                consultorio.addBatch();
+
+                dato.setInt(1, id);
+                dato.setInt(2, id);
+                dato.setInt(3, 1 + random.nextInt(ESPECIALIDADES.length));
+                dato.addBatch();
+                if (id % BLOQUE == 0) {
+                    consultorio.executeBatch();
+                    dato.executeBatch();
+                }
+            }
+            consultorio.executeBatch();
+            dato.executeBatch();
+        }
+    }
+
+    /**
+     * @return Tutor de cada mascota (índice = ID de la mascota)
+     */
+    private int[] insertarMascotas(Connection conn, Random random) throws SQLException {
+        int veterinarios = getVeterinarios();
+        int[] tutores = new int[mascotas + 1];
+        String query = "INSERT INTO MASCOTA (nombre, raza, fecha_nacimiento, id_sexo, id_usuario) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (int id = 1; id <= mascotas; id++) {
+                tutores[id] = veterinarios + 1 + random.nextInt(usuarios - veterinarios);
+                stmt.setString(1, MASCOTAS[random.nextInt(MASCOTAS.length)]);
+                stmt.setString(2, RAZAS[random.nextInt(RAZAS.length)]);
+                stmt.setDate(3, Date.valueOf(LocalDate.now().minusDays(30 + random.nextInt(15 * 365))));
+                stmt.setInt(4, 1 + random.nextInt(SEXOS.length));
+                stmt.setInt(5, tutores[id]);
+                stmt.addBatch();
+                if (id % BLOQUE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+        return tutores;
+    }
+
+    /**
+     * Citas sin choques de horario por veterinario; las facturas se generan para citas
+     * aceptadas que ya pasaron, con el tutor, el servicio y la fecha de la cita
+     * @return Cantidad de facturas insertadas (puede ser menor a la pedida si no hay suficientes citas facturables)
+     */
+    private int insertarCitasYFacturas(Connection conn, Random random, int[] tutores) throws SQLException {
+        int veterinarios = getVeterinarios();
+        int dias = DIAS_ATRAS + DIAS_ADELANTE + 1;
+        if (citas > (long) veterinarios * dias * HORARIOS) {
+            throw new IllegalArgumentException("No caben " + citas + " citas en la agenda de " + veterinarios + " veterinarios");
+        }
+
+        LocalDate hoy = LocalDate.now();
+        LocalDate primerDia = hoy.minusDays(DIAS_ATRAS);
+        Set<Long> ocupados = new HashSet<>();
+        int insertadas = 0;
+
+        try (PreparedStatement cita = conn.prepareStatement(
+                "INSERT INTO CITA (fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement factura = conn.prepareStatement(
+                     "INSERT INTO FACTURA (id_usuario, id_servicio, id_cita, total, fecha_factura) VALUES (?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= citas; id++) {
+                int veterinario;
+                int dia;
+                int horario;
+                do {
+                    veterinario = 1 + random.nextInt(veterinarios);
+                    dia = random.nextInt(dias);
+                    horario = random.nextInt(HORARIOS);
+                } while (!ocupados.add(((long) veterinario * dias + dia) * HORARIOS + horario));
+
+                LocalDate fecha = primerDia.plusDays(dia);
+                int mascota = 1 + random.nextInt(mascotas);
+                int servicio = 1 + random.nextInt(SERVICIOS.length);
+                String estado = estado(random, fecha.isBefore(hoy));
+
+                cita.setDate(1, Date.valueOf(fecha));
+                cita.setTime(2, Time.valueOf(LocalTime.of(8, 0).plusMinutes(30L * horario)));
+                cita.setInt(3, servicio);
+                cita.setInt(4, mascota);
+                cita.setInt(5, veterinario);
+                cita.setString(6, estado);
+                cita.addBatch();
+
+                if (insertadas < facturas && fecha.isBefore(hoy) && "Aceptada".equals(estado)) {
+                    factura.setInt(1, tutores[mascota]);
+                    factura.setInt(2, servicio);
+                    factura.setInt(3, id);
+                    factura.setFloat(4, PRECIOS[servicio - 1]);
+                    factura.setDate(5, Date.valueOf(fecha));
+                    factura.addBatch();
+                    insertadas++;
+                }
+                if (id % BLOQUE == 0) {
+                    // Las citas primero: las facturas del bloque las referencian
+                    cita.executeBatch();
+                    factura.executeBatch();
+                }
+            }
+            cita.executeBatch();
+            factura.executeBatch();
+        }
+        return insertadas;
+    }
+
+    /**
+     * Las citas pasadas quedan en su mayoría aceptadas; las futuras, pendientes
+     */
+    private static String estado(Random random, boolean pasada) {
+        int valor = random.nextInt(100);
+        if (pasada) {
+            return valor < 75 ? "Aceptada" : valor < 90 ? "Rechazada" : "Pendiente";
+        }
+        return valor < 60 ? "Pendiente" : valor < 90 ? "Aceptada" : "Rechazada";
+    }
+}
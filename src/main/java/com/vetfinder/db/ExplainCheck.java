@@ -0,0 +1,202 @@
+package com.vetfinder.db;
+
+import com.vetfinder.config.DatabaseConfig;
+import com.vetfinder.repository.CitaRepository;
+import com.vetfinder.repository.ConsultorioRepository;
+import com.vetfinder.repository.DatoVeterinarioRepository;
+import com.vetfinder.repository.DireccionRepository;
+import com.vetfinder.repository.EstadisticasRepository;
+import com.vetfinder.repository.FacturaRepository;
+import com.vetfinder.repository.MascotaRepository;
+import com.vetfinder.repository.UsuarioRepository;
+import com.vetfinder.util.FiltroCitas;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Verifica con EXPLAIN que las consultas filtradas de los repositorios usen un índice
+ * Se ejecuta contra la base de datos configurada (MySQL del .env o el perfil H2), después de
+ * aplicar las migraciones: ./gradlew explainCheck
+ * Termina con código 1 si alguna consulta recorre una tabla completa sin índice utilizable.
+ * En MySQL, si hay índice pero el optimizador igual elige recorrer la tabla (pasa con tablas
+ * casi vacías) solo se informa una advertencia.
+ * Las sentencias salen de los repositorios (constantes SQL_* y métodos sql*), así lo revisado
+ * es lo mismo que se ejecuta. Las consultas sin WHERE ni LIMIT (findAll) leen toda la tabla a
+ * propósito y no se revisan; de findPage se revisan la primera página y la siguiente a un cursor.
+ */
+public class ExplainCheck {
+
+    /**
+     * Sentencia de un repositorio con parámetros de ejemplo
+     */
+    private static final class Consulta {
+        private final String nombre;
+        private final String sql;
+        private final Object[] parametros;
+
+        private Consulta(String nombre, String sql, Object... parametros) {
+            this.nombre = nombre;
+            this.sql = sql;
+            this.parametros = parametros;
+        }
+    }
+
+    public static void main(String[] args) {
+        DatabaseConfig.initialize();
+        int fallas;
+        try {
+            fallas = revisar(consultas());
+        } catch (SQLException e) {
+            System.err.println("❌ Error al ejecutar EXPLAIN: " + e.getMessage());
+            fallas = 1;
+        } finally {
+            DatabaseConfig.closeDataSource();
+        }
+        if (fallas > 0) {
+            System.err.println("❌ " + fallas + " consulta(s) recorren una tabla completa");
+            System.exit(1);
+        }
+        System.out.println("✅ Todas las consultas usan índices");
+    }
+
+    private static List<Consulta> consultas() {
+        LocalDate hoy = LocalDate.now();
+        FiltroCitas soloFechas = new FiltroCitas(hoy, hoy, null, null);
+        FiltroCitas completo = new FiltroCitas(hoy, hoy.plusDays(7), "Pendiente", 1);
+        FiltroCitas soloEstado = new FiltroCitas(null, null, "Aceptada", null);
+
+        List<Consulta> consultas = new ArrayList<>();
+        consultas.add(new Consulta("CitaRepository.findByVeterinario (agenda del día)",
+                CitaRepository.sqlFindByVeterinario(soloFechas), 1, hoy, hoy));
+        consultas.add(new Consulta("CitaRepository.findByVeterinario (todos los filtros)",
+                CitaRepository.sqlFindByVeterinario(completo), 1, hoy, hoy.plusDays(7), "Pendiente", 1));
+        consultas.add(new Consulta("CitaRepository.findByMascota",
+                CitaRepository.sqlFindByMascota(FiltroCitas.NINGUNO), 1));
+        consultas.add(new Consulta("CitaRepository.findByMascota (estado)",
+                CitaRepository.sqlFindByMascota(soloEstado), 1, "Aceptada"));
+        consultas.add(new Consulta("CitaRepository.findByIds",
+                CitaRepository.sqlFindByIds(3), 1, 2, 3));
+        consultas.add(new Consulta("CitaRepository.findPage",
+                CitaRepository.sqlFindPage(false), 21));
+        consultas.add(new Consulta("CitaRepository.findPage (cursor)",
+                CitaRepository.sqlFindPage(true), hoy, LocalTime.of(10, 0), 1, 21));
+        consultas.add(new Consulta("CitaRepository.streamAgenda",
+                CitaRepository.SQL_STREAM_AGENDA, 1, hoy, hoy.plusDays(6)));
+        consultas.add(new Consulta("CitaRepository.forEachOcupadoDesde",
+                CitaRepository.SQL_OCUPADOS_DESDE, hoy));
+        consultas.add(new Consulta("EstadisticasRepository.forEachConteoDiario",
+                EstadisticasRepository.SQL_CONTEO_DIARIO, hoy.minusDays(30)));
+        consultas.add(new Consulta("FacturaRepository.findByUsuario",
+                FacturaRepository.SQL_FIND_BY_USUARIO, 1));
+        consultas.add(new Consulta("FacturaRepository.findPage (cursor)",
+                FacturaRepository.sqlFindPage(true), hoy, 1, 21));
+        consultas.add(new Consulta("UsuarioRepository.findByCorreo",
+                UsuarioRepository.SQL_FIND_BY_CORREO, "usuario@example.com"));
+        consultas.add(new Consulta("UsuarioRepository.findCredenciales",
+                UsuarioRepository.SQL_FIND_CREDENCIALES, "usuario@example.com"));
+        consultas.add(new Consulta("UsuarioRepository.findByRol",
+                UsuarioRepository.SQL_FIND_BY_ROL, 1));
+        consultas.add(new Consulta("UsuarioRepository.findByIds",
+                UsuarioRepository.sqlFindByIds(3), 1, 2, 3));
+        consultas.add(new Consulta("UsuarioRepository.findPage",
+                UsuarioRepository.sqlFindPage(false), 21));
+        consultas.add(new Consulta("UsuarioRepository.findPage (cursor)",
+                UsuarioRepository.sqlFindPage(true), "M", 1, 21));
+        consultas.add(new Consulta("MascotaRepository.findByUsuario",
+                MascotaRepository.SQL_FIND_BY_USUARIO, 1));
+        consultas.add(new Consulta("MascotaRepository.findPage",
+                MascotaRepository.sqlFindPage(false), 21));
+        consultas.add(new Consulta("MascotaRepository.findPage (cursor)",
+                MascotaRepository.sqlFindPage(true), "M", 1, 21));
+        consultas.add(new Consulta("DireccionRepository.findPage (cursor)",
+                DireccionRepository.sqlFindPage(true), "M", 1, 21));
+        consultas.add(new Consulta("ConsultorioRepository.findPage (cursor)",
+                ConsultorioRepository.sqlFindPage(true), "M", 1, 21));
+        consultas.add(new Consulta("DatoVeterinarioRepository.findByUsuario",
+                DatoVeterinarioRepository.SQL_FIND_BY_USUARIO, 1));
+        return consultas;
+    }
+
+    /**
+     * Ejecuta EXPLAIN de cada consulta e informa el resultado
+     * @return Cantidad de consultas que recorren una tabla completa
+     */
+    private static int revisar(List<Consulta> consultas) throws SQLException {
+        int fallas = 0;
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            boolean h2 = conn.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("h2");
+            for (Consulta consulta : consultas) {
+                try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + consulta.sql)) {
+                    for (int i = 0; i < consulta.parametros.length; i++) {
+                        Object parametro = consulta.parametros[i];
+                        if (parametro instanceof LocalDate) {
+                            parametro = Date.valueOf((LocalDate) parametro);
+                        } else if (parametro instanceof LocalTime) {
+                            parametro = Time.valueOf((LocalTime) parametro);
+                        }
+                        stmt.setObject(i + 1, parametro);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!(h2 ? revisarH2(consulta, rs) : revisarMySql(consulta, rs))) {
+                            fallas++;
+                        }
+                    }
+                }
+            }
+        }
+        return fallas;
+    }
+
+    /**
+     * H2 devuelve el plan como texto; un recorrido completo aparece como TABLA.tableScan
+     */
+    private static boolean revisarH2(Consulta consulta, ResultSet rs) throws SQLException {
+        String plan = rs.next() ? rs.getString(1) : "";
+        if (plan.contains(".tableScan")) {
+            System.err.println("❌ " + consulta.nombre + ": recorre la tabla completa\n" + plan);
+            return false;
+        }
+        System.out.println("✅ " + consulta.nombre);
+        return true;
+    }
+
+    /**
+     * MySQL devuelve una fila por tabla; type = ALL es un recorrido completo
+     */
+    private static boolean revisarMySql(Consulta consulta, ResultSet rs) throws SQLException {
+        boolean ok = true;
+        StringBuilder detalle = new StringBuilder();
+        while (rs.next()) {
+            String tabla = rs.getString("table");
+            String tipo = rs.getString("type");
+            String posibles = rs.getString("possible_keys");
+            detalle.append(String.format("%n   %s: type=%s key=%s rows=%s extra=%s",
+                    tabla, tipo, rs.getString("key"), rs.getString("rows"), rs.getString("Extra")));
+            if (!"ALL".equals(tipo) || tabla == null || tabla.startsWith("<")) {
+                continue;
+            }
+            if (posibles == null) {
+                ok = false;
+            } else {
+                System.out.println("⚠️ " + consulta.nombre + ": " + tabla +
+                        " tiene índices (" + posibles + ") pero el optimizador eligió recorrerla; revisar con datos reales");
+            }
+        }
+        if (ok) {
+            System.out.println("✅ " + consulta.nombre + detalle);
+        } else {
+            System.err.println("❌ " + consulta.nombre + ": recorre una tabla completa sin índice utilizable" + detalle);
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,196 @@
+package com.vetfinder.db;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Migraciones versionadas del esquema (src/main/resources/db/migration)
+ * Cada archivo V&lt;n&gt;__&lt;descripcion&gt;.sql se aplica una sola vez, en orden de versión, y queda
+ * registrado en la tabla SCHEMA_VERSION con su checksum. Las sentencias se separan por ';' al
+ * final de línea y las líneas que empiezan con -- se ignoran.
+ * En MySQL el DDL no es transaccional: si una migración falla a mitad, las sentencias ya
+ * ejecutadas quedan aplicadas y la versión no se registra; hay que corregir a mano antes de reiniciar.
+ * Antes de aplicar nada se validan los checksums: si un archivo ya aplicado cambió, el arranque
+ * falla. Una migración aplicada no se edita; el cambio va en una versión nueva.
+ * Se ejecuta desde DatabaseConfig.initialize, antes de entregar conexiones a los repositorios.
+ */
+public class MigrationRunner {
+    private static final String CARPETA = "db/migration";
+    private static final Pattern NOMBRE = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    /**
+     * Aplica las migraciones pendientes
+     * @param dataSource Conexiones a la base de datos a migrar
+     * @return Cantidad de migraciones aplicadas
+     * @throws SQLException Error al ejecutar una migración
+     * @throws IOException Error al leer los archivos de migración
+     * @throws IllegalStateException Una migración ya aplicada no coincide con su checksum registrado
+     */
+    public static int migrar(DataSource dataSource) throws SQLException, IOException {
+        List<Migracion> migraciones = buscar();
+        int aplicadas = 0;
+
+        try (Connection conn = dataSource.getConnection()) {
+            crearTablaVersiones(conn);
+            Map<Integer, String> registradas = versionesRegistradas(conn);
+            validar(migraciones, registradas);
+
+            for (Migracion migracion : migraciones) {
+                if (registradas.containsKey(migracion.version)) {
+                    continue;
+                }
+
+                System.out.println("Aplicando migración V" + migracion.version + ": " + migracion.descripcion);
+                try (Statement stmt = conn.createStatement()) {
+                    for (String sentencia : ScriptSql.sentencias(migracion.contenido)) {
+                        stmt.execute(sentencia);
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO SCHEMA_VERSION (version, descripcion, checksum) VALUES (?, ?, ?)")) {
+                    stmt.setInt(1, migracion.version);
+                    stmt.setString(2, migracion.descripcion);
+                    stmt.setString(3, migracion.checksum);
+                    stmt.executeUpdate();
+                }
+                aplicadas++;
+            }
+        }
+        return aplicadas;
+    }
+
+    /**
+     * Compara el checksum de las migraciones ya aplicadas con el de sus archivos
+     */
+    private static void validar(List<Migracion> migraciones, Map<Integer, String> registradas) {
+        List<String> modificadas = new ArrayList<>();
+        for (Migracion migracion : migraciones) {
+            String checksum = registradas.get(migracion.version);
+            if (checksum != null && !checksum.equals(migracion.checksum)) {
+                modificadas.add(migracion.archivo + " (registrado " + checksum + ", archivo " + migracion.checksum + ")");
+            }
+        }
+        if (!modificadas.isEmpty()) {
+            throw new IllegalStateException("Migraciones modificadas después de aplicarse: " +
+                    String.join(", ", modificadas) + ". Restaurar el archivo original y llevar el cambio a una versión nueva");
+        }
+    }
+
+    private static void crearTablaVersiones(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS SCHEMA_VERSION (" +
+                    "version INT NOT NULL PRIMARY KEY, " +
+                    "descripcion VARCHAR(200) NOT NULL, " +
+                    "checksum VARCHAR(16) NOT NULL, " +
+                    "aplicada TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private static Map<Integer, String> versionesRegistradas(Connection conn) throws SQLException {
+        Map<Integer, String> versiones = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM SCHEMA_VERSION")) {
+            while (rs.next()) {
+                versiones.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return versiones;
+    }
+
+    /**
+     * Lee los archivos de migración del classpath (carpeta o JAR)
+     */
+    private static List<Migracion> buscar() throws IOException {
+        URL url = MigrationRunner.class.getClassLoader().getResource(CARPETA);
+        if (url == null) {
+            return new ArrayList<>();
+        }
+
+        List<String> archivos = new ArrayList<>();
+
+        if ("jar".equals(url.getProtocol())) {
+            JarURLConnection conexion = (JarURLConnection) url.openConnection();
+            // Sin caché: el JarFile es propio y se puede cerrar sin afectar al class loader
+            conexion.setUseCaches(false);
+            try (JarFile jar = conexion.getJarFile()) {
+                Enumeration<JarEntry> entradas = jar.entries();
+                while (entradas.hasMoreElements()) {
+                    String nombre = entradas.nextElement().getName();
+                    if (nombre.startsWith(CARPETA + "/") && nombre.indexOf('/', CARPETA.length() + 1) < 0) {
+                        archivos.add(nombre.substring(CARPETA.length() + 1));
+                    }
+                }
+            }
+        } else {
+            Path carpeta;
+            try {
+                carpeta = Paths.get(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException("Ruta de migraciones inválida: " + url, e);
+            }
+            try (Stream<Path> rutas = Files.list(carpeta)) {
+                rutas.forEach(ruta -> archivos.add(ruta.getFileName().toString()));
+            }
+        }
+
+        List<Migracion> migraciones = new ArrayList<>();
+        Map<Integer, String> porVersion = new HashMap<>();
+        for (String archivo : archivos) {
+            Matcher matcher = NOMBRE.matcher(archivo);
+            if (!matcher.matches()) {
+                continue;
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            String anterior = porVersion.put(version, archivo);
+            if (anterior != null) {
+                throw new IllegalStateException("Dos migraciones con la versión " + version + ": " + anterior + " y " + archivo);
+            }
+            migraciones.add(new Migracion(version, matcher.group(2).replace('_', ' '), archivo,
+                    ScriptSql.leer(CARPETA + "/" + archivo)));
+        }
+        migraciones.sort(Comparator.comparingInt(m -> m.version));
+        return migraciones;
+    }
+
+    private static final class Migracion {
+        private final int version;
+        private final String descripcion;
+        private final String archivo;
+        private final String contenido;
+        private final String checksum;
+
+        private Migracion(int version, String descripcion, String archivo, String contenido) {
+            this.version = version;
+            this.descripcion = descripcion;
+            this.archivo = archivo;
+            this.contenido = contenido;
+            CRC32 crc = new CRC32();
+            crc.update(contenido.getBytes(StandardCharsets.UTF_8));
+            this.checksum = Long.toHexString(crc.getValue());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.vetfinder.db;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura y ejecución de archivos .sql del classpath
+ * Las sentencias se separan por ';' al final de línea y las líneas que empiezan con -- se ignoran.
+ */
+public class ScriptSql {
+
+    /**
+     * Ejecuta todas las sentencias de un recurso del classpath
+     * @param conn Conexión en la que se ejecutan
+     * @param recurso Ruta dentro del classpath (ej: db/h2/schema.sql)
+     * @throws SQLException Error al ejecutar una sentencia
+     * @throws IOException No se encontró o no se pudo leer el recurso
+     */
+    public static void ejecutar(Connection conn, String recurso) throws SQLException, IOException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sentencia : sentencias(leer(recurso))) {
+                stmt.execute(sentencia);
+            }
+        }
+    }
+
+    /**
+     * Lee un recurso de texto del classpath
+     * @throws IOException No se encontró o no se pudo leer el recurso
+     */
+    public static String leer(String recurso) throws IOException {
+        try (InputStream in = ScriptSql.class.getClassLoader().getResourceAsStream(recurso)) {
+            if (in == null) {
+                throw new IOException("No se encontró el script " + recurso);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Sentencias del script sin comentarios de línea
+     */
+    public static List<String> sentencias(String contenido) {
+        List<String> sentencias = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        for (String linea : contenido.split("\r?\n")) {
+            String limpia = linea.trim();
+            if (limpia.isEmpty() || limpia.startsWith("--")) {
+                continue;
+            }
+            actual.append(linea).append('\n');
+            if (limpia.endsWith(";")) {
+                String sentencia = actual.toString().trim();
+                sentencias.add(sentencia.substring(0, sentencia.length() - 1));
+                actual.setLength(0);
+            }
+        }
+        if (actual.toString().trim().length() > 0) {
+            sentencias.add(actual.toString().trim());
+        }
+        return sentencias;
+    }
+}
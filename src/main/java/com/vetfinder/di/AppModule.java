@@ -1,9 +1,22 @@
 package com.vetfinder.di;
 
+import com.vetfinder.auth.AuthFilter;
+import com.vetfinder.auth.TokenService;
+import com.vetfinder.cache.AgendaDisponibilidad;
+import com.vetfinder.cache.CacheRegistry;
+import com.vetfinder.cache.CatalogoCache;
+import com.vetfinder.cache.EstadisticasRollup;
+import com.vetfinder.cache.ResponseCache;
+import com.vetfinder.cache.SingleFlight;
 import com.vetfinder.controller.*;
+import com.vetfinder.metrics.MetricsRegistry;
+import com.vetfinder.model.*;
 import com.vetfinder.repository.*;
 import com.vetfinder.routes.*;
 import com.vetfinder.service.*;
+import com.vetfinder.util.JsonStreamer;
+
+import java.sql.SQLException;
 
 /**
  * Módulo de configuración de dependencias de la aplicación.
@@ -11,10 +24,19 @@ import com.vetfinder.service.*;
  * Crea e inicializa todas las capas de la aplicación para las 11 entidades + estadísticas.
  */
 public class AppModule {
+    // Instancias compartidas entre módulos (se crean una sola vez)
+    private static ServicioService servicioService;
+    private static EstadisticasRepository estadisticasRepository;
+    private static EstadisticasRollup estadisticasRollup;
+    private static AgendaDisponibilidad agendaDisponibilidad;
+    private static CatalogoCache<VeterinarioAgenda> veterinarioAgendaCache;
+    private static TokenService tokenService;
 
     public static RolRoutes initRoles() {
         RolRepository rolRepository = new RolRepository();
-        RolService rolService = new RolService(rolRepository);
+        CatalogoCache<Rol> rolCache = CacheRegistry.register(
+                new CatalogoCache<>("roles", rolRepository::findAll, Rol::getIdRol));
+        RolService rolService = new RolService(rolRepository, rolCache);
         RolController rolController = new RolController(rolService);
         return new RolRoutes(rolController);
     }
@@ -22,35 +44,39 @@ public class AppModule {
     public static UsuarioRoutes initUsuarios() {
         UsuarioRepository usuarioRepository = new UsuarioRepository();
         UsuarioService usuarioService = new UsuarioService(usuarioRepository);
-        UsuarioController usuarioController = new UsuarioController(usuarioService);
+        UsuarioController usuarioController = new UsuarioController(usuarioService, tokenService());
         return new UsuarioRoutes(usuarioController);
     }
 
     public static SexoRoutes initSexos() {
         SexoRepository sexoRepository = new SexoRepository();
-        SexoService sexoService = new SexoService(sexoRepository);
+        CatalogoCache<Sexo> sexoCache = CacheRegistry.register(
+                new CatalogoCache<>("sexos", sexoRepository::findAll, Sexo::getIdSexo));
+        SexoService sexoService = new SexoService(sexoRepository, sexoCache);
         SexoController sexoController = new SexoController(sexoService);
         return new SexoRoutes(sexoController);
     }
 
     public static DireccionRoutes initDirecciones() {
         DireccionRepository direccionRepository = new DireccionRepository();
-        DireccionService direccionService = new DireccionService(direccionRepository);
+        CatalogoCache<Direccion> direccionCache = CacheRegistry.register(
+                new CatalogoCache<>("direcciones", direccionRepository::findAll, Direccion::getIdDireccion));
+        DireccionService direccionService = new DireccionService(direccionRepository, direccionCache);
         DireccionController direccionController = new DireccionController(direccionService);
         return new DireccionRoutes(direccionController);
     }
 
     public static EspecialidadRoutes initEspecialidades() {
         EspecialidadRepository especialidadRepository = new EspecialidadRepository();
-        EspecialidadService especialidadService = new EspecialidadService(especialidadRepository);
+        CatalogoCache<Especialidad> especialidadCache = CacheRegistry.register(
+                new CatalogoCache<>("especialidades", especialidadRepository::findAll, Especialidad::getIdEspecialidad));
+        EspecialidadService especialidadService = new EspecialidadService(especialidadRepository, especialidadCache);
         EspecialidadController especialidadController = new EspecialidadController(especialidadService);
         return new EspecialidadRoutes(especialidadController);
     }
 
     public static ServicioRoutes initServicios() {
-        ServicioRepository servicioRepository = new ServicioRepository();
-        ServicioService servicioService = new ServicioService(servicioRepository);
-        ServicioController servicioController = new ServicioController(servicioService);
+        ServicioController servicioController = new ServicioController(servicioService());
         return new ServicioRoutes(servicioController);
     }
 
@@ -63,22 +89,24 @@ public class AppModule {
 
     public static DatoVeterinarioRoutes initDatosVeterinarios() {
         DatoVeterinarioRepository datoVeterinarioRepository = new DatoVeterinarioRepository();
-        DatoVeterinarioService datoVeterinarioService = new DatoVeterinarioService(datoVeterinarioRepository);
+        DatoVeterinarioService datoVeterinarioService = new DatoVeterinarioService(datoVeterinarioRepository, veterinarioAgendaCache());
         DatoVeterinarioController datoVeterinarioController = new DatoVeterinarioController(datoVeterinarioService);
         return new DatoVeterinarioRoutes(datoVeterinarioController);
     }
 
     public static ConsultorioRoutes initConsultorios() {
         ConsultorioRepository consultorioRepository = new ConsultorioRepository();
-        ConsultorioService consultorioService = new ConsultorioService(consultorioRepository);
+        ConsultorioService consultorioService = new ConsultorioService(consultorioRepository, veterinarioAgendaCache());
         ConsultorioController consultorioController = new ConsultorioController(consultorioService);
         return new ConsultorioRoutes(consultorioController);
     }
 
     public static CitaRoutes initCitas() {
         CitaRepository citaRepository = new CitaRepository();
-        CitaService citaService = new CitaService(citaRepository);
-        CitaController citaController = new CitaController(citaService);
+        CitaService citaService = new CitaService(citaRepository, estadisticasRollup(), agendaDisponibilidad());
+        CitaRelacionesService citaRelacionesService = new CitaRelacionesService(new MascotaRepository(),
+                new DatoVeterinarioRepository(), new UsuarioRepository(), servicioService());
+        CitaController citaController = new CitaController(citaService, citaRelacionesService);
         return new CitaRoutes(citaController);
     }
 
@@ -94,9 +122,127 @@ public class AppModule {
      * @return Rutas configuradas para estadísticas
      */
     public static EstadisticasRoutes initEstadisticas() {
-        EstadisticasRepository estadisticasRepository = new EstadisticasRepository();
-        EstadisticasService estadisticasService = new EstadisticasService(estadisticasRepository);
+        EstadisticasService estadisticasService = new EstadisticasService(
+                estadisticasRepository(), estadisticasRollup(), servicioService());
         EstadisticasController estadisticasController = new EstadisticasController(estadisticasService);
         return new EstadisticasRoutes(estadisticasController);
     }
-}
\ No newline at end of file
+
+    /**
+     * Inicializa la búsqueda de horarios libres por especialidad
+     * @return Rutas configuradas para disponibilidad
+     */
+    public static DisponibilidadRoutes initDisponibilidad() {
+        DisponibilidadService disponibilidadService = new DisponibilidadService(
+                veterinarioAgendaCache(), agendaDisponibilidad());
+        DisponibilidadController disponibilidadController = new DisponibilidadController(disponibilidadService);
+        return new DisponibilidadRoutes(disponibilidadController);
+    }
+
+    /**
+     * Inicializa los endpoints de administración (refresco de cachés)
+     * @return Rutas configuradas para administración
+     */
+    public static AdminRoutes initAdmin() {
+        AdminController adminController = new AdminController(estadisticasRollup(), agendaDisponibilidad());
+        return new AdminRoutes(adminController);
+    }
+
+    /**
+     * Inicializa el endpoint de métricas (GET /metrics)
+     * @return Rutas configuradas para métricas
+     */
+    public static MetricsRoutes initMetrics() {
+        MetricsRegistry.registerCollector(SingleFlight::exportar);
+        MetricsRegistry.registerCollector(ResponseCache::exportar);
+        MetricsRegistry.registerCollector(JsonStreamer::exportar);
+        return new MetricsRoutes(new MetricsController());
+    }
+
+    /**
+     * Inicializa el filtro que autentica las peticiones con el token de sesión
+     * @return Filtro a registrar antes de las rutas
+     */
+    public static AuthFilter initAuth() {
+        UsuarioService usuarioService = new UsuarioService(new UsuarioRepository());
+        return new AuthFilter(tokenService(), usuarioService::getRolActual);
+    }
+
+    // ========== INSTANCIAS COMPARTIDAS ==========
+
+    /**
+     * Firma de tokens compartida por el login (emisión) y el filtro de autenticación (verificación)
+     */
+    private static synchronized TokenService tokenService() {
+        if (tokenService == null) {
+            tokenService = TokenService.desdeConfig();
+        }
+        return tokenService;
+    }
+
+    private static synchronized ServicioService servicioService() {
+        if (servicioService == null) {
+            ServicioRepository servicioRepository = new ServicioRepository();
+            CatalogoCache<Servicio> servicioCache = CacheRegistry.register(
+                    new CatalogoCache<>("servicios", servicioRepository::findAll, Servicio::getIdServicio));
+            servicioService = new ServicioService(servicioRepository, servicioCache);
+        }
+        return servicioService;
+    }
+
+    /**
+     * Veterinarios con especialidad y horario de consultorio (JOIN), compartido por la búsqueda
+     * de disponibilidad (lectura) y los servicios de datos veterinarios y consultorios (invalidación)
+     */
+    private static synchronized CatalogoCache<VeterinarioAgenda> veterinarioAgendaCache() {
+        if (veterinarioAgendaCache == null) {
+            DatoVeterinarioRepository datoVeterinarioRepository = new DatoVeterinarioRepository();
+            veterinarioAgendaCache = CacheRegistry.register(new CatalogoCache<>("veterinarios-agenda",
+                    datoVeterinarioRepository::findAgendas, VeterinarioAgenda::getIdDatoVeterinario));
+        }
+        return veterinarioAgendaCache;
+    }
+
+    private static synchronized EstadisticasRepository estadisticasRepository() {
+        if (estadisticasRepository == null) {
+            estadisticasRepository = new EstadisticasRepository();
+        }
+        return estadisticasRepository;
+    }
+
+    /**
+     * Acumulados de estadísticas compartidos por citas (escritura) y estadísticas (lectura)
+     * Se cargan desde la base de datos al crearse, antes de atender peticiones
+     */
+    private static synchronized EstadisticasRollup estadisticasRollup() {
+        if (estadisticasRollup == null) {
+            EstadisticasRollup rollup = new EstadisticasRollup(estadisticasRepository());
+            try {
+                rollup.reconstruir();
+            } catch (SQLException e) {
+                throw new IllegalStateException("No se pudieron cargar los acumulados de estadísticas", e);
+            }
+            estadisticasRollup = rollup;
+        }
+        return estadisticasRollup;
+    }
+
+    /**
+     * Agenda de horarios ocupados compartida por citas (reservas) y administración
+     * Se carga desde la base de datos al crearse, antes de atender peticiones, y los días
+     * pasados se podan en segundo plano
+     */
+    private static synchronized AgendaDisponibilidad agendaDisponibilidad() {
+        if (agendaDisponibilidad == null) {
+            AgendaDisponibilidad agenda = new AgendaDisponibilidad(new CitaRepository());
+            try {
+                agenda.reconstruir();
+            } catch (SQLException e) {
+                throw new IllegalStateException("No se pudo cargar la agenda de disponibilidad", e);
+            }
+            agenda.iniciarPoda();
+            agendaDisponibilidad = agenda;
+        }
+        return agendaDisponibilidad;
+    }
+}
@@ -0,0 +1,180 @@
+package com.vetfinder.logging;
+
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.metrics.MetricsRegistry;
+import io.javalin.http.Context;
+import org.eclipse.jetty.server.Response;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log de accesos asíncrono y muestreado
+ * Los hilos de Jetty solo encolan un registro (método, ruta, estado, bytes, duración) en un
+ * RingBuffer; un único hilo en segundo plano da formato a las líneas y las escribe en la
+ * salida estándar. Si el buffer se llena el registro se descarta y se cuenta, nunca se
+ * bloquea la petición.
+ *
+ * Configuración (.env o variables de entorno):
+ * - ACCESS_LOG_ENABLED: true/false (por defecto true)
+ * - ACCESS_LOG_SAMPLE_RATE: fracción de peticiones que se registran, de 0.0 a 1.0 (por defecto 1.0);
+ *   las respuestas 5xx se registran siempre
+ * - ACCESS_LOG_BUFFER: capacidad del buffer (por defecto 8192)
+ */
+public class AccessLog {
+    private static final boolean ENABLED = AppConfig.getBoolean("ACCESS_LOG_ENABLED", true);
+    private static final double SAMPLE_RATE =
+            Math.max(0.0, Math.min(1.0, AppConfig.getDouble("ACCESS_LOG_SAMPLE_RATE", 1.0)));
+    private static final RingBuffer<Registro> BUFFER =
+            new RingBuffer<>(AppConfig.getInt("ACCESS_LOG_BUFFER", 8192));
+    private static final long ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final LongAdder ESCRITOS = new LongAdder();
+    private static final LongAdder DESCARTADOS = new LongAdder();
+
+    private static volatile boolean activo;
+    private static Thread writer;
+
+    /**
+     * Arranca el hilo escritor y registra los contadores en /metrics
+     */
+    public static synchronized void start() {
+        if (!ENABLED || writer != null) {
+            return;
+        }
+        activo = true;
+        writer = new Thread(AccessLog::escribir, "access-log");
+        writer.setDaemon(true);
+        writer.start();
+
+        MetricsRegistry.registerCollector(w -> {
+            w.header("access_log_written_total", "counter", "Líneas escritas en el log de accesos")
+                    .sample("access_log_written_total", ESCRITOS.sum());
+            w.header("access_log_dropped_total", "counter", "Registros descartados por buffer lleno")
+                    .sample("access_log_dropped_total", DESCARTADOS.sum());
+        });
+        System.out.println("Log de accesos activo (muestreo " + SAMPLE_RATE + ", buffer " + BUFFER.capacity() + ")");
+    }
+
+    /**
+     * Detiene el hilo escritor después de vaciar el buffer
+     */
+    public static synchronized void stop() {
+        if (writer == null) {
+            return;
+        }
+        activo = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    /**
+     * Encola el registro de una petición terminada (se llama desde el request logger de Javalin)
+     * @param ctx Contexto de la petición
+     * @param executionTimeMs Duración medida por Javalin en milisegundos
+     */
+    public static void log(Context ctx, float executionTimeMs) {
+        if (!activo) {
+            return;
+        }
+        int status = ctx.statusCode();
+        if (status < 500 && SAMPLE_RATE < 1.0 && ThreadLocalRandom.current().nextDouble() >= SAMPLE_RATE) {
+            return;
+        }
+        Registro registro = new Registro(System.currentTimeMillis(), ctx.method().name(), ctx.path(),
+                status, bytesDe(ctx), executionTimeMs);
+        if (!BUFFER.offer(registro)) {
+            DESCARTADOS.increment();
+        }
+    }
+
+    private static long bytesDe(Context ctx) {
+        if (ctx.res() instanceof Response) {
+            return ((Response) ctx.res()).getHttpChannel().getBytesWritten();
+        }
+        String contentLength = ctx.res().getHeader("Content-Length");
+        try {
+            return contentLength != null ? Long.parseLong(contentLength) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void escribir() {
+        Writer out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 64 * 1024);
+        StringBuilder linea = new StringBuilder(256);
+        while (true) {
+            Registro registro = BUFFER.poll();
+            try {
+                if (registro == null) {
+                    out.flush();
+                    if (!activo) {
+                        return;
+                    }
+                    LockSupport.parkNanos(ESPERA_NANOS);
+                    continue;
+                }
+                linea.setLength(0);
+                registro.formatear(linea);
+                out.append(linea);
+                ESCRITOS.increment();
+            } catch (IOException e) {
+                DESCARTADOS.increment();
+            }
+        }
+    }
+
+    /**
+     * Datos de una petición pendiente de escribir
+     */
+    private static final class Registro {
+        private final long timestamp;
+        private final String method;
+        private final String path;
+        private final int status;
+        private final long bytes;
+        private final float durationMs;
+
+        Registro(long timestamp, String method, String path, int status, long bytes, float durationMs) {
+            this.timestamp = timestamp;
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            this.bytes = bytes;
+            this.durationMs = durationMs;
+        }
+
+        /**
+         * Formato: 2024-05-01T12:00:00.123Z GET /api/citas 200 1532B 4.21ms
+         */
+        void formatear(StringBuilder sb) {
+            sb.append(Instant.ofEpochMilli(timestamp)).append(' ')
+                    .append(method).append(' ')
+                    .append(path).append(' ')
+                    .append(status).append(' ');
+            if (bytes >= 0) {
+                sb.append(bytes).append('B');
+            } else {
+                sb.append('-');
+            }
+            sb.append(' ').append(String.format(Locale.ROOT, "%.2f", durationMs)).append("ms\n");
+        }
+    }
+}
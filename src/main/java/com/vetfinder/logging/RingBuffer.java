@@ -0,0 +1,79 @@
+package com.vetfinder.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola circular acotada sin bloqueos para varios productores y un solo consumidor
+ * Cada posición lleva un número de secuencia: un productor reserva la posición con un CAS
+ * sobre la cola y la publica al actualizar la secuencia; si el buffer está lleno offer()
+ * devuelve false en lugar de esperar.
+ * @param <T> Tipo de los elementos
+ */
+public class RingBuffer<T> {
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Solo lo usa el hilo consumidor
+    private long head;
+
+    /**
+     * @param capacity Capacidad mínima; se redondea a la siguiente potencia de 2
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("La capacidad del buffer debe ser al menos 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Agrega un elemento sin bloquear (seguro para varios hilos)
+     * @param value Elemento a agregar
+     * @return false si el buffer está lleno
+     */
+    public boolean offer(T value) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, value);
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Saca el elemento más antiguo (solo desde el hilo consumidor)
+     * @return Elemento o null si el buffer está vacío
+     */
+    public T poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        T value = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return value;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
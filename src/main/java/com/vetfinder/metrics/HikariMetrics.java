@@ -0,0 +1,64 @@
+package com.vetfinder.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas del pool de HikariCP
+ * Hikari llama al tracker en cada préstamo de conexión (tiempo de espera y de uso) y
+ * entrega PoolStats para los gauges de conexiones activas, inactivas y pendientes
+ */
+public class HikariMetrics implements MetricsTrackerFactory {
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.recordNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.recordNanos(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Escribe las métricas del pool en formato Prometheus
+     */
+    public void collect(PrometheusWriter writer) {
+        PoolStats stats = poolStats;
+        if (stats != null) {
+            writer.header("hikari_connections_active", "gauge", "Conexiones prestadas en este momento")
+                    .sample("hikari_connections_active", stats.getActiveConnections());
+            writer.header("hikari_connections_idle", "gauge", "Conexiones libres en el pool")
+                    .sample("hikari_connections_idle", stats.getIdleConnections());
+            writer.header("hikari_connections_pending", "gauge", "Hilos esperando una conexión")
+                    .sample("hikari_connections_pending", stats.getPendingThreads());
+            writer.header("hikari_connections_max", "gauge", "Tamaño máximo del pool")
+                    .sample("hikari_connections_max", stats.getMaxConnections());
+        }
+        writer.header("hikari_connection_acquire_seconds", "summary", "Tiempo de espera para obtener una conexión")
+                .summary("hikari_connection_acquire_seconds", new String[0], acquire);
+        writer.header("hikari_connection_usage_seconds", "summary", "Tiempo que se retiene cada conexión")
+                .summary("hikari_connection_usage_seconds", new String[0], usage);
+        writer.header("hikari_connection_timeouts_total", "counter", "Peticiones de conexión que vencieron el timeout")
+                .sample("hikari_connection_timeouts_total", timeouts.sum());
+    }
+}
@@ -0,0 +1,9 @@
+package com.vetfinder.metrics;
+
+/**
+ * Fuente adicional de métricas que se agrega a la salida de /metrics
+ */
+@FunctionalInterface
+public interface MetricsCollector {
+    void collect(PrometheusWriter writer);
+}
@@ -0,0 +1,134 @@
+package com.vetfinder.metrics;
+
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro central de métricas de la API
+ * Guarda latencias y respuestas por ruta (ctx.endpointHandlerPath()) y método, las métricas
+ * del pool de conexiones y cualquier colector adicional, y las exporta en formato Prometheus.
+ * Registrar una petición es una búsqueda en un ConcurrentHashMap más incrementos atómicos;
+ * solo la primera petición de cada ruta crea su entrada.
+ */
+public class MetricsRegistry {
+    private static final String SIN_RUTA = "sin_ruta";
+    private static final HandlerType[] METODOS = HandlerType.values();
+
+    private static final Map<String, RouteMetrics[]> RUTAS = new ConcurrentHashMap<>();
+    private static final HikariMetrics HIKARI = new HikariMetrics();
+    private static final List<MetricsCollector> COLECTORES = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registra una petición terminada (se llama desde el request logger de Javalin)
+     * @param ctx Contexto de la petición
+     * @param executionTimeMs Duración medida por Javalin en milisegundos
+     */
+    public static void recordRequest(Context ctx, float executionTimeMs) {
+        recordRequest(rutaDe(ctx), ctx.method(), ctx.statusCode(), (long) (executionTimeMs * 1_000_000L));
+    }
+
+    /**
+     * Registra una petición terminada
+     * @param route Ruta declarada (ej: /api/citas/{id})
+     * @param method Método HTTP
+     * @param status Código de estado de la respuesta
+     * @param nanos Duración en nanosegundos
+     */
+    public static void recordRequest(String route, HandlerType method, int status, long nanos) {
+        RouteMetrics[] porMetodo = RUTAS.get(route);
+        if (porMetodo == null) {
+            porMetodo = RUTAS.computeIfAbsent(route, r -> new RouteMetrics[METODOS.length]);
+        }
+        int ordinal = method.ordinal();
+        RouteMetrics metrics = porMetodo[ordinal];
+        if (metrics == null) {
+            synchronized (porMetodo) {
+                metrics = porMetodo[ordinal];
+                if (metrics == null) {
+                    metrics = new RouteMetrics(route, method.name());
+                    porMetodo[ordinal] = metrics;
+                }
+            }
+        }
+        metrics.record(status, nanos);
+    }
+
+    /**
+     * Factory de métricas para configurar en HikariCP
+     */
+    public static HikariMetrics hikari() {
+        return HIKARI;
+    }
+
+    /**
+     * Agrega un colector que se incluye en cada exportación
+     */
+    public static void registerCollector(MetricsCollector collector) {
+        COLECTORES.add(collector);
+    }
+
+    /**
+     * Exporta todas las métricas en formato de texto de Prometheus
+     * @return Texto para GET /metrics
+     */
+    public static String scrape() {
+        PrometheusWriter writer = new PrometheusWriter();
+
+        List<RouteMetrics> rutas = new ArrayList<>();
+        for (RouteMetrics[] porMetodo : RUTAS.values()) {
+            for (RouteMetrics metrics : porMetodo) {
+                if (metrics != null) {
+                    rutas.add(metrics);
+                }
+            }
+        }
+
+        writer.header("http_requests_total", "counter", "Peticiones atendidas por ruta, método y clase de estado");
+        for (RouteMetrics metrics : rutas) {
+            for (int clase = 1; clase <= 5; clase++) {
+                long cantidad = metrics.getStatusCount(clase);
+                if (cantidad > 0) {
+                    writer.sample("http_requests_total", new String[]{
+                            "route", metrics.getRoute(), "method", metrics.getMethod(), "status", clase + "xx"}, cantidad);
+                }
+            }
+        }
+
+        writer.header("http_request_errors_total", "counter", "Respuestas 5xx por ruta y método");
+        for (RouteMetrics metrics : rutas) {
+            writer.sample("http_request_errors_total", new String[]{
+                    "route", metrics.getRoute(), "method", metrics.getMethod()}, metrics.getStatusCount(5));
+        }
+
+        writer.header("http_request_duration_seconds", "summary", "Latencia de las peticiones por ruta y método");
+        for (RouteMetrics metrics : rutas) {
+            writer.summary("http_request_duration_seconds", new String[]{
+                    "route", metrics.getRoute(), "method", metrics.getMethod()}, metrics.getLatency());
+        }
+
+        HIKARI.collect(writer);
+        for (MetricsCollector collector : COLECTORES) {
+            collector.collect(writer);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Ruta declarada que atendió la petición; las peticiones sin endpoint (404) se agrupan
+     * en una sola serie para no crear una serie por URL
+     */
+    private static String rutaDe(Context ctx) {
+        try {
+            String ruta = ctx.endpointHandlerPath();
+            return ruta == null || ruta.isEmpty() ? SIN_RUTA : ruta;
+        } catch (IllegalStateException e) {
+            return SIN_RUTA;
+        }
+    }
+}
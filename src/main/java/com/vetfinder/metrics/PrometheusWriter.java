@@ -0,0 +1,88 @@
+package com.vetfinder.metrics;
+
+/**
+ * Escritor del formato de texto de Prometheus (exposition format 0.0.4)
+ */
+public class PrometheusWriter {
+    private final StringBuilder sb = new StringBuilder(16 * 1024);
+
+    /**
+     * Escribe las líneas # HELP y # TYPE de una métrica
+     * @param name Nombre de la métrica
+     * @param type counter, gauge o summary
+     * @param help Descripción
+     */
+    public PrometheusWriter header(String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    /**
+     * Escribe una muestra
+     * @param name Nombre de la métrica (con sufijo si aplica)
+     * @param labels Pares nombre/valor de etiquetas; puede ir vacío
+     * @param value Valor
+     */
+    public PrometheusWriter sample(String name, String[] labels, double value) {
+        sb.append(name);
+        if (labels.length > 0) {
+            sb.append('{');
+            for (int i = 0; i + 1 < labels.length; i += 2) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(labels[i]).append("=\"");
+                escape(labels[i + 1]);
+                sb.append('"');
+            }
+            sb.append('}');
+        }
+        sb.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            sb.append((long) value);
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+        return this;
+    }
+
+    public PrometheusWriter sample(String name, double value) {
+        return sample(name, new String[0], value);
+    }
+
+    /**
+     * Escribe un histograma de latencias como summary (cuantiles, _sum y _count en segundos)
+     */
+    public PrometheusWriter summary(String name, String[] labels, LatencyHistogram histogram) {
+        for (double quantile : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            String[] conCuantil = new String[labels.length + 2];
+            System.arraycopy(labels, 0, conCuantil, 0, labels.length);
+            conCuantil[labels.length] = "quantile";
+            conCuantil[labels.length + 1] = String.valueOf(quantile);
+            sample(name, conCuantil, histogram.percentileMicros(quantile) / 1e6);
+        }
+        sample(name + "_sum", labels, histogram.getSumMicros() / 1e6);
+        sample(name + "_count", labels, histogram.getCount());
+        return this;
+    }
+
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+}
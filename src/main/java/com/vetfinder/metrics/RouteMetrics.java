@@ -0,0 +1,50 @@
+package com.vetfinder.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de una ruta y método HTTP: latencias y conteo de respuestas por clase de estado
+ */
+public class RouteMetrics {
+    private final String route;
+    private final String method;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    // Índice 0..4 = respuestas 1xx..5xx
+    private final LongAdder[] statusClasses = new LongAdder[5];
+
+    RouteMetrics(String route, String method) {
+        this.route = route;
+        this.method = method;
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    void record(int status, long nanos) {
+        latency.recordNanos(nanos);
+        int clase = status / 100 - 1;
+        if (clase >= 0 && clase < statusClasses.length) {
+            statusClasses[clase].increment();
+        }
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param clase Clase de estado (1 a 5)
+     * @return Respuestas con esa clase de estado
+     */
+    public long getStatusCount(int clase) {
+        return statusClasses[clase - 1].sum();
+    }
+}
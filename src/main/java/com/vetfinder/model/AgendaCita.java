@@ -0,0 +1,141 @@
+package com.vetfinder.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Una cita de la agenda de un veterinario con los datos que muestra la pantalla
+ * Proyección plana del JOIN de CITA con MASCOTA, USUARIO (tutor) y SERVICIO
+ */
+public class AgendaCita {
+    private int idCita;
+    private LocalDate fecha;
+    private LocalTime hora;
+    private String estado;
+    private int idMascota;
+    private String nombreMascota;
+    private String raza;
+    private int idTutor;  // USUARIO dueño de la mascota
+    private String nombreTutor;
+    private String apellidosTutor;
+    private long telefonoTutor;
+    private int idServicio;
+    private String nombreServicio;
+    private float precio;
+
+    // Constructor vacío
+    public AgendaCita() {}
+
+    // Getters y Setters
+    public int getIdCita() {
+        return idCita;
+    }
+
+    public void setIdCita(int idCita) {
+        this.idCita = idCita;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDate fecha) {
+        this.fecha = fecha;
+    }
+
+    public LocalTime getHora() {
+        return hora;
+    }
+
+    public void setHora(LocalTime hora) {
+        this.hora = hora;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public int getIdMascota() {
+        return idMascota;
+    }
+
+    public void setIdMascota(int idMascota) {
+        this.idMascota = idMascota;
+    }
+
+    public String getNombreMascota() {
+        return nombreMascota;
+    }
+
+    public void setNombreMascota(String nombreMascota) {
+        this.nombreMascota = nombreMascota;
+    }
+
+    public String getRaza() {
+        return raza;
+    }
+
+    public void setRaza(String raza) {
+        this.raza = raza;
+    }
+
+    public int getIdTutor() {
+        return idTutor;
+    }
+
+    public void setIdTutor(int idTutor) {
+        this.idTutor = idTutor;
+    }
+
+    public String getNombreTutor() {
+        return nombreTutor;
+    }
+
+    public void setNombreTutor(String nombreTutor) {
+        this.nombreTutor = nombreTutor;
+    }
+
+    public String getApellidosTutor() {
+        return apellidosTutor;
+    }
+
+    public void setApellidosTutor(String apellidosTutor) {
+        this.apellidosTutor = apellidosTutor;
+    }
+
+    public long getTelefonoTutor() {
+        return telefonoTutor;
+    }
+
+    public void setTelefonoTutor(long telefonoTutor) {
+        this.telefonoTutor = telefonoTutor;
+    }
+
+    public int getIdServicio() {
+        return idServicio;
+    }
+
+    public void setIdServicio(int idServicio) {
+        this.idServicio = idServicio;
+    }
+
+    public String getNombreServicio() {
+        return nombreServicio;
+    }
+
+    public void setNombreServicio(String nombreServicio) {
+        this.nombreServicio = nombreServicio;
+    }
+
+    public float getPrecio() {
+        return precio;
+    }
+
+    public void setPrecio(float precio) {
+        this.precio = precio;
+    }
+}
@@ -0,0 +1,71 @@
+package com.vetfinder.model;
+
+import java.util.List;
+
+/**
+ * Citas junto con las entidades a las que apuntan sus claves foráneas
+ * Respuesta de ?incluir=relaciones: cada relación va una sola vez aunque la compartan varias
+ * citas, y el cliente las cruza por ID en lugar de pedir cada una por separado.
+ * Usuarios incluye a los tutores de las mascotas y a los usuarios de los veterinarios (sin contraseña).
+ */
+public class CitasRelacionadas {
+    private List<Cita> citas;
+    private List<Mascota> mascotas;
+    private List<Servicio> servicios;
+    private List<DatoVeterinario> veterinarios;
+    private List<Usuario> usuarios;
+
+    // Constructor vacío
+    public CitasRelacionadas() {}
+
+    // Constructor completo
+    public CitasRelacionadas(List<Cita> citas, List<Mascota> mascotas, List<Servicio> servicios,
+                             List<DatoVeterinario> veterinarios, List<Usuario> usuarios) {
+        this.citas = citas;
+        this.mascotas = mascotas;
+        this.servicios = servicios;
+        this.veterinarios = veterinarios;
+        this.usuarios = usuarios;
+    }
+
+    // Getters y Setters
+    public List<Cita> getCitas() {
+        return citas;
+    }
+
+    public void setCitas(List<Cita> citas) {
+        this.citas = citas;
+    }
+
+    public List<Mascota> getMascotas() {
+        return mascotas;
+    }
+
+    public void setMascotas(List<Mascota> mascotas) {
+        this.mascotas = mascotas;
+    }
+
+    public List<Servicio> getServicios() {
+        return servicios;
+    }
+
+    public void setServicios(List<Servicio> servicios) {
+        this.servicios = servicios;
+    }
+
+    public List<DatoVeterinario> getVeterinarios() {
+        return veterinarios;
+    }
+
+    public void setVeterinarios(List<DatoVeterinario> veterinarios) {
+        this.veterinarios = veterinarios;
+    }
+
+    public List<Usuario> getUsuarios() {
+        return usuarios;
+    }
+
+    public void setUsuarios(List<Usuario> usuarios) {
+        this.usuarios = usuarios;
+    }
+}
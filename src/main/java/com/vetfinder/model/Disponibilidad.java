@@ -0,0 +1,48 @@
+package com.vetfinder.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Horarios libres de un veterinario en un día
+ * Respuesta de GET /api/veterinarios/{id}/disponibilidad
+ */
+public class Disponibilidad {
+    private LocalDate fecha;
+    private List<LocalTime> horariosLibres;
+
+    // Constructor vacío
+    public Disponibilidad() {}
+
+    // Constructor completo
+    public Disponibilidad(LocalDate fecha, List<LocalTime> horariosLibres) {
+        this.fecha = fecha;
+        this.horariosLibres = horariosLibres;
+    }
+
+    // Getters y Setters
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDate fecha) {
+        this.fecha = fecha;
+    }
+
+    public List<LocalTime> getHorariosLibres() {
+        return horariosLibres;
+    }
+
+    public void setHorariosLibres(List<LocalTime> horariosLibres) {
+        this.horariosLibres = horariosLibres;
+    }
+
+    @Override
+    public String toString() {
+        return "Disponibilidad{" +
+                "fecha=" + fecha +
+                ", horariosLibres=" + horariosLibres +
+                '}';
+    }
+}
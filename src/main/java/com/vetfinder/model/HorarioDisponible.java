@@ -0,0 +1,78 @@
+package com.vetfinder.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Un turno libre de un veterinario
+ * Respuesta de la búsqueda de próximos horarios por especialidad
+ */
+public class HorarioDisponible {
+    private int idDatoVeterinario;
+    private int idUsuario;
+    private int idConsultorio;
+    private LocalDate fecha;
+    private LocalTime hora;
+
+    // Constructor vacío
+    public HorarioDisponible() {}
+
+    // Constructor completo
+    public HorarioDisponible(int idDatoVeterinario, int idUsuario, int idConsultorio, LocalDate fecha, LocalTime hora) {
+        this.idDatoVeterinario = idDatoVeterinario;
+        this.idUsuario = idUsuario;
+        this.idConsultorio = idConsultorio;
+        this.fecha = fecha;
+        this.hora = hora;
+    }
+
+    // Getters y Setters
+    public int getIdDatoVeterinario() {
+        return idDatoVeterinario;
+    }
+
+    public void setIdDatoVeterinario(int idDatoVeterinario) {
+        this.idDatoVeterinario = idDatoVeterinario;
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(int idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public int getIdConsultorio() {
+        return idConsultorio;
+    }
+
+    public void setIdConsultorio(int idConsultorio) {
+        this.idConsultorio = idConsultorio;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDate fecha) {
+        this.fecha = fecha;
+    }
+
+    public LocalTime getHora() {
+        return hora;
+    }
+
+    public void setHora(LocalTime hora) {
+        this.hora = hora;
+    }
+
+    @Override
+    public String toString() {
+        return "HorarioDisponible{" +
+                "idDatoVeterinario=" + idDatoVeterinario +
+                ", fecha=" + fecha +
+                ", hora=" + hora +
+                '}';
+    }
+}
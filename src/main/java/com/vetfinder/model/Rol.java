@@ -5,6 +5,12 @@ package com.vetfinder.model;
  * Representa los roles del sistema (Tutor de Mascota, Veterinario, Administrador)
  */
 public class Rol {
+    // IDs de los roles cargados en la tabla ROL
+    public static final int VETERINARIO = 1;
+    public static final int TUTOR = 2;
+    // Habilita /api/admin; lo carga la migración V4 y se otorga a mano (ver V4__rol_administrador.sql)
+    public static final int ADMINISTRADOR = 3;
+
     private int idRol;
     private String nombre;
 
@@ -0,0 +1,70 @@
+package com.vetfinder.model;
+
+import java.time.LocalTime;
+
+/**
+ * Datos de un veterinario necesarios para buscar horarios: especialidad y consultorio
+ * Resultado del JOIN de DATOVETERINARIO con CONSULTORIO
+ */
+public class VeterinarioAgenda {
+    private int idDatoVeterinario;
+    private int idUsuario;
+    private int idEspecialidad;
+    private int idConsultorio;
+    private LocalTime horario;  // Hora de apertura del consultorio (null si no tiene)
+
+    // Constructor vacío
+    public VeterinarioAgenda() {}
+
+    // Getters y Setters
+    public int getIdDatoVeterinario() {
+        return idDatoVeterinario;
+    }
+
+    public void setIdDatoVeterinario(int idDatoVeterinario) {
+        this.idDatoVeterinario = idDatoVeterinario;
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(int idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public int getIdEspecialidad() {
+        return idEspecialidad;
+    }
+
+    public void setIdEspecialidad(int idEspecialidad) {
+        this.idEspecialidad = idEspecialidad;
+    }
+
+    public int getIdConsultorio() {
+        return idConsultorio;
+    }
+
+    public void setIdConsultorio(int idConsultorio) {
+        this.idConsultorio = idConsultorio;
+    }
+
+    public LocalTime getHorario() {
+        return horario;
+    }
+
+    public void setHorario(LocalTime horario) {
+        this.horario = horario;
+    }
+
+    @Override
+    public String toString() {
+        return "VeterinarioAgenda{" +
+                "idDatoVeterinario=" + idDatoVeterinario +
+                ", idUsuario=" + idUsuario +
+                ", idEspecialidad=" + idEspecialidad +
+                ", idConsultorio=" + idConsultorio +
+                ", horario=" + horario +
+                '}';
+    }
+}
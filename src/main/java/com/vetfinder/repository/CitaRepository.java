@@ -1,8 +1,17 @@
 package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
+import com.vetfinder.model.AgendaCita;
 import com.vetfinder.model.Cita;
-
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.FiltroCitas;
+import com.vetfinder.util.JdbcBatch;
+import com.vetfinder.util.JdbcIn;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowCallback;
+import com.vetfinder.util.RowMapper;
+
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -10,7 +19,9 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Date;
 import java.sql.Time;
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +29,22 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para citas
  */
 public class CitaRepository {
+    private static final RowMapper<Cita> MAPPER = RowMapper.of(Cita.class);
+    private static final RowMapper<AgendaCita> AGENDA_MAPPER = RowMapper.of(AgendaCita.class);
+    private static final String INSERT = "INSERT INTO CITA (fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT = "SELECT id_cita, fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado FROM CITA";
+
+    public static final String SQL_STREAM_AGENDA = "SELECT c.id_cita, c.fecha, c.hora, c.estado, " +
+            "m.id_mascota, m.nombre AS nombre_mascota, m.raza, " +
+            "u.id_usuario AS id_tutor, u.nombre AS nombre_tutor, u.apellidos AS apellidos_tutor, u.telefono AS telefono_tutor, " +
+            "s.id_servicio, s.nombre AS nombre_servicio, s.precio " +
+            "FROM CITA c " +
+            "JOIN MASCOTA m ON m.id_mascota = c.id_mascota " +
+            "JOIN USUARIO u ON u.id_usuario = m.id_usuario " +
+            "JOIN SERVICIO s ON s.id_servicio = c.id_servicio " +
+            "WHERE c.id_datoveterinario = ? AND c.fecha BETWEEN ? AND ? " +
+            "ORDER BY c.fecha, c.hora";
+    public static final String SQL_OCUPADOS_DESDE = "SELECT id_datoveterinario, fecha, hora FROM CITA WHERE fecha >= ? AND estado <> 'Rechazada'";
 
     /**
      * Obtiene todas las citas de la base de datos
@@ -25,26 +52,77 @@ public class CitaRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Cita> findAll() throws SQLException {
-        List<Cita> citas = new ArrayList<>();
         String query = "SELECT id_cita, fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado FROM CITA ORDER BY fecha, hora";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Cita cita = new Cita();
-                cita.setIdCita(rs.getInt("id_cita"));
-                cita.setFecha(rs.getDate("fecha").toLocalDate());
-                cita.setHora(rs.getTime("hora").toLocalTime());
-                cita.setIdServicio(rs.getInt("id_servicio"));
-                cita.setIdMascota(rs.getInt("id_mascota"));
-                cita.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                cita.setEstado(rs.getString("estado"));
-                citas.add(cita);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de citas usando paginación por cursor (keyset)
+     * Ordenada por (fecha, hora, id_cita)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de citas en la página
+     * @return Página de citas con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Cita> findPage(String after, int limit) throws SQLException {
+        List<Cita> citas;
+        String query = sqlFindPage(after != null);
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 3);
+                stmt.setDate(index++, Date.valueOf(cursor.getDate(0)));
+                stmt.setTime(index++, Time.valueOf(cursor.getTime(1)));
+                stmt.setInt(index++, cursor.getInt(2));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                citas = MAPPER.list(rs);
+            }
+        }
+        return Pagina.of(citas, limit, c -> Cursor.encode(c.getFecha(), c.getHora(), c.getIdCita()));
+    }
+
+    /**
+     * Sentencia de findPage: primera página o siguiente a un cursor (fecha, hora, id_cita)
+     */
+    public static String sqlFindPage(boolean conCursor) {
+        return SELECT + " " +
+                (conCursor ? "WHERE (fecha, hora, id_cita) > (?, ?, ?) " : "") +
+                "ORDER BY fecha, hora, id_cita LIMIT ?";
+    }
+
+    /**
+     * Recorre todas las citas enviando cada fila al callback en cuanto se lee
+     * Usa un ResultSet forward-only de solo lectura con el fetch size de streaming,
+     * así el driver no carga la tabla completa en memoria. La conexión queda ocupada
+     * mientras dura el recorrido.
+     * @param callback Receptor de cada cita
+     * @throws SQLException Error en la consulta
+     * @throws IOException Error del callback al escribir la fila
+     */
+    public void streamAll(RowCallback<Cita> callback) throws SQLException, IOException {
+        String query = "SELECT id_cita, fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado FROM CITA ORDER BY fecha, hora";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(DatabaseConfig.getStreamingFetchSize());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                MAPPER.forEach(rs, callback);
             }
         }
-        return citas;
     }
 
     /**
@@ -54,7 +132,6 @@ public class CitaRepository {
      * @throws SQLException Error en la consulta
      */
     public Cita findById(int idCita) throws SQLException {
-        Cita cita = null;
         String query = "SELECT id_cita, fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado FROM CITA WHERE id_cita = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -63,83 +140,168 @@ public class CitaRepository {
             stmt.setInt(1, idCita);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    cita = new Cita();
-                    cita.setIdCita(rs.getInt("id_cita"));
-                    cita.setFecha(rs.getDate("fecha").toLocalDate());
-                    cita.setHora(rs.getTime("hora").toLocalTime());
-                    cita.setIdServicio(rs.getInt("id_servicio"));
-                    cita.setIdMascota(rs.getInt("id_mascota"));
-                    cita.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                    cita.setEstado(rs.getString("estado"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return cita;
     }
 
     /**
-     * Obtiene todas las citas de una mascota específica
+     * Busca varias citas por ID con una sola consulta (WHERE id_cita IN (...))
+     * @param ids IDs a buscar
+     * @return Citas encontradas ordenadas por ID; los IDs inexistentes se omiten
+     * @throws SQLException Error en la consulta
+     */
+    public List<Cita> findByIds(Collection<Integer> ids) throws SQLException {
+        return JdbcIn.findByIds(SELECT, "id_cita", ids, MAPPER);
+    }
+
+    /**
+     * Sentencia de findByIds para un bloque de IDs
+     */
+    public static String sqlFindByIds(int cantidad) {
+        return JdbcIn.sql(SELECT, "id_cita", cantidad);
+    }
+
+    /**
+     * Obtiene las citas de una mascota específica que cumplen los filtros
+     * Usa el índice (id_mascota, fecha, hora, estado, id_servicio): el rango de fechas se
+     * resuelve en el índice y estado / servicio se evalúan sin leer las filas descartadas
      * @param idMascota ID de la mascota
-     * @return Lista de citas de la mascota
+     * @param filtro Rango de fechas, estado y servicio (los campos en null no filtran)
+     * @return Lista de citas de la mascota ordenada por fecha y hora
+     * @throws SQLException Error en la consulta
+     */
+    public List<Cita> findByMascota(int idMascota, FiltroCitas filtro) throws SQLException {
+        return findFiltradas("id_mascota", idMascota, filtro);
+    }
+
+    /**
+     * Obtiene las citas de un veterinario específico que cumplen los filtros
+     * Usa el índice (id_datoveterinario, fecha, hora, estado, id_servicio); la agenda del día
+     * (desde = hasta = hoy) lee solo las entradas de ese día
+     * @param idDatoVeterinario ID del dato veterinario
+     * @param filtro Rango de fechas, estado y servicio (los campos en null no filtran)
+     * @return Lista de citas del veterinario ordenada por fecha y hora
      * @throws SQLException Error en la consulta
      */
-    public List<Cita> findByMascota(int idMascota) throws SQLException {
-        List<Cita> citas = new ArrayList<>();
-        String query = "SELECT id_cita, fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado FROM CITA WHERE id_mascota = ? ORDER BY fecha, hora";
+    public List<Cita> findByVeterinario(int idDatoVeterinario, FiltroCitas filtro) throws SQLException {
+        return findFiltradas("id_datoveterinario", idDatoVeterinario, filtro);
+    }
 
+    /**
+     * Sentencia de findByMascota con los predicados del filtro
+     */
+    public static String sqlFindByMascota(FiltroCitas filtro) {
+        return sqlFiltradas("id_mascota", filtro);
+    }
+
+    /**
+     * Sentencia de findByVeterinario con los predicados del filtro
+     */
+    public static String sqlFindByVeterinario(FiltroCitas filtro) {
+        return sqlFiltradas("id_datoveterinario", filtro);
+    }
+
+    private static String sqlFiltradas(String columna, FiltroCitas filtro) {
+        // Solo se agregan los predicados pedidos, todos sobre columnas del índice compuesto
+        StringBuilder query = new StringBuilder(SELECT).append(" WHERE ").append(columna).append(" = ?");
+        if (filtro.getDesde() != null) {
+            query.append(" AND fecha >= ?");
+        }
+        if (filtro.getHasta() != null) {
+            query.append(" AND fecha <= ?");
+        }
+        if (filtro.getEstado() != null) {
+            query.append(" AND estado = ?");
+        }
+        if (filtro.getIdServicio() != null) {
+            query.append(" AND id_servicio = ?");
+        }
+        return query.append(" ORDER BY fecha, hora").toString();
+    }
+
+    private List<Cita> findFiltradas(String columna, int id, FiltroCitas filtro) throws SQLException {
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(sqlFiltradas(columna, filtro))) {
 
-            stmt.setInt(1, idMascota);
+            int index = 1;
+            stmt.setInt(index++, id);
+            if (filtro.getDesde() != null) {
+                stmt.setDate(index++, Date.valueOf(filtro.getDesde()));
+            }
+            if (filtro.getHasta() != null) {
+                stmt.setDate(index++, Date.valueOf(filtro.getHasta()));
+            }
+            if (filtro.getEstado() != null) {
+                stmt.setString(index++, filtro.getEstado());
+            }
+            if (filtro.getIdServicio() != null) {
+                stmt.setInt(index, filtro.getIdServicio());
+            }
 
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Cita cita = new Cita();
-                    cita.setIdCita(rs.getInt("id_cita"));
-                    cita.setFecha(rs.getDate("fecha").toLocalDate());
-                    cita.setHora(rs.getTime("hora").toLocalTime());
-                    cita.setIdServicio(rs.getInt("id_servicio"));
-                    cita.setIdMascota(rs.getInt("id_mascota"));
-                    cita.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                    cita.setEstado(rs.getString("estado"));
-                    citas.add(cita);
-                }
+                return MAPPER.list(rs);
             }
         }
-        return citas;
     }
 
     /**
-     * Obtiene todas las citas de un veterinario específico
+     * Recorre la agenda de un veterinario entre dos fechas con los datos de mascota, tutor y servicio
+     * Un solo JOIN de CITA con MASCOTA, USUARIO y SERVICIO, leído en streaming (mismo fetch
+     * size que streamAll) y mapeado a una proyección plana
      * @param idDatoVeterinario ID del dato veterinario
-     * @return Lista de citas del veterinario
+     * @param desde Primer día (inclusive)
+     * @param hasta Último día (inclusive)
+     * @param callback Receptor de cada cita de la agenda
      * @throws SQLException Error en la consulta
+     * @throws IOException Error del callback al escribir la fila
      */
-    public List<Cita> findByVeterinario(int idDatoVeterinario) throws SQLException {
-        List<Cita> citas = new ArrayList<>();
-        String query = "SELECT id_cita, fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado FROM CITA WHERE id_datoveterinario = ? ORDER BY fecha, hora";
-
+    public void streamAgenda(int idDatoVeterinario, LocalDate desde, LocalDate hasta, RowCallback<AgendaCita> callback)
+            throws SQLException, IOException {
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_STREAM_AGENDA, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
 
+            stmt.setFetchSize(DatabaseConfig.getStreamingFetchSize());
             stmt.setInt(1, idDatoVeterinario);
+            stmt.setDate(2, Date.valueOf(desde));
+            stmt.setDate(3, Date.valueOf(hasta));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                AGENDA_MAPPER.forEach(rs, callback);
+            }
+        }
+    }
+
+    /**
+     * Recorre los horarios ocupados (citas no rechazadas) desde una fecha
+     * Solo lee veterinario, fecha y hora; se usa para cargar la agenda de disponibilidad
+     * @param desde Fecha inicial (inclusive)
+     * @param callback Receptor de cada horario ocupado
+     * @throws SQLException Error en la consulta
+     */
+    public void forEachOcupadoDesde(LocalDate desde, OcupadoCallback callback) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_OCUPADOS_DESDE)) {
+
+            stmt.setDate(1, Date.valueOf(desde));
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Cita cita = new Cita();
-                    cita.setIdCita(rs.getInt("id_cita"));
-                    cita.setFecha(rs.getDate("fecha").toLocalDate());
-                    cita.setHora(rs.getTime("hora").toLocalTime());
-                    cita.setIdServicio(rs.getInt("id_servicio"));
-                    cita.setIdMascota(rs.getInt("id_mascota"));
-                    cita.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                    cita.setEstado(rs.getString("estado"));
-                    citas.add(cita);
+                    callback.accept(
+                            rs.getInt("id_datoveterinario"),
+                            rs.getDate("fecha").toLocalDate(),
+                            rs.getTime("hora").toLocalTime());
                 }
             }
         }
-        return citas;
+    }
+
+    /**
+     * Receptor de un horario ocupado de un veterinario
+     */
+    @FunctionalInterface
+    public interface OcupadoCallback {
+        void accept(int idDatoVeterinario, LocalDate fecha, LocalTime hora);
     }
 
     /**
@@ -149,17 +311,10 @@ public class CitaRepository {
      * @throws SQLException Error en la inserción
      */
     public int save(Cita cita) throws SQLException {
-        String query = "INSERT INTO CITA (fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado) VALUES (?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setDate(1, Date.valueOf(cita.getFecha()));
-            stmt.setTime(2, Time.valueOf(cita.getHora()));
-            stmt.setInt(3, cita.getIdServicio());
-            stmt.setInt(4, cita.getIdMascota());
-            stmt.setInt(5, cita.getIdDatoVeterinario());
-            stmt.setString(6, cita.getEstado());
+            bindInsert(stmt, cita);
 
             int affectedRows = stmt.executeUpdate();
 
@@ -178,6 +333,25 @@ public class CitaRepository {
         }
     }
 
+    /**
+     * Guarda varias citas en una sola transacción usando addBatch/executeBatch
+     * @param citas Citas a guardar
+     * @return IDs generados, en el mismo orden que la lista
+     * @throws SQLException Error en la inserción (no se guarda ninguna)
+     */
+    public List<Integer> saveAll(List<Cita> citas) throws SQLException {
+        return JdbcBatch.insertAll(INSERT, citas, CitaRepository::bindInsert);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Cita cita) throws SQLException {
+        stmt.setDate(1, Date.valueOf(cita.getFecha()));
+        stmt.setTime(2, Time.valueOf(cita.getHora()));
+        stmt.setInt(3, cita.getIdServicio());
+        stmt.setInt(4, cita.getIdMascota());
+        stmt.setInt(5, cita.getIdDatoVeterinario());
+        stmt.setString(6, cita.getEstado());
+    }
+
     /**
      * Actualiza una cita existente
      * @param cita Cita con los datos actualizados
@@ -221,4 +395,4 @@ public class CitaRepository {
             return affectedRows > 0;
         }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,9 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Consultorio;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowMapper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -9,7 +12,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Time;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,6 +19,7 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para consultorios
  */
 public class ConsultorioRepository {
+    private static final RowMapper<Consultorio> MAPPER = RowMapper.of(Consultorio.class);
 
     /**
      * Obtiene todos los consultorios de la base de datos
@@ -24,23 +27,53 @@ public class ConsultorioRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Consultorio> findAll() throws SQLException {
-        List<Consultorio> consultorios = new ArrayList<>();
         String query = "SELECT id_consultorio, horario, nombre_consultorio, id_datoveterinario FROM CONSULTORIO ORDER BY nombre_consultorio";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Consultorio consultorio = new Consultorio();
-                consultorio.setIdConsultorio(rs.getInt("id_consultorio"));
-                consultorio.setHorario(rs.getTime("horario").toLocalTime());
-                consultorio.setNombreConsultorio(rs.getString("nombre_consultorio"));
-                consultorio.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                consultorios.add(consultorio);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de consultorios usando paginación por cursor (keyset)
+     * Ordenada por (nombre_consultorio, id_consultorio)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de consultorios en la página
+     * @return Página de consultorios con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Consultorio> findPage(String after, int limit) throws SQLException {
+        List<Consultorio> consultorios;
+        String query = sqlFindPage(after != null);
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setString(index++, cursor.getString(0));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                consultorios = MAPPER.list(rs);
             }
         }
-        return consultorios;
+        return Pagina.of(consultorios, limit, c -> Cursor.encode(c.getNombreConsultorio(), c.getIdConsultorio()));
+    }
+
+    /**
+     * Sentencia de findPage: primera página o siguiente a un cursor (nombre_consultorio, id_consultorio)
+     */
+    public static String sqlFindPage(boolean conCursor) {
+        return "SELECT id_consultorio, horario, nombre_consultorio, id_datoveterinario FROM CONSULTORIO " +
+                (conCursor ? "WHERE (nombre_consultorio, id_consultorio) > (?, ?) " : "") +
+                "ORDER BY nombre_consultorio, id_consultorio LIMIT ?";
     }
 
     /**
@@ -50,7 +83,6 @@ public class ConsultorioRepository {
      * @throws SQLException Error en la consulta
      */
     public Consultorio findById(int idConsultorio) throws SQLException {
-        Consultorio consultorio = null;
         String query = "SELECT id_consultorio, horario, nombre_consultorio, id_datoveterinario FROM CONSULTORIO WHERE id_consultorio = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -59,16 +91,9 @@ public class ConsultorioRepository {
             stmt.setInt(1, idConsultorio);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    consultorio = new Consultorio();
-                    consultorio.setIdConsultorio(rs.getInt("id_consultorio"));
-                    consultorio.setHorario(rs.getTime("horario").toLocalTime());
-                    consultorio.setNombreConsultorio(rs.getString("nombre_consultorio"));
-                    consultorio.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return consultorio;
     }
 
     /**
@@ -144,4 +169,4 @@ public class ConsultorioRepository {
             return affectedRows > 0;
         }
     }
-}
\ No newline at end of file
+}
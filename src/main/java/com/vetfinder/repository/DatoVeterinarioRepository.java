@@ -2,13 +2,18 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.DatoVeterinario;
+import com.vetfinder.model.VeterinarioAgenda;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.JdbcIn;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowMapper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,6 +21,9 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para datos veterinarios
  */
 public class DatoVeterinarioRepository {
+    private static final RowMapper<DatoVeterinario> MAPPER = RowMapper.of(DatoVeterinario.class);
+    private static final RowMapper<VeterinarioAgenda> AGENDA_MAPPER = RowMapper.of(VeterinarioAgenda.class);
+    public static final String SQL_FIND_BY_USUARIO = "SELECT id_datoveterinario, id_consultorio, id_usuario, id_especialidad FROM DATOVETERINARIO WHERE id_usuario = ?";
 
     /**
      * Obtiene todos los datos veterinarios de la base de datos
@@ -23,23 +31,45 @@ public class DatoVeterinarioRepository {
      * @throws SQLException Error en la consulta
      */
     public List<DatoVeterinario> findAll() throws SQLException {
-        List<DatoVeterinario> datosVeterinarios = new ArrayList<>();
         String query = "SELECT id_datoveterinario, id_consultorio, id_usuario, id_especialidad FROM DATOVETERINARIO";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                DatoVeterinario datoVeterinario = new DatoVeterinario();
-                datoVeterinario.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                datoVeterinario.setIdConsultorio(rs.getInt("id_consultorio"));
-                datoVeterinario.setIdUsuario(rs.getInt("id_usuario"));
-                datoVeterinario.setIdEspecialidad(rs.getInt("id_especialidad"));
-                datosVeterinarios.add(datoVeterinario);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de datos veterinarios usando paginación por cursor (keyset)
+     * Ordenada por (id_datoveterinario)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de datos veterinarios en la página
+     * @return Página de datos veterinarios con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<DatoVeterinario> findPage(String after, int limit) throws SQLException {
+        List<DatoVeterinario> datosVeterinarios;
+        String query = "SELECT id_datoveterinario, id_consultorio, id_usuario, id_especialidad FROM DATOVETERINARIO " +
+                (after != null ? "WHERE id_datoveterinario > ? " : "") +
+                "ORDER BY id_datoveterinario LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 1);
+                stmt.setInt(index++, cursor.getInt(0));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                datosVeterinarios = MAPPER.list(rs);
             }
         }
-        return datosVeterinarios;
+        return Pagina.of(datosVeterinarios, limit, d -> Cursor.encode(d.getIdDatoVeterinario()));
     }
 
     /**
@@ -49,7 +79,6 @@ public class DatoVeterinarioRepository {
      * @throws SQLException Error en la consulta
      */
     public DatoVeterinario findById(int idDatoVeterinario) throws SQLException {
-        DatoVeterinario datoVeterinario = null;
         String query = "SELECT id_datoveterinario, id_consultorio, id_usuario, id_especialidad FROM DATOVETERINARIO WHERE id_datoveterinario = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -58,16 +87,19 @@ public class DatoVeterinarioRepository {
             stmt.setInt(1, idDatoVeterinario);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    datoVeterinario = new DatoVeterinario();
-                    datoVeterinario.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                    datoVeterinario.setIdConsultorio(rs.getInt("id_consultorio"));
-                    datoVeterinario.setIdUsuario(rs.getInt("id_usuario"));
-                    datoVeterinario.setIdEspecialidad(rs.getInt("id_especialidad"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return datoVeterinario;
+    }
+
+    /**
+     * Busca varios datos veterinarios por ID con una sola consulta (WHERE id_datoveterinario IN (...))
+     * @param ids IDs a buscar
+     * @return Datos veterinarios encontrados ordenados por ID; los IDs inexistentes se omiten
+     * @throws SQLException Error en la consulta
+     */
+    public List<DatoVeterinario> findByIds(Collection<Integer> ids) throws SQLException {
+        return JdbcIn.findByIds("SELECT id_datoveterinario, id_consultorio, id_usuario, id_especialidad FROM DATOVETERINARIO", "id_datoveterinario", ids, MAPPER);
     }
 
     /**
@@ -77,26 +109,34 @@ public class DatoVeterinarioRepository {
      * @throws SQLException Error en la consulta
      */
     public List<DatoVeterinario> findByUsuario(int idUsuario) throws SQLException {
-        List<DatoVeterinario> datosVeterinarios = new ArrayList<>();
-        String query = "SELECT id_datoveterinario, id_consultorio, id_usuario, id_especialidad FROM DATOVETERINARIO WHERE id_usuario = ?";
-
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_FIND_BY_USUARIO)) {
 
             stmt.setInt(1, idUsuario);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    DatoVeterinario datoVeterinario = new DatoVeterinario();
-                    datoVeterinario.setIdDatoVeterinario(rs.getInt("id_datoveterinario"));
-                    datoVeterinario.setIdConsultorio(rs.getInt("id_consultorio"));
-                    datoVeterinario.setIdUsuario(rs.getInt("id_usuario"));
-                    datoVeterinario.setIdEspecialidad(rs.getInt("id_especialidad"));
-                    datosVeterinarios.add(datoVeterinario);
-                }
+                return MAPPER.list(rs);
             }
         }
-        return datosVeterinarios;
+    }
+
+    /**
+     * Obtiene todos los veterinarios con su especialidad y la hora de apertura de su consultorio
+     * Un solo JOIN; alimenta el índice de búsqueda de horarios por especialidad
+     * @return Lista de veterinarios con datos de agenda
+     * @throws SQLException Error en la consulta
+     */
+    public List<VeterinarioAgenda> findAgendas() throws SQLException {
+        String query = "SELECT dv.id_datoveterinario, dv.id_usuario, dv.id_especialidad, dv.id_consultorio, c.horario " +
+                "FROM DATOVETERINARIO dv " +
+                "LEFT JOIN CONSULTORIO c ON c.id_consultorio = dv.id_consultorio";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            return AGENDA_MAPPER.list(rs);
+        }
     }
 
     /**
@@ -172,4 +212,4 @@ public class DatoVeterinarioRepository {
             return affectedRows > 0;
         }
     }
-}
\ No newline at end of file
+}
@@ -2,13 +2,15 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Direccion;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowMapper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,6 +19,7 @@ import java.util.List;
  * Modificado: Se removieron las referencias a maps_link
  */
 public class DireccionRepository {
+    private static final RowMapper<Direccion> MAPPER = RowMapper.of(Direccion.class);
 
     /**
      * Obtiene todas las direcciones de la base de datos
@@ -24,7 +27,6 @@ public class DireccionRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Direccion> findAll() throws SQLException {
-        List<Direccion> direcciones = new ArrayList<>();
         // Query modificada: removida la columna maps_link
         String query = "SELECT id_direccion, calle FROM DIRECCION ORDER BY calle";
 
@@ -32,15 +34,47 @@ public class DireccionRepository {
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Direccion direccion = new Direccion();
-                direccion.setIdDireccion(rs.getInt("id_direccion"));
-                direccion.setCalle(rs.getString("calle"));
-                // Se removió la línea: direccion.setMapsLink(rs.getString("maps_link"));
-                direcciones.add(direccion);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de direcciones usando paginación por cursor (keyset)
+     * Ordenada por (calle, id_direccion)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de direcciones en la página
+     * @return Página de direcciones con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Direccion> findPage(String after, int limit) throws SQLException {
+        List<Direccion> direcciones;
+        String query = sqlFindPage(after != null);
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setString(index++, cursor.getString(0));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                direcciones = MAPPER.list(rs);
             }
         }
-        return direcciones;
+        return Pagina.of(direcciones, limit, d -> Cursor.encode(d.getCalle(), d.getIdDireccion()));
+    }
+
+    /**
+     * Sentencia de findPage: primera página o siguiente a un cursor (calle, id_direccion)
+     */
+    public static String sqlFindPage(boolean conCursor) {
+        return "SELECT id_direccion, calle FROM DIRECCION " +
+                (conCursor ? "WHERE (calle, id_direccion) > (?, ?) " : "") +
+                "ORDER BY calle, id_direccion LIMIT ?";
     }
 
     /**
@@ -50,7 +84,6 @@ public class DireccionRepository {
      * @throws SQLException Error en la consulta
      */
     public Direccion findById(int idDireccion) throws SQLException {
-        Direccion direccion = null;
         // Query modificada: removida la columna maps_link
         String query = "SELECT id_direccion, calle FROM DIRECCION WHERE id_direccion = ?";
 
@@ -60,15 +93,9 @@ public class DireccionRepository {
             stmt.setInt(1, idDireccion);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    direccion = new Direccion();
-                    direccion.setIdDireccion(rs.getInt("id_direccion"));
-                    direccion.setCalle(rs.getString("calle"));
-                    // Se removió la línea: direccion.setMapsLink(rs.getString("maps_link"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return direccion;
     }
 
     /**
@@ -145,4 +172,4 @@ public class DireccionRepository {
             return affectedRows > 0;
         }
     }
-}
\ No newline at end of file
+}
@@ -2,13 +2,15 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Especialidad;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowMapper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,6 +18,7 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para especialidades
  */
 public class EspecialidadRepository {
+    private static final RowMapper<Especialidad> MAPPER = RowMapper.of(Especialidad.class);
 
     /**
      * Obtiene todas las especialidades de la base de datos
@@ -23,21 +26,46 @@ public class EspecialidadRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Especialidad> findAll() throws SQLException {
-        List<Especialidad> especialidades = new ArrayList<>();
         String query = "SELECT id_especialidad, nombre FROM ESPECIALIDAD ORDER BY nombre";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Especialidad especialidad = new Especialidad();
-                especialidad.setIdEspecialidad(rs.getInt("id_especialidad"));
-                especialidad.setNombre(rs.getString("nombre"));
-                especialidades.add(especialidad);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de especialidades usando paginación por cursor (keyset)
+     * Ordenada por (nombre, id_especialidad)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de especialidades en la página
+     * @return Página de especialidades con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Especialidad> findPage(String after, int limit) throws SQLException {
+        List<Especialidad> especialidades;
+        String query = "SELECT id_especialidad, nombre FROM ESPECIALIDAD " +
+                (after != null ? "WHERE (nombre, id_especialidad) > (?, ?) " : "") +
+                "ORDER BY nombre, id_especialidad LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setString(index++, cursor.getString(0));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                especialidades = MAPPER.list(rs);
             }
         }
-        return especialidades;
+        return Pagina.of(especialidades, limit, e -> Cursor.encode(e.getNombre(), e.getIdEspecialidad()));
     }
 
     /**
@@ -47,7 +75,6 @@ public class EspecialidadRepository {
      * @throws SQLException Error en la consulta
      */
     public Especialidad findById(int idEspecialidad) throws SQLException {
-        Especialidad especialidad = null;
         String query = "SELECT id_especialidad, nombre FROM ESPECIALIDAD WHERE id_especialidad = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -56,14 +83,9 @@ public class EspecialidadRepository {
             stmt.setInt(1, idEspecialidad);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    especialidad = new Especialidad();
-                    especialidad.setIdEspecialidad(rs.getInt("id_especialidad"));
-                    especialidad.setNombre(rs.getString("nombre"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return especialidad;
     }
 
     /**
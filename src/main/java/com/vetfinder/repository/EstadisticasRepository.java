@@ -1,15 +1,15 @@
 package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
-import com.vetfinder.model.EstadisticaHorario;
-import com.vetfinder.model.EstadisticaServicio;
+import com.vetfinder.model.ResumenEstadisticas;
+import com.vetfinder.model.Rol;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDate;
 
 /**
  * Repositorio para operaciones de consulta de estadísticas
@@ -17,213 +17,84 @@ import java.util.List;
  * CORREGIDO: Compatible con Java 8+ (sin text blocks)
  */
 public class EstadisticasRepository {
+    public static final String SQL_CONTEO_DIARIO = "SELECT fecha, HOUR(hora) as hora_del_dia, id_servicio, COUNT(*) as cantidad " +
+            "FROM CITA " +
+            "WHERE fecha >= ? " +
+            "GROUP BY fecha, HOUR(hora), id_servicio";
 
     /**
-     * Obtiene estadísticas de horarios más concurridos
-     * Agrupa las citas por franja horaria y cuenta la cantidad
-     * @return Lista de estadísticas por horario ordenadas por cantidad
+     * Recorre los conteos de citas agrupados por día, hora y servicio desde una fecha
+     * Es la base para construir los acumulados (rollups) de estadísticas en memoria
+     * @param desde Fecha mínima (inclusive)
+     * @param callback Receptor de cada grupo
      * @throws SQLException Error en la consulta
      */
-    public List<EstadisticaHorario> findHorariosConcurridos() throws SQLException {
-        List<EstadisticaHorario> estadisticas = new ArrayList<>();
-
-        // Query que agrupa por franja horaria y cuenta las citas
-        String query = "SELECT " +
-                "CASE " +
-                "WHEN HOUR(hora) BETWEEN 8 AND 11 THEN '09:00:00' " +
-                "WHEN HOUR(hora) BETWEEN 12 AND 15 THEN '12:00:00' " +
-                "WHEN HOUR(hora) BETWEEN 16 AND 19 THEN '15:00:00' " +
-                "ELSE '18:00:00' " +
-                "END as franja_horaria, " +
-                "COUNT(*) as cantidad_citas " +
-                "FROM CITA " +
-                "WHERE fecha >= DATE_SUB(CURDATE(), INTERVAL 30 DAY) " +
-                "GROUP BY franja_horaria " +
-                "ORDER BY cantidad_citas DESC";
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                String franjaHoraria = rs.getString("franja_horaria");
-                int cantidadCitas = rs.getInt("cantidad_citas");
-
-                EstadisticaHorario estadistica = new EstadisticaHorario(franjaHoraria, cantidadCitas);
-                estadisticas.add(estadistica);
-            }
-        }
-
-        return estadisticas;
-    }
-
-    /**
-     * Obtiene estadísticas de servicios más solicitados
-     * Agrupa las citas por tipo de servicio y cuenta la cantidad
-     * @return Lista de estadísticas por servicio ordenadas por cantidad
-     * @throws SQLException Error en la consulta
-     */
-    public List<EstadisticaServicio> findServiciosSolicitados() throws SQLException {
-        List<EstadisticaServicio> estadisticas = new ArrayList<>();
-
-        // Query que une citas con servicios para obtener estadísticas
-        String query = "SELECT " +
-                "s.id_servicio, " +
-                "s.nombre as nombre_servicio, " +
-                "s.precio, " +
-                "COUNT(c.id_cita) as cantidad_solicitudes " +
-                "FROM SERVICIO s " +
-                "LEFT JOIN CITA c ON s.id_servicio = c.id_servicio " +
-                "WHERE c.fecha >= DATE_SUB(CURDATE(), INTERVAL 30 DAY) OR c.fecha IS NULL " +
-                "GROUP BY s.id_servicio, s.nombre, s.precio " +
-                "HAVING cantidad_solicitudes > 0 " +
-                "ORDER BY cantidad_solicitudes DESC " +
-                "LIMIT 10";
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            // Primero obtener el total para calcular porcentajes
-            int totalSolicitudes = getTotalSolicitudesServicios();
-
-            while (rs.next()) {
-                int idServicio = rs.getInt("id_servicio");
-                String nombreServicio = rs.getString("nombre_servicio");
-                float precio = rs.getFloat("precio");
-                int cantidadSolicitudes = rs.getInt("cantidad_solicitudes");
-
-                EstadisticaServicio estadistica = new EstadisticaServicio(
-                        idServicio, nombreServicio, cantidadSolicitudes, precio
-                );
-
-                // Calcular porcentaje respecto al total
-                estadistica.calcularPorcentaje(totalSolicitudes);
-
-                estadisticas.add(estadistica);
-            }
-        }
-
-        return estadisticas;
-    }
-
-    /**
-     * Obtiene el total de citas en el sistema
-     * @return Número total de citas
-     * @throws SQLException Error en la consulta
-     */
-    public int countTotalCitas() throws SQLException {
-        String query = "SELECT COUNT(*) as total FROM CITA";
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt("total");
-            }
-        }
-        return 0;
-    }
-
-    /**
-     * Obtiene el total de mascotas en el sistema
-     * @return Número total de mascotas
-     * @throws SQLException Error en la consulta
-     */
-    public int countTotalMascotas() throws SQLException {
-        String query = "SELECT COUNT(*) as total FROM MASCOTA";
-
+    public void forEachConteoDiario(LocalDate desde, ConteoCallback callback) throws SQLException {
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_CONTEO_DIARIO)) {
 
-            if (rs.next()) {
-                return rs.getInt("total");
-            }
-        }
-        return 0;
-    }
+            stmt.setDate(1, Date.valueOf(desde));
 
-    /**
-     * Obtiene el total de veterinarios en el sistema
-     * @return Número total de veterinarios
-     * @throws SQLException Error en la consulta
-     */
-    public int countTotalVeterinarios() throws SQLException {
-        String query = "SELECT COUNT(*) as total FROM USUARIO WHERE id_rol = 2"; // Rol veterinario
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt("total");
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    callback.accept(
+                            rs.getDate("fecha").toLocalDate(),
+                            rs.getInt("hora_del_dia"),
+                            rs.getInt("id_servicio"),
+                            rs.getInt("cantidad"));
+                }
             }
         }
-        return 0;
     }
 
     /**
-     * Obtiene el total de tutores en el sistema
-     * @return Número total de tutores
-     * @throws SQLException Error en la consulta
+     * Receptor de un grupo (día, hora, servicio) con su cantidad de citas
      */
-    public int countTotalTutores() throws SQLException {
-        String query = "SELECT COUNT(*) as total FROM USUARIO WHERE id_rol = 1"; // Rol tutor
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt("total");
-            }
-        }
-        return 0;
+    @FunctionalInterface
+    public interface ConteoCallback {
+        void accept(LocalDate fecha, int hora, int idServicio, int cantidad);
     }
 
     /**
-     * Obtiene el total de citas por estado específico
-     * @param estado Estado de la cita ("Pendiente", "Aceptada", "Rechazada")
-     * @return Número de citas con ese estado
+     * Obtiene todos los contadores del resumen en una sola consulta
+     * Cada tabla se recorre una vez y los conteos por estado y por rol se calculan
+     * con agregación condicional (SUM(CASE ...)), así el resumen usa una sola conexión
+     * y un solo viaje a la base de datos. Los roles se comparan con los IDs de Rol
+     * @return Resumen con totales y métricas calculadas
      * @throws SQLException Error en la consulta
      */
-    public int countCitasByEstado(String estado) throws SQLException {
-        String query = "SELECT COUNT(*) as total FROM CITA WHERE estado = ?";
+    public ResumenEstadisticas findResumen() throws SQLException {
+        String query = "SELECT c.total_citas, c.citas_pendientes, c.citas_aceptadas, c.citas_rechazadas, " +
+                "m.total_mascotas, u.total_veterinarios, u.total_tutores " +
+                "FROM (SELECT COUNT(*) as total_citas, " +
+                "COALESCE(SUM(CASE WHEN estado = 'Pendiente' THEN 1 ELSE 0 END), 0) as citas_pendientes, " +
+                "COALESCE(SUM(CASE WHEN estado = 'Aceptada' THEN 1 ELSE 0 END), 0) as citas_aceptadas, " +
+                "COALESCE(SUM(CASE WHEN estado = 'Rechazada' THEN 1 ELSE 0 END), 0) as citas_rechazadas " +
+                "FROM CITA) c " +
+                "CROSS JOIN (SELECT COUNT(*) as total_mascotas FROM MASCOTA) m " +
+                "CROSS JOIN (SELECT " +
+                "COALESCE(SUM(CASE WHEN id_rol = ? THEN 1 ELSE 0 END), 0) as total_veterinarios, " +
+                "COALESCE(SUM(CASE WHEN id_rol = ? THEN 1 ELSE 0 END), 0) as total_tutores " +
+                "FROM USUARIO) u";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
-            stmt.setString(1, estado);
-
+            stmt.setInt(1, Rol.VETERINARIO);
+            stmt.setInt(2, Rol.TUTOR);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt("total");
+                    return new ResumenEstadisticas(
+                            rs.getInt("total_citas"),
+                            rs.getInt("total_mascotas"),
+                            rs.getInt("total_veterinarios"),
+                            rs.getInt("total_tutores"),
+                            rs.getInt("citas_pendientes"),
+                            rs.getInt("citas_aceptadas"),
+                            rs.getInt("citas_rechazadas"));
                 }
             }
         }
-        return 0;
-    }
-
-    /**
-     * Obtiene el total de solicitudes de servicios para calcular porcentajes
-     * @return Total de solicitudes de servicios
-     * @throws SQLException Error en la consulta
-     */
-    private int getTotalSolicitudesServicios() throws SQLException {
-        String query = "SELECT COUNT(*) as total " +
-                "FROM CITA " +
-                "WHERE fecha >= DATE_SUB(CURDATE(), INTERVAL 30 DAY)";
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                return rs.getInt("total");
-            }
-        }
-        return 0;
+        return new ResumenEstadisticas(0, 0, 0, 0, 0, 0, 0);
     }
 }
\ No newline at end of file
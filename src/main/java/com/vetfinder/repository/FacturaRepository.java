@@ -2,14 +2,19 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Factura;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.JdbcBatch;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowCallback;
+import com.vetfinder.util.RowMapper;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Date;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,6 +22,9 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para facturas
  */
 public class FacturaRepository {
+    private static final RowMapper<Factura> MAPPER = RowMapper.of(Factura.class);
+    public static final String SQL_FIND_BY_USUARIO = "SELECT id_factura, id_usuario, id_servicio, id_cita, total, fecha_factura FROM FACTURA WHERE id_usuario = ? ORDER BY fecha_factura DESC";
+    private static final String INSERT = "INSERT INTO FACTURA (id_usuario, id_servicio, id_cita, total, fecha_factura) VALUES (?, ?, ?, ?, ?)";
 
     /**
      * Obtiene todas las facturas de la base de datos
@@ -24,25 +32,76 @@ public class FacturaRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Factura> findAll() throws SQLException {
-        List<Factura> facturas = new ArrayList<>();
         String query = "SELECT id_factura, id_usuario, id_servicio, id_cita, total, fecha_factura FROM FACTURA ORDER BY fecha_factura DESC";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Factura factura = new Factura();
-                factura.setIdFactura(rs.getInt("id_factura"));
-                factura.setIdUsuario(rs.getInt("id_usuario"));
-                factura.setIdServicio(rs.getInt("id_servicio"));
-                factura.setIdCita(rs.getInt("id_cita"));
-                factura.setTotal(rs.getFloat("total"));
-                factura.setFechaFactura(rs.getDate("fecha_factura").toLocalDate());
-                facturas.add(factura);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de facturas usando paginación por cursor (keyset)
+     * Ordenada por (fecha_factura DESC, id_factura DESC)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de facturas en la página
+     * @return Página de facturas con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Factura> findPage(String after, int limit) throws SQLException {
+        List<Factura> facturas;
+        String query = sqlFindPage(after != null);
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setDate(index++, Date.valueOf(cursor.getDate(0)));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                facturas = MAPPER.list(rs);
+            }
+        }
+        return Pagina.of(facturas, limit, f -> Cursor.encode(f.getFechaFactura(), f.getIdFactura()));
+    }
+
+    /**
+     * Sentencia de findPage: primera página o siguiente a un cursor (fecha_factura, id_factura)
+     */
+    public static String sqlFindPage(boolean conCursor) {
+        return "SELECT id_factura, id_usuario, id_servicio, id_cita, total, fecha_factura FROM FACTURA " +
+                (conCursor ? "WHERE (fecha_factura, id_factura) < (?, ?) " : "") +
+                "ORDER BY fecha_factura DESC, id_factura DESC LIMIT ?";
+    }
+
+    /**
+     * Recorre todas las facturas enviando cada fila al callback en cuanto se lee
+     * Usa un ResultSet forward-only de solo lectura con el fetch size de streaming,
+     * así el driver no carga la tabla completa en memoria. La conexión queda ocupada
+     * mientras dura el recorrido.
+     * @param callback Receptor de cada factura
+     * @throws SQLException Error en la consulta
+     * @throws IOException Error del callback al escribir la fila
+     */
+    public void streamAll(RowCallback<Factura> callback) throws SQLException, IOException {
+        String query = "SELECT id_factura, id_usuario, id_servicio, id_cita, total, fecha_factura FROM FACTURA ORDER BY fecha_factura DESC";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(DatabaseConfig.getStreamingFetchSize());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                MAPPER.forEach(rs, callback);
             }
         }
-        return facturas;
     }
 
     /**
@@ -52,7 +111,6 @@ public class FacturaRepository {
      * @throws SQLException Error en la consulta
      */
     public Factura findById(int idFactura) throws SQLException {
-        Factura factura = null;
         String query = "SELECT id_factura, id_usuario, id_servicio, id_cita, total, fecha_factura FROM FACTURA WHERE id_factura = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -61,18 +119,9 @@ public class FacturaRepository {
             stmt.setInt(1, idFactura);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    factura = new Factura();
-                    factura.setIdFactura(rs.getInt("id_factura"));
-                    factura.setIdUsuario(rs.getInt("id_usuario"));
-                    factura.setIdServicio(rs.getInt("id_servicio"));
-                    factura.setIdCita(rs.getInt("id_cita"));
-                    factura.setTotal(rs.getFloat("total"));
-                    factura.setFechaFactura(rs.getDate("fecha_factura").toLocalDate());
-                }
+                return MAPPER.first(rs);
             }
         }
-        return factura;
     }
 
     /**
@@ -82,28 +131,15 @@ public class FacturaRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Factura> findByUsuario(int idUsuario) throws SQLException {
-        List<Factura> facturas = new ArrayList<>();
-        String query = "SELECT id_factura, id_usuario, id_servicio, id_cita, total, fecha_factura FROM FACTURA WHERE id_usuario = ? ORDER BY fecha_factura DESC";
-
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_FIND_BY_USUARIO)) {
 
             stmt.setInt(1, idUsuario);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Factura factura = new Factura();
-                    factura.setIdFactura(rs.getInt("id_factura"));
-                    factura.setIdUsuario(rs.getInt("id_usuario"));
-                    factura.setIdServicio(rs.getInt("id_servicio"));
-                    factura.setIdCita(rs.getInt("id_cita"));
-                    factura.setTotal(rs.getFloat("total"));
-                    factura.setFechaFactura(rs.getDate("fecha_factura").toLocalDate());
-                    facturas.add(factura);
-                }
+                return MAPPER.list(rs);
             }
         }
-        return facturas;
     }
 
     /**
@@ -113,16 +149,10 @@ public class FacturaRepository {
      * @throws SQLException Error en la inserción
      */
     public int save(Factura factura) throws SQLException {
-        String query = "INSERT INTO FACTURA (id_usuario, id_servicio, id_cita, total, fecha_factura) VALUES (?, ?, ?, ?, ?)";
-
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setInt(1, factura.getIdUsuario());
-            stmt.setInt(2, factura.getIdServicio());
-            stmt.setInt(3, factura.getIdCita());
-            stmt.setFloat(4, factura.getTotal());
-            stmt.setDate(5, Date.valueOf(factura.getFechaFactura()));
+            bindInsert(stmt, factura);
 
             int affectedRows = stmt.executeUpdate();
 
@@ -141,6 +171,24 @@ public class FacturaRepository {
         }
     }
 
+    /**
+     * Guarda varias facturas en una sola transacción usando addBatch/executeBatch
+     * @param facturas Facturas a guardar
+     * @return IDs generados, en el mismo orden que la lista
+     * @throws SQLException Error en la inserción (no se guarda ninguna)
+     */
+    public List<Integer> saveAll(List<Factura> facturas) throws SQLException {
+        return JdbcBatch.insertAll(INSERT, facturas, FacturaRepository::bindInsert);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Factura factura) throws SQLException {
+        stmt.setInt(1, factura.getIdUsuario());
+        stmt.setInt(2, factura.getIdServicio());
+        stmt.setInt(3, factura.getIdCita());
+        stmt.setFloat(4, factura.getTotal());
+        stmt.setDate(5, Date.valueOf(factura.getFechaFactura()));
+    }
+
     /**
      * Actualiza una factura existente
      * @param factura Factura con los datos actualizados
@@ -183,4 +231,4 @@ public class FacturaRepository {
             return affectedRows > 0;
         }
     }
-}
\ No newline at end of file
+}
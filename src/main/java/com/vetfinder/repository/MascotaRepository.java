@@ -2,14 +2,21 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Mascota;
-
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.JdbcBatch;
+import com.vetfinder.util.JdbcIn;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowCallback;
+import com.vetfinder.util.RowMapper;
+
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Date;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +24,9 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para mascotas
  */
 public class MascotaRepository {
+    private static final RowMapper<Mascota> MAPPER = RowMapper.of(Mascota.class);
+    public static final String SQL_FIND_BY_USUARIO = "SELECT id_mascota, nombre, raza, fecha_nacimiento, id_sexo, id_usuario FROM MASCOTA WHERE id_usuario = ? ORDER BY nombre";
+    private static final String INSERT = "INSERT INTO MASCOTA (nombre, raza, fecha_nacimiento, id_sexo, id_usuario) VALUES (?, ?, ?, ?, ?)";
 
     /**
      * Obtiene todas las mascotas de la base de datos
@@ -24,25 +34,76 @@ public class MascotaRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Mascota> findAll() throws SQLException {
-        List<Mascota> mascotas = new ArrayList<>();
         String query = "SELECT id_mascota, nombre, raza, fecha_nacimiento, id_sexo, id_usuario FROM MASCOTA ORDER BY nombre";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Mascota mascota = new Mascota();
-                mascota.setIdMascota(rs.getInt("id_mascota"));
-                mascota.setNombre(rs.getString("nombre"));
-                mascota.setRaza(rs.getString("raza"));
-                mascota.setFechaNacimiento(rs.getDate("fecha_nacimiento").toLocalDate());
-                mascota.setIdSexo(rs.getInt("id_sexo"));
-                mascota.setIdUsuario(rs.getInt("id_usuario"));
-                mascotas.add(mascota);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de mascotas usando paginación por cursor (keyset)
+     * Ordenada por (nombre, id_mascota)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de mascotas en la página
+     * @return Página de mascotas con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Mascota> findPage(String after, int limit) throws SQLException {
+        List<Mascota> mascotas;
+        String query = sqlFindPage(after != null);
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setString(index++, cursor.getString(0));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                mascotas = MAPPER.list(rs);
+            }
+        }
+        return Pagina.of(mascotas, limit, m -> Cursor.encode(m.getNombre(), m.getIdMascota()));
+    }
+
+    /**
+     * Sentencia de findPage: primera página o siguiente a un cursor (nombre, id_mascota)
+     */
+    public static String sqlFindPage(boolean conCursor) {
+        return "SELECT id_mascota, nombre, raza, fecha_nacimiento, id_sexo, id_usuario FROM MASCOTA " +
+                (conCursor ? "WHERE (nombre, id_mascota) > (?, ?) " : "") +
+                "ORDER BY nombre, id_mascota LIMIT ?";
+    }
+
+    /**
+     * Recorre todas las mascotas enviando cada fila al callback en cuanto se lee
+     * Usa un ResultSet forward-only de solo lectura con el fetch size de streaming,
+     * así el driver no carga la tabla completa en memoria. La conexión queda ocupada
+     * mientras dura el recorrido.
+     * @param callback Receptor de cada mascota
+     * @throws SQLException Error en la consulta
+     * @throws IOException Error del callback al escribir la fila
+     */
+    public void streamAll(RowCallback<Mascota> callback) throws SQLException, IOException {
+        String query = "SELECT id_mascota, nombre, raza, fecha_nacimiento, id_sexo, id_usuario FROM MASCOTA ORDER BY nombre";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(DatabaseConfig.getStreamingFetchSize());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                MAPPER.forEach(rs, callback);
             }
         }
-        return mascotas;
     }
 
     /**
@@ -52,7 +113,6 @@ public class MascotaRepository {
      * @throws SQLException Error en la consulta
      */
     public Mascota findById(int idMascota) throws SQLException {
-        Mascota mascota = null;
         String query = "SELECT id_mascota, nombre, raza, fecha_nacimiento, id_sexo, id_usuario FROM MASCOTA WHERE id_mascota = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -61,18 +121,19 @@ public class MascotaRepository {
             stmt.setInt(1, idMascota);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    mascota = new Mascota();
-                    mascota.setIdMascota(rs.getInt("id_mascota"));
-                    mascota.setNombre(rs.getString("nombre"));
-                    mascota.setRaza(rs.getString("raza"));
-                    mascota.setFechaNacimiento(rs.getDate("fecha_nacimiento").toLocalDate());
-                    mascota.setIdSexo(rs.getInt("id_sexo"));
-                    mascota.setIdUsuario(rs.getInt("id_usuario"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return mascota;
+    }
+
+    /**
+     * Busca varias mascotas por ID con una sola consulta (WHERE id_mascota IN (...))
+     * @param ids IDs a buscar
+     * @return Mascotas encontradas ordenadas por ID; los IDs inexistentes se omiten
+     * @throws SQLException Error en la consulta
+     */
+    public List<Mascota> findByIds(Collection<Integer> ids) throws SQLException {
+        return JdbcIn.findByIds("SELECT id_mascota, nombre, raza, fecha_nacimiento, id_sexo, id_usuario FROM MASCOTA", "id_mascota", ids, MAPPER);
     }
 
     /**
@@ -82,28 +143,15 @@ public class MascotaRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Mascota> findByUsuario(int idUsuario) throws SQLException {
-        List<Mascota> mascotas = new ArrayList<>();
-        String query = "SELECT id_mascota, nombre, raza, fecha_nacimiento, id_sexo, id_usuario FROM MASCOTA WHERE id_usuario = ? ORDER BY nombre";
-
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_FIND_BY_USUARIO)) {
 
             stmt.setInt(1, idUsuario);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Mascota mascota = new Mascota();
-                    mascota.setIdMascota(rs.getInt("id_mascota"));
-                    mascota.setNombre(rs.getString("nombre"));
-                    mascota.setRaza(rs.getString("raza"));
-                    mascota.setFechaNacimiento(rs.getDate("fecha_nacimiento").toLocalDate());
-                    mascota.setIdSexo(rs.getInt("id_sexo"));
-                    mascota.setIdUsuario(rs.getInt("id_usuario"));
-                    mascotas.add(mascota);
-                }
+                return MAPPER.list(rs);
             }
         }
-        return mascotas;
     }
 
     /**
@@ -113,16 +161,10 @@ public class MascotaRepository {
      * @throws SQLException Error en la inserción
      */
     public int save(Mascota mascota) throws SQLException {
-        String query = "INSERT INTO MASCOTA (nombre, raza, fecha_nacimiento, id_sexo, id_usuario) VALUES (?, ?, ?, ?, ?)";
-
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setString(1, mascota.getNombre());
-            stmt.setString(2, mascota.getRaza());
-            stmt.setDate(3, Date.valueOf(mascota.getFechaNacimiento()));
-            stmt.setInt(4, mascota.getIdSexo());
-            stmt.setInt(5, mascota.getIdUsuario());
+            bindInsert(stmt, mascota);
 
             int affectedRows = stmt.executeUpdate();
 
@@ -141,6 +183,24 @@ public class MascotaRepository {
         }
     }
 
+    /**
+     * Guarda varias mascotas en una sola transacción usando addBatch/executeBatch
+     * @param mascotas Mascotas a guardar
+     * @return IDs generados, en el mismo orden que la lista
+     * @throws SQLException Error en la inserción (no se guarda ninguna)
+     */
+    public List<Integer> saveAll(List<Mascota> mascotas) throws SQLException {
+        return JdbcBatch.insertAll(INSERT, mascotas, MascotaRepository::bindInsert);
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Mascota mascota) throws SQLException {
+        stmt.setString(1, mascota.getNombre());
+        stmt.setString(2, mascota.getRaza());
+        stmt.setDate(3, Date.valueOf(mascota.getFechaNacimiento()));
+        stmt.setInt(4, mascota.getIdSexo());
+        stmt.setInt(5, mascota.getIdUsuario());
+    }
+
     /**
      * Actualiza una mascota existente
      * @param mascota Mascota con los datos actualizados
@@ -183,4 +243,4 @@ public class MascotaRepository {
             return affectedRows > 0;
         }
     }
-}
\ No newline at end of file
+}
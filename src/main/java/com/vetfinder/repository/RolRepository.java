@@ -2,13 +2,15 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Rol;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowMapper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,6 +18,7 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para roles
  */
 public class RolRepository {
+    private static final RowMapper<Rol> MAPPER = RowMapper.of(Rol.class);
 
     /**
      * Obtiene todos los roles de la base de datos
@@ -23,21 +26,46 @@ public class RolRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Rol> findAll() throws SQLException {
-        List<Rol> roles = new ArrayList<>();
         String query = "SELECT id_rol, nombre FROM ROL ORDER BY nombre";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Rol rol = new Rol();
-                rol.setIdRol(rs.getInt("id_rol"));
-                rol.setNombre(rs.getString("nombre"));
-                roles.add(rol);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de roles usando paginación por cursor (keyset)
+     * Ordenada por (nombre, id_rol)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de roles en la página
+     * @return Página de roles con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Rol> findPage(String after, int limit) throws SQLException {
+        List<Rol> roles;
+        String query = "SELECT id_rol, nombre FROM ROL " +
+                (after != null ? "WHERE (nombre, id_rol) > (?, ?) " : "") +
+                "ORDER BY nombre, id_rol LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setString(index++, cursor.getString(0));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                roles = MAPPER.list(rs);
             }
         }
-        return roles;
+        return Pagina.of(roles, limit, r -> Cursor.encode(r.getNombre(), r.getIdRol()));
     }
 
     /**
@@ -47,7 +75,6 @@ public class RolRepository {
      * @throws SQLException Error en la consulta
      */
     public Rol findById(int idRol) throws SQLException {
-        Rol rol = null;
         String query = "SELECT id_rol, nombre FROM ROL WHERE id_rol = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -56,14 +83,9 @@ public class RolRepository {
             stmt.setInt(1, idRol);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    rol = new Rol();
-                    rol.setIdRol(rs.getInt("id_rol"));
-                    rol.setNombre(rs.getString("nombre"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return rol;
     }
 
     /**
@@ -135,4 +157,4 @@ public class RolRepository {
             return affectedRows > 0;
         }
     }
-}
\ No newline at end of file
+}
@@ -2,13 +2,15 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Servicio;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowMapper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,6 +18,7 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para servicios
  */
 public class ServicioRepository {
+    private static final RowMapper<Servicio> MAPPER = RowMapper.of(Servicio.class);
 
     /**
      * Obtiene todos los servicios de la base de datos
@@ -23,22 +26,46 @@ public class ServicioRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Servicio> findAll() throws SQLException {
-        List<Servicio> servicios = new ArrayList<>();
         String query = "SELECT id_servicio, nombre, precio FROM SERVICIO ORDER BY nombre";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Servicio servicio = new Servicio();
-                servicio.setIdServicio(rs.getInt("id_servicio"));
-                servicio.setNombre(rs.getString("nombre"));
-                servicio.setPrecio(rs.getFloat("precio"));
-                servicios.add(servicio);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de servicios usando paginación por cursor (keyset)
+     * Ordenada por (nombre, id_servicio)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de servicios en la página
+     * @return Página de servicios con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Servicio> findPage(String after, int limit) throws SQLException {
+        List<Servicio> servicios;
+        String query = "SELECT id_servicio, nombre, precio FROM SERVICIO " +
+                (after != null ? "WHERE (nombre, id_servicio) > (?, ?) " : "") +
+                "ORDER BY nombre, id_servicio LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setString(index++, cursor.getString(0));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                servicios = MAPPER.list(rs);
             }
         }
-        return servicios;
+        return Pagina.of(servicios, limit, s -> Cursor.encode(s.getNombre(), s.getIdServicio()));
     }
 
     /**
@@ -48,7 +75,6 @@ public class ServicioRepository {
      * @throws SQLException Error en la consulta
      */
     public Servicio findById(int idServicio) throws SQLException {
-        Servicio servicio = null;
         String query = "SELECT id_servicio, nombre, precio FROM SERVICIO WHERE id_servicio = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -57,15 +83,9 @@ public class ServicioRepository {
             stmt.setInt(1, idServicio);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    servicio = new Servicio();
-                    servicio.setIdServicio(rs.getInt("id_servicio"));
-                    servicio.setNombre(rs.getString("nombre"));
-                    servicio.setPrecio(rs.getFloat("precio"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return servicio;
     }
 
     /**
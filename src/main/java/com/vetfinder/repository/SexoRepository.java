@@ -2,13 +2,15 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Sexo;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowMapper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,6 +18,7 @@ import java.util.List;
  * Maneja todas las interacciones con la base de datos para sexos
  */
 public class SexoRepository {
+    private static final RowMapper<Sexo> MAPPER = RowMapper.of(Sexo.class);
 
     /**
      * Obtiene todos los sexos de la base de datos
@@ -23,21 +26,46 @@ public class SexoRepository {
      * @throws SQLException Error en la consulta
      */
     public List<Sexo> findAll() throws SQLException {
-        List<Sexo> sexos = new ArrayList<>();
         String query = "SELECT id_sexo, nombre FROM SEXO ORDER BY nombre";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Sexo sexo = new Sexo();
-                sexo.setIdSexo(rs.getInt("id_sexo"));
-                sexo.setNombre(rs.getString("nombre"));
-                sexos.add(sexo);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de sexos usando paginación por cursor (keyset)
+     * Ordenada por (nombre, id_sexo)
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de sexos en la página
+     * @return Página de sexos con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Sexo> findPage(String after, int limit) throws SQLException {
+        List<Sexo> sexos;
+        String query = "SELECT id_sexo, nombre FROM SEXO " +
+                (after != null ? "WHERE (nombre, id_sexo) > (?, ?) " : "") +
+                "ORDER BY nombre, id_sexo LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setString(index++, cursor.getString(0));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                sexos = MAPPER.list(rs);
             }
         }
-        return sexos;
+        return Pagina.of(sexos, limit, s -> Cursor.encode(s.getNombre(), s.getIdSexo()));
     }
 
     /**
@@ -47,7 +75,6 @@ public class SexoRepository {
      * @throws SQLException Error en la consulta
      */
     public Sexo findById(int idSexo) throws SQLException {
-        Sexo sexo = null;
         String query = "SELECT id_sexo, nombre FROM SEXO WHERE id_sexo = ?";
 
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
@@ -56,14 +83,9 @@ public class SexoRepository {
             stmt.setInt(1, idSexo);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    sexo = new Sexo();
-                    sexo.setIdSexo(rs.getInt("id_sexo"));
-                    sexo.setNombre(rs.getString("nombre"));
-                }
+                return MAPPER.first(rs);
             }
         }
-        return sexo;
     }
 
     /**
@@ -2,6 +2,10 @@ package com.vetfinder.repository;
 
 import com.vetfinder.config.DatabaseConfig;
 import com.vetfinder.model.Usuario;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.JdbcIn;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowMapper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -9,7 +13,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Date;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,12 +21,20 @@ import java.util.List;
  * MODIFICADO: Solo el mapeo de telefono que causaba colgamientos
  */
 public class UsuarioRepository {
+    private static final RowMapper<Usuario> MAPPER = RowMapper.of(Usuario.class);
+    private static final String SELECT_SIN_CONTRASENA = "SELECT id_usuario, nombre, apellidos, fecha_nacimiento, correo, " +
+            "telefono, descripcion, cedula, id_direccion, id_rol FROM USUARIO";
+
+    public static final String SQL_FIND_BY_ROL = "SELECT id_usuario, nombre, apellidos, fecha_nacimiento, correo, contrasena, " +
+            "telefono, descripcion, cedula, id_direccion, id_rol FROM USUARIO WHERE id_rol = ? ORDER BY nombre";
+    public static final String SQL_FIND_BY_CORREO = "SELECT id_usuario, nombre, apellidos, fecha_nacimiento, correo, contrasena, " +
+            "telefono, descripcion, cedula, id_direccion, id_rol FROM USUARIO WHERE correo = ?";
+    public static final String SQL_FIND_CREDENCIALES = "SELECT id_usuario, nombre, apellidos, correo, contrasena, id_rol FROM USUARIO WHERE correo = ?";
 
     /**
      * Obtiene todos los usuarios de la base de datos - SIN MODIFICACIONES
      */
     public List<Usuario> findAll() throws SQLException {
-        List<Usuario> usuarios = new ArrayList<>();
         String query = "SELECT id_usuario, nombre, apellidos, fecha_nacimiento, correo, contrasena, " +
                 "telefono, descripcion, cedula, id_direccion, id_rol FROM USUARIO ORDER BY nombre";
 
@@ -30,19 +42,60 @@ public class UsuarioRepository {
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Usuario usuario = mapResultSetToUsuario(rs);
-                usuarios.add(usuario);
+            return MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Obtiene una página de usuarios usando paginación por cursor (keyset)
+     * Ordenada por (nombre, id_usuario); la contraseña no se lee
+     * @param after Cursor devuelto por la página anterior o null para la primera página
+     * @param limit Número máximo de usuarios en la página
+     * @return Página de usuarios con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Usuario> findPage(String after, int limit) throws SQLException {
+        List<Usuario> usuarios;
+        String query = sqlFindPage(after != null);
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                Cursor cursor = Cursor.decode(after, 2);
+                stmt.setString(index++, cursor.getString(0));
+                stmt.setInt(index++, cursor.getInt(1));
+            }
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                usuarios = MAPPER.list(rs);
             }
         }
-        return usuarios;
+        return Pagina.of(usuarios, limit, u -> Cursor.encode(u.getNombre(), u.getIdUsuario()));
+    }
+
+    /**
+     * Sentencia de findPage: primera página o siguiente a un cursor (nombre, id_usuario)
+     */
+    public static String sqlFindPage(boolean conCursor) {
+        return SELECT_SIN_CONTRASENA + " " +
+                (conCursor ? "WHERE (nombre, id_usuario) > (?, ?) " : "") +
+                "ORDER BY nombre, id_usuario LIMIT ?";
+    }
+
+    /**
+     * Sentencia de findByIds para un bloque de IDs
+     */
+    public static String sqlFindByIds(int cantidad) {
+        return JdbcIn.sql(SELECT_SIN_CONTRASENA, "id_usuario", cantidad);
     }
 
     /**
      * Busca un usuario por su ID - SIN MODIFICACIONES
      */
     public Usuario findById(int idUsuario) throws SQLException {
-        Usuario usuario = null;
         String query = "SELECT id_usuario, nombre, apellidos, fecha_nacimiento, correo, contrasena, " +
                 "telefono, descripcion, cedula, id_direccion, id_rol FROM USUARIO WHERE id_usuario = ?";
 
@@ -52,57 +105,83 @@ public class UsuarioRepository {
             stmt.setInt(1, idUsuario);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    usuario = mapResultSetToUsuario(rs);
-                }
+                return MAPPER.first(rs);
             }
         }
-        return usuario;
+    }
+
+    /**
+     * Busca varios usuarios por ID con una sola consulta (WHERE id_usuario IN (...))
+     * @param ids IDs a buscar
+     * @return Usuarios encontrados ordenados por ID (sin contraseña); los IDs inexistentes se omiten
+     * @throws SQLException Error en la consulta
+     */
+    public List<Usuario> findByIds(Collection<Integer> ids) throws SQLException {
+        return JdbcIn.findByIds(SELECT_SIN_CONTRASENA, "id_usuario", ids, MAPPER);
     }
 
     /**
      * Busca usuarios por rol - SIN MODIFICACIONES
      */
     public List<Usuario> findByRol(int idRol) throws SQLException {
-        List<Usuario> usuarios = new ArrayList<>();
-        String query = "SELECT id_usuario, nombre, apellidos, fecha_nacimiento, correo, contrasena, " +
-                "telefono, descripcion, cedula, id_direccion, id_rol FROM USUARIO WHERE id_rol = ? ORDER BY nombre";
-
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_FIND_BY_ROL)) {
 
             stmt.setInt(1, idRol);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Usuario usuario = mapResultSetToUsuario(rs);
-                    usuarios.add(usuario);
-                }
+                return MAPPER.list(rs);
             }
         }
-        return usuarios;
     }
 
     /**
      * Busca un usuario por correo electrónico - SIN MODIFICACIONES
      */
     public Usuario findByCorreo(String correo) throws SQLException {
-        Usuario usuario = null;
-        String query = "SELECT id_usuario, nombre, apellidos, fecha_nacimiento, correo, contrasena, " +
-                "telefono, descripcion, cedula, id_direccion, id_rol FROM USUARIO WHERE correo = ?";
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_FIND_BY_CORREO)) {
+
+            stmt.setString(1, correo);
 
+            try (ResultSet rs = stmt.executeQuery()) {
+                return MAPPER.first(rs);
+            }
+        }
+    }
+
+    /**
+     * Datos necesarios para el login: identidad, rol y contraseña, sin descripción, teléfono ni dirección
+     * @param correo Correo del usuario
+     * @return Usuario con id, nombre, apellidos, correo, contraseña y rol, o null si no existe
+     */
+    public Usuario findCredenciales(String correo) throws SQLException {
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_FIND_CREDENCIALES)) {
 
             stmt.setString(1, correo);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    usuario = mapResultSetToUsuario(rs);
-                }
+                return MAPPER.first(rs);
+            }
+        }
+    }
+
+    /**
+     * Rol vigente de un usuario, sin leer el resto de la fila
+     * @param idUsuario ID del usuario
+     * @return ID del rol, o null si el usuario no existe
+     */
+    public Integer findIdRol(int idUsuario) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT id_rol FROM USUARIO WHERE id_usuario = ?")) {
+
+            stmt.setInt(1, idUsuario);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
             }
         }
-        return usuario;
     }
 
     // MANTENER todos los otros métodos (save, update, delete) SIN MODIFICACIONES
@@ -228,50 +307,4 @@ public class UsuarioRepository {
             return affectedRows > 0;
         }
     }
-
-    /**
-     * MODIFICADO: Mapeo corregido para evitar colgamientos con telefono BIGINT
-     */
-    private Usuario mapResultSetToUsuario(ResultSet rs) throws SQLException {
-        try {
-            Usuario usuario = new Usuario();
-            usuario.setIdUsuario(rs.getInt("id_usuario"));
-            usuario.setNombre(rs.getString("nombre"));
-            usuario.setApellidos(rs.getString("apellidos"));
-            usuario.setFechaNacimiento(rs.getDate("fecha_nacimiento").toLocalDate());
-            usuario.setCorreo(rs.getString("correo"));
-            usuario.setContrasena(rs.getString("contrasena"));
-
-            // CORREGIDO: Manejo seguro de telefono BIGINT para evitar colgamientos
-            try {
-                long telefono = rs.getLong("telefono");
-                if (rs.wasNull()) {
-                    usuario.setTelefono(0);
-                } else {
-                    usuario.setTelefono(telefono);
-                }
-            } catch (SQLException e) {
-                System.err.println("Error al mapear telefono: " + e.getMessage());
-                usuario.setTelefono(0); // Valor por defecto seguro
-            }
-
-            // Manejar campos nullable de forma segura
-            usuario.setDescripcion(rs.getString("descripcion")); // Puede ser null para tutores
-
-            int cedula = rs.getInt("cedula");
-            usuario.setCedula(rs.wasNull() ? 0 : cedula);
-
-            int idDireccion = rs.getInt("id_direccion");
-            usuario.setIdDireccion(rs.wasNull() ? 0 : idDireccion);
-
-            usuario.setIdRol(rs.getInt("id_rol"));
-
-            return usuario;
-
-        } catch (Exception e) {
-            System.err.println("Error al mapear usuario: " + e.getMessage());
-            e.printStackTrace();
-            throw new SQLException("Error al mapear datos de usuario", e);
-        }
-    }
-}
\ No newline at end of file
+}
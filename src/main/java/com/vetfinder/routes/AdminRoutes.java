@@ -0,0 +1,39 @@
+package com.vetfinder.routes;
+
+import io.javalin.Javalin;
+import com.vetfinder.config.AppConfig;
+import com.vetfinder.controller.AdminController;
+
+/**
+ * Configuración de rutas de administración
+ * Define los endpoints de mantenimiento de la API (cachés, acumulados y agenda)
+ * Recargar o reconstruir recorre tablas completas, así que solo se registran con
+ * ADMIN_ENDPOINTS_ENABLED=true (por defecto false)
+ */
+public class AdminRoutes {
+    private final AdminController adminController;
+
+    public AdminRoutes(AdminController adminController) {
+        this.adminController = adminController;
+    }
+
+    /**
+     * Registra todas las rutas de administración
+     * @param app Instancia de Javalin
+     */
+    public void register(Javalin app) {
+        if (!AppConfig.getBoolean("ADMIN_ENDPOINTS_ENABLED", false)) {
+            System.out.println("Endpoints de administración deshabilitados (ADMIN_ENDPOINTS_ENABLED=false)");
+            return;
+        }
+
+        // POST /api/admin/cache/refresh - Recargar cachés de catálogos (?nombre= para una sola)
+        app.post("/api/admin/cache/refresh", adminController::refreshCache);
+
+        // POST /api/admin/estadisticas/rebuild - Reconstruir acumulados de estadísticas
+        app.post("/api/admin/estadisticas/rebuild", adminController::rebuildEstadisticas);
+
+        // POST /api/admin/disponibilidad/rebuild - Recargar la agenda de horarios ocupados
+        app.post("/api/admin/disponibilidad/rebuild", adminController::rebuildDisponibilidad);
+    }
+}
@@ -20,15 +20,18 @@ public class CitaRoutes {
      */
     public void register(Javalin app) {
         // ========== ENDPOINTS BÁSICOS CRUD ==========
-        app.get("/api/citas", citaController::getAll);                    // Obtener todas las citas
+        app.get("/api/citas", citaController::getAll);                    // Obtener todas las citas (?ids=1,2,3 para varias por ID, &incluir=relaciones)
         app.get("/api/citas/{id}", citaController::getById);              // Obtener cita por ID
         app.post("/api/citas", citaController::create);                   // Crear cita
+        app.post("/api/citas/batch", citaController::createBatch);        // Crear varias citas en una transacción
         app.put("/api/citas/{id}", citaController::update);               // Actualizar cita
         app.delete("/api/citas/{id}", citaController::delete);            // Eliminar cita
 
         // ========== ENDPOINTS ADICIONALES ESPECÍFICOS ==========
-        app.get("/api/mascotas/{mascotaId}/citas", citaController::getByMascota);           // Citas de una mascota específica
-        app.get("/api/veterinarios/{veterinarioId}/citas", citaController::getByVeterinario);   // Citas de un veterinario específico
+        app.get("/api/mascotas/{mascotaId}/citas", citaController::getByMascota);           // Citas de una mascota específica (?desde=&hasta=&estado=&idServicio=&incluir=relaciones)
+        app.get("/api/veterinarios/{veterinarioId}/citas", citaController::getByVeterinario);   // Citas de un veterinario específico (?desde=&hasta=&estado=&idServicio=&incluir=relaciones)
+        app.get("/api/veterinarios/{veterinarioId}/disponibilidad", citaController::getDisponibilidad);   // Horarios libres (?desde=&hasta=)
+        app.get("/api/veterinarios/{veterinarioId}/agenda", citaController::getAgenda);    // Agenda con mascota, tutor y servicio (?fecha= o ?desde=&hasta=)
         app.patch("/api/citas/{id}/estado", citaController::updateEstado);                 // Actualizar solo el estado de una cita
     }
 }
\ No newline at end of file
@@ -20,7 +20,7 @@ public class DatoVeterinarioRoutes {
      */
     public void register(Javalin app) {
         // ========== ENDPOINTS BÁSICOS CRUD ==========
-        app.get("/api/datos-veterinarios", datoVeterinarioController::getAll);                    // Obtener todos los datos veterinarios
+        app.get("/api/datos-veterinarios", datoVeterinarioController::getAll);                    // Obtener todos los datos veterinarios (?ids=1,2,3 para varios por ID)
         app.get("/api/datos-veterinarios/{id}", datoVeterinarioController::getById);              // Obtener dato veterinario por ID
         app.post("/api/datos-veterinarios", datoVeterinarioController::create);                   // Crear dato veterinario
         app.put("/api/datos-veterinarios/{id}", datoVeterinarioController::update);               // Actualizar dato veterinario
@@ -0,0 +1,24 @@
+package com.vetfinder.routes;
+
+import io.javalin.Javalin;
+import com.vetfinder.controller.DisponibilidadController;
+
+/**
+ * Configuración de rutas de búsqueda de disponibilidad
+ */
+public class DisponibilidadRoutes {
+    private final DisponibilidadController disponibilidadController;
+
+    public DisponibilidadRoutes(DisponibilidadController disponibilidadController) {
+        this.disponibilidadController = disponibilidadController;
+    }
+
+    /**
+     * Registra las rutas de disponibilidad
+     * @param app Instancia de Javalin
+     */
+    public void register(Javalin app) {
+        // GET /api/especialidades/{especialidadId}/disponibilidad - Próximos K turnos libres (?k=&desde=&hasta=)
+        app.get("/api/especialidades/{especialidadId}/disponibilidad", disponibilidadController::getProximosPorEspecialidad);
+    }
+}
@@ -23,6 +23,7 @@ public class FacturaRoutes {
         app.get("/api/facturas", facturaController::getAll);                    // Obtener todas las facturas
         app.get("/api/facturas/{id}", facturaController::getById);              // Obtener factura por ID
         app.post("/api/facturas", facturaController::create);                   // Crear factura
+        app.post("/api/facturas/batch", facturaController::createBatch);        // Crear varias facturas en una transacción
         app.put("/api/facturas/{id}", facturaController::update);               // Actualizar factura
         app.delete("/api/facturas/{id}", facturaController::delete);            // Eliminar factura
 
@@ -20,9 +20,10 @@ public class MascotaRoutes {
      */
     public void register(Javalin app) {
         // ========== ENDPOINTS BÁSICOS CRUD ==========
-        app.get("/api/mascotas", mascotaController::getAll);                    // Obtener todas las mascotas
+        app.get("/api/mascotas", mascotaController::getAll);                    // Obtener todas las mascotas (?ids=1,2,3 para varias por ID)
         app.get("/api/mascotas/{id}", mascotaController::getById);              // Obtener mascota por ID
         app.post("/api/mascotas", mascotaController::create);                   // Crear mascota
+        app.post("/api/mascotas/batch", mascotaController::createBatch);        // Crear varias mascotas en una transacción
         app.put("/api/mascotas/{id}", mascotaController::update);               // Actualizar mascota
         app.delete("/api/mascotas/{id}", mascotaController::delete);            // Eliminar mascota
 
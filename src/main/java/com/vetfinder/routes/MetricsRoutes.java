@@ -0,0 +1,25 @@
+package com.vetfinder.routes;
+
+import io.javalin.Javalin;
+import com.vetfinder.controller.MetricsController;
+
+/**
+ * Configuración de la ruta de métricas
+ * Expone GET /metrics fuera de /api para que lo consulte Prometheus
+ */
+public class MetricsRoutes {
+    private final MetricsController metricsController;
+
+    public MetricsRoutes(MetricsController metricsController) {
+        this.metricsController = metricsController;
+    }
+
+    /**
+     * Registra la ruta de métricas
+     * @param app Instancia de Javalin
+     */
+    public void register(Javalin app) {
+        // GET /metrics - Métricas en formato de texto de Prometheus
+        app.get("/metrics", metricsController::getMetrics);
+    }
+}
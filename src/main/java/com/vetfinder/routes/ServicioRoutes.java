@@ -20,7 +20,7 @@ public class ServicioRoutes {
      */
     public void register(Javalin app) {
         // ========== ENDPOINTS BÁSICOS CRUD ==========
-        app.get("/api/servicios", servicioController::getAll);                    // Obtener todos los servicios
+        app.get("/api/servicios", servicioController::getAll);                    // Obtener todos los servicios (?ids=1,2,3 para varios por ID)
         app.get("/api/servicios/{id}", servicioController::getById);              // Obtener servicio por ID
         app.post("/api/servicios", servicioController::create);                   // Crear servicio
         app.put("/api/servicios/{id}", servicioController::update);               // Actualizar servicio
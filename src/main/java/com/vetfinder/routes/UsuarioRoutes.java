@@ -24,11 +24,12 @@ public class UsuarioRoutes {
         app.get("/api/usuarios/veterinarios", usuarioController::getVeterinarios);     // DEBE IR ANTES que /{id}
         app.get("/api/usuarios/tutores", usuarioController::getTutores);               // DEBE IR ANTES que /{id}
         app.post("/api/usuarios/login", usuarioController::login);                     // DEBE IR ANTES que /{id}
+        app.get("/api/usuarios/sesion", usuarioController::getSesion);                 // Sesión del token (sin consultar la base)
         app.post("/api/usuarios/veterinario", usuarioController::createVeterinario);   // DEBE IR ANTES que /{id}
         app.post("/api/usuarios/tutor", usuarioController::createTutor);               // DEBE IR ANTES que /{id}
 
         // ========== RUTAS BÁSICAS CRUD (CON PARÁMETROS) ==========
-        app.get("/api/usuarios", usuarioController::getAll);                    // Obtener todos los usuarios
+        app.get("/api/usuarios", usuarioController::getAll);                    // Obtener todos los usuarios (?ids=1,2,3 para varios por ID)
         app.get("/api/usuarios/{id}", usuarioController::getById);              // Obtener usuario por ID - DESPUÉS de las específicas
         app.post("/api/usuarios", usuarioController::create);                   // Crear usuario genérico
         app.put("/api/usuarios/{id}", usuarioController::update);               // Actualizar usuario
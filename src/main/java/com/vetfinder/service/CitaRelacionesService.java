@@ -0,0 +1,71 @@
+package com.vetfinder.service;
+
+import com.vetfinder.cache.BatchLoader;
+import com.vetfinder.model.Cita;
+import com.vetfinder.model.CitasRelacionadas;
+import com.vetfinder.model.DatoVeterinario;
+import com.vetfinder.model.Mascota;
+import com.vetfinder.model.Servicio;
+import com.vetfinder.model.Usuario;
+import com.vetfinder.repository.DatoVeterinarioRepository;
+import com.vetfinder.repository.MascotaRepository;
+import com.vetfinder.repository.UsuarioRepository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Resuelve las relaciones de una lista de citas sin consultas N+1
+ * Cada llamada crea sus propios BatchLoader: primero junta los IDs de mascotas, servicios y
+ * veterinarios de todas las citas y los resuelve con una consulta por tabla (los servicios salen
+ * del catálogo en memoria); después hace lo mismo con los usuarios (tutores y veterinarios).
+ * Son como máximo cuatro consultas sin importar cuántas citas haya.
+ */
+public class CitaRelacionesService {
+    private final MascotaRepository mascotaRepository;
+    private final DatoVeterinarioRepository datoVeterinarioRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final ServicioService servicioService;
+
+    public CitaRelacionesService(MascotaRepository mascotaRepository, DatoVeterinarioRepository datoVeterinarioRepository,
+                                 UsuarioRepository usuarioRepository, ServicioService servicioService) {
+        this.mascotaRepository = mascotaRepository;
+        this.datoVeterinarioRepository = datoVeterinarioRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.servicioService = servicioService;
+    }
+
+    /**
+     * Agrega a las citas las mascotas, servicios, veterinarios y usuarios que referencian
+     * @param citas Citas ya consultadas
+     * @return Citas con sus relaciones
+     * @throws SQLException Error en las consultas
+     */
+    public CitasRelacionadas relacionar(List<Cita> citas) throws SQLException {
+        BatchLoader<Mascota> mascotas = new BatchLoader<>(mascotaRepository::findByIds, Mascota::getIdMascota);
+        BatchLoader<Servicio> servicios = new BatchLoader<>(servicioService::getServiciosByIds, Servicio::getIdServicio);
+        BatchLoader<DatoVeterinario> veterinarios = new BatchLoader<>(
+                datoVeterinarioRepository::findByIds, DatoVeterinario::getIdDatoVeterinario);
+        BatchLoader<Usuario> usuarios = new BatchLoader<>(usuarioRepository::findByIds, Usuario::getIdUsuario);
+
+        for (Cita cita : citas) {
+            mascotas.pedir(cita.getIdMascota());
+            servicios.pedir(cita.getIdServicio());
+            veterinarios.pedir(cita.getIdDatoVeterinario());
+        }
+        mascotas.despachar();
+        servicios.despachar();
+        veterinarios.despachar();
+
+        for (Mascota mascota : mascotas.cargados()) {
+            usuarios.pedir(mascota.getIdUsuario());
+        }
+        for (DatoVeterinario veterinario : veterinarios.cargados()) {
+            usuarios.pedir(veterinario.getIdUsuario());
+        }
+        usuarios.despachar();
+
+        return new CitasRelacionadas(citas, mascotas.cargados(), servicios.cargados(),
+                veterinarios.cargados(), usuarios.cargados());
+    }
+}
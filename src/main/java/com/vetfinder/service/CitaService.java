@@ -1,11 +1,27 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.AgendaDisponibilidad;
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.EstadisticasRollup;
+import com.vetfinder.cache.SingleFlight;
+import com.vetfinder.model.AgendaCita;
 import com.vetfinder.model.Cita;
+import com.vetfinder.model.Disponibilidad;
 import com.vetfinder.repository.CitaRepository;
+import com.vetfinder.util.ConflictoException;
+import com.vetfinder.util.FiltroCitas;
+import com.vetfinder.util.JdbcBatch;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowCallback;
+import com.vetfinder.util.SqlSupplier;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Servicio para la gestión de citas
@@ -13,9 +29,20 @@ import java.util.List;
  */
 public class CitaService {
     private final CitaRepository citaRepository;
+    private final SingleFlight<Integer, Cita> porIdEnCurso = new SingleFlight<>("citas-por-id");
+    private final EstadisticasRollup estadisticasRollup;
+    private final AgendaDisponibilidad agenda;
+    // Un candado por franja de IDs: los cambios de una misma cita se hacen de a uno
+    private final ReentrantLock[] porCita = new ReentrantLock[64];
 
-    public CitaService(CitaRepository citaRepository) {
+    public CitaService(CitaRepository citaRepository, EstadisticasRollup estadisticasRollup,
+                       AgendaDisponibilidad agenda) {
         this.citaRepository = citaRepository;
+        this.estadisticasRollup = estadisticasRollup;
+        this.agenda = agenda;
+        for (int i = 0; i < porCita.length; i++) {
+            porCita[i] = new ReentrantLock();
+        }
     }
 
     /**
@@ -27,41 +54,124 @@ public class CitaService {
         return citaRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de citas paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de citas con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Cita> getCitasPaginadas(String after, int limit) throws SQLException {
+        return citaRepository.findPage(after, limit);
+    }
+
+    /**
+     * Recorre todas las citas en streaming, fila por fila
+     * @param callback Receptor de cada cita
+     * @throws SQLException Error en la consulta
+     * @throws IOException Error al escribir la fila
+     */
+    public void streamCitas(RowCallback<Cita> callback) throws SQLException, IOException {
+        citaRepository.streamAll(callback);
+    }
+
     /**
      * Obtiene una cita por su ID
+     * Las lecturas simultáneas del mismo ID comparten una sola consulta
      * @param id ID de la cita
      * @return Cita encontrada o null si no existe
      * @throws SQLException Error en la consulta
      */
     public Cita getCitaById(int id) throws SQLException {
-        return citaRepository.findById(id);
+        return porIdEnCurso.ejecutar(id, () -> citaRepository.findById(id));
+    }
+
+    /**
+     * Obtiene varias citas por ID con una sola consulta
+     * @param ids IDs a buscar
+     * @return Citas encontradas ordenadas por ID; los IDs inexistentes se omiten
+     * @throws SQLException Error en la consulta
+     */
+    public List<Cita> getCitasByIds(Collection<Integer> ids) throws SQLException {
+        return citaRepository.findByIds(ids);
     }
 
     /**
-     * Obtiene todas las citas de una mascota
+     * Obtiene las citas de una mascota, filtradas en la consulta
      * @param idMascota ID de la mascota
+     * @param filtro Rango de fechas, estado y servicio (FiltroCitas.NINGUNO = historial completo)
      * @return Lista de citas de la mascota
      * @throws SQLException Error en la consulta
      */
-    public List<Cita> getCitasByMascota(int idMascota) throws SQLException {
-        return citaRepository.findByMascota(idMascota);
+    public List<Cita> getCitasByMascota(int idMascota, FiltroCitas filtro) throws SQLException {
+        validateFiltro(filtro);
+        return citaRepository.findByMascota(idMascota, filtro);
     }
 
     /**
-     * Obtiene todas las citas de un veterinario
+     * Obtiene las citas de un veterinario, filtradas en la consulta
      * @param idDatoVeterinario ID del dato veterinario
+     * @param filtro Rango de fechas, estado y servicio (FiltroCitas.NINGUNO = historial completo)
      * @return Lista de citas del veterinario
      * @throws SQLException Error en la consulta
      */
-    public List<Cita> getCitasByVeterinario(int idDatoVeterinario) throws SQLException {
-        return citaRepository.findByVeterinario(idDatoVeterinario);
+    public List<Cita> getCitasByVeterinario(int idDatoVeterinario, FiltroCitas filtro) throws SQLException {
+        validateFiltro(filtro);
+        return citaRepository.findByVeterinario(idDatoVeterinario, filtro);
+    }
+
+    /**
+     * Obtiene los horarios libres de un veterinario entre dos fechas
+     * @param idDatoVeterinario ID del dato veterinario
+     * @param desde Primer día (null = hoy); los días pasados se omiten
+     * @param hasta Último día (null = desde + 6 días)
+     * @return Horarios libres por día
+     */
+    public List<Disponibilidad> getDisponibilidad(int idDatoVeterinario, LocalDate desde, LocalDate hasta) {
+        LocalDate hoy = LocalDate.now();
+        LocalDate inicio = desde == null || desde.isBefore(hoy) ? hoy : desde;
+        LocalDate fin = hasta != null ? hasta : inicio.plusDays(6);
+
+        if (fin.isBefore(inicio)) {
+            throw new IllegalArgumentException("La fecha 'hasta' no puede ser anterior a 'desde'");
+        }
+        if (inicio.plusDays(AgendaDisponibilidad.MAX_DIAS_CONSULTA).isBefore(fin)) {
+            throw new IllegalArgumentException("El rango no puede superar " + AgendaDisponibilidad.MAX_DIAS_CONSULTA + " días");
+        }
+        return agenda.disponibilidad(idDatoVeterinario, inicio, fin);
+    }
+
+    /**
+     * Recorre en streaming la agenda de un veterinario con mascota, tutor y servicio de cada cita
+     * @param idDatoVeterinario ID del dato veterinario
+     * @param fecha Un solo día (si viene, reemplaza a desde y hasta)
+     * @param desde Primer día (null = hoy)
+     * @param hasta Último día (null = desde + 6 días)
+     * @param callback Receptor de cada cita de la agenda
+     * @throws SQLException Error en la consulta
+     * @throws IOException Error al escribir la fila
+     */
+    public void streamAgenda(int idDatoVeterinario, LocalDate fecha, LocalDate desde, LocalDate hasta,
+                             RowCallback<AgendaCita> callback) throws SQLException, IOException {
+        LocalDate inicio = fecha != null ? fecha : desde != null ? desde : LocalDate.now();
+        LocalDate fin = fecha != null ? fecha : hasta != null ? hasta : inicio.plusDays(6);
+
+        if (fin.isBefore(inicio)) {
+            throw new IllegalArgumentException("La fecha 'hasta' no puede ser anterior a 'desde'");
+        }
+        if (inicio.plusDays(AgendaDisponibilidad.MAX_DIAS_CONSULTA).isBefore(fin)) {
+            throw new IllegalArgumentException("El rango no puede superar " + AgendaDisponibilidad.MAX_DIAS_CONSULTA + " días");
+        }
+        citaRepository.streamAgenda(idDatoVeterinario, inicio, fin, callback);
     }
 
     /**
      * Crea una nueva cita
+     * El turno se reserva en la agenda antes de insertar; si ya está ocupado la cita no llega a la base de datos
      * @param cita Cita a crear
      * @return ID de la cita creada
      * @throws SQLException Error en la inserción
+     * @throws ConflictoException Si el veterinario ya tiene ese horario ocupado
      */
     public int createCita(Cita cita) throws SQLException {
         // Validaciones básicas
@@ -72,19 +182,106 @@ public class CitaService {
             cita.setEstado("Pendiente");
         }
 
-        return citaRepository.save(cita);
+        int id = agenda.conCambios(() -> {
+            agenda.reservar(cita);
+            try {
+                return citaRepository.save(cita);
+            } catch (SQLException | RuntimeException e) {
+                agenda.liberar(cita);
+                throw e;
+            }
+        });
+        estadisticasRollup.registrar(cita);
+        EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        return id;
+    }
+
+    /**
+     * Crea varias citas en una sola transacción
+     * Se validan todas antes de insertar y se reservan sus turnos en orden; si alguno está ocupado
+     * (incluso por otra cita del mismo lote) o la inserción falla, se liberan los ya reservados y
+     * no se guarda ninguna
+     * @param citas Citas a crear
+     * @return IDs de las citas creadas, en el mismo orden que la lista
+     * @throws SQLException Error en la inserción
+     * @throws ConflictoException Si algún turno ya está ocupado
+     */
+    public List<Integer> createCitas(List<Cita> citas) throws SQLException {
+        JdbcBatch.validarLote(citas, "citas");
+        for (int i = 0; i < citas.size(); i++) {
+            Cita cita = citas.get(i);
+            try {
+                validateCita(cita);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Cita #" + (i + 1) + ": " + e.getMessage());
+            }
+            if (cita.getEstado() == null || cita.getEstado().trim().isEmpty()) {
+                cita.setEstado("Pendiente");
+            }
+        }
+
+        List<Integer> ids = agenda.conCambios(() -> {
+            List<Cita> reservadas = new ArrayList<>(citas.size());
+            try {
+                for (Cita cita : citas) {
+                    agenda.reservar(cita);
+                    reservadas.add(cita);
+                }
+                return citaRepository.saveAll(citas);
+            } catch (SQLException | RuntimeException e) {
+                reservadas.forEach(agenda::liberar);
+                throw e;
+            }
+        });
+        citas.forEach(estadisticasRollup::registrar);
+        EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        return ids;
     }
 
     /**
      * Actualiza una cita existente
+     * Si cambia de turno, el nuevo se reserva antes de actualizar y el anterior se libera después
      * @param cita Cita con los datos actualizados
      * @return true si se actualizó correctamente
      * @throws SQLException Error en la actualización
+     * @throws ConflictoException Si el nuevo horario ya está ocupado
      */
     public boolean updateCita(Cita cita) throws SQLException {
         // Validaciones básicas
         validateCita(cita);
-        return citaRepository.update(cita);
+
+        boolean updated = conCita(cita.getIdCita(), () -> {
+            // Se necesita la versión anterior para mover la cita en los acumulados de estadísticas y en la agenda
+            Cita anterior = citaRepository.findById(cita.getIdCita());
+            boolean cambiaTurno = !agenda.mismoTurno(anterior, cita);
+            if (cambiaTurno) {
+                agenda.reservar(cita);
+            }
+
+            boolean actualizada;
+            try {
+                actualizada = citaRepository.update(cita);
+            } catch (SQLException | RuntimeException e) {
+                if (cambiaTurno) {
+                    agenda.liberar(cita);
+                }
+                throw e;
+            } finally {
+                porIdEnCurso.olvidar(cita.getIdCita());
+            }
+
+            if (cambiaTurno) {
+                agenda.liberar(actualizada ? anterior : cita);
+            }
+            if (actualizada) {
+                estadisticasRollup.mover(anterior, cita);
+            }
+            return actualizada;
+        });
+        if (updated) {
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
+        return updated;
     }
 
     /**
@@ -94,7 +291,24 @@ public class CitaService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteCita(int id) throws SQLException {
-        return citaRepository.delete(id);
+        boolean deleted = conCita(id, () -> {
+            Cita anterior = citaRepository.findById(id);
+            boolean eliminada;
+            try {
+                eliminada = citaRepository.delete(id);
+            } finally {
+                porIdEnCurso.olvidar(id);
+            }
+            if (eliminada) {
+                agenda.liberar(anterior);
+                estadisticasRollup.quitar(anterior);
+            }
+            return eliminada;
+        });
+        if (deleted) {
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
+        return deleted;
     }
 
     /**
@@ -110,13 +324,63 @@ public class CitaService {
             throw new IllegalArgumentException("Estado no válido. Estados permitidos: Pendiente, Aceptada, Rechazada");
         }
 
-        Cita cita = citaRepository.findById(idCita);
-        if (cita == null) {
-            return false;
+        boolean updated = conCita(idCita, () -> {
+            Cita cita = citaRepository.findById(idCita);
+            if (cita == null) {
+                return false;
+            }
+
+            // El cambio de estado no mueve la cita de día, franja ni servicio: los acumulados no cambian.
+            // En la agenda, rechazar una cita libera su turno y reactivarla lo vuelve a reservar
+            boolean ocupaba = agenda.ocupaTurno(cita);
+            cita.setEstado(nuevoEstado);
+            boolean ocupara = agenda.ocupaTurno(cita);
+            if (!ocupaba && ocupara) {
+                agenda.reservar(cita);
+            }
+
+            boolean actualizada;
+            try {
+                actualizada = citaRepository.update(cita);
+            } catch (SQLException | RuntimeException e) {
+                if (!ocupaba && ocupara) {
+                    agenda.liberar(cita);
+                }
+                throw e;
+            } finally {
+                porIdEnCurso.olvidar(idCita);
+            }
+
+            if (actualizada && ocupaba && !ocupara) {
+                agenda.liberar(cita);
+            } else if (!actualizada && !ocupaba && ocupara) {
+                agenda.liberar(cita);
+            }
+            return actualizada;
+        });
+        if (updated) {
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
         }
+        return updated;
+    }
 
-        cita.setEstado(nuevoEstado);
-        return citaRepository.update(cita);
+    /**
+     * Ejecuta un cambio de una cita existente dentro de agenda.conCambios()
+     * Los cambios de la misma cita no se superponen: cada uno lee con findById la versión que dejó
+     * el anterior, así no se libera un turno ni se mueven acumulados desde una copia vieja
+     * @param idCita ID de la cita que se modifica
+     * @param cambio Lectura de la versión anterior, escritura y ajustes de agenda y acumulados
+     * @return Resultado del cambio
+     * @throws SQLException Error en la consulta o la escritura
+     */
+    private <T> T conCita(int idCita, SqlSupplier<T> cambio) throws SQLException {
+        ReentrantLock candado = porCita[Math.floorMod(idCita, porCita.length)];
+        candado.lock();
+        try {
+            return agenda.conCambios(cambio);
+        } finally {
+            candado.unlock();
+        }
     }
 
     /**
@@ -150,6 +414,16 @@ public class CitaService {
         }
     }
 
+    /**
+     * Valida el estado pedido en un filtro de citas
+     * @param filtro Filtro a validar
+     */
+    private void validateFiltro(FiltroCitas filtro) {
+        if (filtro.getEstado() != null && !isEstadoValido(filtro.getEstado())) {
+            throw new IllegalArgumentException("Estado no válido. Estados permitidos: Pendiente, Aceptada, Rechazada");
+        }
+    }
+
     /**
      * Verifica si un estado es válido
      * @param estado Estado a verificar
@@ -1,7 +1,10 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.CatalogoCache;
 import com.vetfinder.model.Consultorio;
+import com.vetfinder.model.VeterinarioAgenda;
 import com.vetfinder.repository.ConsultorioRepository;
+import com.vetfinder.util.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -12,9 +15,12 @@ import java.util.List;
  */
 public class ConsultorioService {
     private final ConsultorioRepository consultorioRepository;
+    // Veterinarios con especialidad y consultorio para la búsqueda de horarios; se invalida en cada escritura
+    private final CatalogoCache<VeterinarioAgenda> veterinarioAgendaCache;
 
-    public ConsultorioService(ConsultorioRepository consultorioRepository) {
+    public ConsultorioService(ConsultorioRepository consultorioRepository, CatalogoCache<VeterinarioAgenda> veterinarioAgendaCache) {
         this.consultorioRepository = consultorioRepository;
+        this.veterinarioAgendaCache = veterinarioAgendaCache;
     }
 
     /**
@@ -26,6 +32,17 @@ public class ConsultorioService {
         return consultorioRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de consultorios paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de consultorios con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Consultorio> getConsultoriosPaginados(String after, int limit) throws SQLException {
+        return consultorioRepository.findPage(after, limit);
+    }
+
     /**
      * Obtiene un consultorio por su ID
      * @param id ID del consultorio
@@ -45,7 +62,11 @@ public class ConsultorioService {
     public int createConsultorio(Consultorio consultorio) throws SQLException {
         // Validaciones básicas
         validateConsultorio(consultorio);
-        return consultorioRepository.save(consultorio);
+        try {
+            return consultorioRepository.save(consultorio);
+        } finally {
+            veterinarioAgendaCache.invalidate();
+        }
     }
 
     /**
@@ -57,7 +78,11 @@ public class ConsultorioService {
     public boolean updateConsultorio(Consultorio consultorio) throws SQLException {
         // Validaciones básicas
         validateConsultorio(consultorio);
-        return consultorioRepository.update(consultorio);
+        try {
+            return consultorioRepository.update(consultorio);
+        } finally {
+            veterinarioAgendaCache.invalidate();
+        }
     }
 
     /**
@@ -67,7 +92,11 @@ public class ConsultorioService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteConsultorio(int id) throws SQLException {
-        return consultorioRepository.delete(id);
+        try {
+            return consultorioRepository.delete(id);
+        } finally {
+            veterinarioAgendaCache.invalidate();
+        }
     }
 
     /**
@@ -1,9 +1,13 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.CatalogoCache;
 import com.vetfinder.model.DatoVeterinario;
+import com.vetfinder.model.VeterinarioAgenda;
 import com.vetfinder.repository.DatoVeterinarioRepository;
+import com.vetfinder.util.Pagina;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,9 +16,12 @@ import java.util.List;
  */
 public class DatoVeterinarioService {
     private final DatoVeterinarioRepository datoVeterinarioRepository;
+    // Veterinarios con especialidad y consultorio para la búsqueda de horarios; se invalida en cada escritura
+    private final CatalogoCache<VeterinarioAgenda> veterinarioAgendaCache;
 
-    public DatoVeterinarioService(DatoVeterinarioRepository datoVeterinarioRepository) {
+    public DatoVeterinarioService(DatoVeterinarioRepository datoVeterinarioRepository, CatalogoCache<VeterinarioAgenda> veterinarioAgendaCache) {
         this.datoVeterinarioRepository = datoVeterinarioRepository;
+        this.veterinarioAgendaCache = veterinarioAgendaCache;
     }
 
     /**
@@ -26,6 +33,17 @@ public class DatoVeterinarioService {
         return datoVeterinarioRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de datos veterinarios paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de datos veterinarios con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<DatoVeterinario> getDatosVeterinariosPaginados(String after, int limit) throws SQLException {
+        return datoVeterinarioRepository.findPage(after, limit);
+    }
+
     /**
      * Obtiene un dato veterinario por su ID
      * @param id ID del dato veterinario
@@ -36,6 +54,16 @@ public class DatoVeterinarioService {
         return datoVeterinarioRepository.findById(id);
     }
 
+    /**
+     * Obtiene varios datos veterinarios por ID con una sola consulta
+     * @param ids IDs a buscar
+     * @return Datos veterinarios encontrados ordenados por ID; los IDs inexistentes se omiten
+     * @throws SQLException Error en la consulta
+     */
+    public List<DatoVeterinario> getDatosVeterinariosByIds(Collection<Integer> ids) throws SQLException {
+        return datoVeterinarioRepository.findByIds(ids);
+    }
+
     /**
      * Obtiene todos los datos veterinarios de un usuario
      * @param idUsuario ID del usuario veterinario
@@ -55,7 +83,11 @@ public class DatoVeterinarioService {
     public int createDatoVeterinario(DatoVeterinario datoVeterinario) throws SQLException {
         // Validaciones básicas
         validateDatoVeterinario(datoVeterinario);
-        return datoVeterinarioRepository.save(datoVeterinario);
+        try {
+            return datoVeterinarioRepository.save(datoVeterinario);
+        } finally {
+            veterinarioAgendaCache.invalidate();
+        }
     }
 
     /**
@@ -67,7 +99,11 @@ public class DatoVeterinarioService {
     public boolean updateDatoVeterinario(DatoVeterinario datoVeterinario) throws SQLException {
         // Validaciones básicas
         validateDatoVeterinario(datoVeterinario);
-        return datoVeterinarioRepository.update(datoVeterinario);
+        try {
+            return datoVeterinarioRepository.update(datoVeterinario);
+        } finally {
+            veterinarioAgendaCache.invalidate();
+        }
     }
 
     /**
@@ -77,7 +113,11 @@ public class DatoVeterinarioService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteDatoVeterinario(int id) throws SQLException {
-        return datoVeterinarioRepository.delete(id);
+        try {
+            return datoVeterinarioRepository.delete(id);
+        } finally {
+            veterinarioAgendaCache.invalidate();
+        }
     }
 
     /**
@@ -1,7 +1,9 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.CatalogoCache;
 import com.vetfinder.model.Direccion;
 import com.vetfinder.repository.DireccionRepository;
+import com.vetfinder.util.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -13,9 +15,11 @@ import java.util.List;
  */
 public class DireccionService {
     private final DireccionRepository direccionRepository;
+    private final CatalogoCache<Direccion> direccionCache;
 
-    public DireccionService(DireccionRepository direccionRepository) {
+    public DireccionService(DireccionRepository direccionRepository, CatalogoCache<Direccion> direccionCache) {
         this.direccionRepository = direccionRepository;
+        this.direccionCache = direccionCache;
     }
 
     /**
@@ -24,7 +28,18 @@ public class DireccionService {
      * @throws SQLException Error en la consulta
      */
     public List<Direccion> getAllDirecciones() throws SQLException {
-        return direccionRepository.findAll();
+        return direccionCache.getAll();
+    }
+
+    /**
+     * Obtiene una página de direcciones paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de direcciones con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Direccion> getDireccionesPaginadas(String after, int limit) throws SQLException {
+        return direccionRepository.findPage(after, limit);
     }
 
     /**
@@ -34,7 +49,7 @@ public class DireccionService {
      * @throws SQLException Error en la consulta
      */
     public Direccion getDireccionById(int id) throws SQLException {
-        return direccionRepository.findById(id);
+        return direccionCache.getById(id);
     }
 
     /**
@@ -48,7 +63,11 @@ public class DireccionService {
         if (direccion == null || direccion.getCalle() == null || direccion.getCalle().trim().isEmpty()) {
             throw new IllegalArgumentException("La calle es requerida");
         }
-        return direccionRepository.save(direccion);
+        try {
+            return direccionRepository.save(direccion);
+        } finally {
+            direccionCache.invalidate();
+        }
     }
 
     /**
@@ -62,7 +81,11 @@ public class DireccionService {
         if (direccion == null || direccion.getCalle() == null || direccion.getCalle().trim().isEmpty()) {
             throw new IllegalArgumentException("La calle es requerida");
         }
-        return direccionRepository.update(direccion);
+        try {
+            return direccionRepository.update(direccion);
+        } finally {
+            direccionCache.invalidate();
+        }
     }
 
     /**
@@ -72,6 +95,10 @@ public class DireccionService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteDireccion(int id) throws SQLException {
-        return direccionRepository.delete(id);
+        try {
+            return direccionRepository.delete(id);
+        } finally {
+            direccionCache.invalidate();
+        }
     }
 }
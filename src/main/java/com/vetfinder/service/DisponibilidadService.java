@@ -0,0 +1,131 @@
+package com.vetfinder.service;
+
+import com.vetfinder.cache.AgendaDisponibilidad;
+import com.vetfinder.cache.CatalogoCache;
+import com.vetfinder.model.HorarioDisponible;
+import com.vetfinder.model.VeterinarioAgenda;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Servicio de búsqueda de horarios libres entre varios veterinarios
+ * Los veterinarios se agrupan por especialidad a partir de la caché del JOIN
+ * DATOVETERINARIO/CONSULTORIO; los turnos salen de la agenda en memoria. Para obtener los
+ * K primeros turnos se mezclan los recorridos de cada veterinario con una cola de prioridad
+ * (k-way merge), así solo se avanza lo necesario en cada agenda.
+ */
+public class DisponibilidadService {
+    public static final int DEFAULT_K = 5;
+    public static final int MAX_K = 100;
+
+    private static final Comparator<AgendaDisponibilidad.TurnosLibres> CRONOLOGICO =
+            Comparator.comparing(AgendaDisponibilidad.TurnosLibres::getFecha)
+                    .thenComparingInt(AgendaDisponibilidad.TurnosLibres::getSlot);
+
+    private final CatalogoCache<VeterinarioAgenda> veterinarioCache;
+    private final AgendaDisponibilidad agenda;
+
+    // Índice por especialidad, recalculado cuando la caché entrega una lista nueva
+    private volatile Indice indice;
+
+    public DisponibilidadService(CatalogoCache<VeterinarioAgenda> veterinarioCache, AgendaDisponibilidad agenda) {
+        this.veterinarioCache = veterinarioCache;
+        this.agenda = agenda;
+    }
+
+    /**
+     * Busca los K turnos libres más próximos entre todos los veterinarios de una especialidad
+     * @param idEspecialidad ID de la especialidad
+     * @param desde Primer día (null = hoy); los días pasados se omiten
+     * @param hasta Último día (null = desde + 6 días)
+     * @param k Cantidad de turnos a devolver
+     * @return Turnos ordenados por fecha y hora
+     * @throws SQLException Error al recargar los veterinarios
+     */
+    public List<HorarioDisponible> getProximosHorarios(int idEspecialidad, LocalDate desde, LocalDate hasta, int k)
+            throws SQLException {
+        if (k <= 0 || k > MAX_K) {
+            throw new IllegalArgumentException("El parámetro 'k' debe estar entre 1 y " + MAX_K);
+        }
+        LocalDate hoy = LocalDate.now();
+        LocalDate inicio = desde == null || desde.isBefore(hoy) ? hoy : desde;
+        LocalDate fin = hasta != null ? hasta : inicio.plusDays(6);
+        if (fin.isBefore(inicio)) {
+            throw new IllegalArgumentException("La fecha 'hasta' no puede ser anterior a 'desde'");
+        }
+        if (inicio.plusDays(AgendaDisponibilidad.MAX_DIAS_CONSULTA).isBefore(fin)) {
+            throw new IllegalArgumentException("El rango no puede superar " + AgendaDisponibilidad.MAX_DIAS_CONSULTA + " días");
+        }
+
+        List<VeterinarioAgenda> veterinarios = indice().porEspecialidad
+                .getOrDefault(idEspecialidad, Collections.emptyList());
+
+        PriorityQueue<Candidato> cola = new PriorityQueue<>(Math.max(1, veterinarios.size()),
+                (a, b) -> {
+                    int orden = CRONOLOGICO.compare(a.turnos, b.turnos);
+                    return orden != 0 ? orden : Integer.compare(
+                            a.veterinario.getIdDatoVeterinario(), b.veterinario.getIdDatoVeterinario());
+                });
+        for (VeterinarioAgenda veterinario : veterinarios) {
+            AgendaDisponibilidad.TurnosLibres turnos = agenda.turnosLibres(
+                    veterinario.getIdDatoVeterinario(), inicio, fin, veterinario.getHorario());
+            if (turnos.avanzar()) {
+                cola.add(new Candidato(veterinario, turnos));
+            }
+        }
+
+        List<HorarioDisponible> resultado = new ArrayList<>(k);
+        while (resultado.size() < k && !cola.isEmpty()) {
+            Candidato candidato = cola.poll();
+            VeterinarioAgenda veterinario = candidato.veterinario;
+            resultado.add(new HorarioDisponible(veterinario.getIdDatoVeterinario(), veterinario.getIdUsuario(),
+                    veterinario.getIdConsultorio(), candidato.turnos.getFecha(), candidato.turnos.getHora()));
+            if (candidato.turnos.avanzar()) {
+                cola.add(candidato);
+            }
+        }
+        return resultado;
+    }
+
+    private Indice indice() throws SQLException {
+        List<VeterinarioAgenda> veterinarios = veterinarioCache.getAll();
+        Indice actual = indice;
+        if (actual == null || actual.origen != veterinarios) {
+            Map<Integer, List<VeterinarioAgenda>> porEspecialidad = new HashMap<>();
+            for (VeterinarioAgenda veterinario : veterinarios) {
+                porEspecialidad.computeIfAbsent(veterinario.getIdEspecialidad(), id -> new ArrayList<>()).add(veterinario);
+            }
+            actual = new Indice(veterinarios, porEspecialidad);
+            indice = actual;
+        }
+        return actual;
+    }
+
+    private static final class Indice {
+        private final List<VeterinarioAgenda> origen;
+        private final Map<Integer, List<VeterinarioAgenda>> porEspecialidad;
+
+        private Indice(List<VeterinarioAgenda> origen, Map<Integer, List<VeterinarioAgenda>> porEspecialidad) {
+            this.origen = origen;
+            this.porEspecialidad = porEspecialidad;
+        }
+    }
+
+    private static final class Candidato {
+        private final VeterinarioAgenda veterinario;
+        private final AgendaDisponibilidad.TurnosLibres turnos;
+
+        private Candidato(VeterinarioAgenda veterinario, AgendaDisponibilidad.TurnosLibres turnos) {
+            this.veterinario = veterinario;
+            this.turnos = turnos;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.CatalogoCache;
+import com.vetfinder.cache.EntityVersions;
 import com.vetfinder.model.Especialidad;
 import com.vetfinder.repository.EspecialidadRepository;
+import com.vetfinder.util.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -12,9 +15,11 @@ import java.util.List;
  */
 public class EspecialidadService {
     private final EspecialidadRepository especialidadRepository;
+    private final CatalogoCache<Especialidad> especialidadCache;
 
-    public EspecialidadService(EspecialidadRepository especialidadRepository) {
+    public EspecialidadService(EspecialidadRepository especialidadRepository, CatalogoCache<Especialidad> especialidadCache) {
         this.especialidadRepository = especialidadRepository;
+        this.especialidadCache = especialidadCache;
     }
 
     /**
@@ -23,7 +28,18 @@ public class EspecialidadService {
      * @throws SQLException Error en la consulta
      */
     public List<Especialidad> getAllEspecialidades() throws SQLException {
-        return especialidadRepository.findAll();
+        return especialidadCache.getAll();
+    }
+
+    /**
+     * Obtiene una página de especialidades paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de especialidades con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Especialidad> getEspecialidadesPaginadas(String after, int limit) throws SQLException {
+        return especialidadRepository.findPage(after, limit);
     }
 
     /**
@@ -33,7 +49,7 @@ public class EspecialidadService {
      * @throws SQLException Error en la consulta
      */
     public Especialidad getEspecialidadById(int id) throws SQLException {
-        return especialidadRepository.findById(id);
+        return especialidadCache.getById(id);
     }
 
     /**
@@ -47,7 +63,12 @@ public class EspecialidadService {
         if (especialidad == null || especialidad.getNombre() == null || especialidad.getNombre().trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre de la especialidad es requerido");
         }
-        return especialidadRepository.save(especialidad);
+        try {
+            return especialidadRepository.save(especialidad);
+        } finally {
+            especialidadCache.invalidate();
+            EntityVersions.bump(EntityVersions.ESPECIALIDADES);
+        }
     }
 
     /**
@@ -61,7 +82,12 @@ public class EspecialidadService {
         if (especialidad == null || especialidad.getNombre() == null || especialidad.getNombre().trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre de la especialidad es requerido");
         }
-        return especialidadRepository.update(especialidad);
+        try {
+            return especialidadRepository.update(especialidad);
+        } finally {
+            especialidadCache.invalidate();
+            EntityVersions.bump(EntityVersions.ESPECIALIDADES);
+        }
     }
 
     /**
@@ -71,6 +97,11 @@ public class EspecialidadService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteEspecialidad(int id) throws SQLException {
-        return especialidadRepository.delete(id);
+        try {
+            return especialidadRepository.delete(id);
+        } finally {
+            especialidadCache.invalidate();
+            EntityVersions.bump(EntityVersions.ESPECIALIDADES);
+        }
     }
 }
\ No newline at end of file
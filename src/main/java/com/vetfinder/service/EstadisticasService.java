@@ -1,64 +1,158 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.EstadisticasRollup;
+import com.vetfinder.cache.SingleFlight;
 import com.vetfinder.repository.EstadisticasRepository;
 import com.vetfinder.model.EstadisticaHorario;
 import com.vetfinder.model.EstadisticaServicio;
 import com.vetfinder.model.ResumenEstadisticas;
+import com.vetfinder.model.Servicio;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para la gestión de estadísticas
  * Contiene la lógica de negocio para generar reportes y datos para gráficas
  */
 public class EstadisticasService {
+    /** Ventana por defecto de las gráficas, en días */
+    public static final int DEFAULT_DIAS = 30;
+    private static final int MAX_SERVICIOS = 10;
+
     private final EstadisticasRepository estadisticasRepository;
+    private final EstadisticasRollup estadisticasRollup;
+    private final ServicioService servicioService;
+
+    // Las peticiones simultáneas con los mismos parámetros comparten una sola ejecución. La clave
+    // incluye la versión de las estadísticas: después de una escritura no se reutiliza una ejecución anterior
+    private final SingleFlight<String, List<EstadisticaHorario>> horariosEnCurso = new SingleFlight<>("estadisticas-horarios");
+    private final SingleFlight<String, List<EstadisticaServicio>> serviciosEnCurso = new SingleFlight<>("estadisticas-servicios");
+    private final SingleFlight<String, ResumenEstadisticas> resumenEnCurso = new SingleFlight<>("estadisticas-resumen");
 
-    public EstadisticasService(EstadisticasRepository estadisticasRepository) {
+    public EstadisticasService(EstadisticasRepository estadisticasRepository, EstadisticasRollup estadisticasRollup,
+                               ServicioService servicioService) {
         this.estadisticasRepository = estadisticasRepository;
+        this.estadisticasRollup = estadisticasRollup;
+        this.servicioService = servicioService;
     }
 
     /**
-     * Obtiene estadísticas de horarios más concurridos
-     * Agrupa las citas por franja horaria y cuenta la cantidad
+     * Obtiene estadísticas de horarios más concurridos de los últimos 30 días
      * @return Lista de estadísticas por horario
      * @throws SQLException Error en la consulta
      */
     public List<EstadisticaHorario> getHorariosConcurridos() throws SQLException {
-        return estadisticasRepository.findHorariosConcurridos();
+        return getHorariosConcurridos(DEFAULT_DIAS);
     }
 
     /**
-     * Obtiene estadísticas de servicios más solicitados
-     * Agrupa las citas por tipo de servicio y cuenta la cantidad
-     * @return Lista de estadísticas por servicio
+     * Obtiene estadísticas de horarios más concurridos
+     * Suma los acumulados por franja horaria de los días de la ventana
+     * Las peticiones simultáneas con la misma ventana comparten el resultado
+     * @param dias Número de días hacia atrás
+     * @return Lista de estadísticas por horario ordenadas por cantidad
      * @throws SQLException Error en la consulta
      */
+    public List<EstadisticaHorario> getHorariosConcurridos(int dias) throws SQLException {
+        validateDias(dias);
+        return horariosEnCurso.ejecutar(clave(dias), () -> calcularHorarios(dias));
+    }
+
+    private List<EstadisticaHorario> calcularHorarios(int dias) {
+        int[] conteos = estadisticasRollup.contarFranjas(dias);
+
+        List<EstadisticaHorario> estadisticas = new ArrayList<>();
+        for (int i = 0; i < conteos.length; i++) {
+            if (conteos[i] > 0) {
+                estadisticas.add(new EstadisticaHorario(EstadisticasRollup.FRANJAS[i], conteos[i]));
+            }
+        }
+        estadisticas.sort(Comparator.comparingInt(EstadisticaHorario::getCantidadCitas).reversed());
+        return estadisticas;
+    }
+
+    /**
+     * Obtiene estadísticas de servicios más solicitados de los últimos 30 días
+     * @return Lista de estadísticas por servicio
+     * @throws SQLException Error al consultar el catálogo de servicios
+     */
     public List<EstadisticaServicio> getServiciosSolicitados() throws SQLException {
-        return estadisticasRepository.findServiciosSolicitados();
+        return getServiciosSolicitados(DEFAULT_DIAS);
+    }
+
+    /**
+     * Obtiene estadísticas de servicios más solicitados (top 10)
+     * Suma los acumulados por servicio de los días de la ventana; nombre y precio
+     * salen del catálogo de servicios en caché
+     * Las peticiones simultáneas con la misma ventana comparten el resultado
+     * @param dias Número de días hacia atrás
+     * @return Lista de estadísticas por servicio ordenadas por cantidad
+     * @throws SQLException Error al consultar el catálogo de servicios
+     */
+    public List<EstadisticaServicio> getServiciosSolicitados(int dias) throws SQLException {
+        validateDias(dias);
+        return serviciosEnCurso.ejecutar(clave(dias), () -> calcularServicios(dias));
+    }
+
+    private List<EstadisticaServicio> calcularServicios(int dias) throws SQLException {
+        Map<Integer, Integer> conteos = estadisticasRollup.contarServicios(dias);
+
+        // El porcentaje se calcula sobre todas las citas de la ventana
+        int totalSolicitudes = 0;
+        for (int cantidad : conteos.values()) {
+            totalSolicitudes += cantidad;
+        }
+
+        List<Map.Entry<Integer, Integer>> ordenados = new ArrayList<>(conteos.entrySet());
+        ordenados.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<EstadisticaServicio> estadisticas = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : ordenados) {
+            if (estadisticas.size() == MAX_SERVICIOS || entry.getValue() <= 0) {
+                break;
+            }
+            Servicio servicio = servicioService.getServicioById(entry.getKey());
+            if (servicio == null) {
+                continue;
+            }
+            EstadisticaServicio estadistica = new EstadisticaServicio(
+                    servicio.getIdServicio(), servicio.getNombre(), entry.getValue(), servicio.getPrecio()
+            );
+            estadistica.calcularPorcentaje(totalSolicitudes);
+            estadisticas.add(estadistica);
+        }
+        return estadisticas;
     }
 
     /**
      * Obtiene un resumen general de estadísticas
-     * Incluye totales y métricas principales
+     * Incluye totales y métricas principales. Las peticiones que llegan mientras la consulta
+     * está en curso reciben ese mismo resultado
      * @return Resumen de estadísticas generales
      * @throws SQLException Error en la consulta
      */
     public ResumenEstadisticas getResumenEstadisticas() throws SQLException {
-        ResumenEstadisticas resumen = new ResumenEstadisticas();
-
-        // Obtener totales
-        resumen.setTotalCitas(estadisticasRepository.countTotalCitas());
-        resumen.setTotalMascotas(estadisticasRepository.countTotalMascotas());
-        resumen.setTotalVeterinarios(estadisticasRepository.countTotalVeterinarios());
-        resumen.setTotalTutores(estadisticasRepository.countTotalTutores());
+        // Todos los contadores en una sola consulta; las métricas se calculan una vez en el constructor
+        return resumenEnCurso.ejecutar(clave(0), estadisticasRepository::findResumen);
+    }
 
-        // Obtener citas por estado
-        resumen.setCitasPendientes(estadisticasRepository.countCitasByEstado("Pendiente"));
-        resumen.setCitasAceptadas(estadisticasRepository.countCitasByEstado("Aceptada"));
-        resumen.setCitasRechazadas(estadisticasRepository.countCitasByEstado("Rechazada"));
+    private static String clave(int dias) {
+        return dias + "@" + EntityVersions.etag(EntityVersions.ESTADISTICAS);
+    }
 
-        return resumen;
+    /**
+     * Valida la ventana de días pedida contra el periodo que se conserva en memoria
+     * @param dias Número de días
+     */
+    private void validateDias(int dias) {
+        if (dias < 1 || dias > estadisticasRollup.getRetencionDias()) {
+            throw new IllegalArgumentException("El parámetro 'dias' debe estar entre 1 y " + estadisticasRollup.getRetencionDias());
+        }
     }
 }
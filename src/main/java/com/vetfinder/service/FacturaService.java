@@ -1,8 +1,13 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.SingleFlight;
 import com.vetfinder.model.Factura;
 import com.vetfinder.repository.FacturaRepository;
+import com.vetfinder.util.JdbcBatch;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowCallback;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
@@ -13,6 +18,7 @@ import java.util.List;
  */
 public class FacturaService {
     private final FacturaRepository facturaRepository;
+    private final SingleFlight<Integer, Factura> porIdEnCurso = new SingleFlight<>("facturas-por-id");
 
     public FacturaService(FacturaRepository facturaRepository) {
         this.facturaRepository = facturaRepository;
@@ -27,14 +33,36 @@ public class FacturaService {
         return facturaRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de facturas paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de facturas con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Factura> getFacturasPaginadas(String after, int limit) throws SQLException {
+        return facturaRepository.findPage(after, limit);
+    }
+
+    /**
+     * Recorre todas las facturas en streaming, fila por fila
+     * @param callback Receptor de cada factura
+     * @throws SQLException Error en la consulta
+     * @throws IOException Error al escribir la fila
+     */
+    public void streamFacturas(RowCallback<Factura> callback) throws SQLException, IOException {
+        facturaRepository.streamAll(callback);
+    }
+
     /**
      * Obtiene una factura por su ID
+     * Las lecturas simultáneas del mismo ID comparten una sola consulta
      * @param id ID de la factura
      * @return Factura encontrada o null si no existe
      * @throws SQLException Error en la consulta
      */
     public Factura getFacturaById(int id) throws SQLException {
-        return facturaRepository.findById(id);
+        return porIdEnCurso.ejecutar(id, () -> facturaRepository.findById(id));
     }
 
     /**
@@ -65,6 +93,30 @@ public class FacturaService {
         return facturaRepository.save(factura);
     }
 
+    /**
+     * Crea varias facturas en una sola transacción
+     * Se validan todas antes de insertar; si alguna no es válida no se guarda ninguna
+     * @param facturas Facturas a crear (sin fecha se usa la actual)
+     * @return IDs de las facturas creadas, en el mismo orden que la lista
+     * @throws SQLException Error en la inserción
+     */
+    public List<Integer> createFacturas(List<Factura> facturas) throws SQLException {
+        JdbcBatch.validarLote(facturas, "facturas");
+        LocalDate hoy = LocalDate.now();
+        for (int i = 0; i < facturas.size(); i++) {
+            Factura factura = facturas.get(i);
+            try {
+                validateFactura(factura);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Factura #" + (i + 1) + ": " + e.getMessage());
+            }
+            if (factura.getFechaFactura() == null) {
+                factura.setFechaFactura(hoy);
+            }
+        }
+        return facturaRepository.saveAll(facturas);
+    }
+
     /**
      * Actualiza una factura existente
      * @param factura Factura con los datos actualizados
@@ -74,7 +126,11 @@ public class FacturaService {
     public boolean updateFactura(Factura factura) throws SQLException {
         // Validaciones básicas
         validateFactura(factura);
-        return facturaRepository.update(factura);
+        try {
+            return facturaRepository.update(factura);
+        } finally {
+            porIdEnCurso.olvidar(factura.getIdFactura());
+        }
     }
 
     /**
@@ -84,7 +140,11 @@ public class FacturaService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteFactura(int id) throws SQLException {
-        return facturaRepository.delete(id);
+        try {
+            return facturaRepository.delete(id);
+        } finally {
+            porIdEnCurso.olvidar(id);
+        }
     }
 
     /**
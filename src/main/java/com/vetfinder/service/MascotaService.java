@@ -1,9 +1,16 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.SingleFlight;
 import com.vetfinder.model.Mascota;
 import com.vetfinder.repository.MascotaRepository;
+import com.vetfinder.util.JdbcBatch;
+import com.vetfinder.util.Pagina;
+import com.vetfinder.util.RowCallback;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,6 +19,7 @@ import java.util.List;
  */
 public class MascotaService {
     private final MascotaRepository mascotaRepository;
+    private final SingleFlight<Integer, Mascota> porIdEnCurso = new SingleFlight<>("mascotas-por-id");
 
     public MascotaService(MascotaRepository mascotaRepository) {
         this.mascotaRepository = mascotaRepository;
@@ -26,14 +34,46 @@ public class MascotaService {
         return mascotaRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de mascotas paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de mascotas con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Mascota> getMascotasPaginadas(String after, int limit) throws SQLException {
+        return mascotaRepository.findPage(after, limit);
+    }
+
+    /**
+     * Recorre todas las mascotas en streaming, fila por fila
+     * @param callback Receptor de cada mascota
+     * @throws SQLException Error en la consulta
+     * @throws IOException Error al escribir la fila
+     */
+    public void streamMascotas(RowCallback<Mascota> callback) throws SQLException, IOException {
+        mascotaRepository.streamAll(callback);
+    }
+
     /**
      * Obtiene una mascota por su ID
+     * Las lecturas simultáneas del mismo ID comparten una sola consulta
      * @param id ID de la mascota
      * @return Mascota encontrada o null si no existe
      * @throws SQLException Error en la consulta
      */
     public Mascota getMascotaById(int id) throws SQLException {
-        return mascotaRepository.findById(id);
+        return porIdEnCurso.ejecutar(id, () -> mascotaRepository.findById(id));
+    }
+
+    /**
+     * Obtiene varias mascotas por ID con una sola consulta
+     * @param ids IDs a buscar
+     * @return Mascotas encontradas ordenadas por ID; los IDs inexistentes se omiten
+     * @throws SQLException Error en la consulta
+     */
+    public List<Mascota> getMascotasByIds(Collection<Integer> ids) throws SQLException {
+        return mascotaRepository.findByIds(ids);
     }
 
     /**
@@ -55,7 +95,34 @@ public class MascotaService {
     public int createMascota(Mascota mascota) throws SQLException {
         // Validaciones básicas
         validateMascota(mascota);
-        return mascotaRepository.save(mascota);
+        try {
+            return mascotaRepository.save(mascota);
+        } finally {
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
+    }
+
+    /**
+     * Crea varias mascotas en una sola transacción
+     * Se validan todas antes de insertar; si alguna no es válida no se guarda ninguna
+     * @param mascotas Mascotas a crear
+     * @return IDs de las mascotas creadas, en el mismo orden que la lista
+     * @throws SQLException Error en la inserción
+     */
+    public List<Integer> createMascotas(List<Mascota> mascotas) throws SQLException {
+        JdbcBatch.validarLote(mascotas, "mascotas");
+        for (int i = 0; i < mascotas.size(); i++) {
+            try {
+                validateMascota(mascotas.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Mascota #" + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        try {
+            return mascotaRepository.saveAll(mascotas);
+        } finally {
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
     }
 
     /**
@@ -67,7 +134,11 @@ public class MascotaService {
     public boolean updateMascota(Mascota mascota) throws SQLException {
         // Validaciones básicas
         validateMascota(mascota);
-        return mascotaRepository.update(mascota);
+        try {
+            return mascotaRepository.update(mascota);
+        } finally {
+            porIdEnCurso.olvidar(mascota.getIdMascota());
+        }
     }
 
     /**
@@ -77,7 +148,12 @@ public class MascotaService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteMascota(int id) throws SQLException {
-        return mascotaRepository.delete(id);
+        try {
+            return mascotaRepository.delete(id);
+        } finally {
+            porIdEnCurso.olvidar(id);
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
     }
 
     /**
@@ -1,7 +1,10 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.CatalogoCache;
+import com.vetfinder.cache.EntityVersions;
 import com.vetfinder.model.Rol;
 import com.vetfinder.repository.RolRepository;
+import com.vetfinder.util.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -12,9 +15,11 @@ import java.util.List;
  */
 public class RolService {
     private final RolRepository rolRepository;
+    private final CatalogoCache<Rol> rolCache;
 
-    public RolService(RolRepository rolRepository) {
+    public RolService(RolRepository rolRepository, CatalogoCache<Rol> rolCache) {
         this.rolRepository = rolRepository;
+        this.rolCache = rolCache;
     }
 
     /**
@@ -23,7 +28,18 @@ public class RolService {
      * @throws SQLException Error en la consulta
      */
     public List<Rol> getAllRoles() throws SQLException {
-        return rolRepository.findAll();
+        return rolCache.getAll();
+    }
+
+    /**
+     * Obtiene una página de roles paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de roles con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Rol> getRolesPaginados(String after, int limit) throws SQLException {
+        return rolRepository.findPage(after, limit);
     }
 
     /**
@@ -33,7 +49,7 @@ public class RolService {
      * @throws SQLException Error en la consulta
      */
     public Rol getRolById(int id) throws SQLException {
-        return rolRepository.findById(id);
+        return rolCache.getById(id);
     }
 
     /**
@@ -47,7 +63,12 @@ public class RolService {
         if (rol == null || rol.getNombre() == null || rol.getNombre().trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre del rol es requerido");
         }
-        return rolRepository.save(rol);
+        try {
+            return rolRepository.save(rol);
+        } finally {
+            rolCache.invalidate();
+            EntityVersions.bump(EntityVersions.ROLES);
+        }
     }
 
     /**
@@ -61,7 +82,12 @@ public class RolService {
         if (rol == null || rol.getNombre() == null || rol.getNombre().trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre del rol es requerido");
         }
-        return rolRepository.update(rol);
+        try {
+            return rolRepository.update(rol);
+        } finally {
+            rolCache.invalidate();
+            EntityVersions.bump(EntityVersions.ROLES);
+        }
     }
 
     /**
@@ -71,6 +97,11 @@ public class RolService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteRol(int id) throws SQLException {
-        return rolRepository.delete(id);
+        try {
+            return rolRepository.delete(id);
+        } finally {
+            rolCache.invalidate();
+            EntityVersions.bump(EntityVersions.ROLES);
+        }
     }
 }
\ No newline at end of file
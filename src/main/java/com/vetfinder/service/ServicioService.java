@@ -1,10 +1,16 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.CatalogoCache;
+import com.vetfinder.cache.EntityVersions;
 import com.vetfinder.model.Servicio;
 import com.vetfinder.repository.ServicioRepository;
+import com.vetfinder.util.Pagina;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.TreeSet;
 
 /**
  * Servicio para la gestión de servicios veterinarios
@@ -12,9 +18,11 @@ import java.util.List;
  */
 public class ServicioService {
     private final ServicioRepository servicioRepository;
+    private final CatalogoCache<Servicio> servicioCache;
 
-    public ServicioService(ServicioRepository servicioRepository) {
+    public ServicioService(ServicioRepository servicioRepository, CatalogoCache<Servicio> servicioCache) {
         this.servicioRepository = servicioRepository;
+        this.servicioCache = servicioCache;
     }
 
     /**
@@ -23,7 +31,18 @@ public class ServicioService {
      * @throws SQLException Error en la consulta
      */
     public List<Servicio> getAllServicios() throws SQLException {
-        return servicioRepository.findAll();
+        return servicioCache.getAll();
+    }
+
+    /**
+     * Obtiene una página de servicios paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de servicios con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Servicio> getServiciosPaginados(String after, int limit) throws SQLException {
+        return servicioRepository.findPage(after, limit);
     }
 
     /**
@@ -33,7 +52,24 @@ public class ServicioService {
      * @throws SQLException Error en la consulta
      */
     public Servicio getServicioById(int id) throws SQLException {
-        return servicioRepository.findById(id);
+        return servicioCache.getById(id);
+    }
+
+    /**
+     * Obtiene varios servicios por ID desde el catálogo en memoria
+     * @param ids IDs a buscar
+     * @return Servicios encontrados ordenados por ID; los IDs inexistentes se omiten
+     * @throws SQLException Error al recargar el catálogo
+     */
+    public List<Servicio> getServiciosByIds(Collection<Integer> ids) throws SQLException {
+        List<Servicio> servicios = new ArrayList<>(ids.size());
+        for (int id : new TreeSet<>(ids)) {
+            Servicio servicio = servicioCache.getById(id);
+            if (servicio != null) {
+                servicios.add(servicio);
+            }
+        }
+        return servicios;
     }
 
     /**
@@ -45,7 +81,13 @@ public class ServicioService {
     public int createServicio(Servicio servicio) throws SQLException {
         // Validaciones básicas
         validateServicio(servicio);
-        return servicioRepository.save(servicio);
+        try {
+            return servicioRepository.save(servicio);
+        } finally {
+            servicioCache.invalidate();
+            EntityVersions.bump(EntityVersions.SERVICIOS);
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
     }
 
     /**
@@ -57,7 +99,13 @@ public class ServicioService {
     public boolean updateServicio(Servicio servicio) throws SQLException {
         // Validaciones básicas
         validateServicio(servicio);
-        return servicioRepository.update(servicio);
+        try {
+            return servicioRepository.update(servicio);
+        } finally {
+            servicioCache.invalidate();
+            EntityVersions.bump(EntityVersions.SERVICIOS);
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
     }
 
     /**
@@ -67,7 +115,13 @@ public class ServicioService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteServicio(int id) throws SQLException {
-        return servicioRepository.delete(id);
+        try {
+            return servicioRepository.delete(id);
+        } finally {
+            servicioCache.invalidate();
+            EntityVersions.bump(EntityVersions.SERVICIOS);
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
     }
 
     /**
@@ -1,7 +1,10 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.CatalogoCache;
+import com.vetfinder.cache.EntityVersions;
 import com.vetfinder.model.Sexo;
 import com.vetfinder.repository.SexoRepository;
+import com.vetfinder.util.Pagina;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -12,9 +15,11 @@ import java.util.List;
  */
 public class SexoService {
     private final SexoRepository sexoRepository;
+    private final CatalogoCache<Sexo> sexoCache;
 
-    public SexoService(SexoRepository sexoRepository) {
+    public SexoService(SexoRepository sexoRepository, CatalogoCache<Sexo> sexoCache) {
         this.sexoRepository = sexoRepository;
+        this.sexoCache = sexoCache;
     }
 
     /**
@@ -23,7 +28,18 @@ public class SexoService {
      * @throws SQLException Error en la consulta
      */
     public List<Sexo> getAllSexos() throws SQLException {
-        return sexoRepository.findAll();
+        return sexoCache.getAll();
+    }
+
+    /**
+     * Obtiene una página de sexos paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de sexos con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Sexo> getSexosPaginados(String after, int limit) throws SQLException {
+        return sexoRepository.findPage(after, limit);
     }
 
     /**
@@ -33,7 +49,7 @@ public class SexoService {
      * @throws SQLException Error en la consulta
      */
     public Sexo getSexoById(int id) throws SQLException {
-        return sexoRepository.findById(id);
+        return sexoCache.getById(id);
     }
 
     /**
@@ -47,7 +63,12 @@ public class SexoService {
         if (sexo == null || sexo.getNombre() == null || sexo.getNombre().trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre del sexo es requerido");
         }
-        return sexoRepository.save(sexo);
+        try {
+            return sexoRepository.save(sexo);
+        } finally {
+            sexoCache.invalidate();
+            EntityVersions.bump(EntityVersions.SEXOS);
+        }
     }
 
     /**
@@ -61,7 +82,12 @@ public class SexoService {
         if (sexo == null || sexo.getNombre() == null || sexo.getNombre().trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre del sexo es requerido");
         }
-        return sexoRepository.update(sexo);
+        try {
+            return sexoRepository.update(sexo);
+        } finally {
+            sexoCache.invalidate();
+            EntityVersions.bump(EntityVersions.SEXOS);
+        }
     }
 
     /**
@@ -71,6 +97,11 @@ public class SexoService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteSexo(int id) throws SQLException {
-        return sexoRepository.delete(id);
+        try {
+            return sexoRepository.delete(id);
+        } finally {
+            sexoCache.invalidate();
+            EntityVersions.bump(EntityVersions.SEXOS);
+        }
     }
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.vetfinder.service;
 
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.model.Rol;
 import com.vetfinder.model.Usuario;
 import com.vetfinder.repository.UsuarioRepository;
+import com.vetfinder.util.Pagina;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,10 +20,6 @@ import java.util.List;
 public class UsuarioService {
     private final UsuarioRepository usuarioRepository;
 
-    // Constantes para roles
-    private static final int ROL_VETERINARIO = 1;
-    private static final int ROL_TUTOR = 2;
-
     public UsuarioService(UsuarioRepository usuarioRepository) {
         this.usuarioRepository = usuarioRepository;
     }
@@ -31,6 +33,17 @@ public class UsuarioService {
         return usuarioRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de usuarios paginada por cursor (keyset)
+     * @param after Cursor de la página anterior o null para la primera página
+     * @param limit Tamaño de la página
+     * @return Página de usuarios con el cursor de la siguiente
+     * @throws SQLException Error en la consulta
+     */
+    public Pagina<Usuario> getUsuariosPaginados(String after, int limit) throws SQLException {
+        return usuarioRepository.findPage(after, limit);
+    }
+
     /**
      * Obtiene un usuario por su ID
      * @param id ID del usuario
@@ -41,6 +54,16 @@ public class UsuarioService {
         return usuarioRepository.findById(id);
     }
 
+    /**
+     * Obtiene varios usuarios por ID con una sola consulta
+     * @param ids IDs a buscar
+     * @return Usuarios encontrados ordenados por ID; los IDs inexistentes se omiten
+     * @throws SQLException Error en la consulta
+     */
+    public List<Usuario> getUsuariosByIds(Collection<Integer> ids) throws SQLException {
+        return usuarioRepository.findByIds(ids);
+    }
+
     /**
      * Obtiene un usuario por su correo electrónico - MÉTODO QUE FALTABA
      * @param correo Correo del usuario
@@ -51,13 +74,44 @@ public class UsuarioService {
         return usuarioRepository.findByCorreo(correo);
     }
 
+    /**
+     * Verifica las credenciales de login
+     * Lee solo las columnas del login y compara la contraseña en tiempo constante
+     * @param correo Correo del usuario
+     * @param contrasena Contraseña recibida
+     * @return Usuario autenticado (sin contraseña) o null si las credenciales no coinciden
+     * @throws SQLException Error en la consulta
+     */
+    public Usuario autenticar(String correo, String contrasena) throws SQLException {
+        if (correo == null || correo.isBlank() || contrasena == null) {
+            return null;
+        }
+        Usuario usuario = usuarioRepository.findCredenciales(correo);
+        if (usuario == null || usuario.getContrasena() == null || !MessageDigest.isEqual(
+                usuario.getContrasena().getBytes(StandardCharsets.UTF_8), contrasena.getBytes(StandardCharsets.UTF_8))) {
+            return null;
+        }
+        usuario.setContrasena(null);
+        return usuario;
+    }
+
+    /**
+     * Rol que tiene el usuario ahora en la base de datos (el del token puede haber cambiado)
+     * @param idUsuario ID del usuario
+     * @return ID del rol, o null si el usuario ya no existe
+     * @throws SQLException Error en la consulta
+     */
+    public Integer getRolActual(int idUsuario) throws SQLException {
+        return usuarioRepository.findIdRol(idUsuario);
+    }
+
     /**
      * Obtiene todos los veterinarios - MÉTODO QUE FALTABA
      * @return Lista de usuarios con rol veterinario
      * @throws SQLException Error en la consulta
      */
     public List<Usuario> getVeterinarios() throws SQLException {
-        return usuarioRepository.findByRol(ROL_VETERINARIO);
+        return usuarioRepository.findByRol(Rol.VETERINARIO);
     }
 
     /**
@@ -66,7 +120,7 @@ public class UsuarioService {
      * @throws SQLException Error en la consulta
      */
     public List<Usuario> getTutores() throws SQLException {
-        return usuarioRepository.findByRol(ROL_TUTOR);
+        return usuarioRepository.findByRol(Rol.TUTOR);
     }
 
     /**
@@ -82,7 +136,11 @@ public class UsuarioService {
         // Validaciones específicas por rol
         validateUsuarioByRol(usuario);
 
-        return usuarioRepository.save(usuario);
+        try {
+            return usuarioRepository.save(usuario);
+        } finally {
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
     }
 
     /**
@@ -98,7 +156,11 @@ public class UsuarioService {
         // Validaciones específicas por rol
         validateUsuarioByRol(usuario);
 
-        return usuarioRepository.update(usuario);
+        try {
+            return usuarioRepository.update(usuario);
+        } finally {
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
     }
 
     /**
@@ -108,7 +170,11 @@ public class UsuarioService {
      * @throws SQLException Error en la eliminación
      */
     public boolean deleteUsuario(int id) throws SQLException {
-        return usuarioRepository.delete(id);
+        try {
+            return usuarioRepository.delete(id);
+        } finally {
+            EntityVersions.bump(EntityVersions.ESTADISTICAS);
+        }
     }
 
     /**
@@ -135,9 +201,10 @@ public class UsuarioService {
             throw new IllegalArgumentException("La fecha de nacimiento es requerida");
         }
 
-        // Validar que el rol sea válido (solo 1 o 2)
-        if (usuario.getIdRol() != ROL_VETERINARIO && usuario.getIdRol() != ROL_TUTOR) {
-            throw new IllegalArgumentException("El rol debe ser 1 (Veterinario) o 2 (Tutor de Mascota)");
+        // Validar que el rol sea válido (solo 1 o 2): el rol administrador no se otorga desde la API
+        if (usuario.getIdRol() != Rol.VETERINARIO && usuario.getIdRol() != Rol.TUTOR) {
+            throw new IllegalArgumentException("El rol debe ser 1 (Veterinario) o 2 (Tutor de Mascota); " +
+                    "el rol administrador se asigna en la base de datos");
         }
     }
 
@@ -146,7 +213,7 @@ public class UsuarioService {
      * @param usuario Usuario a validar
      */
     private void validateUsuarioByRol(Usuario usuario) {
-        if (usuario.getIdRol() == ROL_VETERINARIO) {
+        if (usuario.getIdRol() == Rol.VETERINARIO) {
             // Validaciones para veterinarios
             if (usuario.getDescripcion() == null || usuario.getDescripcion().trim().isEmpty()) {
                 throw new IllegalArgumentException("La descripción es requerida para veterinarios");
@@ -154,7 +221,7 @@ public class UsuarioService {
             if (usuario.getCedula() <= 0) {
                 throw new IllegalArgumentException("La cédula es requerida para veterinarios");
             }
-        } else if (usuario.getIdRol() == ROL_TUTOR) {
+        } else if (usuario.getIdRol() == Rol.TUTOR) {
             // Para tutores, establecer descripción y cédula como null
             usuario.setDescripcion(null);
             usuario.setCedula(0);
@@ -167,7 +234,7 @@ public class UsuarioService {
      * @return true si es veterinario
      */
     public boolean isVeterinario(Usuario usuario) {
-        return usuario != null && usuario.getIdRol() == ROL_VETERINARIO;
+        return usuario != null && usuario.getIdRol() == Rol.VETERINARIO;
     }
 
     /**
@@ -176,6 +243,6 @@ public class UsuarioService {
      * @return true si es tutor
      */
     public boolean isTutor(Usuario usuario) {
-        return usuario != null && usuario.getIdRol() == ROL_TUTOR;
+        return usuario != null && usuario.getIdRol() == Rol.TUTOR;
     }
 }
\ No newline at end of file
@@ -1,13 +1,20 @@
 package com.vetfinder.util;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 /**
  * Clase para estandarizar las respuestas de la API
  * Proporciona un formato consistente para respuestas exitosas y de error
+ * El timestamp va siempre al final: ResponseCache lo reemplaza en los cuerpos guardados
  */
+@JsonPropertyOrder({"success", "message", "data", "nextCursor", "timestamp"})
 public class ApiResponse {
     private boolean success;
     private String message;
     private Object data;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
     private long timestamp;
 
     // Constructor vacío
@@ -33,6 +40,18 @@ public class ApiResponse {
         return new ApiResponse(true, message, data);
     }
 
+    /**
+     * Crea una respuesta exitosa con una página de resultados
+     * @param message Mensaje descriptivo
+     * @param pagina Página con los datos y el cursor de la siguiente página
+     * @return ApiResponse exitosa con nextCursor (null en la última página)
+     */
+    public static ApiResponse page(String message, Pagina<?> pagina) {
+        ApiResponse response = new ApiResponse(true, message, pagina.getItems());
+        response.setNextCursor(pagina.getNextCursor());
+        return response;
+    }
+
     /**
      * Crea una respuesta exitosa sin datos
      * @param message Mensaje descriptivo
@@ -85,6 +104,14 @@ public class ApiResponse {
         this.data = data;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -0,0 +1,240 @@
+package com.vetfinder.util;
+
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.vetfinder.config.CompressionConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresión gzip / Brotli de cuerpos ya serializados
+ * Además de comprimir un cuerpo completo permite comprimir una vez un prefijo fijo y agregarle
+ * en cada respuesta un final distinto sin volver a comprimir: el prefijo se cierra con un
+ * flush (queda alineado a byte y sin bloque final) y el final va como bloque sin comprimir.
+ * Así ResponseCache sirve el cuerpo comprimido con el timestamp actual.
+ */
+public class Compresion {
+    private static final byte[] CABECERA_GZIP = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    /** Meta-bloque final vacío de Brotli: ISLAST=1, ISLASTEMPTY=1 */
+    private static final int BROTLI_FIN = 0x03;
+
+    /**
+     * Codificaciones soportadas, en orden de preferencia ante el mismo q
+     */
+    public enum Codificacion {
+        BROTLI("br"),
+        GZIP("gzip"),
+        IDENTITY(null);
+
+        private final String nombre;
+
+        Codificacion(String nombre) {
+            this.nombre = nombre;
+        }
+
+        /**
+         * Valor para Content-Encoding (null si va sin comprimir)
+         */
+        public String getNombre() {
+            return nombre;
+        }
+    }
+
+    /**
+     * Elige la codificación según Accept-Encoding (respeta q=0 y *)
+     * @param acceptEncoding Cabecera de la petición (puede ser null)
+     * @return Codificación a usar
+     */
+    public static Codificacion negociar(String acceptEncoding) {
+        if (acceptEncoding == null || !CompressionConfig.isEnabled()) {
+            return Codificacion.IDENTITY;
+        }
+        double qBrotli = -1;
+        double qGzip = -1;
+        double qOtros = -1;
+        for (String parte : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] campos = parte.split(";");
+            String nombre = campos[0].trim();
+            double q = 1;
+            for (int i = 1; i < campos.length; i++) {
+                String campo = campos[i].trim();
+                if (campo.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(campo.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (nombre.equals("br")) {
+                qBrotli = q;
+            } else if (nombre.equals("gzip") || nombre.equals("x-gzip")) {
+                qGzip = q;
+            } else if (nombre.equals("*")) {
+                qOtros = q;
+            }
+        }
+        qBrotli = qBrotli < 0 ? qOtros : qBrotli;
+        qGzip = qGzip < 0 ? qOtros : qGzip;
+
+        if (CompressionConfig.isBrotli() && qBrotli > 0 && qBrotli >= qGzip) {
+            return Codificacion.BROTLI;
+        }
+        return qGzip > 0 ? Codificacion.GZIP : Codificacion.IDENTITY;
+    }
+
+    // ========== CUERPO COMPLETO ==========
+
+    /**
+     * Comprime un cuerpo completo con gzip
+     * @param datos Bytes sin comprimir
+     * @param nivel Nivel de compresión (1-9)
+     */
+    public static byte[] gzip(byte[] datos, int nivel) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(datos.length / 4 + 64);
+        out.write(CABECERA_GZIP, 0, CABECERA_GZIP.length);
+        deflate(datos, nivel, true, out);
+        CRC32 crc = new CRC32();
+        crc.update(datos);
+        byte[] trailer = new byte[8];
+        escribirEntero(trailer, 0, (int) crc.getValue());
+        escribirEntero(trailer, 4, datos.length);
+        out.write(trailer, 0, trailer.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * Comprime un cuerpo completo con Brotli
+     * @param datos Bytes sin comprimir
+     * @param calidad Calidad (0-11)
+     * @throws IOException Error del codificador nativo
+     */
+    public static byte[] brotli(byte[] datos, int calidad) throws IOException {
+        return Encoder.compress(datos, new Encoder.Parameters().setQuality(calidad));
+    }
+
+    // ========== PREFIJO COMPRIMIDO + FINAL VARIABLE ==========
+
+    /**
+     * Cabecera gzip y bloques deflate del prefijo, sin bloque final ni trailer
+     * @param prefijo Parte fija del cuerpo
+     * @param nivel Nivel de compresión (1-9)
+     */
+    public static byte[] prefijoGzip(byte[] prefijo, int nivel) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefijo.length / 4 + 64);
+        out.write(CABECERA_GZIP, 0, CABECERA_GZIP.length);
+        deflate(prefijo, nivel, false, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Meta-bloques Brotli del prefijo terminados con flush, sin meta-bloque final
+     * @param prefijo Parte fija del cuerpo
+     * @param calidad Calidad (0-11)
+     * @throws IOException Error del codificador nativo
+     */
+    public static byte[] prefijoBrotli(byte[] prefijo, int calidad) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefijo.length / 4 + 64);
+        BrotliOutputStream brotli = new BrotliOutputStream(out, new Encoder.Parameters().setQuality(calidad));
+        byte[] resultado;
+        try {
+            brotli.write(prefijo);
+            brotli.flush();
+            resultado = out.toByteArray();
+        } finally {
+            // Al cerrar se agrega el meta-bloque final, que no forma parte del prefijo
+            brotli.close();
+        }
+        return resultado;
+    }
+
+    /**
+     * Tamaño total de la respuesta gzip con el final agregado
+     */
+    public static int largoGzip(byte[] prefijoComprimido, byte[] fin) {
+        return prefijoComprimido.length + 5 + fin.length + 8;
+    }
+
+    /**
+     * Escribe el prefijo gzip, el final como bloque final sin comprimir y el trailer
+     * @param out Destino
+     * @param prefijoComprimido Resultado de prefijoGzip
+     * @param prefijo Prefijo sin comprimir (para el CRC)
+     * @param fin Final de esta respuesta (hasta 65535 bytes)
+     */
+    public static void escribirGzip(OutputStream out, byte[] prefijoComprimido, byte[] prefijo, byte[] fin) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(prefijo);
+        crc.update(fin);
+
+        // BFINAL=1, BTYPE=00, LEN y NLEN en little endian
+        byte[] bloque = {1, (byte) fin.length, (byte) (fin.length >>> 8), (byte) ~fin.length, (byte) (~fin.length >>> 8)};
+        byte[] trailer = new byte[8];
+        escribirEntero(trailer, 0, (int) crc.getValue());
+        escribirEntero(trailer, 4, prefijo.length + fin.length);
+
+        out.write(prefijoComprimido);
+        out.write(bloque);
+        out.write(fin);
+        out.write(trailer);
+    }
+
+    /**
+     * Tamaño total de la respuesta Brotli con el final agregado
+     */
+    public static int largoBrotli(byte[] prefijoComprimido, byte[] fin) {
+        return prefijoComprimido.length + 3 + fin.length + 1;
+    }
+
+    /**
+     * Escribe el prefijo Brotli, el final como meta-bloque sin comprimir y el meta-bloque final vacío
+     * @param out Destino
+     * @param prefijoComprimido Resultado de prefijoBrotli
+     * @param fin Final de esta respuesta (1 a 65536 bytes)
+     */
+    public static void escribirBrotli(OutputStream out, byte[] prefijoComprimido, byte[] fin) throws IOException {
+        // ISLAST=0, MNIBBLES=4 (00), MLEN-1 en 16 bits, ISUNCOMPRESSED=1, relleno hasta el byte
+        int cabecera = ((fin.length - 1) << 3) | (1 << 19);
+        out.write(prefijoComprimido);
+        out.write(cabecera);
+        out.write(cabecera >>> 8);
+        out.write(cabecera >>> 16);
+        out.write(fin);
+        out.write(BROTLI_FIN);
+    }
+
+    /**
+     * Deflate sin envoltorio; con terminar=false cierra con SYNC_FLUSH en lugar del bloque final
+     */
+    private static void deflate(byte[] datos, int nivel, boolean terminar, ByteArrayOutputStream out) {
+        Deflater deflater = new Deflater(nivel, true);
+        try {
+            deflater.setInput(datos);
+            if (terminar) {
+                deflater.finish();
+            }
+            byte[] buffer = new byte[8192];
+            while (true) {
+                int n = deflater.deflate(buffer, 0, buffer.length, terminar ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, n);
+                if (terminar ? deflater.finished() : n < buffer.length) {
+                    return;
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void escribirEntero(byte[] destino, int posicion, int valor) {
+        destino[posicion] = (byte) valor;
+        destino[posicion + 1] = (byte) (valor >>> 8);
+        destino[posicion + 2] = (byte) (valor >>> 16);
+        destino[posicion + 3] = (byte) (valor >>> 24);
+    }
+}
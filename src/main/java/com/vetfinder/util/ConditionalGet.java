@@ -0,0 +1,132 @@
+package com.vetfinder.util;
+
+import com.vetfinder.cache.EntityVersions;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * GET condicional con ETag / Last-Modified según la versión de una entidad
+ * Se llama al inicio del handler, antes de tocar el servicio: si el cliente ya tiene la
+ * versión actual se responde 304 sin consultar la base de datos ni serializar.
+ * If-None-Match tiene prioridad sobre If-Modified-Since (RFC 7232).
+ * Last-Modified tiene precisión de segundos: si el último cambio fue en el segundo actual puede
+ * venir otro en el mismo segundo, así que hasta que pase no se envía ni se acepta If-Modified-Since
+ * (el ETag sí distingue esos cambios).
+ * Los validadores se leen al inicio pero solo se envían si el handler termina con 200
+ * (filtro after de register, o completar() antes de escribir directo sobre la respuesta),
+ * así un 400 o un 500 no queda guardado en el cliente con un ETag válido.
+ */
+public class ConditionalGet {
+    private static final String ATRIBUTO = "conditional-get";
+    private static final long SIN_FECHA = -1;
+
+    /**
+     * Registra el filtro after que agrega los validadores a las respuestas 200
+     * @param app Instancia de Javalin
+     */
+    public static void register(Javalin app) {
+        app.after(ConditionalGet::completar);
+    }
+
+    /**
+     * Comprueba las cabeceras condicionales y guarda los validadores para la respuesta
+     * @param ctx Contexto de Javalin
+     * @param entidad Entidad de la que depende la respuesta (ver EntityVersions)
+     * @return true si ya se respondió 304 y el handler debe terminar
+     */
+    public static boolean noModificado(Context ctx, String entidad) {
+        long lastModified = EntityVersions.lastModified(entidad);
+        if (lastModified >= EntityVersions.segundos(System.currentTimeMillis())) {
+            lastModified = SIN_FECHA;
+        }
+        Validadores validadores = new Validadores(EntityVersions.etag(entidad), lastModified);
+
+        boolean coincide;
+        String ifNoneMatch = ctx.header("If-None-Match");
+        if (ifNoneMatch != null) {
+            coincide = coincideEtag(ifNoneMatch, validadores.etag);
+        } else {
+            coincide = noModificadoDesde(ctx.header("If-Modified-Since"), validadores.lastModified);
+        }
+
+        if (coincide) {
+            // El 304 repite los validadores de la respuesta que el cliente ya tiene
+            validadores.escribir(ctx);
+            ctx.status(HttpStatus.NOT_MODIFIED);
+        } else {
+            ctx.attribute(ATRIBUTO, validadores);
+        }
+        return coincide;
+    }
+
+    /**
+     * Agrega ETag, Last-Modified y Cache-Control guardados por noModificado si la respuesta es 200
+     * Lo llama el filtro after; quien escribe el cuerpo directo en la respuesta (ResponseCache)
+     * lo llama antes, porque después las cabeceras ya se enviaron
+     * @param ctx Contexto de Javalin
+     */
+    public static void completar(Context ctx) {
+        Validadores validadores = ctx.attribute(ATRIBUTO);
+        if (validadores != null && ctx.statusCode() == HttpStatus.OK.getCode()) {
+            ctx.attribute(ATRIBUTO, null);
+            validadores.escribir(ctx);
+        }
+    }
+
+    /**
+     * Comparación débil: ignora el prefijo W/ de ambos lados
+     */
+    private static boolean coincideEtag(String ifNoneMatch, String etag) {
+        String actual = sinPrefijoDebil(etag);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || sinPrefijoDebil(valor).equals(actual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sinPrefijoDebil(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static boolean noModificadoDesde(String ifModifiedSince, long lastModified) {
+        if (ifModifiedSince == null || lastModified == SIN_FECHA) {
+            return false;
+        }
+        try {
+            long desde = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified <= desde;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static final class Validadores {
+        private final String etag;
+        private final long lastModified;
+
+        Validadores(String etag, long lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        void escribir(Context ctx) {
+            ctx.header("ETag", etag);
+            if (lastModified != SIN_FECHA) {
+                ctx.header("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                        ZonedDateTime.ofInstant(Instant.ofEpochMilli(lastModified), ZoneOffset.UTC)));
+            }
+            // El navegador puede guardar la respuesta pero debe revalidarla en cada uso
+            ctx.header("Cache-Control", "no-cache");
+        }
+    }
+}
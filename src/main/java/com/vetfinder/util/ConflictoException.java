@@ -0,0 +1,11 @@
+package com.vetfinder.util;
+
+/**
+ * La operación choca con el estado actual de los datos (ej: horario ya reservado)
+ * Los controladores la responden con 409 Conflict
+ */
+public class ConflictoException extends RuntimeException {
+    public ConflictoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,87 @@
+package com.vetfinder.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación por keyset
+ * Codifica los valores de la clave de ordenamiento de la última fila devuelta
+ * para que la siguiente página continúe con un WHERE (col1, col2, ...) > (?, ?, ...)
+ * en lugar de un OFFSET: con un índice sobre la clave, cualquier página cuesta lo mismo que la primera
+ */
+public class Cursor {
+    private static final char SEPARADOR = '\u001F';
+
+    private final String[] valores;
+
+    private Cursor(String[] valores) {
+        this.valores = valores;
+    }
+
+    /**
+     * Codifica los valores de la clave en un cursor opaco (Base64 URL-safe)
+     * @param valores Valores de la clave de ordenamiento, en el mismo orden que el ORDER BY
+     * @return Cursor codificado
+     */
+    public static String encode(Object... valores) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARADOR);
+            }
+            sb.append(valores[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente
+     * @param cursor Cursor opaco
+     * @param partes Número de valores esperados en la clave
+     * @return Cursor decodificado
+     */
+    public static Cursor decode(String cursor, int partes) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] valores = texto.split(String.valueOf(SEPARADOR), -1);
+            if (valores.length != partes) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new Cursor(valores);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public String getString(int index) {
+        return valores[index];
+    }
+
+    public int getInt(int index) {
+        try {
+            return Integer.parseInt(valores[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public LocalDate getDate(int index) {
+        try {
+            return LocalDate.parse(valores[index]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public LocalTime getTime(int index) {
+        try {
+            return LocalTime.parse(valores[index]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.vetfinder.util;
+
+import io.javalin.http.Context;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales de los listados de citas (?desde=&amp;hasta=&amp;estado=&amp;idServicio=)
+ * Se aplican en el WHERE de CitaRepository, no sobre la lista ya leída; los campos en null no filtran
+ */
+public class FiltroCitas {
+    /** Sin filtros: historial completo */
+    public static final FiltroCitas NINGUNO = new FiltroCitas(null, null, null, null);
+
+    private final LocalDate desde;
+    private final LocalDate hasta;
+    private final String estado;
+    private final Integer idServicio;
+
+    public FiltroCitas(LocalDate desde, LocalDate hasta, String estado, Integer idServicio) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.estado = estado;
+        this.idServicio = idServicio;
+    }
+
+    /**
+     * Lee los filtros de la petición
+     * @param ctx Contexto de Javalin
+     * @return Filtros solicitados (NINGUNO si no viene ninguno)
+     */
+    public static FiltroCitas from(Context ctx) {
+        LocalDate desde = Parametros.fecha(ctx, "desde");
+        LocalDate hasta = Parametros.fecha(ctx, "hasta");
+        String estado = ctx.queryParam("estado");
+        int idServicio = Parametros.entero(ctx, "idServicio", 0);
+
+        if (desde == null && hasta == null && (estado == null || estado.isBlank()) && idServicio == 0) {
+            return NINGUNO;
+        }
+        if (desde != null && hasta != null && hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("La fecha 'hasta' no puede ser anterior a 'desde'");
+        }
+        return new FiltroCitas(desde, hasta, estado == null || estado.isBlank() ? null : estado.trim(),
+                idServicio != 0 ? idServicio : null);
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public Integer getIdServicio() {
+        return idServicio;
+    }
+}
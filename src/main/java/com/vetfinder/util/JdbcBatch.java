@@ -0,0 +1,89 @@
+package com.vetfinder.util;
+
+import com.vetfinder.config.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserción de varias filas con addBatch/executeBatch en una sola transacción
+ * Con rewriteBatchedStatements=true en la URL, Connector/J envía cada bloque como un
+ * INSERT multi-fila; las claves generadas vuelven en el mismo orden que las filas.
+ * Si falla cualquier fila se hace rollback de todas.
+ */
+public class JdbcBatch {
+    /** Máximo de elementos aceptados por petición */
+    public static final int MAX_ITEMS = 1000;
+    /** Filas por executeBatch dentro de la transacción */
+    private static final int BLOQUE = 500;
+
+    /**
+     * Asigna los parámetros de una fila al PreparedStatement
+     */
+    @FunctionalInterface
+    public interface Binder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    /**
+     * Verifica que el lote no esté vacío ni supere MAX_ITEMS
+     * @param items Elementos recibidos
+     * @param entidad Nombre en plural para el mensaje (ej: "citas")
+     */
+    public static void validarLote(List<?> items, String entidad) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un elemento en la lista de " + entidad);
+        }
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("No se pueden crear más de " + MAX_ITEMS + " " + entidad + " por petición");
+        }
+    }
+
+    /**
+     * Inserta todas las filas en una transacción
+     * @param query INSERT con parámetros
+     * @param items Filas a insertar
+     * @param binder Asignación de parámetros por fila
+     * @return IDs generados, en el mismo orden que items
+     * @throws SQLException Error en la inserción (no se guarda ninguna fila)
+     */
+    public static <T> List<Integer> insertAll(String query, List<T> items, Binder<T> binder) throws SQLException {
+        List<Integer> ids = new ArrayList<>(items.size());
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+                for (int inicio = 0; inicio < items.size(); inicio += BLOQUE) {
+                    int fin = Math.min(inicio + BLOQUE, items.size());
+                    for (int i = inicio; i < fin; i++) {
+                        binder.bind(stmt, items.get(i));
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        while (generatedKeys.next()) {
+                            ids.add(generatedKeys.getInt(1));
+                        }
+                    }
+                }
+                if (ids.size() != items.size()) {
+                    throw new SQLException("Se insertaron " + items.size() + " filas pero se obtuvieron " + ids.size() + " IDs");
+                }
+                conn.commit();
+                return ids;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
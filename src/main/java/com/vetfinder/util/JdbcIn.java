@@ -0,0 +1,103 @@
+package com.vetfinder.util;
+
+import com.vetfinder.config.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lectura de varias filas por ID con WHERE id IN (?, ?, ...)
+ * Reemplaza N consultas findById por una sola. Los IDs repetidos o null se descartan y,
+ * si son muchos, se consultan en bloques de BLOQUE sobre la misma conexión para no generar
+ * sentencias con miles de parámetros.
+ */
+public class JdbcIn {
+    /** Máximo de IDs aceptados por petición (?ids=) */
+    public static final int MAX_IDS = 1000;
+    /** IDs por sentencia */
+    private static final int BLOQUE = 500;
+
+    /**
+     * Ejecuta la consulta para todos los IDs
+     * @param select SELECT sin WHERE (ej: "SELECT ... FROM CITA")
+     * @param columna Columna del ID (ej: "id_cita")
+     * @param ids IDs a buscar
+     * @param mapper Conversión de cada fila
+     * @return Filas encontradas ordenadas por ID; los IDs que no existen no aparecen
+     * @throws SQLException Error en la consulta
+     */
+    public static <T> List<T> findByIds(String select, String columna, Collection<Integer> ids, RowMapper<T> mapper)
+            throws SQLException {
+        List<Integer> distintos = distintos(ids);
+        if (distintos.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<T> resultado = new ArrayList<>(distintos.size());
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            for (int inicio = 0; inicio < distintos.size(); inicio += BLOQUE) {
+                List<Integer> bloque = distintos.subList(inicio, Math.min(inicio + BLOQUE, distintos.size()));
+                String query = sql(select, columna, bloque.size());
+
+                try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                    for (int i = 0; i < bloque.size(); i++) {
+                        stmt.setInt(i + 1, bloque.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        resultado.addAll(mapper.list(rs));
+                    }
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Verifica que la lista de IDs no esté vacía ni supere MAX_IDS
+     * @param ids IDs recibidos
+     */
+    public static void validarIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un ID");
+        }
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("No se pueden consultar más de " + MAX_IDS + " IDs por petición");
+        }
+    }
+
+    /**
+     * Sentencia de un bloque de IDs
+     * @param select SELECT sin WHERE
+     * @param columna Columna del ID
+     * @param cantidad Cantidad de IDs del bloque
+     * @return SELECT ... WHERE columna IN (?, ...) ORDER BY columna
+     */
+    public static String sql(String select, String columna, int cantidad) {
+        return select + " WHERE " + columna + " IN (" + marcadores(cantidad) + ") ORDER BY " + columna;
+    }
+
+    private static List<Integer> distintos(Collection<Integer> ids) {
+        Set<Integer> distintos = new LinkedHashSet<>(ids);
+        distintos.remove(null);
+        List<Integer> ordenados = new ArrayList<>(distintos);
+        // Ordenados, los bloques repetidos generan siempre las mismas sentencias
+        Collections.sort(ordenados);
+        return ordenados;
+    }
+
+    private static String marcadores(int cantidad) {
+        StringBuilder sb = new StringBuilder(cantidad * 3);
+        for (int i = 0; i < cantidad; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.vetfinder.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vetfinder.config.JacksonConfig;
+import com.vetfinder.metrics.PrometheusWriter;
+import io.javalin.http.Context;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.server.Response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escribe respuestas de lista directamente sobre el output stream de la respuesta
+ * Mantiene el mismo formato que ApiResponse ({success, message, data, timestamp}),
+ * pero cada fila se serializa en cuanto llega del ResultSet, así la memoria usada
+ * no depende del tamaño de la tabla.
+ * Se escribe en ctx.outputStream(), que aplica la compresión de Javalin (CompressionConfig)
+ * igual que a las demás respuestas.
+ */
+public class JsonStreamer {
+    // Sin flush por fila: Jackson y Jetty ya agrupan la salida en sus buffers
+    private static final ObjectWriter WRITER = JacksonConfig.getMapper().writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final LongAdder INTERRUMPIDAS = new LongAdder();
+
+    /**
+     * Origen de las filas a enviar (normalmente un método streamAll de un servicio)
+     */
+    @FunctionalInterface
+    public interface Fuente<T> {
+        void forEach(RowCallback<T> callback) throws SQLException, IOException;
+    }
+
+    /**
+     * Indica si la petición pidió la respuesta en streaming (?stream=true)
+     * @param ctx Contexto de Javalin
+     * @return true si se debe usar streaming
+     */
+    public static boolean solicitado(Context ctx) {
+        return "true".equalsIgnoreCase(ctx.queryParam("stream"));
+    }
+
+    /**
+     * Envía una respuesta exitosa cuyo campo data se escribe fila por fila
+     * Si falla antes de que se haya enviado algo al cliente, se descarta lo escrito y
+     * se relanza la excepción para que el controlador responda el error normalmente;
+     * si ya se envió parte del cuerpo, se aborta la conexión sin el fragmento final para que
+     * el cliente no pueda tomar el cuerpo truncado como una respuesta completa.
+     * @param ctx Contexto de Javalin
+     * @param message Mensaje descriptivo
+     * @param fuente Origen de las filas
+     * @throws SQLException Error en la consulta
+     * @throws IOException Error al escribir la respuesta
+     */
+    public static <T> void stream(Context ctx, String message, Fuente<T> fuente) throws SQLException, IOException {
+        HttpServletResponse res = ctx.res();
+        res.setContentType("application/json");
+
+        // Javalin decide si comprime con el tamaño de la primera escritura, que es el buffer
+        // de Jackson lleno o la respuesta completa si es chica
+        OutputStream out = ctx.outputStream();
+        JsonGenerator gen = JacksonConfig.getMapper().getFactory()
+                .createGenerator(out, JsonEncoding.UTF8);
+        // Si la consulta falla a mitad no se deben cerrar los corchetes: el cliente debe ver un JSON truncado
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try {
+            gen.writeStartObject();
+            gen.writeBooleanField("success", true);
+            gen.writeStringField("message", message);
+            gen.writeArrayFieldStart("data");
+            fuente.forEach(fila -> WRITER.writeValue(gen, fila));
+            gen.writeEndArray();
+            gen.writeNumberField("timestamp", System.currentTimeMillis());
+            gen.writeEndObject();
+            gen.flush();
+            // Cierra el compresor (trailer de gzip o Brotli) además del stream de la respuesta
+            out.close();
+        } catch (SQLException | IOException | RuntimeException e) {
+            // Sin compresión lo escrito sigue en el buffer y se puede descartar; si ya pasó por el
+            // compresor, su estado no se puede reiniciar y el 500 saldría corrupto
+            if (!res.isCommitted() && res.getHeader("Content-Encoding") == null) {
+                res.resetBuffer();
+                throw e;
+            }
+            // Ya se enviaron (o comprimieron) cabeceras y parte del cuerpo: el 500 ya no se puede
+            // enviar, se corta la conexión sin cerrar el chunked para que el cliente vea el error
+            INTERRUMPIDAS.increment();
+            if (res instanceof Response) {
+                ((Response) res).getHttpChannel().abort(e);
+                return;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Exporta el contador de respuestas abortadas a mitad del cuerpo
+     * @param w Escritor del formato de Prometheus
+     */
+    public static void exportar(PrometheusWriter w) {
+        w.header("json_stream_aborted_total", "counter",
+                "Respuestas en streaming cortadas porque la consulta falló después de enviar parte del cuerpo");
+        w.sample("json_stream_aborted_total", INTERRUMPIDAS.sum());
+    }
+}
@@ -0,0 +1,48 @@
+package com.vetfinder.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de una consulta paginada por keyset
+ * Contiene los elementos de la página y el cursor para pedir la siguiente
+ * @param <T> Tipo de los elementos
+ */
+public class Pagina<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Pagina(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Construye una página a partir de una consulta que pidió limit + 1 filas.
+     * Si llegaron más filas que el límite hay una página siguiente y su cursor
+     * se calcula con la última fila que sí se devuelve.
+     * @param filas Filas leídas (hasta limit + 1)
+     * @param limit Tamaño de página solicitado
+     * @param cursorDe Función que genera el cursor a partir de una fila
+     * @return Página construida
+     */
+    public static <T> Pagina<T> of(List<T> filas, int limit, Function<T, String> cursorDe) {
+        if (filas.size() <= limit) {
+            return new Pagina<>(filas, null);
+        }
+        List<T> items = filas.subList(0, limit);
+        return new Pagina<>(items, cursorDe.apply(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.vetfinder.util;
+
+import io.javalin.http.Context;
+
+/**
+ * Parámetros de paginación por cursor (?after=&lt;cursor&gt;&amp;limit=N)
+ * Si la petición no trae ninguno de los dos, el endpoint conserva su respuesta completa
+ */
+public class Paginacion {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final String after;
+    private final int limit;
+
+    public Paginacion(String after, int limit) {
+        this.after = after;
+        this.limit = limit;
+    }
+
+    /**
+     * Lee los parámetros de paginación de la petición
+     * @param ctx Contexto de Javalin
+     * @return Paginación solicitada o null si la petición no pide paginar
+     */
+    public static Paginacion from(Context ctx) {
+        String after = ctx.queryParam("after");
+        String limitParam = ctx.queryParam("limit");
+
+        if (after == null && limitParam == null) {
+            return null;
+        }
+
+        int limit = DEFAULT_LIMIT;
+        if (limitParam != null) {
+            try {
+                limit = Integer.parseInt(limitParam);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("El parámetro 'limit' debe ser numérico");
+            }
+            if (limit <= 0) {
+                throw new IllegalArgumentException("El parámetro 'limit' debe ser mayor a 0");
+            }
+            limit = Math.min(limit, MAX_LIMIT);
+        }
+
+        return new Paginacion(after == null || after.isEmpty() ? null : after, limit);
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,71 @@
+package com.vetfinder.util;
+
+import io.javalin.http.Context;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura de parámetros de consulta opcionales con validación
+ * Los valores mal formados lanzan IllegalArgumentException (400 en los controladores)
+ */
+public class Parametros {
+
+    /**
+     * Lee una fecha (YYYY-MM-DD) de la consulta
+     * @return Fecha o null si el parámetro no viene
+     */
+    public static LocalDate fecha(Context ctx, String nombre) {
+        String valor = ctx.queryParam(nombre);
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("El parámetro '" + nombre + "' debe tener formato YYYY-MM-DD");
+        }
+    }
+
+    /**
+     * Lee un entero de la consulta
+     * @return Valor o el valor por defecto si el parámetro no viene
+     */
+    public static int entero(Context ctx, String nombre, int defaultValue) {
+        String valor = ctx.queryParam(nombre);
+        if (valor == null || valor.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro '" + nombre + "' debe ser numérico");
+        }
+    }
+
+    /**
+     * Lee una lista de IDs separados por coma (ej: ?ids=1,2,3)
+     * @return IDs en el orden recibido o null si el parámetro no viene
+     */
+    public static List<Integer> ids(Context ctx, String nombre) {
+        String valor = ctx.queryParam(nombre);
+        if (valor == null) {
+            return null;
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (String parte : valor.split(",")) {
+            if (parte.isBlank()) {
+                continue;
+            }
+            try {
+                ids.add(Integer.parseInt(parte.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("El parámetro '" + nombre + "' debe ser una lista de IDs numéricos separados por coma");
+            }
+        }
+        JdbcIn.validarIds(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,13 @@
+package com.vetfinder.util;
+
+import java.io.IOException;
+
+/**
+ * Recibe las filas de una consulta a medida que se leen del ResultSet
+ * Se usa para enviar resultados grandes sin cargarlos completos en memoria
+ * @param <T> Tipo de la fila mapeada
+ */
+@FunctionalInterface
+public interface RowCallback<T> {
+    void accept(T fila) throws IOException;
+}
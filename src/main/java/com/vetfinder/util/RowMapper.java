@@ -0,0 +1,279 @@
+package com.vetfinder.util;
+
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Mapeo genérico de filas de un ResultSet a objetos del modelo
+ * Las columnas se asocian a los setters por nombre (id_dato_veterinario, iddatoveterinario
+ * e idDatoVeterinario se consideran iguales). La asociación se calcula una sola vez por
+ * forma de consulta (lista de columnas) y queda en caché; después cada fila se lee por
+ * índice y se asigna con setters generados con LambdaMetafactory, sin reflexión por fila.
+ * Las columnas sin setter equivalente se ignoran.
+ * @param <T> Clase del modelo (debe tener constructor público sin argumentos)
+ */
+public final class RowMapper<T> {
+    private static final Map<Class<?>, RowMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Supplier<T> constructor;
+    private final Map<String, Method> setters;
+    private final Map<String, Plan<T>> planes = new ConcurrentHashMap<>();
+
+    private RowMapper(Class<T> tipo) {
+        this.constructor = crearConstructor(tipo);
+        this.setters = buscarSetters(tipo);
+    }
+
+    /**
+     * Obtiene el mapper de una clase del modelo (se crea una sola vez por clase)
+     * @param tipo Clase del modelo
+     * @return Mapper de la clase
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> of(Class<T> tipo) {
+        return (RowMapper<T>) MAPPERS.computeIfAbsent(tipo, RowMapper::new);
+    }
+
+    /**
+     * Mapea todas las filas restantes del ResultSet
+     * @param rs ResultSet posicionado antes de la primera fila
+     * @return Lista de objetos mapeados
+     * @throws SQLException Error al leer las filas
+     */
+    public List<T> list(ResultSet rs) throws SQLException {
+        Plan<T> plan = planFor(rs);
+        List<T> resultado = new ArrayList<>();
+        while (rs.next()) {
+            resultado.add(plan.map(rs));
+        }
+        return resultado;
+    }
+
+    /**
+     * Mapea la primera fila del ResultSet
+     * @param rs ResultSet posicionado antes de la primera fila
+     * @return Objeto mapeado o null si no hay filas
+     * @throws SQLException Error al leer la fila
+     */
+    public T first(ResultSet rs) throws SQLException {
+        return rs.next() ? planFor(rs).map(rs) : null;
+    }
+
+    /**
+     * Mapea las filas una por una y las entrega al callback sin acumularlas
+     * @param rs ResultSet posicionado antes de la primera fila
+     * @param callback Receptor de cada objeto
+     * @throws SQLException Error al leer las filas
+     * @throws IOException Error del callback
+     */
+    public void forEach(ResultSet rs, RowCallback<T> callback) throws SQLException, IOException {
+        Plan<T> plan = planFor(rs);
+        while (rs.next()) {
+            callback.accept(plan.map(rs));
+        }
+    }
+
+    /**
+     * Obtiene el plan de mapeo para las columnas del ResultSet
+     * Sirve para mapear fila por fila cuando el recorrido lo controla el repositorio.
+     * @param rs ResultSet de la consulta
+     * @return Plan (cacheado por lista de columnas)
+     * @throws SQLException Error al leer los metadatos
+     */
+    public Plan<T> planFor(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columnas = meta.getColumnCount();
+        String[] etiquetas = new String[columnas];
+        StringBuilder firma = new StringBuilder();
+        for (int i = 0; i < columnas; i++) {
+            etiquetas[i] = meta.getColumnLabel(i + 1);
+            firma.append(etiquetas[i]).append(',');
+        }
+
+        Plan<T> plan = planes.get(firma.toString());
+        if (plan == null) {
+            plan = planes.computeIfAbsent(firma.toString(), k -> compilar(etiquetas));
+        }
+        return plan;
+    }
+
+    private Plan<T> compilar(String[] etiquetas) {
+        List<Columna> columnas = new ArrayList<>();
+        for (int i = 0; i < etiquetas.length; i++) {
+            Method setter = setters.get(normalizar(etiquetas[i]));
+            if (setter != null) {
+                columnas.add(crearColumna(i + 1, setter));
+            }
+        }
+        return new Plan<>(constructor, columnas.toArray(new Columna[0]));
+    }
+
+    /**
+     * Plan de mapeo ya resuelto: índices de columna y setters a invocar
+     */
+    public static final class Plan<T> {
+        private final Supplier<T> constructor;
+        private final Columna[] columnas;
+
+        private Plan(Supplier<T> constructor, Columna[] columnas) {
+            this.constructor = constructor;
+            this.columnas = columnas;
+        }
+
+        /**
+         * Mapea la fila actual del ResultSet
+         * @param rs ResultSet posicionado en una fila
+         * @return Objeto con los valores de la fila
+         * @throws SQLException Error al leer la fila
+         */
+        public T map(ResultSet rs) throws SQLException {
+            T objeto = constructor.get();
+            for (Columna columna : columnas) {
+                columna.asignar(objeto, rs);
+            }
+            return objeto;
+        }
+    }
+
+    // ========== CONSTRUCCIÓN DE SETTERS ==========
+
+    private static String normalizar(String nombre) {
+        return nombre.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Method> buscarSetters(Class<?> tipo) {
+        Map<String, Method> setters = new HashMap<>();
+        for (Method m : tipo.getMethods()) {
+            if (m.getName().startsWith("set") && m.getName().length() > 3 && m.getParameterCount() == 1
+                    && m.getReturnType() == void.class && !Modifier.isStatic(m.getModifiers())) {
+                setters.put(normalizar(m.getName().substring(3)), m);
+            }
+        }
+        return setters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> crearConstructor(Class<T> tipo) {
+        try {
+            MethodHandle ctor = LOOKUP.findConstructor(tipo, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    ctor, MethodType.methodType(tipo));
+            return (Supplier<T>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("No se pudo crear el mapper de " + tipo.getName(), e);
+        }
+    }
+
+    private static Object crearSetter(Method setter, Class<?> interfaz, MethodType generico) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(setter);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                    MethodType.methodType(interfaz), generico, handle, handle.type());
+            return site.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("No se pudo crear el setter " + setter, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Columna crearColumna(int indice, Method setter) {
+        Class<?> param = setter.getParameterTypes()[0];
+
+        if (param == int.class) {
+            ObjIntConsumer<Object> set = (ObjIntConsumer<Object>) crearSetter(setter, ObjIntConsumer.class,
+                    MethodType.methodType(void.class, Object.class, int.class));
+            return (obj, rs) -> set.accept(obj, rs.getInt(indice));
+        }
+        if (param == long.class) {
+            ObjLongConsumer<Object> set = (ObjLongConsumer<Object>) crearSetter(setter, ObjLongConsumer.class,
+                    MethodType.methodType(void.class, Object.class, long.class));
+            return (obj, rs) -> set.accept(obj, rs.getLong(indice));
+        }
+        if (param == double.class) {
+            ObjDoubleConsumer<Object> set = (ObjDoubleConsumer<Object>) crearSetter(setter, ObjDoubleConsumer.class,
+                    MethodType.methodType(void.class, Object.class, double.class));
+            return (obj, rs) -> set.accept(obj, rs.getDouble(indice));
+        }
+        if (param == float.class) {
+            ObjFloatConsumer set = (ObjFloatConsumer) crearSetter(setter, ObjFloatConsumer.class,
+                    MethodType.methodType(void.class, Object.class, float.class));
+            return (obj, rs) -> set.accept(obj, rs.getFloat(indice));
+        }
+        if (param == boolean.class) {
+            ObjBooleanConsumer set = (ObjBooleanConsumer) crearSetter(setter, ObjBooleanConsumer.class,
+                    MethodType.methodType(void.class, Object.class, boolean.class));
+            return (obj, rs) -> set.accept(obj, rs.getBoolean(indice));
+        }
+
+        BiConsumer<Object, Object> set = (BiConsumer<Object, Object>) crearSetter(setter, BiConsumer.class,
+                MethodType.methodType(void.class, Object.class, Object.class));
+        if (param == String.class) {
+            return (obj, rs) -> set.accept(obj, rs.getString(indice));
+        }
+        if (param == LocalDate.class) {
+            return (obj, rs) -> {
+                Date valor = rs.getDate(indice);
+                set.accept(obj, valor != null ? valor.toLocalDate() : null);
+            };
+        }
+        if (param == LocalTime.class) {
+            return (obj, rs) -> {
+                Time valor = rs.getTime(indice);
+                set.accept(obj, valor != null ? valor.toLocalTime() : null);
+            };
+        }
+        if (param == LocalDateTime.class) {
+            return (obj, rs) -> {
+                Timestamp valor = rs.getTimestamp(indice);
+                set.accept(obj, valor != null ? valor.toLocalDateTime() : null);
+            };
+        }
+        return (obj, rs) -> set.accept(obj, rs.getObject(indice, param));
+    }
+
+    /**
+     * Asigna el valor de una columna (leída por índice) al objeto
+     */
+    @FunctionalInterface
+    private interface Columna {
+        void asignar(Object objeto, ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface ObjFloatConsumer {
+        void accept(Object objeto, float valor);
+    }
+
+    @FunctionalInterface
+    interface ObjBooleanConsumer {
+        void accept(Object objeto, boolean valor);
+    }
+}
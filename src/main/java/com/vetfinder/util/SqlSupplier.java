@@ -0,0 +1,12 @@
+package com.vetfinder.util;
+
+import java.sql.SQLException;
+
+/**
+ * Proveedor de datos que puede fallar con SQLException (normalmente un método de repositorio)
+ * @param <T> Tipo del valor obtenido
+ */
+@FunctionalInterface
+public interface SqlSupplier<T> {
+    T get() throws SQLException;
+}
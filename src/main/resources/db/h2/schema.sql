@@ -0,0 +1,98 @@
+-- Esquema de VetFinder para el perfil H2 (DB_PROFILE=h2, modo de compatibilidad MySQL)
+-- Reproduce las tablas de la base MySQL tal como las usan los repositorios; los índices de
+-- consultas frecuentes los agregan las migraciones de db/migration, igual que en MySQL.
+-- DATOVETERINARIO y CONSULTORIO se referencian entre sí, por eso esas dos columnas no tienen FK.
+
+CREATE TABLE IF NOT EXISTS ROL (
+    id_rol INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS SEXO (
+    id_sexo INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(20) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS DIRECCION (
+    id_direccion INT AUTO_INCREMENT PRIMARY KEY,
+    calle VARCHAR(150) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS ESPECIALIDAD (
+    id_especialidad INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS SERVICIO (
+    id_servicio INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL,
+    precio FLOAT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS USUARIO (
+    id_usuario INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL,
+    apellidos VARCHAR(100) NOT NULL,
+    fecha_nacimiento DATE,
+    correo VARCHAR(150) NOT NULL,
+    contrasena VARCHAR(255) NOT NULL,
+    telefono BIGINT,
+    descripcion VARCHAR(500),
+    cedula INT,
+    id_direccion INT,
+    id_rol INT NOT NULL,
+    FOREIGN KEY (id_direccion) REFERENCES DIRECCION (id_direccion),
+    FOREIGN KEY (id_rol) REFERENCES ROL (id_rol)
+);
+
+CREATE TABLE IF NOT EXISTS MASCOTA (
+    id_mascota INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL,
+    raza VARCHAR(100),
+    fecha_nacimiento DATE,
+    id_sexo INT,
+    id_usuario INT NOT NULL,
+    FOREIGN KEY (id_sexo) REFERENCES SEXO (id_sexo),
+    FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario)
+);
+
+CREATE TABLE IF NOT EXISTS CONSULTORIO (
+    id_consultorio INT AUTO_INCREMENT PRIMARY KEY,
+    horario TIME,
+    nombre_consultorio VARCHAR(100) NOT NULL,
+    id_datoveterinario INT
+);
+
+CREATE TABLE IF NOT EXISTS DATOVETERINARIO (
+    id_datoveterinario INT AUTO_INCREMENT PRIMARY KEY,
+    id_consultorio INT,
+    id_usuario INT NOT NULL,
+    id_especialidad INT NOT NULL,
+    FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario),
+    FOREIGN KEY (id_especialidad) REFERENCES ESPECIALIDAD (id_especialidad)
+);
+
+CREATE TABLE IF NOT EXISTS CITA (
+    id_cita INT AUTO_INCREMENT PRIMARY KEY,
+    fecha DATE NOT NULL,
+    hora TIME NOT NULL,
+    id_servicio INT NOT NULL,
+    id_mascota INT NOT NULL,
+    id_datoveterinario INT NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    FOREIGN KEY (id_servicio) REFERENCES SERVICIO (id_servicio),
+    FOREIGN KEY (id_mascota) REFERENCES MASCOTA (id_mascota),
+    FOREIGN KEY (id_datoveterinario) REFERENCES DATOVETERINARIO (id_datoveterinario)
+);
+
+CREATE TABLE IF NOT EXISTS FACTURA (
+    id_factura INT AUTO_INCREMENT PRIMARY KEY,
+    id_usuario INT NOT NULL,
+    id_servicio INT NOT NULL,
+    id_cita INT,
+    total FLOAT NOT NULL,
+    fecha_factura DATE NOT NULL,
+    FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario),
+    FOREIGN KEY (id_servicio) REFERENCES SERVICIO (id_servicio),
+    FOREIGN KEY (id_cita) REFERENCES CITA (id_cita)
+);
@@ -0,0 +1,9 @@
+-- Índices compuestos para los listados de citas por veterinario y por mascota
+-- (CitaRepository.findByVeterinario / findByMascota con ?desde=&hasta=&estado=&idServicio=).
+-- La igualdad sobre el dueño y el rango de fechas se resuelven en el índice, que además
+-- entrega las filas ya ordenadas por fecha y hora; estado e id_servicio van al final
+-- para que el motor descarte filas en el índice (index condition pushdown) sin leerlas.
+
+CREATE INDEX idx_cita_veterinario_fecha ON CITA (id_datoveterinario, fecha, hora, estado, id_servicio);
+
+CREATE INDEX idx_cita_mascota_fecha ON CITA (id_mascota, fecha, hora, estado, id_servicio);
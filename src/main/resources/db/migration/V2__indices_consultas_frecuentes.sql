@@ -0,0 +1,28 @@
+-- Índices para las consultas filtradas de los repositorios que no tenían uno propio.
+-- Los nombres de columna siguen el orden WHERE (igualdad) -> ORDER BY; InnoDB agrega la clave
+-- primaria al final de cada índice secundario, lo que también sirve a la paginación por cursor.
+
+-- FacturaRepository.findByUsuario: WHERE id_usuario = ? ORDER BY fecha_factura DESC.
+-- Cubre todas las columnas del SELECT, así la consulta se resuelve solo con el índice.
+CREATE INDEX idx_factura_usuario_fecha ON FACTURA (id_usuario, fecha_factura, id_servicio, id_cita, total);
+
+-- FacturaRepository.findPage: ORDER BY fecha_factura DESC, id_factura DESC con cursor
+CREATE INDEX idx_factura_fecha ON FACTURA (fecha_factura);
+
+-- UsuarioRepository.findByCorreo (login)
+CREATE INDEX idx_usuario_correo ON USUARIO (correo);
+
+-- UsuarioRepository.findByRol: WHERE id_rol = ? ORDER BY nombre
+CREATE INDEX idx_usuario_rol_nombre ON USUARIO (id_rol, nombre);
+
+-- MascotaRepository.findByUsuario: WHERE id_usuario = ? ORDER BY nombre
+CREATE INDEX idx_mascota_usuario_nombre ON MASCOTA (id_usuario, nombre);
+
+-- DatoVeterinarioRepository.findByUsuario
+CREATE INDEX idx_datoveterinario_usuario ON DATOVETERINARIO (id_usuario);
+
+-- CitaRepository.findPage (ORDER BY fecha, hora, id_cita con cursor), forEachOcupadoDesde y
+-- EstadisticasRepository (WHERE fecha >= ? GROUP BY fecha, HOUR(hora), id_servicio).
+-- id_cita va inmediatamente después de hora para que el índice entregue las filas en el orden
+-- de la página; con servicio, estado y veterinario detrás las dos últimas no leen las filas
+CREATE INDEX idx_cita_fecha_hora ON CITA (fecha, hora, id_cita, id_servicio, estado, id_datoveterinario);
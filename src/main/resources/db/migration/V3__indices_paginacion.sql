@@ -0,0 +1,17 @@
+-- Índices para el orden de los findPage que no tenían uno propio.
+-- La paginación por cursor necesita un índice sobre toda la clave de ordenamiento
+-- (columna, id) para arrancar en el cursor sin ordenar la tabla. Se escribe el id
+-- explícito aunque InnoDB ya lo agregue, así H2 usa el mismo índice.
+-- ROL, SEXO, ESPECIALIDAD y SERVICIO son catálogos de pocas filas que se sirven desde caché.
+
+-- UsuarioRepository.findPage: ORDER BY nombre, id_usuario
+CREATE INDEX idx_usuario_nombre_id ON USUARIO (nombre, id_usuario);
+
+-- MascotaRepository.findPage: ORDER BY nombre, id_mascota
+CREATE INDEX idx_mascota_nombre_id ON MASCOTA (nombre, id_mascota);
+
+-- DireccionRepository.findPage: ORDER BY calle, id_direccion (crece con los usuarios)
+CREATE INDEX idx_direccion_calle_id ON DIRECCION (calle, id_direccion);
+
+-- ConsultorioRepository.findPage: ORDER BY nombre_consultorio, id_consultorio
+CREATE INDEX idx_consultorio_nombre_id ON CONSULTORIO (nombre_consultorio, id_consultorio);
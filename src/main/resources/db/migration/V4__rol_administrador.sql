@@ -0,0 +1,9 @@
+-- Rol administrador (id 3) para los endpoints de /api/admin (AuthFilter).
+-- El registro de la API solo crea veterinarios y tutores, así que el rol se otorga a mano:
+--   UPDATE USUARIO SET id_rol = 3 WHERE correo = 'admin@ejemplo.com';
+-- Un usuario tiene un solo rol; conviene una cuenta dedicada, porque deja de ser veterinario o tutor.
+-- Si la base ya tenía el rol 3 cargado no se modifica.
+
+INSERT INTO ROL (id_rol, nombre)
+SELECT 3, 'Administrador' FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM ROL WHERE id_rol = 3);
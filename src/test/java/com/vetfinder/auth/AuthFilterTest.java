@@ -0,0 +1,101 @@
+package com.vetfinder.auth;
+
+import com.vetfinder.model.Rol;
+import io.javalin.Javalin;
+import io.javalin.testtools.JavalinTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas del filtro de autenticación sobre un servidor Javalin real
+ * El rol "en la base de datos" es un mapa que cada prueba modifica
+ */
+class AuthFilterTest {
+    private static final byte[] CLAVE = "clave-de-prueba-con-32-caracteres!".getBytes(StandardCharsets.UTF_8);
+
+    private final TokenService tokens = new TokenService(CLAVE, 3600);
+    private final Map<Integer, Integer> roles = new ConcurrentHashMap<>();
+
+    private Javalin app(boolean requerido) {
+        Javalin app = Javalin.create();
+        new AuthFilter(tokens, roles::get, requerido).register(app);
+        app.get("/api/admin/caches", ctx -> ctx.result("admin"));
+        app.get("/api/citas", ctx -> ctx.result("citas"));
+        app.post("/api/usuarios/login", ctx -> ctx.result("login"));
+        return app;
+    }
+
+    private String bearer(int idUsuario, int idRol) {
+        return "Bearer " + tokens.emitir(tokens.nuevaSesion(idUsuario, idRol));
+    }
+
+    @Test
+    void administradorEntraAAdmin() {
+        roles.put(1, Rol.ADMINISTRADOR);
+        JavalinTest.test(app(false), (server, client) -> {
+            var respuesta = client.get("/api/admin/caches", req -> req.header("Authorization", bearer(1, Rol.ADMINISTRADOR)));
+            assertEquals(200, respuesta.code());
+            assertEquals("admin", respuesta.body().string());
+        });
+    }
+
+    @Test
+    void tutorYVeterinarioRecibenProhibido() {
+        roles.put(2, Rol.TUTOR);
+        roles.put(3, Rol.VETERINARIO);
+        JavalinTest.test(app(false), (server, client) -> {
+            assertEquals(403, client.get("/api/admin/caches", req -> req.header("Authorization", bearer(2, Rol.TUTOR))).code());
+            assertEquals(403, client.get("/api/admin/caches", req -> req.header("Authorization", bearer(3, Rol.VETERINARIO))).code());
+        });
+    }
+
+    @Test
+    void adminSinTokenOTokenInvalidoRecibeNoAutorizado() {
+        JavalinTest.test(app(false), (server, client) -> {
+            assertEquals(401, client.get("/api/admin/caches").code());
+            assertEquals(401, client.get("/api/admin/caches", req -> req.header("Authorization", "Bearer basura")).code());
+        });
+    }
+
+    @Test
+    void administradorDegradadoOEliminadoPierdeElAccesoConElMismoToken() {
+        roles.put(1, Rol.ADMINISTRADOR);
+        String token = bearer(1, Rol.ADMINISTRADOR);
+        JavalinTest.test(app(false), (server, client) -> {
+            assertEquals(200, client.get("/api/admin/caches", req -> req.header("Authorization", token)).code());
+
+            roles.put(1, Rol.TUTOR);
+            assertEquals(403, client.get("/api/admin/caches", req -> req.header("Authorization", token)).code());
+
+            roles.remove(1);
+            assertEquals(403, client.get("/api/admin/caches", req -> req.header("Authorization", token)).code());
+        });
+    }
+
+    @Test
+    void tokenVencidoNoImpideIniciarSesion() {
+        String vencido = "Bearer " + tokens.emitir(new Sesion(2, Rol.TUTOR, System.currentTimeMillis() / 1000 - 60));
+        JavalinTest.test(app(true), (server, client) -> {
+            var respuesta = client.post("/api/usuarios/login", "{}", req -> req.header("Authorization", vencido));
+            assertEquals(200, respuesta.code());
+            assertEquals("login", respuesta.body().string());
+
+            // En una ruta protegida el mismo token sí se rechaza
+            assertEquals(401, client.get("/api/citas", req -> req.header("Authorization", vencido)).code());
+        });
+    }
+
+    @Test
+    void rutaProtegidaSinTokenDependeDeAuthRequired() {
+        JavalinTest.test(app(true), (server, client) -> {
+            assertEquals(401, client.get("/api/citas").code());
+            assertEquals(200, client.get("/api/citas", req -> req.header("Authorization", bearer(2, Rol.TUTOR))).code());
+        });
+        JavalinTest.test(app(false), (server, client) -> assertEquals(200, client.get("/api/citas").code()));
+    }
+}
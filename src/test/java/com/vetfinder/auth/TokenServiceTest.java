@@ -0,0 +1,84 @@
+package com.vetfinder.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de la emisión y verificación de tokens de sesión
+ * Cualquier token alterado, vencido o mal formado debe verificarse como null
+ */
+class TokenServiceTest {
+    private static final byte[] CLAVE = "clave-de-prueba-con-32-caracteres!".getBytes(StandardCharsets.UTF_8);
+
+    private final TokenService tokens = new TokenService(CLAVE, 3600);
+
+    private static long ahora() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    @Test
+    void tokenEmitidoSeVerificaConLosMismosDatos() {
+        Sesion sesion = tokens.verificar(tokens.emitir(tokens.nuevaSesion(42, 2)));
+        assertNotNull(sesion);
+        assertEquals(42, sesion.getIdUsuario());
+        assertEquals(2, sesion.getIdRol());
+    }
+
+    @Test
+    void rechazaDatosModificados() {
+        String token = tokens.emitir(tokens.nuevaSesion(42, 2));
+        String firma = token.substring(token.lastIndexOf('.'));
+        long expira = ahora() + 3600;
+
+        // Otro usuario, otro rol o más duración con la firma original
+        assertNull(tokens.verificar("43.2." + expira + firma));
+        assertNull(tokens.verificar("42.3." + expira + firma));
+        assertNull(tokens.verificar("42.2." + (expira + 86_400) + firma));
+    }
+
+    @Test
+    void rechazaFirmaModificada() {
+        String token = tokens.emitir(tokens.nuevaSesion(42, 2));
+        char ultimo = token.charAt(token.length() - 1);
+        String alterado = token.substring(0, token.length() - 1) + (ultimo == 'A' ? 'B' : 'A');
+        assertNull(tokens.verificar(alterado));
+        assertNull(tokens.verificar(token.substring(0, token.lastIndexOf('.') + 1)));
+    }
+
+    @Test
+    void rechazaTokenFirmadoConOtraClave() {
+        byte[] otra = "otra-clave-de-prueba-de-32-caracteres".getBytes(StandardCharsets.UTF_8);
+        String token = new TokenService(otra, 3600).emitir(new Sesion(42, 2, ahora() + 3600));
+        assertNull(tokens.verificar(token));
+    }
+
+    @Test
+    void rechazaTokenVencido() {
+        assertNull(tokens.verificar(tokens.emitir(new Sesion(42, 2, ahora() - 1))));
+        assertNull(tokens.verificar(tokens.emitir(new Sesion(42, 2, ahora()))));
+    }
+
+    @Test
+    void rechazaTokensMalFormados() {
+        assertNull(tokens.verificar(""));
+        assertNull(tokens.verificar("token"));
+        assertNull(tokens.verificar(".firma"));
+        assertNull(tokens.verificar("42.2.firma"));
+        assertNull(tokens.verificar("42.2.1.2.firma"));
+        assertNull(tokens.verificar("a.b.c.firma"));
+        // Caracteres fuera de Base64 URL en la firma
+        assertNull(tokens.verificar("42.2." + (ahora() + 3600) + ".fi+rm/a=="));
+    }
+
+    @Test
+    void rechazaClaveCortaODuracionInvalida() {
+        assertThrows(IllegalStateException.class, () -> new TokenService(new byte[16], 3600));
+        assertThrows(IllegalStateException.class, () -> new TokenService(CLAVE, 0));
+    }
+}
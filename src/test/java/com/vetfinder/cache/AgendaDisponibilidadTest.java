@@ -0,0 +1,63 @@
+package com.vetfinder.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de la búsqueda de turnos libres sobre el bitmap de un día
+ */
+class AgendaDisponibilidadTest {
+
+    private static AtomicLongArray ocupados(int palabras, int desde, int hasta) {
+        AtomicLongArray bits = new AtomicLongArray(palabras);
+        for (int s = desde; s < hasta; s++) {
+            long mascara = 1L << (s & 63);
+            bits.getAndUpdate(s >>> 6, actual -> actual | mascara);
+        }
+        return bits;
+    }
+
+    @Test
+    void sinBitmapElPrimerTurnoEstaLibre() {
+        assertEquals(5, AgendaDisponibilidad.siguienteLibre(null, 5, 10));
+        assertEquals(-1, AgendaDisponibilidad.siguienteLibre(null, 10, 10));
+    }
+
+    @Test
+    void saltaALaSiguientePalabraCuandoLaActualEstaLlena() {
+        // Turnos 0..63 ocupados: el primero libre es el bit 0 de la segunda palabra
+        AtomicLongArray bits = ocupados(3, 0, 64);
+        assertEquals(64, AgendaDisponibilidad.siguienteLibre(bits, 0, 192));
+        assertEquals(64, AgendaDisponibilidad.siguienteLibre(bits, 63, 192));
+    }
+
+    @Test
+    void cruzaVariasPalabrasOcupadas() {
+        AtomicLongArray bits = ocupados(3, 10, 150);
+        assertEquals(150, AgendaDisponibilidad.siguienteLibre(bits, 10, 192));
+        assertEquals(9, AgendaDisponibilidad.siguienteLibre(bits, 9, 192));
+    }
+
+    @Test
+    void respetaLosBitsDelUltimoTurnoDeCadaPalabra() {
+        // Solo el turno 63 libre en la primera palabra y el 127 en la segunda
+        AtomicLongArray bits = ocupados(3, 0, 192);
+        bits.getAndUpdate(0, actual -> actual & ~(1L << 63));
+        bits.getAndUpdate(1, actual -> actual & ~(1L << 63));
+        assertEquals(63, AgendaDisponibilidad.siguienteLibre(bits, 0, 192));
+        assertEquals(127, AgendaDisponibilidad.siguienteLibre(bits, 64, 192));
+        assertEquals(-1, AgendaDisponibilidad.siguienteLibre(bits, 128, 192));
+    }
+
+    @Test
+    void noDevuelveTurnosDesdeElLimiteEnAdelante() {
+        AtomicLongArray bits = ocupados(3, 0, 100);
+        assertEquals(-1, AgendaDisponibilidad.siguienteLibre(bits, 0, 100));
+        assertEquals(100, AgendaDisponibilidad.siguienteLibre(bits, 0, 101));
+        // El límite cae justo en el borde de una palabra
+        assertEquals(-1, AgendaDisponibilidad.siguienteLibre(ocupados(2, 0, 64), 0, 64));
+    }
+}
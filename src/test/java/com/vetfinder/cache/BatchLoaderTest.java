@@ -0,0 +1,82 @@
+package com.vetfinder.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas del cargador por lotes con una consulta simulada que registra cada lote pedido
+ */
+class BatchLoaderTest {
+    private static final Set<Integer> EXISTENTES = Set.of(1, 2, 3, 5, 8);
+
+    private final List<List<Integer>> lotes = new ArrayList<>();
+    private boolean falla;
+
+    private List<Integer> cargar(Collection<Integer> ids) throws SQLException {
+        lotes.add(new ArrayList<>(ids));
+        if (falla) {
+            throw new SQLException("Conexión rechazada", "08001", 1040);
+        }
+        List<Integer> encontrados = new ArrayList<>();
+        for (Integer id : ids) {
+            if (EXISTENTES.contains(id)) {
+                encontrados.add(id);
+            }
+        }
+        return encontrados;
+    }
+
+    private BatchLoader<Integer> loader() {
+        return new BatchLoader<>(this::cargar, id -> id);
+    }
+
+    @Test
+    void resuelveTodosLosPedidosEnUnaConsulta() throws SQLException {
+        BatchLoader<Integer> loader = loader();
+        for (int id : new int[]{3, 1, 3, 4, 8}) {
+            loader.pedir(id);
+        }
+        assertEquals(3, loader.get(3));
+        assertEquals(1, loader.get(1));
+        assertNull(loader.get(4));
+        assertEquals(List.of(List.of(3, 1, 4, 8)), lotes);
+        assertEquals(List.of(3, 1, 8), loader.cargados());
+    }
+
+    @Test
+    void noVuelveAConsultarIdsCargadosNiInexistentes() throws SQLException {
+        BatchLoader<Integer> loader = loader();
+        assertNull(loader.get(4));
+        assertEquals(2, loader.get(2));
+        loader.pedir(4);
+        loader.pedir(2);
+        loader.despachar();
+        assertNull(loader.get(4));
+        assertEquals(List.of(List.of(4), List.of(2)), lotes);
+    }
+
+    @Test
+    void siLaConsultaFallaLosIdsSeReintentan() throws SQLException {
+        BatchLoader<Integer> loader = loader();
+        loader.pedir(1);
+        loader.pedir(7);
+        falla = true;
+        SQLException error = assertThrows(SQLException.class, () -> loader.get(1));
+        assertEquals("08001", error.getSQLState());
+
+        // No quedaron registrados como inexistentes: el siguiente get() vuelve a consultar
+        falla = false;
+        assertEquals(1, loader.get(1));
+        assertNull(loader.get(7));
+        assertEquals(List.of(List.of(1, 7), List.of(1, 7)), lotes);
+    }
+}
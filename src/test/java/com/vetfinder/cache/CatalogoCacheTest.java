@@ -0,0 +1,122 @@
+package com.vetfinder.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la caché de catálogos con un cargador simulado
+ * Cada carga devuelve los IDs 1..n con n = número de carga, así se distingue qué carga se ve
+ */
+class CatalogoCacheTest {
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    private List<Integer> cargar() {
+        int n = cargas.incrementAndGet();
+        Integer[] ids = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+        }
+        return List.of(ids);
+    }
+
+    private CatalogoCache<Integer> cache(long ttlSeconds) {
+        return new CatalogoCache<>("prueba", this::cargar, id -> id, ttlSeconds);
+    }
+
+    @Test
+    void lasLecturasNoRecarganHastaInvalidar() throws SQLException {
+        CatalogoCache<Integer> cache = cache(300);
+        assertEquals(List.of(1), cache.getAll());
+        assertEquals(1, cache.getById(1));
+        assertNull(cache.getById(2));
+        assertEquals(1, cargas.get());
+
+        cache.invalidate();
+        assertEquals(1, cargas.get());
+        assertEquals(2, cache.getById(2));
+        assertEquals(2, cargas.get());
+
+        cache.refresh();
+        assertEquals(3, cargas.get());
+        assertEquals(List.of(1, 2, 3), cache.getAll());
+    }
+
+    @Test
+    void conTtlCeroCadaLecturaRecarga() throws SQLException {
+        CatalogoCache<Integer> cache = cache(0);
+        cache.getAll();
+        cache.getAll();
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void laListaEsDeSoloLectura() throws SQLException {
+        List<Integer> items = cache(300).getAll();
+        assertThrows(UnsupportedOperationException.class, () -> items.add(9));
+    }
+
+    @Test
+    void unErrorAlCargarNoQuedaGuardado() throws SQLException {
+        boolean[] falla = {true};
+        CatalogoCache<Integer> cache = new CatalogoCache<>("prueba-error", () -> {
+            if (falla[0]) {
+                throw new SQLException("Sin conexión");
+            }
+            return cargar();
+        }, id -> id, 300);
+
+        assertThrows(SQLException.class, cache::getAll);
+        falla[0] = false;
+        assertEquals(List.of(1), cache.getAll());
+    }
+
+    @Test
+    void unaCargaQueEmpezoAntesDeInvalidarNoSeGuarda() throws Exception {
+        CountDownLatch empezo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger lenta = new AtomicInteger();
+        CatalogoCache<Integer> cache = new CatalogoCache<>("prueba-carrera", () -> {
+            if (lenta.getAndIncrement() == 0) {
+                // Lee la tabla antes de la escritura y tarda en volver
+                empezo.countDown();
+                try {
+                    assertTrue(liberar.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return List.of(1);
+            }
+            return List.of(1, 2);
+        }, id -> id, 300);
+
+        ExecutorService hilo = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Integer>> vieja = hilo.submit(cache::getAll);
+            assertTrue(empezo.await(5, TimeUnit.SECONDS));
+            // La escritura termina e invalida mientras la carga vieja sigue en curso
+            cache.invalidate();
+            liberar.countDown();
+            assertEquals(List.of(1), vieja.get(5, TimeUnit.SECONDS));
+
+            // La carga vieja no quedó publicada: la siguiente lectura ve la escritura
+            assertEquals(List.of(1, 2), cache.getAll());
+            assertEquals(List.of(1, 2), cache.getAll());
+            assertEquals(2, lenta.get());
+        } finally {
+            hilo.shutdownNow();
+        }
+    }
+}
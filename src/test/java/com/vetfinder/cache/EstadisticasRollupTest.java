@@ -0,0 +1,122 @@
+package com.vetfinder.cache;
+
+import com.vetfinder.config.DatabaseConfig;
+import com.vetfinder.model.Cita;
+import com.vetfinder.repository.CitaRepository;
+import com.vetfinder.repository.EstadisticasRepository;
+import com.vetfinder.service.CitaService;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de los acumulados de estadísticas sobre H2 (DB_PROFILE=h2 en la tarea test)
+ * Después de cada alta, cambio o baja hecha con CitaService, los acumulados mantenidos en
+ * memoria deben ser iguales a unos reconstruidos desde cero con EstadisticasRepository.
+ * Las citas de la prueba van a +40 y +41 días, fuera de la agenda sintética (hasta +30)
+ */
+class EstadisticasRollupTest {
+    private static final LocalTime NUEVE = LocalTime.of(9, 0);
+
+    private final CitaRepository citaRepository = new CitaRepository();
+    private final EstadisticasRollup rollup = new EstadisticasRollup(new EstadisticasRepository());
+
+    private CitaService citaService() throws SQLException {
+        DatabaseConfig.initialize();
+        rollup.reconstruir();
+        AgendaDisponibilidad agenda = new AgendaDisponibilidad(citaRepository);
+        agenda.reconstruir();
+        return new CitaService(citaRepository, rollup, agenda);
+    }
+
+    private static List<Integer> ids(String query) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Un servicio que quedó en 0 en memoria equivale a uno que no aparece en la consulta
+     */
+    private static Map<Integer, Integer> sinCeros(Map<Integer, Integer> conteos) {
+        Map<Integer, Integer> resultado = new TreeMap<>();
+        conteos.forEach((idServicio, cantidad) -> {
+            if (cantidad != 0) {
+                resultado.put(idServicio, cantidad);
+            }
+        });
+        return resultado;
+    }
+
+    private void assertIgualALaBase(String paso) throws SQLException {
+        EstadisticasRollup desdeBase = new EstadisticasRollup(new EstadisticasRepository());
+        desdeBase.reconstruir();
+        for (int ventana : new int[]{1, rollup.getRetencionDias()}) {
+            assertArrayEquals(desdeBase.contarFranjas(ventana), rollup.contarFranjas(ventana));
+            assertEquals(sinCeros(desdeBase.contarServicios(ventana)), sinCeros(rollup.contarServicios(ventana)), paso);
+        }
+    }
+
+    @Test
+    void altasCambiosYBajasCoincidenConLaBase() throws SQLException {
+        CitaService citaService = citaService();
+        List<Integer> servicios = ids("SELECT id_servicio FROM SERVICIO ORDER BY id_servicio LIMIT 2");
+        int servicioA = servicios.get(0);
+        int servicioB = servicios.get(1);
+        int mascota = ids("SELECT MIN(id_mascota) FROM MASCOTA").get(0);
+        int veterinario = ids("SELECT MIN(id_datoveterinario) FROM DATOVETERINARIO").get(0);
+        LocalDate dia = LocalDate.now().plusDays(40);
+        LocalDate siguiente = dia.plusDays(1);
+
+        List<Integer> creadas = new ArrayList<>();
+        try {
+            int a = citaService.createCita(new Cita(dia, NUEVE, servicioA, mascota, veterinario, null));
+            int b = citaService.createCita(new Cita(dia, LocalTime.of(9, 30), servicioA, mascota, veterinario, null));
+            int c = citaService.createCita(new Cita(dia, LocalTime.of(16, 0), servicioB, mascota, veterinario, null));
+            creadas.addAll(List.of(a, b, c));
+            assertIgualALaBase("altas");
+
+            // Cambia de día, de franja y de servicio a la vez
+            assertTrue(citaService.updateCita(new Cita(b, siguiente, LocalTime.of(13, 0), servicioB, mascota, veterinario, "Pendiente")));
+            assertIgualALaBase("cambio de turno y servicio");
+
+            // Sin cambio de día, franja ni servicio: los acumulados no se mueven
+            assertTrue(citaService.updateEstadoCita(c, "Rechazada"));
+            assertTrue(citaService.updateCita(new Cita(a, dia, LocalTime.of(10, 30), servicioA, mascota, veterinario, "Aceptada")));
+            assertIgualALaBase("cambio de estado y hora dentro de la franja");
+
+            assertTrue(citaService.deleteCita(a));
+            creadas.remove(Integer.valueOf(a));
+            assertIgualALaBase("baja");
+
+            creadas.addAll(citaService.createCitas(List.of(
+                    new Cita(siguiente, NUEVE, servicioA, mascota, veterinario, null),
+                    new Cita(siguiente, LocalTime.of(18, 0), servicioB, mascota, veterinario, null))));
+            assertIgualALaBase("lote");
+        } finally {
+            for (int id : creadas) {
+                citaService.deleteCita(id);
+            }
+        }
+        assertIgualALaBase("limpieza");
+    }
+}
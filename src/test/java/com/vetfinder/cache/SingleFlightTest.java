@@ -0,0 +1,131 @@
+package com.vetfinder.cache;
+
+import com.vetfinder.metrics.PrometheusWriter;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del agrupamiento de consultas simultáneas
+ * La carga queda bloqueada en un latch hasta que las demás peticiones se agruparon sobre ella;
+ * para saber cuándo pasó se lee el contador de agrupadas que exporta /metrics
+ */
+class SingleFlightTest {
+    private static final int ESPERANDO = 4;
+
+    private final ExecutorService hilos = Executors.newCachedThreadPool();
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("La carga no se liberó");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void esperarAgrupadas(SingleFlight<?, ?> grupo, int cantidad) throws InterruptedException {
+        String muestra = "singleflight_requests_total{grupo=\"" + grupo.getNombre() + "\",resultado=\"agrupada\"} " + cantidad;
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < limite) {
+            PrometheusWriter w = new PrometheusWriter();
+            SingleFlight.exportar(w);
+            if (w.toString().contains(muestra + "\n")) {
+                return;
+            }
+            Thread.sleep(1);
+        }
+        throw new AssertionError("No se agruparon " + cantidad + " peticiones en " + grupo.getNombre());
+    }
+
+    @Test
+    void lasPeticionesSimultaneasCompartenUnaConsulta() throws Exception {
+        SingleFlight<Integer, List<String>> grupo = new SingleFlight<>("prueba-agrupa");
+        CountDownLatch empezo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger consultas = new AtomicInteger();
+        List<String> resultado = List.of("a", "b");
+
+        Future<List<String>> primera = hilos.submit(() -> grupo.ejecutar(7, () -> {
+            consultas.incrementAndGet();
+            empezo.countDown();
+            esperar(liberar);
+            return resultado;
+        }));
+        // Las demás se envían con la consulta ya en curso
+        esperar(empezo);
+        List<Future<List<String>>> agrupadas = new ArrayList<>();
+        for (int i = 0; i < ESPERANDO; i++) {
+            agrupadas.add(hilos.submit(() -> grupo.ejecutar(7, () -> {
+                consultas.incrementAndGet();
+                return List.of();
+            })));
+        }
+        esperarAgrupadas(grupo, ESPERANDO);
+        liberar.countDown();
+
+        assertSame(resultado, primera.get(5, TimeUnit.SECONDS));
+        for (Future<List<String>> futuro : agrupadas) {
+            assertSame(resultado, futuro.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, consultas.get());
+
+        // Terminada la consulta la clave se libera: la siguiente petición vuelve a consultar
+        assertEquals(List.of("c"), grupo.ejecutar(7, () -> List.of("c")));
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void elErrorLlegaATodasLasPeticionesConSuSqlStateYCodigo() throws Exception {
+        SingleFlight<Integer, String> grupo = new SingleFlight<>("prueba-error");
+        CountDownLatch empezo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        SQLException error = new SQLException("Lock wait timeout exceeded", "HY000", 1205);
+
+        Future<String> primera = hilos.submit(() -> grupo.ejecutar(1, () -> {
+            empezo.countDown();
+            esperar(liberar);
+            throw error;
+        }));
+        esperar(empezo);
+        Future<String> agrupada = hilos.submit(() -> grupo.ejecutar(1, () -> "no debería ejecutarse"));
+        esperarAgrupadas(grupo, 1);
+        liberar.countDown();
+
+        Throwable propia = assertThrows(Exception.class, () -> primera.get(5, TimeUnit.SECONDS)).getCause();
+        assertSame(error, propia);
+
+        Throwable recibida = assertThrows(Exception.class, () -> agrupada.get(5, TimeUnit.SECONDS)).getCause();
+        assertTrue(recibida instanceof SQLException);
+        SQLException sql = (SQLException) recibida;
+        assertEquals("HY000", sql.getSQLState());
+        assertEquals(1205, sql.getErrorCode());
+        assertEquals(error.getMessage(), sql.getMessage());
+        assertSame(error, sql.getCause());
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void conClavesDistintasNoSeAgrupan() throws SQLException {
+        SingleFlight<Integer, Integer> grupo = new SingleFlight<>("prueba-claves");
+        AtomicInteger consultas = new AtomicInteger();
+        assertEquals(1, grupo.ejecutar(1, consultas::incrementAndGet));
+        assertEquals(2, grupo.ejecutar(2, consultas::incrementAndGet));
+        assertEquals(3, grupo.ejecutar(1, consultas::incrementAndGet));
+    }
+}
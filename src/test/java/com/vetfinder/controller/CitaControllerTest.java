@@ -0,0 +1,68 @@
+package com.vetfinder.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vetfinder.config.DatabaseConfig;
+import com.vetfinder.config.JacksonConfig;
+import com.vetfinder.di.AppModule;
+import com.vetfinder.util.Cursor;
+import io.javalin.Javalin;
+import io.javalin.json.JavalinJackson;
+import io.javalin.testtools.JavalinTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Pruebas de la paginación por cursor de /api/citas y /api/mascotas sobre H2 (DB_PROFILE=h2)
+ * Un cursor que no se puede decodificar es un error del cliente: 400, no 500
+ */
+class CitaControllerTest {
+
+    private static Javalin app() {
+        DatabaseConfig.initialize();
+        Javalin app = Javalin.create(config -> config.jsonMapper(new JavalinJackson(JacksonConfig.getMapper())));
+        AppModule.initCitas().register(app);
+        AppModule.initMascotas().register(app);
+        return app;
+    }
+
+    private static JsonNode json(String body) throws Exception {
+        return JacksonConfig.getMapper().readTree(body);
+    }
+
+    @Test
+    void cursorMalFormadoResponde400() {
+        String deMascota = Cursor.encode("Firulais", 3);
+        String deCita = Cursor.encode(LocalDate.of(2024, 1, 1), LocalTime.of(9, 0), 1);
+        JavalinTest.test(app(), (server, client) -> {
+            var respuesta = client.get("/api/citas?limit=2&after=no-es-un-cursor!");
+            assertEquals(400, respuesta.code());
+            assertEquals("Cursor inválido", json(respuesta.body().string()).get("message").asText());
+
+            // Cursor válido de otra ruta (otra cantidad de valores) o con valores que no se pueden leer
+            assertEquals(400, client.get("/api/citas?limit=2&after=" + deMascota).code());
+            assertEquals(400, client.get("/api/citas?limit=2&after=" + Cursor.encode("ayer", "10:00", 1)).code());
+            assertEquals(400, client.get("/api/mascotas?limit=2&after=" + deCita).code());
+        });
+    }
+
+    @Test
+    void elCursorDeUnaPaginaSirveParaLaSiguiente() {
+        JavalinTest.test(app(), (server, client) -> {
+            JsonNode primera = json(client.get("/api/citas?limit=2").body().string());
+            String cursor = primera.get("nextCursor").asText();
+            assertFalse(cursor.isEmpty());
+
+            var respuesta = client.get("/api/citas?limit=2&after=" + cursor);
+            assertEquals(200, respuesta.code());
+            JsonNode segunda = json(respuesta.body().string());
+            assertEquals(2, segunda.get("data").size());
+            assertNotEquals(primera.get("data").get(0).get("idCita").asInt(), segunda.get("data").get(0).get("idCita").asInt());
+        });
+    }
+}
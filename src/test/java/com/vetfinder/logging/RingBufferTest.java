@@ -0,0 +1,116 @@
+package com.vetfinder.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la cola circular del log de accesos
+ */
+class RingBufferTest {
+
+    @Test
+    void redondeaLaCapacidadAPotenciaDeDos() {
+        assertEquals(2, new RingBuffer<Integer>(2).capacity());
+        assertEquals(8, new RingBuffer<Integer>(5).capacity());
+        assertEquals(8, new RingBuffer<Integer>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>(1));
+    }
+
+    @Test
+    void llenoRechazaSinPerderLoEncolado() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(99));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void alDarVueltaMantieneElOrden() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        int siguiente = 0;
+        int esperado = 0;
+        assertTrue(buffer.offer(siguiente++));
+        // Varias vueltas completas: en cada una la cola se llena y queda un elemento pendiente
+        for (int vuelta = 0; vuelta < 10; vuelta++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(siguiente++));
+            }
+            assertFalse(buffer.offer(-1));
+            for (int i = 0; i < 3; i++) {
+                assertEquals(esperado++, buffer.poll());
+            }
+        }
+        while (esperado < siguiente) {
+            assertEquals(esperado++, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.offer(siguiente));
+        assertEquals(siguiente, buffer.poll());
+    }
+
+    @Test
+    void variosProductoresNoPierdenNiDuplicanElementos() throws InterruptedException {
+        int productores = 4;
+        int porProductor = 20_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Thread> hilos = new ArrayList<>();
+        for (int p = 0; p < productores; p++) {
+            int base = p * porProductor;
+            Thread hilo = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < porProductor; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            hilo.start();
+            hilos.add(hilo);
+        }
+
+        inicio.countDown();
+        boolean[] vistos = new boolean[productores * porProductor];
+        int[] ultimoPorProductor = new int[productores];
+        Arrays.fill(ultimoPorProductor, -1);
+        int recibidos = 0;
+        while (recibidos < vistos.length) {
+            Integer valor = buffer.poll();
+            if (valor == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertFalse(vistos[valor], "duplicado " + valor);
+            vistos[valor] = true;
+            // Cada productor publica en orden, así que sus elementos salen en orden
+            int productor = valor / porProductor;
+            assertTrue(valor > ultimoPorProductor[productor], "fuera de orden " + valor);
+            ultimoPorProductor[productor] = valor;
+            recibidos++;
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,58 @@
+package com.vetfinder.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del cálculo de buckets de LatencyHistogram
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void valoresChicosTienenUnBucketCadaUno() {
+        for (long valor = 0; valor < 64; valor++) {
+            assertEquals(valor, LatencyHistogram.indexOf(valor));
+            assertEquals(valor, LatencyHistogram.highestEquivalentValue((int) valor));
+        }
+    }
+
+    @Test
+    void cadaValorCaeEnElBucketCuyoLimiteLoContiene() {
+        long[] valores = {64, 65, 127, 128, 129, 255, 256, 1000, 1023, 1024, 65_535, 1_000_000,
+                (1L << 36) - 1, (1L << 36), (1L << 37) - 1};
+        for (long valor : valores) {
+            int indice = LatencyHistogram.indexOf(valor);
+            long limite = LatencyHistogram.highestEquivalentValue(indice);
+            assertTrue(limite >= valor, "límite " + limite + " menor que " + valor);
+            assertTrue(indice == 0 || LatencyHistogram.highestEquivalentValue(indice - 1) < valor,
+                    "el bucket anterior ya contiene " + valor);
+            assertTrue(limite - valor <= valor / 32, "error relativo mayor al 3% para " + valor);
+        }
+    }
+
+    @Test
+    void elLimiteDeCadaBucketVuelveAlMismoBucket() {
+        int ultimo = LatencyHistogram.indexOf((1L << 37) - 1);
+        for (int indice = 0; indice <= ultimo; indice++) {
+            long limite = LatencyHistogram.highestEquivalentValue(indice);
+            assertEquals(indice, LatencyHistogram.indexOf(limite), "límite " + limite);
+            assertEquals(indice + 1, LatencyHistogram.indexOf(limite + 1), "siguiente a " + limite);
+        }
+    }
+
+    @Test
+    void percentilesUsanElLimiteDelBucketSinPasarElMaximo() {
+        LatencyHistogram histograma = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histograma.recordMicros(micros);
+        }
+        assertEquals(1000, histograma.getCount());
+        assertEquals(1000, histograma.getMaxMicros());
+        assertEquals(1000, histograma.percentileMicros(1.0));
+
+        long p50 = histograma.percentileMicros(0.5);
+        assertTrue(p50 >= 500 && p50 <= 500 + 500 / 32, "p50 = " + p50);
+    }
+}
@@ -0,0 +1,196 @@
+package com.vetfinder.repository;
+
+import com.vetfinder.config.DatabaseConfig;
+import com.vetfinder.model.Cita;
+import com.vetfinder.util.Cursor;
+import com.vetfinder.util.FiltroCitas;
+import com.vetfinder.util.Pagina;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la paginación por keyset y de los filtros de citas sobre H2 (DB_PROFILE=h2 en la tarea test)
+ * Las citas de la prueba van en 2099, después de todos los datos sintéticos, y la primera
+ * página parte de un cursor justo antes de ese día para recorrer solo esas filas
+ */
+class CitaRepositoryTest {
+    private static final LocalDate DIA = LocalDate.of(2099, 3, 1);
+    private static final LocalTime DIEZ = LocalTime.of(10, 0);
+    private static final LocalTime DIEZ_Y_MEDIA = LocalTime.of(10, 30);
+
+    private final CitaRepository repository = new CitaRepository();
+
+    private static int minimo(Connection conn, String tabla, String columna) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(" + columna + ") FROM " + tabla)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Inserta citas en un orden distinto al de la clave, así id_cita no sigue a (fecha, hora)
+     */
+    private static List<Cita> insertar(LocalDate[] fechas, LocalTime[] horas) throws SQLException {
+        List<Cita> citas = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            int servicio = minimo(conn, "SERVICIO", "id_servicio");
+            int mascota = minimo(conn, "MASCOTA", "id_mascota");
+            int veterinario = minimo(conn, "DATOVETERINARIO", "id_datoveterinario");
+            for (int i = 0; i < fechas.length; i++) {
+                citas.add(insertar(conn, new Cita(fechas[i], horas[i], servicio, mascota, veterinario, "Pendiente")));
+            }
+        }
+        return citas;
+    }
+
+    private static Cita insertar(Connection conn, Cita cita) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO CITA (fecha, hora, id_servicio, id_mascota, " +
+                "id_datoveterinario, estado) VALUES (?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setDate(1, Date.valueOf(cita.getFecha()));
+            stmt.setTime(2, Time.valueOf(cita.getHora()));
+            stmt.setInt(3, cita.getIdServicio());
+            stmt.setInt(4, cita.getIdMascota());
+            stmt.setInt(5, cita.getIdDatoVeterinario());
+            stmt.setString(6, cita.getEstado());
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                keys.next();
+                cita.setIdCita(keys.getInt(1));
+            }
+        }
+        return cita;
+    }
+
+    private static void borrar() throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM CITA WHERE fecha >= ?")) {
+            stmt.setDate(1, Date.valueOf(DIA));
+            stmt.executeUpdate();
+        }
+    }
+
+    @Test
+    void lasPaginasNoRepitenNiSaltanCitasConLaMismaFechaYHora() throws SQLException {
+        DatabaseConfig.initialize();
+        LocalDate manana = DIA.plusDays(1);
+        List<Cita> citas = insertar(
+                new LocalDate[]{manana, DIA, DIA, DIA, DIA, DIA, manana},
+                new LocalTime[]{DIEZ, DIEZ_Y_MEDIA, DIEZ, DIEZ, DIEZ, DIEZ_Y_MEDIA, DIEZ});
+        try {
+            List<Integer> esperadas = new ArrayList<>();
+            citas.stream()
+                    .sorted(Comparator.comparing(Cita::getFecha).thenComparing(Cita::getHora).thenComparingInt(Cita::getIdCita))
+                    .forEach(c -> esperadas.add(c.getIdCita()));
+
+            // Con límite 2 los cortes caen dentro de los grupos empatados (tres a las 10:00, dos a las 10:30)
+            List<Integer> recorridas = new ArrayList<>();
+            String after = Cursor.encode(DIA.minusDays(1), LocalTime.of(23, 59), Integer.MAX_VALUE);
+            int paginas = 0;
+            while (after != null) {
+                Pagina<Cita> pagina = repository.findPage(after, 2);
+                assertTrue(pagina.getItems().size() <= 2);
+                pagina.getItems().forEach(c -> recorridas.add(c.getIdCita()));
+                after = pagina.getNextCursor();
+                paginas++;
+            }
+            assertEquals(esperadas, recorridas);
+            assertEquals(4, paginas);
+        } finally {
+            borrar();
+        }
+    }
+
+    @Test
+    void laUltimaPaginaExactaNoDevuelveCursor() throws SQLException {
+        DatabaseConfig.initialize();
+        List<Cita> citas = insertar(new LocalDate[]{DIA, DIA}, new LocalTime[]{DIEZ, DIEZ});
+        try {
+            String antes = Cursor.encode(DIA.minusDays(1), LocalTime.of(23, 59), Integer.MAX_VALUE);
+            Pagina<Cita> pagina = repository.findPage(antes, 2);
+            assertEquals(2, pagina.getItems().size());
+            assertNull(pagina.getNextCursor());
+
+            // El cursor de la primera cita empatada sigue con la segunda, aunque tengan la misma fecha y hora
+            Cita primera = citas.get(0);
+            Pagina<Cita> siguiente = repository.findPage(
+                    Cursor.encode(primera.getFecha(), primera.getHora(), primera.getIdCita()), 2);
+            assertEquals(1, siguiente.getItems().size());
+            assertEquals(citas.get(1).getIdCita(), siguiente.getItems().get(0).getIdCita());
+        } finally {
+            borrar();
+        }
+    }
+
+    @Test
+    void losFiltrosDeFechaEstadoYServicioSeAplicanEnLaConsulta() throws SQLException {
+        DatabaseConfig.initialize();
+        List<Cita> citas = new ArrayList<>();
+        int veterinario;
+        int mascota;
+        int servicioA;
+        int servicioB;
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            veterinario = minimo(conn, "DATOVETERINARIO", "id_datoveterinario");
+            mascota = minimo(conn, "MASCOTA", "id_mascota");
+            servicioA = minimo(conn, "SERVICIO", "id_servicio");
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MAX(id_servicio) FROM SERVICIO")) {
+                rs.next();
+                servicioB = rs.getInt(1);
+            }
+            String[] estados = {"Pendiente", "Aceptada", "Rechazada"};
+            for (int dia = 0; dia < 4; dia++) {
+                for (int i = 0; i < estados.length; i++) {
+                    citas.add(insertar(conn, new Cita(DIA.plusDays(dia), DIEZ.plusMinutes(30L * i),
+                            i == 1 ? servicioB : servicioA, mascota, veterinario, estados[i])));
+                }
+            }
+        }
+        try {
+            FiltroCitas[] filtros = {
+                    new FiltroCitas(DIA.plusDays(1), DIA.plusDays(2), null, null),
+                    new FiltroCitas(DIA, null, "Rechazada", null),
+                    new FiltroCitas(DIA.plusDays(3), DIA.plusDays(3), null, servicioB),
+                    new FiltroCitas(DIA, DIA.plusDays(10), "Aceptada", servicioB),
+                    // Ninguna pendiente tiene el servicio B: lista vacía
+                    new FiltroCitas(DIA, DIA.plusDays(10), "Pendiente", servicioB)
+            };
+            for (FiltroCitas filtro : filtros) {
+                List<Integer> esperadas = new ArrayList<>();
+                for (Cita cita : citas) {
+                    if (!cita.getFecha().isBefore(filtro.getDesde())
+                            && (filtro.getHasta() == null || !cita.getFecha().isAfter(filtro.getHasta()))
+                            && (filtro.getEstado() == null || filtro.getEstado().equals(cita.getEstado()))
+                            && (filtro.getIdServicio() == null || filtro.getIdServicio() == cita.getIdServicio())) {
+                        esperadas.add(cita.getIdCita());
+                    }
+                }
+                List<Integer> porVeterinario = new ArrayList<>();
+                repository.findByVeterinario(veterinario, filtro).forEach(c -> porVeterinario.add(c.getIdCita()));
+                assertEquals(esperadas, porVeterinario);
+                List<Integer> porMascota = new ArrayList<>();
+                repository.findByMascota(mascota, filtro).forEach(c -> porMascota.add(c.getIdCita()));
+                assertEquals(esperadas, porMascota);
+            }
+        } finally {
+            borrar();
+        }
+    }
+}
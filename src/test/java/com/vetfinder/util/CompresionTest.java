@@ -0,0 +1,114 @@
+package com.vetfinder.util;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.BrotliInputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pruebas del prefijo comprimido con final agregado sin volver a comprimir
+ * Cada respuesta armada a mano debe descomprimir exactamente al cuerpo completo
+ */
+class CompresionTest {
+    private static final byte[] PREFIJO = prefijo();
+
+    private static byte[] prefijo() {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"message\":\"Servicios obtenidos\",\"data\":[");
+        for (int i = 1; i <= 500; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"idServicio\":").append(i).append(",\"nombre\":\"Servicio ").append(i)
+                    .append("\",\"precio\":").append(100 + i % 37).append('}');
+        }
+        return json.append("],").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] fin(long timestamp) {
+        return ("\"timestamp\":" + timestamp + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concatenar(byte[] a, byte[] b) {
+        byte[] resultado = new byte[a.length + b.length];
+        System.arraycopy(a, 0, resultado, 0, a.length);
+        System.arraycopy(b, 0, resultado, a.length, b.length);
+        return resultado;
+    }
+
+    private static byte[] leer(InputStream in) throws IOException {
+        try (InputStream entrada = in) {
+            return entrada.readAllBytes();
+        }
+    }
+
+    @Test
+    void gzipCompletoDescomprime() throws IOException {
+        byte[] comprimido = Compresion.gzip(PREFIJO, 6);
+        assertArrayEquals(PREFIJO, leer(new GZIPInputStream(new ByteArrayInputStream(comprimido))));
+    }
+
+    @Test
+    void gzipPrefijoMasFinalDescomprimeAlCuerpoCompleto() throws IOException {
+        byte[] prefijoComprimido = Compresion.prefijoGzip(PREFIJO, 6);
+        // El mismo prefijo se reutiliza con finales distintos
+        for (long timestamp : new long[]{1L, 1_700_000_000_000L, System.currentTimeMillis()}) {
+            byte[] fin = fin(timestamp);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Compresion.escribirGzip(out, prefijoComprimido, PREFIJO, fin);
+
+            assertEquals(Compresion.largoGzip(prefijoComprimido, fin), out.size());
+            assertArrayEquals(concatenar(PREFIJO, fin),
+                    leer(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))));
+        }
+    }
+
+    @Test
+    void gzipAceptaFinalVacioYPrefijoGrande() throws IOException {
+        byte[] grande = new byte[200_000];
+        for (int i = 0; i < grande.length; i++) {
+            grande[i] = (byte) ('a' + (i * 31 + i / 7) % 26);
+        }
+        byte[] prefijoComprimido = Compresion.prefijoGzip(grande, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Compresion.escribirGzip(out, prefijoComprimido, grande, new byte[0]);
+        assertArrayEquals(grande, leer(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))));
+    }
+
+    @Test
+    void brotliPrefijoMasFinalDescomprimeAlCuerpoCompleto() throws IOException {
+        assumeTrue(Brotli4jLoader.isAvailable(), "Brotli nativo no disponible en esta plataforma");
+
+        byte[] prefijoComprimido = Compresion.prefijoBrotli(PREFIJO, 5);
+        for (long timestamp : new long[]{1L, System.currentTimeMillis()}) {
+            byte[] fin = fin(timestamp);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Compresion.escribirBrotli(out, prefijoComprimido, fin);
+
+            assertEquals(Compresion.largoBrotli(prefijoComprimido, fin), out.size());
+            assertArrayEquals(concatenar(PREFIJO, fin),
+                    leer(new BrotliInputStream(new ByteArrayInputStream(out.toByteArray()))));
+        }
+    }
+
+    @Test
+    void brotliFinalDeUnByte() throws IOException {
+        assumeTrue(Brotli4jLoader.isAvailable(), "Brotli nativo no disponible en esta plataforma");
+
+        byte[] prefijoComprimido = Compresion.prefijoBrotli(PREFIJO, 5);
+        byte[] fin = {'}'};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Compresion.escribirBrotli(out, prefijoComprimido, fin);
+        assertArrayEquals(concatenar(PREFIJO, fin),
+                leer(new BrotliInputStream(new ByteArrayInputStream(out.toByteArray()))));
+    }
+}
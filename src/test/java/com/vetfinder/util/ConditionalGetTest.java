@@ -0,0 +1,131 @@
+package com.vetfinder.util;
+
+import com.vetfinder.cache.EntityVersions;
+import com.vetfinder.cache.ResponseCache;
+import io.javalin.Javalin;
+import io.javalin.http.HttpStatus;
+import io.javalin.testtools.JavalinTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del GET condicional sobre un servidor Javalin con el filtro after registrado
+ * Cada prueba usa su propia entidad para no depender del orden de ejecución
+ */
+class ConditionalGetTest {
+
+    private static Javalin app(String entidad) {
+        Javalin app = Javalin.create();
+        ConditionalGet.register(app);
+        app.get("/datos", ctx -> {
+            if (ConditionalGet.noModificado(ctx, entidad)) {
+                return;
+            }
+            ctx.json(ApiResponse.success("Datos", List.of(1, 2, 3)));
+        });
+        app.get("/cacheado", ctx -> {
+            if (ConditionalGet.noModificado(ctx, entidad)) {
+                return;
+            }
+            ResponseCache.json(ctx, "prueba-" + entidad, entidad, () -> ApiResponse.success("Datos", List.of(1, 2, 3)));
+        });
+        app.get("/error", ctx -> {
+            if (ConditionalGet.noModificado(ctx, entidad)) {
+                return;
+            }
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Falló la consulta"));
+        });
+        app.get("/excepcion", ctx -> {
+            if (ConditionalGet.noModificado(ctx, entidad)) {
+                return;
+            }
+            throw new IllegalStateException("Falló la consulta");
+        });
+        return app;
+    }
+
+    @Test
+    void respondeNoModificadoConElMismoEtagYDatosDespuesDeUnCambio() {
+        String entidad = "prueba-etag";
+        JavalinTest.test(app(entidad), (server, client) -> {
+            var primera = client.get("/datos");
+            assertEquals(200, primera.code());
+            String etag = primera.header("ETag");
+            assertNotNull(etag);
+            assertEquals("no-cache", primera.header("Cache-Control"));
+
+            var igual = client.get("/datos", req -> req.header("If-None-Match", etag));
+            assertEquals(304, igual.code());
+            assertEquals(etag, igual.header("ETag"));
+
+            EntityVersions.bump(entidad);
+            var cambiada = client.get("/datos", req -> req.header("If-None-Match", etag));
+            assertEquals(200, cambiada.code());
+            assertNotEquals(etag, cambiada.header("ETag"));
+        });
+    }
+
+    @Test
+    void lastModifiedNoSeAdelantaALaHoraReal() {
+        String entidad = "prueba-rafaga";
+        for (int i = 0; i < 5; i++) {
+            EntityVersions.bump(entidad);
+        }
+        assertTrue(EntityVersions.lastModified(entidad) <= System.currentTimeMillis());
+    }
+
+    @Test
+    void ifModifiedSinceSoloSeUsaCuandoTerminoElSegundoDelCambio() {
+        String entidad = "prueba-fecha";
+        EntityVersions.bump(entidad);
+        JavalinTest.test(app(entidad), (server, client) -> {
+            Thread.sleep(1050 - System.currentTimeMillis() % 1000);
+            var respuesta = client.get("/datos");
+            String lastModified = respuesta.header("Last-Modified");
+            assertNotNull(lastModified);
+            long enviado = ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            assertEquals(EntityVersions.lastModified(entidad), enviado);
+
+            assertEquals(304, client.get("/datos", req -> req.header("If-Modified-Since", lastModified)).code());
+
+            // Un cambio en el segundo actual no lo puede ocultar la fecha, que tiene precisión de segundos
+            EntityVersions.bump(entidad);
+            assertEquals(200, client.get("/datos", req -> req.header("If-Modified-Since", lastModified)).code());
+        });
+    }
+
+    @Test
+    void lasRespuestasCacheadasTambienLlevanValidadores() {
+        String entidad = "prueba-cache";
+        JavalinTest.test(app(entidad), (server, client) -> {
+            var primera = client.get("/cacheado");
+            assertEquals(200, primera.code());
+            String etag = primera.header("ETag");
+            assertNotNull(etag);
+            assertEquals(304, client.get("/cacheado", req -> req.header("If-None-Match", etag)).code());
+        });
+    }
+
+    @Test
+    void losErroresNoLlevanValidadores() {
+        String entidad = "prueba-error";
+        JavalinTest.test(app(entidad), (server, client) -> {
+            for (String ruta : List.of("/error", "/excepcion")) {
+                var respuesta = client.get(ruta);
+                assertEquals(500, respuesta.code());
+                assertNull(respuesta.header("ETag"));
+                assertNull(respuesta.header("Last-Modified"));
+                assertNull(respuesta.header("Cache-Control"));
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.vetfinder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas del cursor opaco de la paginación por keyset
+ * Todo cursor que no salió de encode con la misma cantidad de valores debe rechazarse con
+ * IllegalArgumentException, que los controladores responden como 400
+ */
+class CursorTest {
+
+    private static String base64(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalido(Runnable decodificar) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, decodificar::run);
+        assertEquals("Cursor inválido", e.getMessage());
+    }
+
+    @Test
+    void claveDeCitaIdaYVuelta() {
+        LocalDate fecha = LocalDate.of(2024, 2, 29);
+        LocalTime hora = LocalTime.of(9, 30);
+        Cursor cursor = Cursor.decode(Cursor.encode(fecha, hora, 123456), 3);
+        assertEquals(fecha, cursor.getDate(0));
+        assertEquals(hora, cursor.getTime(1));
+        assertEquals(123456, cursor.getInt(2));
+    }
+
+    @Test
+    void textoConAcentosYSimbolosIdaYVuelta() {
+        String nombre = "Peña & Ñandú / 50% = \"ok\"?";
+        String codificado = Cursor.encode(nombre, 7);
+        // URL-safe y sin relleno: se puede enviar tal cual en ?after=
+        assertFalse(codificado.matches(".*[+/=].*"));
+        Cursor cursor = Cursor.decode(codificado, 2);
+        assertEquals(nombre, cursor.getString(0));
+        assertEquals(7, cursor.getInt(1));
+    }
+
+    @Test
+    void valorVacioIdaYVuelta() {
+        Cursor cursor = Cursor.decode(Cursor.encode("", 1), 2);
+        assertEquals("", cursor.getString(0));
+        assertEquals(1, cursor.getInt(1));
+    }
+
+    @Test
+    void rechazaTextoQueNoEsBase64() {
+        assertInvalido(() -> Cursor.decode("no es base64!", 3));
+        assertInvalido(() -> Cursor.decode("a+b/c==", 3));
+    }
+
+    @Test
+    void rechazaOtraCantidadDeValores() {
+        String deMascota = Cursor.encode("Firulais", 3);
+        assertInvalido(() -> Cursor.decode(deMascota, 3));
+        assertInvalido(() -> Cursor.decode(deMascota, 1));
+        assertInvalido(() -> Cursor.decode("", 2));
+    }
+
+    @Test
+    void rechazaValoresMalFormados() {
+        Cursor cursor = Cursor.decode(base64("2024-13-01\u001F25:00\u001Fdiez"), 3);
+        assertInvalido(() -> cursor.getDate(0));
+        assertInvalido(() -> cursor.getTime(1));
+        assertInvalido(() -> cursor.getInt(2));
+    }
+}
@@ -0,0 +1,145 @@
+package com.vetfinder.util;
+
+import com.vetfinder.config.DatabaseConfig;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la inserción por lotes sobre H2 (DB_PROFILE=h2 en la tarea test)
+ * Las filas van a CITA en un día de 2099 que no usan los datos sintéticos; cada fila lleva su
+ * posición en la hora (08:00 + i minutos) para poder comprobar el orden de los IDs
+ */
+class JdbcBatchTest {
+    private static final LocalDate DIA = LocalDate.of(2099, 4, 1);
+    private static final String INSERT = "INSERT INTO CITA (fecha, hora, id_servicio, id_mascota, id_datoveterinario, estado) " +
+            "VALUES (?, ?, ?, ?, ?, 'Pendiente')";
+
+    private static int minimo(Connection conn, String tabla, String columna) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(" + columna + ") FROM " + tabla)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Filas válidas salvo la posición invalida, que referencia una mascota inexistente (-1 para ninguna)
+     */
+    private static List<int[]> filas(int cantidad, int invalida) throws SQLException {
+        DatabaseConfig.initialize();
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            int servicio = minimo(conn, "SERVICIO", "id_servicio");
+            int mascota = minimo(conn, "MASCOTA", "id_mascota");
+            int veterinario = minimo(conn, "DATOVETERINARIO", "id_datoveterinario");
+            List<int[]> filas = new ArrayList<>();
+            for (int i = 0; i < cantidad; i++) {
+                filas.add(new int[]{i, servicio, i == invalida ? -1 : mascota, veterinario});
+            }
+            return filas;
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, int[] fila) throws SQLException {
+        stmt.setDate(1, Date.valueOf(DIA));
+        stmt.setTime(2, Time.valueOf(LocalTime.of(8, 0).plusMinutes(fila[0])));
+        stmt.setInt(3, fila[1]);
+        stmt.setInt(4, fila[2]);
+        stmt.setInt(5, fila[3]);
+    }
+
+    /**
+     * IDs guardados en el día de prueba, ordenados por hora (posición de la fila)
+     */
+    private static List<Integer> guardadas() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT id_cita FROM CITA WHERE fecha = ? ORDER BY hora")) {
+            stmt.setDate(1, Date.valueOf(DIA));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void borrar() throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM CITA WHERE fecha = ?")) {
+            stmt.setDate(1, Date.valueOf(DIA));
+            stmt.executeUpdate();
+        }
+    }
+
+    @Test
+    void insertaTodasYDevuelveLosIdsEnOrden() throws SQLException {
+        // Más de un bloque de executeBatch (500 filas)
+        List<int[]> filas = filas(620, -1);
+        try {
+            List<Integer> ids = JdbcBatch.insertAll(INSERT, filas, JdbcBatchTest::bind);
+            assertEquals(620, ids.size());
+            assertEquals(guardadas(), ids);
+        } finally {
+            borrar();
+        }
+    }
+
+    @Test
+    void unaFilaInvalidaEnElSegundoBloqueRevierteTambienElPrimero() throws SQLException {
+        // Las 500 filas del primer bloque ya se ejecutaron cuando falla la 550
+        List<int[]> filas = filas(620, 550);
+        try {
+            assertThrows(SQLException.class, () -> JdbcBatch.insertAll(INSERT, filas, JdbcBatchTest::bind));
+            assertEquals(Collections.emptyList(), guardadas());
+        } finally {
+            borrar();
+        }
+    }
+
+    @Test
+    void unErrorAlAsignarParametrosRevierteLoEjecutado() throws SQLException {
+        List<int[]> filas = filas(520, -1);
+        try {
+            assertThrows(IllegalStateException.class, () -> JdbcBatch.insertAll(INSERT, filas, (stmt, fila) -> {
+                if (fila[0] == 510) {
+                    throw new IllegalStateException("Dato inválido en la fila " + fila[0]);
+                }
+                bind(stmt, fila);
+            }));
+            assertEquals(Collections.emptyList(), guardadas());
+
+            // La conexión vuelve al pool en autocommit: una inserción normal sigue funcionando
+            assertEquals(1, JdbcBatch.insertAll(INSERT, filas.subList(0, 1), JdbcBatchTest::bind).size());
+            assertEquals(1, guardadas().size());
+        } finally {
+            borrar();
+        }
+    }
+
+    @Test
+    void rechazaLotesVaciosODemasiadoGrandes() {
+        assertThrows(IllegalArgumentException.class, () -> JdbcBatch.validarLote(null, "citas"));
+        assertThrows(IllegalArgumentException.class, () -> JdbcBatch.validarLote(List.of(), "citas"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> JdbcBatch.validarLote(Collections.nCopies(JdbcBatch.MAX_ITEMS + 1, 0), "citas"));
+        assertTrue(e.getMessage().contains(String.valueOf(JdbcBatch.MAX_ITEMS)));
+        JdbcBatch.validarLote(Collections.nCopies(JdbcBatch.MAX_ITEMS, 0), "citas");
+    }
+}
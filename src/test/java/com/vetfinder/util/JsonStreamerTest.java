@@ -0,0 +1,70 @@
+package com.vetfinder.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vetfinder.config.CompressionConfig;
+import com.vetfinder.config.JacksonConfig;
+import io.javalin.Javalin;
+import io.javalin.testtools.JavalinTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de las respuestas en streaming con la compresión de Javalin activa
+ * El cliente envía Accept-Encoding a mano para recibir el cuerpo tal como sale del servidor
+ */
+class JsonStreamerTest {
+
+    private static Javalin app() {
+        Javalin app = Javalin.create(CompressionConfig::aplicar);
+        app.get("/filas/{cantidad}", ctx -> {
+            int cantidad = Integer.parseInt(ctx.pathParam("cantidad"));
+            JsonStreamer.<Map<String, Object>>stream(ctx, "Filas obtenidas", callback -> {
+                for (int i = 0; i < cantidad; i++) {
+                    callback.accept(Map.of("id", i, "nombre", "Fila " + i));
+                }
+            });
+        });
+        return app;
+    }
+
+    private static JsonNode leer(byte[] json) throws IOException {
+        return JacksonConfig.getMapper().readTree(json);
+    }
+
+    @Test
+    void respuestaGrandeSaleComprimidaConGzip() {
+        assertTrue(CompressionConfig.isEnabled());
+        JavalinTest.test(app(), (server, client) -> {
+            var respuesta = client.get("/filas/5000", req -> req.header("Accept-Encoding", "gzip"));
+            assertEquals(200, respuesta.code());
+            assertEquals("gzip", respuesta.header("Content-Encoding"));
+
+            byte[] json = new GZIPInputStream(new ByteArrayInputStream(respuesta.body().bytes())).readAllBytes();
+            JsonNode cuerpo = leer(json);
+            assertTrue(cuerpo.get("success").asBoolean());
+            assertEquals(5000, cuerpo.get("data").size());
+            assertEquals(4999, cuerpo.get("data").get(4999).get("id").asInt());
+        });
+    }
+
+    @Test
+    void respuestaChicaOSinAcceptEncodingNoSeComprime() {
+        JavalinTest.test(app(), (server, client) -> {
+            var chica = client.get("/filas/2", req -> req.header("Accept-Encoding", "gzip"));
+            assertNull(chica.header("Content-Encoding"));
+            assertEquals(2, leer(chica.body().bytes()).get("data").size());
+
+            var sinCodificacion = client.get("/filas/5000", req -> req.header("Accept-Encoding", "identity"));
+            assertNull(sinCodificacion.header("Content-Encoding"));
+            assertEquals(5000, leer(sinCodificacion.body().bytes()).get("data").size());
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package com.vetfinder.util;
+
+import com.vetfinder.model.Cita;
+import com.vetfinder.model.Servicio;
+import com.vetfinder.model.Usuario;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del mapeo de filas a objetos del modelo
+ * El ResultSet es un proxy en memoria que responde como el driver a los getters por índice
+ */
+class RowMapperTest {
+
+    /**
+     * ResultSet de solo lectura sobre filas en memoria (los valores se guardan como los devuelve JDBC)
+     */
+    private static ResultSet filas(String[] columnas, Object[]... filas) {
+        ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(RowMapperTest.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "getColumnCount":
+                            return columnas.length;
+                        case "getColumnLabel":
+                        case "getColumnName":
+                            return columnas[(int) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(metodo.getName());
+                    }
+                });
+        int[] actual = {-1};
+        return (ResultSet) Proxy.newProxyInstance(RowMapperTest.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("next")) {
+                        return ++actual[0] < filas.length;
+                    }
+                    if (metodo.getName().equals("getMetaData")) {
+                        return meta;
+                    }
+                    Object valor = filas[actual[0]][(int) args[0] - 1];
+                    switch (metodo.getName()) {
+                        case "getInt":
+                            return valor == null ? 0 : ((Number) valor).intValue();
+                        case "getLong":
+                            return valor == null ? 0L : ((Number) valor).longValue();
+                        case "getFloat":
+                            return valor == null ? 0f : ((Number) valor).floatValue();
+                        case "getString":
+                        case "getDate":
+                        case "getTime":
+                            return valor;
+                        default:
+                            throw new UnsupportedOperationException(metodo.getName());
+                    }
+                });
+    }
+
+    private static final String[] COLUMNAS_CITA = {
+            "id_cita", "FECHA", "Hora", "idServicio", "id_mascota", "ID_DATOVETERINARIO", "estado", "nombre_servicio"};
+
+    @Test
+    void asociaColumnasPorNombreSinImportarGuionesNiMayusculas() throws SQLException {
+        List<Cita> citas = RowMapper.of(Cita.class).list(filas(COLUMNAS_CITA,
+                new Object[]{7, Date.valueOf("2024-05-02"), Time.valueOf("09:30:00"), 3, 11, 4, "Pendiente", "Consulta"},
+                new Object[]{8, Date.valueOf("2024-05-03"), Time.valueOf("16:00:00"), 2, 12, 5, "Aceptada", "Vacuna"}));
+
+        assertEquals(2, citas.size());
+        Cita cita = citas.get(0);
+        assertEquals(7, cita.getIdCita());
+        assertEquals(LocalDate.of(2024, 5, 2), cita.getFecha());
+        assertEquals(LocalTime.of(9, 30), cita.getHora());
+        assertEquals(3, cita.getIdServicio());
+        assertEquals(11, cita.getIdMascota());
+        assertEquals(4, cita.getIdDatoVeterinario());
+        assertEquals("Pendiente", cita.getEstado());
+        assertEquals(8, citas.get(1).getIdCita());
+        assertEquals("Aceptada", citas.get(1).getEstado());
+    }
+
+    @Test
+    void valoresNulosYColumnasFaltantes() throws SQLException {
+        Cita cita = RowMapper.of(Cita.class).first(filas(new String[]{"id_cita", "fecha", "hora", "estado"},
+                new Object[]{9, null, null, null}));
+        assertEquals(9, cita.getIdCita());
+        assertNull(cita.getFecha());
+        assertNull(cita.getHora());
+        assertNull(cita.getEstado());
+        assertEquals(0, cita.getIdServicio());
+    }
+
+    @Test
+    void tiposPrimitivosLongYFloat() throws SQLException {
+        Servicio servicio = RowMapper.of(Servicio.class).first(filas(new String[]{"id_servicio", "nombre", "precio"},
+                new Object[]{2, "Vacuna", 350.5f}));
+        assertEquals(2, servicio.getIdServicio());
+        assertEquals(350.5f, servicio.getPrecio());
+
+        Usuario usuario = RowMapper.of(Usuario.class).first(filas(new String[]{"id_usuario", "telefono", "fecha_nacimiento"},
+                new Object[]{5, 5512345678L, Date.valueOf("1990-01-31")}));
+        assertEquals(5512345678L, usuario.getTelefono());
+        assertEquals(LocalDate.of(1990, 1, 31), usuario.getFechaNacimiento());
+    }
+
+    @Test
+    void sinFilas() throws SQLException {
+        assertNull(RowMapper.of(Cita.class).first(filas(COLUMNAS_CITA)));
+        assertTrue(RowMapper.of(Cita.class).list(filas(COLUMNAS_CITA)).isEmpty());
+    }
+
+    @Test
+    void elPlanSeReutilizaPorListaDeColumnas() throws SQLException {
+        RowMapper<Cita> mapper = RowMapper.of(Cita.class);
+        assertSame(mapper, RowMapper.of(Cita.class));
+
+        RowMapper.Plan<Cita> plan = mapper.planFor(filas(COLUMNAS_CITA));
+        assertSame(plan, mapper.planFor(filas(COLUMNAS_CITA)));
+
+        // Otro orden de columnas es otra forma de consulta: los índices cambian
+        RowMapper.Plan<Cita> invertido = mapper.planFor(filas(new String[]{"estado", "id_cita"}));
+        ResultSet rs = filas(new String[]{"estado", "id_cita"}, new Object[]{"Rechazada", 4});
+        List<Cita> citas = new ArrayList<>();
+        while (rs.next()) {
+            citas.add(invertido.map(rs));
+        }
+        assertEquals(4, citas.get(0).getIdCita());
+        assertEquals("Rechazada", citas.get(0).getEstado());
+    }
+}
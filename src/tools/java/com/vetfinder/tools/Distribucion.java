@@ -0,0 +1,59 @@
+package com.vetfinder.tools;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Muestreo de un índice 0..n-1 con pesos (búsqueda binaria sobre los pesos acumulados)
+ */
+class Distribucion {
+    private final double[] acumulado;
+
+    Distribucion(double... pesos) {
+        if (pesos.length == 0) {
+            throw new IllegalArgumentException("La distribución necesita al menos un peso");
+        }
+        acumulado = new double[pesos.length];
+        double suma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            if (pesos[i] < 0) {
+                throw new IllegalArgumentException("Los pesos no pueden ser negativos");
+            }
+            suma += pesos[i];
+            acumulado[i] = suma;
+        }
+        if (suma <= 0) {
+            throw new IllegalArgumentException("La suma de los pesos debe ser mayor a 0");
+        }
+    }
+
+    /**
+     * Ley de Zipf: el elemento i tiene peso 1 / (i + 1)^s; con s = 0 es uniforme
+     */
+    static Distribucion zipf(int n, double s) {
+        double[] pesos = new double[n];
+        for (int i = 0; i < n; i++) {
+            pesos[i] = 1.0 / Math.pow(i + 1, s);
+        }
+        return new Distribucion(pesos);
+    }
+
+    int tamanio() {
+        return acumulado.length;
+    }
+
+    /**
+     * Fracción del total que corresponde al elemento i
+     */
+    double probabilidad(int i) {
+        double total = acumulado[acumulado.length - 1];
+        return (acumulado[i] - (i == 0 ? 0 : acumulado[i - 1])) / total;
+    }
+
+    int muestra(Random random) {
+        double valor = random.nextDouble() * acumulado[acumulado.length - 1];
+        int i = Arrays.binarySearch(acumulado, valor);
+        i = i < 0 ? -i - 1 : i + 1;
+        return Math.min(i, acumulado.length - 1);
+    }
+}
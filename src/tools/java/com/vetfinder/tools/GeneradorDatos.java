@@ -0,0 +1,427 @@
+package com.vetfinder.tools;
+
+import com.vetfinder.config.DatabaseConfig;
+import com.vetfinder.db.DatosSinteticos;
+import com.vetfinder.model.Rol;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generador de datos a escala (millones de citas) para reproducir la lentitud de producción
+ * Agrega a la base configurada (MySQL del .env o DB_PROFILE=h2) usuarios, veterinarios con su
+ * consultorio, mascotas, citas y facturas con referencias consistentes. Usa los catálogos que ya
+ * existen (SERVICIO, ESPECIALIDAD, SEXO, DIRECCION, ROL) y continúa después del ID más alto de
+ * cada tabla, así se puede ejecutar varias veces sobre la misma base.
+ *
+ * Las distribuciones no son uniformes: las horas tienen picos a media mañana y al final de la
+ * tarde con baja al mediodía, los servicios siguen una ley de Zipf (el primero es el más pedido),
+ * unos pocos veterinarios concentran la mayoría de las citas, el fin de semana tiene poca demanda
+ * y la demanda crece hacia las fechas recientes. Un veterinario nunca tiene dos citas a la misma hora.
+ * Cada cita aceptada que ya pasó se factura (según --facturacion) con el precio del servicio.
+ *
+ * Las filas se envían con INSERT multi-fila (--filas por sentencia) y commit cada --commit filas;
+ * en MySQL se desactivan unique_checks y foreign_key_checks durante la carga (solo en la sesión).
+ *
+ * Opciones (--clave=valor):
+ * --usuarios       Usuarios nuevos, incluidos los veterinarios (100000)
+ * --veterinarios   Cuántos de esos usuarios son veterinarios (usuarios / 20)
+ * --mascotas       Mascotas nuevas (150000)
+ * --citas          Citas nuevas (1000000)
+ * --dias-atras     Primer día de la agenda, contado desde hoy (730)
+ * --dias-adelante  Último día de la agenda, contado desde hoy (60)
+ * --facturacion    Fracción de citas aceptadas pasadas que tienen factura (0.9)
+ * --semilla        Semilla del generador aleatorio (42)
+ * --filas          Filas por INSERT (1000)
+ * --commit         Filas por transacción (50000)
+ */
+public class GeneradorDatos {
+    private static final String[] NOMBRES = {
+            "Ana", "Luis", "María", "José", "Sofía", "Carlos", "Valeria", "Jorge", "Fernanda", "Miguel",
+            "Daniela", "Alejandro", "Camila", "Diego", "Regina", "Andrés"};
+    private static final String[] APELLIDOS = {
+            "García", "Hernández", "López", "Martínez", "González", "Pérez", "Rodríguez", "Sánchez",
+            "Ramírez", "Flores", "Torres", "Cruz", "Morales", "Reyes"};
+    private static final String[] MASCOTAS = {
+            "Firulais", "Luna", "Max", "Michi", "Rocky", "Nala", "Toby", "Kira", "Simba", "Coco",
+            "Bruno", "Canela", "Pelusa", "Thor"};
+    private static final String[] RAZAS = {
+            "Mestizo", "Labrador", "Chihuahua", "Siamés", "Pastor alemán", "Persa", "Schnauzer", "Beagle",
+            "Poodle", "Bulldog francés"};
+
+    // Horarios de 08:00 a 19:30 cada media hora; peso por hora (las dos medias horas pesan igual)
+    private static final int HORARIOS = 24;
+    private static final double[] PESO_HORA = {5, 9, 10, 9, 7, 3, 3, 5, 7, 9, 8, 4};
+    // Lunes a domingo
+    private static final double[] PESO_DIA_SEMANA = {1.0, 1.0, 1.0, 1.0, 1.1, 0.6, 0.1};
+    private static final double ZIPF_SERVICIOS = 1.0;
+    private static final double ZIPF_VETERINARIOS = 0.8;
+    // Ocupación máxima de la agenda de un veterinario; el resto de sus citas pasa al siguiente
+    private static final double OCUPACION_MAXIMA = 0.5;
+
+    private final int usuarios;
+    private final int veterinarios;
+    private final int mascotas;
+    private final int citas;
+    private final int diasAtras;
+    private final int diasAdelante;
+    private final double facturacion;
+    private final int filasPorSentencia;
+    private final int filasPorCommit;
+    private final Random random;
+
+    private final Map<String, Long> insertadas = new LinkedHashMap<>();
+    private long pendientesDeCommit;
+
+    public GeneradorDatos(Map<String, String> opciones) {
+        usuarios = entero(opciones, "usuarios", 100_000);
+        veterinarios = entero(opciones, "veterinarios", Math.max(1, usuarios / 20));
+        mascotas = entero(opciones, "mascotas", 150_000);
+        citas = entero(opciones, "citas", 1_000_000);
+        diasAtras = entero(opciones, "dias-atras", 730);
+        diasAdelante = entero(opciones, "dias-adelante", 60);
+        facturacion = Double.parseDouble(opciones.getOrDefault("facturacion", "0.9"));
+        random = new Random(Long.parseLong(opciones.getOrDefault("semilla", "42")));
+        filasPorSentencia = entero(opciones, "filas", 1000);
+        filasPorCommit = entero(opciones, "commit", 50_000);
+
+        if (veterinarios < 1 || veterinarios >= usuarios) {
+            throw new IllegalArgumentException("Se requiere al menos un veterinario y un tutor (veterinarios < usuarios)");
+        }
+        if (mascotas < 0 || citas < 0) {
+            throw new IllegalArgumentException("--mascotas y --citas no pueden ser negativos");
+        }
+        if (citas > 0 && mascotas == 0) {
+            throw new IllegalArgumentException("Se requiere al menos una mascota para generar citas");
+        }
+        if (diasAtras < 0 || diasAdelante < 0) {
+            throw new IllegalArgumentException("--dias-atras y --dias-adelante no pueden ser negativos");
+        }
+        if (filasPorSentencia < 1 || filasPorCommit < 1) {
+            throw new IllegalArgumentException("--filas y --commit deben ser al menos 1");
+        }
+        if (facturacion < 0 || facturacion > 1) {
+            throw new IllegalArgumentException("--facturacion debe estar entre 0 y 1");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneradorDatos generador = new GeneradorDatos(parsear(args));
+        DatabaseConfig.initialize();
+        try {
+            generador.generar();
+        } finally {
+            DatabaseConfig.closeDataSource();
+        }
+    }
+
+    /**
+     * Genera todos los datos en la base configurada
+     * @throws SQLException Error en la carga (se revierte la transacción en curso; las anteriores quedan)
+     */
+    public void generar() throws SQLException {
+        long inicio = System.nanoTime();
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            boolean mysql = !DatabaseConfig.isH2();
+            conn.setAutoCommit(false);
+            if (mysql) {
+                ejecutar(conn, "SET SESSION unique_checks = 0, foreign_key_checks = 0");
+            }
+            try {
+                Catalogos catalogos = new Catalogos(conn);
+                cargar(conn, catalogos);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                if (mysql) {
+                    ejecutar(conn, "SET SESSION unique_checks = 1, foreign_key_checks = 1");
+                }
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long total = 0;
+        for (Map.Entry<String, Long> tabla : insertadas.entrySet()) {
+            System.out.printf("%-16s %,12d filas%n", tabla.getKey(), tabla.getValue());
+            total += tabla.getValue();
+        }
+        System.out.printf("Total: %,d filas en %.1f s (%,.0f filas/s)%n", total, segundos, total / segundos);
+    }
+
+    private void cargar(Connection conn, Catalogos catalogos) throws SQLException {
+        int baseUsuario = maximo(conn, "USUARIO", "id_usuario");
+        int baseMascota = maximo(conn, "MASCOTA", "id_mascota");
+        int baseConsultorio = maximo(conn, "CONSULTORIO", "id_consultorio");
+        int baseDato = maximo(conn, "DATOVETERINARIO", "id_datoveterinario");
+        int baseCita = maximo(conn, "CITA", "id_cita");
+        int baseFactura = maximo(conn, "FACTURA", "id_factura");
+
+        // Usuarios: primero los veterinarios, después los tutores
+        try (InsertMultiFila usuario = insert(conn, "USUARIO", null, "id_usuario", "nombre", "apellidos",
+                "fecha_nacimiento", "correo", "contrasena", "telefono", "descripcion", "cedula", "id_direccion", "id_rol")) {
+            for (int i = 1; i <= usuarios; i++) {
+                int id = baseUsuario + i;
+                boolean veterinario = i <= veterinarios;
+                usuario.agregar(id, elegir(NOMBRES), elegir(APELLIDOS) + " " + elegir(APELLIDOS),
+                        Date.valueOf(LocalDate.of(1955, 1, 1).plusDays(random.nextInt(45 * 365))),
+                        "gen" + id + "@vetfinder.test", DatosSinteticos.CONTRASENA,
+                        5500000000L + random.nextInt(100_000_000),
+                        veterinario ? "Médico veterinario con " + (1 + random.nextInt(35)) + " años de experiencia" : null,
+                        veterinario ? 1_000_000 + id : null,
+                        catalogos.direcciones[random.nextInt(catalogos.direcciones.length)],
+                        veterinario ? Rol.VETERINARIO : Rol.TUTOR);
+                avanzar(conn, "USUARIO", usuario);
+            }
+            usuario.flush();
+        }
+
+        // Un consultorio y un dato de veterinario por veterinario; se referencian entre sí
+        try (InsertMultiFila consultorio = insert(conn, "CONSULTORIO", null,
+                "id_consultorio", "horario", "nombre_consultorio", "id_datoveterinario");
+             InsertMultiFila dato = insert(conn, "DATOVETERINARIO", null,
+                     "id_datoveterinario", "id_consultorio", "id_usuario", "id_especialidad")) {
+            for (int i = 1; i <= veterinarios; i++) {
+                consultorio.agregar(baseConsultorio + i, Time.valueOf(LocalTime.of(8, 0)),
+                        "Consultorio " + (baseConsultorio + i), baseDato + i);
+                dato.agregar(baseDato + i, baseConsultorio + i, baseUsuario + i,
+                        catalogos.especialidades[random.nextInt(catalogos.especialidades.length)]);
+                avanzar(conn, "CONSULTORIO", consultorio);
+                avanzar(conn, "DATOVETERINARIO", dato);
+            }
+            consultorio.flush();
+            dato.flush();
+        }
+
+        // Mascotas de los tutores
+        int tutores = usuarios - veterinarios;
+        int[] tutorDeMascota = new int[mascotas + 1];
+        try (InsertMultiFila mascota = insert(conn, "MASCOTA", null,
+                "id_mascota", "nombre", "raza", "fecha_nacimiento", "id_sexo", "id_usuario")) {
+            for (int i = 1; i <= mascotas; i++) {
+                tutorDeMascota[i] = baseUsuario + veterinarios + 1 + random.nextInt(tutores);
+                mascota.agregar(baseMascota + i, elegir(MASCOTAS), elegir(RAZAS),
+                        Date.valueOf(LocalDate.now().minusDays(30 + random.nextInt(18 * 365))),
+                        catalogos.sexos[random.nextInt(catalogos.sexos.length)], tutorDeMascota[i]);
+                avanzar(conn, "MASCOTA", mascota);
+            }
+            mascota.flush();
+        }
+
+        cargarCitas(conn, catalogos, baseDato, baseMascota, baseCita, baseFactura, tutorDeMascota);
+    }
+
+    /**
+     * Citas por veterinario (agenda sin choques) y sus facturas
+     */
+    private void cargarCitas(Connection conn, Catalogos catalogos, int baseDato, int baseMascota,
+                             int baseCita, int baseFactura, int[] tutorDeMascota) throws SQLException {
+        LocalDate hoy = LocalDate.now();
+        LocalDate primerDia = hoy.minusDays(diasAtras);
+        int dias = diasAtras + diasAdelante + 1;
+        int capacidad = (int) (dias * HORARIOS * OCUPACION_MAXIMA);
+        if ((long) capacidad * veterinarios < citas) {
+            throw new IllegalArgumentException("No caben " + citas + " citas en la agenda de " + veterinarios +
+                    " veterinarios; aumentar --veterinarios o los días");
+        }
+
+        double[] pesoDias = new double[dias];
+        for (int d = 0; d < dias; d++) {
+            LocalDate fecha = primerDia.plusDays(d);
+            // La demanda crece hasta el doble entre el primer y el último día
+            pesoDias[d] = PESO_DIA_SEMANA[fecha.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue()] * (1.0 + (double) d / dias);
+        }
+        double[] pesoHorarios = new double[HORARIOS];
+        for (int h = 0; h < HORARIOS; h++) {
+            pesoHorarios[h] = PESO_HORA[h / 2];
+        }
+        Distribucion diaDist = new Distribucion(pesoDias);
+        Distribucion horarioDist = new Distribucion(pesoHorarios);
+        Distribucion servicioDist = Distribucion.zipf(catalogos.servicios.length, ZIPF_SERVICIOS);
+        Distribucion veterinarioDist = Distribucion.zipf(veterinarios, ZIPF_VETERINARIOS);
+
+        int idCita = baseCita;
+        int idFactura = baseFactura;
+        int restantes = citas;
+        double excedente = 0;
+        BitSet ocupados = new BitSet(dias * HORARIOS);
+
+        try (InsertMultiFila cita = insert(conn, "CITA", null,
+                "id_cita", "fecha", "hora", "id_servicio", "id_mascota", "id_datoveterinario", "estado");
+             InsertMultiFila factura = insert(conn, "FACTURA", cita,
+                     "id_factura", "id_usuario", "id_servicio", "id_cita", "total", "fecha_factura")) {
+            for (int v = 0; v < veterinarios && restantes > 0; v++) {
+                double esperadas = citas * veterinarioDist.probabilidad(v) + excedente;
+                int cantidad = v == veterinarios - 1 ? restantes : (int) Math.min(Math.round(esperadas), restantes);
+                if (cantidad > capacidad) {
+                    if (v == veterinarios - 1) {
+                        throw new IllegalArgumentException("No caben las citas restantes en la agenda de los veterinarios");
+                    }
+                    cantidad = capacidad;
+                }
+                excedente = Math.max(0, esperadas - cantidad);
+                restantes -= cantidad;
+
+                int idDato = baseDato + v + 1;
+                ocupados.clear();
+                for (int n = 0; n < cantidad; n++) {
+                    int dia;
+                    int horario;
+                    do {
+                        dia = diaDist.muestra(random);
+                        horario = horarioDist.muestra(random);
+                    } while (ocupados.get(dia * HORARIOS + horario));
+                    ocupados.set(dia * HORARIOS + horario);
+
+                    LocalDate fecha = primerDia.plusDays(dia);
+                    boolean pasada = fecha.isBefore(hoy);
+                    int servicio = servicioDist.muestra(random);
+                    int mascota = 1 + random.nextInt(mascotas);
+                    String estado = estado(pasada);
+
+                    idCita++;
+                    cita.agregar(idCita, Date.valueOf(fecha), Time.valueOf(LocalTime.of(8, 0).plusMinutes(30L * horario)),
+                            catalogos.servicios[servicio], baseMascota + mascota, idDato, estado);
+                    avanzar(conn, "CITA", cita);
+
+                    if (pasada && "Aceptada".equals(estado) && random.nextDouble() < facturacion) {
+                        idFactura++;
+                        factura.agregar(idFactura, tutorDeMascota[mascota], catalogos.servicios[servicio], idCita,
+                                catalogos.precios[servicio], Date.valueOf(fecha));
+                        avanzar(conn, "FACTURA", factura);
+                    }
+                }
+            }
+            factura.flush();
+            cita.flush();
+        }
+    }
+
+    /**
+     * Cuenta la fila y hace commit cada filasPorCommit filas (enviando antes lo pendiente)
+     */
+    private void avanzar(Connection conn, String tabla, InsertMultiFila insert) throws SQLException {
+        insertadas.merge(tabla, 1L, Long::sum);
+        if (++pendientesDeCommit >= filasPorCommit) {
+            insert.flush();
+            conn.commit();
+            pendientesDeCommit = 0;
+        }
+    }
+
+    private InsertMultiFila insert(Connection conn, String tabla, InsertMultiFila referenciada, String... columnas) {
+        return new InsertMultiFila(conn, tabla, columnas, filasPorSentencia, referenciada);
+    }
+
+    /**
+     * Las citas pasadas quedan en su mayoría aceptadas; las futuras, pendientes
+     */
+    private String estado(boolean pasada) {
+        int valor = random.nextInt(100);
+        if (pasada) {
+            return valor < 80 ? "Aceptada" : valor < 92 ? "Rechazada" : "Pendiente";
+        }
+        return valor < 65 ? "Pendiente" : valor < 95 ? "Aceptada" : "Rechazada";
+    }
+
+    private String elegir(String[] valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+
+    private static int maximo(Connection conn, String tabla, String columna) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(" + columna + "), 0) FROM " + tabla)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void ejecutar(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * IDs de los catálogos existentes; los servicios en orden de ID con su precio
+     */
+    private static final class Catalogos {
+        private final int[] servicios;
+        private final float[] precios;
+        private final int[] especialidades;
+        private final int[] sexos;
+        private final int[] direcciones;
+
+        private Catalogos(Connection conn) throws SQLException {
+            List<Integer> ids = new ArrayList<>();
+            List<Float> valores = new ArrayList<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT id_servicio, precio FROM SERVICIO ORDER BY id_servicio")) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                    valores.add(rs.getFloat(2));
+                }
+            }
+            servicios = ids.stream().mapToInt(Integer::intValue).toArray();
+            precios = new float[valores.size()];
+            for (int i = 0; i < precios.length; i++) {
+                precios[i] = valores.get(i);
+            }
+            especialidades = ids(conn, "SELECT id_especialidad FROM ESPECIALIDAD");
+            sexos = ids(conn, "SELECT id_sexo FROM SEXO");
+            direcciones = ids(conn, "SELECT id_direccion FROM DIRECCION");
+            int[] roles = ids(conn, "SELECT id_rol FROM ROL WHERE id_rol IN (" + Rol.VETERINARIO + ", " + Rol.TUTOR + ")");
+
+            if (servicios.length == 0 || especialidades.length == 0 || sexos.length == 0 ||
+                    direcciones.length == 0 || roles.length < 2) {
+                throw new IllegalStateException("Faltan catálogos: se requieren filas en SERVICIO, ESPECIALIDAD, " +
+                        "SEXO y DIRECCION, y los roles 1 (Veterinario) y 2 (Tutor)");
+            }
+        }
+
+        private static int[] ids(Connection conn, String query) throws SQLException {
+            List<Integer> ids = new ArrayList<>();
+            try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(query)) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private static int entero(Map<String, String> opciones, String clave, int defecto) {
+        String valor = opciones.get(clave);
+        return valor == null ? defecto : Integer.parseInt(valor);
+    }
+
+    private static Map<String, String> parsear(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int igual = arg.indexOf('=');
+                opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+            } else if (!arg.isBlank()) {
+                throw new IllegalArgumentException("Opción no válida: " + arg + " (se espera --clave=valor)");
+            }
+        }
+        return opciones;
+    }
+}
@@ -0,0 +1,115 @@
+package com.vetfinder.tools;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * INSERT de varias filas por sentencia: INSERT INTO T (a, b) VALUES (?, ?), (?, ?), ...
+ * Las filas se acumulan hasta completar un bloque y se envían en un solo viaje; la sentencia
+ * del bloque completo se prepara una vez y se reutiliza. Funciona igual en MySQL y en H2.
+ */
+class InsertMultiFila implements AutoCloseable {
+    private final Connection conn;
+    private final String prefijo;
+    private final int columnas;
+    private final int filasPorSentencia;
+    private final Object[] valores;
+    private final InsertMultiFila referenciada;
+    private PreparedStatement completa;
+    private int filas;
+    private long total;
+
+    /**
+     * @param conn Conexión (sin autocommit; el commit lo decide quien llama)
+     * @param tabla Tabla destino
+     * @param columnas Columnas en el orden en que se agregan los valores
+     * @param filasPorSentencia Filas por INSERT
+     * @param referenciada Tabla a la que apuntan las claves foráneas de estas filas; se envía
+     *                     antes que cada bloque para que las referencias ya existan (puede ser null)
+     */
+    InsertMultiFila(Connection conn, String tabla, String[] columnas, int filasPorSentencia, InsertMultiFila referenciada) {
+        this.conn = conn;
+        this.referenciada = referenciada;
+        this.prefijo = "INSERT INTO " + tabla + " (" + String.join(", ", columnas) + ") VALUES ";
+        this.columnas = columnas.length;
+        this.filasPorSentencia = filasPorSentencia;
+        this.valores = new Object[columnas.length * filasPorSentencia];
+    }
+
+    /**
+     * Agrega una fila; si completa el bloque lo envía
+     */
+    void agregar(Object... fila) throws SQLException {
+        if (fila.length != columnas) {
+            throw new IllegalArgumentException("Se esperaban " + columnas + " valores y llegaron " + fila.length);
+        }
+        System.arraycopy(fila, 0, valores, filas * columnas, columnas);
+        filas++;
+        if (filas == filasPorSentencia) {
+            flush();
+        }
+    }
+
+    /**
+     * Envía las filas pendientes
+     */
+    void flush() throws SQLException {
+        if (filas == 0) {
+            return;
+        }
+        if (referenciada != null) {
+            referenciada.flush();
+        }
+        if (filas == filasPorSentencia) {
+            if (completa == null) {
+                completa = conn.prepareStatement(sql(filasPorSentencia));
+            }
+            ejecutar(completa);
+        } else {
+            try (PreparedStatement parcial = conn.prepareStatement(sql(filas))) {
+                ejecutar(parcial);
+            }
+        }
+        total += filas;
+        filas = 0;
+    }
+
+    long getTotal() {
+        return total;
+    }
+
+    private void ejecutar(PreparedStatement stmt) throws SQLException {
+        int parametros = filas * columnas;
+        for (int i = 0; i < parametros; i++) {
+            stmt.setObject(i + 1, valores[i]);
+            valores[i] = null;
+        }
+        stmt.executeUpdate();
+    }
+
+    private String sql(int cantidad) {
+        StringBuilder fila = new StringBuilder("(");
+        for (int i = 0; i < columnas; i++) {
+            fila.append(i == 0 ? "?" : ", ?");
+        }
+        fila.append(')');
+
+        StringBuilder sql = new StringBuilder(prefijo.length() + cantidad * (fila.length() + 2));
+        sql.append(prefijo);
+        for (int i = 0; i < cantidad; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(fila);
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (completa != null) {
+            completa.close();
+        }
+    }
+}